@@ -31,6 +31,11 @@ public class CpuFault extends AgentFault {
     @Override
     protected void populateFutureList() {
         int processors = RuntimeUtils.getNoOfProcessors();
+        // optional, the fault params being mandatory
+        String cores = getFaultArgs().get("cores");
+        if (cores != null && !cores.trim().isEmpty()) {
+            processors = getInt(cores.trim());
+        }
         futureList.addAll(ThreadUtils.triggerCpuLoadGenerator(processors,
                 getLong(getFaultArgs().get("timeOutInMilliSeconds")), getInt(getFaultArgs().get("load"))));
     }
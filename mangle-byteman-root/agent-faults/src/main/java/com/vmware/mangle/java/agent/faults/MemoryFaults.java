@@ -29,8 +29,10 @@ public class MemoryFaults extends AgentFault {
 
     @Override
     protected void populateFutureList() {
+        // optional, the fault params being mandatory
+        boolean offHeap = Boolean.parseBoolean(getFaultArgs().get("offHeap"));
         futureList.addAll(ThreadUtils.triggerMemoryLoadGenerator(getLong(getFaultArgs().get("timeOutInMilliSeconds")),
-                getInt(getFaultArgs().get("load"))));
+                getInt(getFaultArgs().get("load")), offHeap));
     }
 
     @Override
@@ -15,6 +15,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 import com.google.gson.Gson;
@@ -40,10 +41,10 @@ public class FaultsHelper {
 
     private Map<String, AgentFault> faultsMap;
 
-    private Map<String, ApplicationFault> applicationFaultsMap = new HashMap<String, ApplicationFault>();
+    private Map<String, ApplicationFault> applicationFaultsMap = new ConcurrentHashMap<String, ApplicationFault>();
 
     private FaultsHelper() {
-        faultsMap = new HashMap<>();
+        faultsMap = new ConcurrentHashMap<>();
     }
 
     private static class SingletonHelper {
@@ -54,7 +55,7 @@ public class FaultsHelper {
         return SingletonHelper.INSTANCE;
     }
 
-    public String injectFault(Map<String, String> faultArgs) {
+    public synchronized String injectFault(Map<String, String> faultArgs) {
         AgentFault fault = null;
         String faultName = faultArgs.get("faultName");
         try {
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.java.agent.faults.helpers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delays the calling thread of a latency fault rule by parking it, so that the delayed threads do
+ * not consume any CPU while they wait.
+ *
+ * The delay of an invocation is drawn from a distribution around the configured latency, then
+ * shifted by a uniform jitter. The number of delayed invocations and the total delay added are
+ * recorded per rule.
+ *
+ * @author mangle
+ */
+public class LatencyInjector {
+    private static final double Z_99TH_PERCENTILE = 2.3263;
+    private static final Map<String, LatencyStatistics> STATISTICS = new ConcurrentHashMap<>();
+
+    private LatencyInjector() {
+        throw new java.lang.UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Shape of the delays around the configured latency
+     */
+    public enum Distribution {
+        /** Always the latency. */
+        FIXED,
+        /** Uniformly spread between latency - spread and latency + spread. */
+        UNIFORM,
+        /** Normally spread, with the latency as mean and the spread as standard deviation. */
+        NORMAL,
+        /** Log-normally spread, with the latency as median and latency + spread as 99th percentile. */
+        LONG_TAIL;
+
+        public static Distribution fromString(String distribution) {
+            if (distribution == null || distribution.trim().isEmpty()) {
+                return FIXED;
+            }
+            return valueOf(distribution.trim().toUpperCase().replace('-', '_'));
+        }
+
+        long sample(long latency, long spread, ThreadLocalRandom random) {
+            if (spread <= 0) {
+                return latency;
+            }
+            switch (this) {
+            case UNIFORM:
+                return latency - spread + (long) (random.nextDouble() * (2 * spread + 1));
+            case NORMAL:
+                return latency + Math.round(random.nextGaussian() * spread);
+            case LONG_TAIL:
+                if (latency <= 0) {
+                    return latency;
+                }
+                double sigma = Math.log((double) (latency + spread) / latency) / Z_99TH_PERCENTILE;
+                return Math.round(latency * Math.exp(random.nextGaussian() * sigma));
+            default:
+                return latency;
+            }
+        }
+    }
+
+    /**
+     * Delays the calling thread by the given latency in milliseconds
+     *
+     * @return the delay added in nanoseconds
+     */
+    public static long delay(String ruleName, long latency) {
+        return delay(ruleName, Distribution.FIXED, latency, 0, 0);
+    }
+
+    /**
+     * Delays the calling thread by a delay drawn from the given distribution, all the durations
+     * being in milliseconds. The delay ends early when the thread is interrupted, the interrupt
+     * status of the thread being kept.
+     *
+     * @return the delay added in nanoseconds
+     */
+    public static long delay(String ruleName, Distribution distribution, long latency, long spread, long jitter) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = distribution.sample(latency, spread, random);
+        if (jitter > 0) {
+            delay += random.nextLong(-jitter, jitter + 1);
+        }
+        if (delay <= 0) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(delay);
+        long remaining = deadline - start;
+        while (remaining > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        long delayed = System.nanoTime() - start;
+        STATISTICS.computeIfAbsent(String.valueOf(ruleName), name -> new LatencyStatistics()).record(delayed);
+        return delayed;
+    }
+
+    public static long getDelayedInvocations(String ruleName) {
+        LatencyStatistics statistics = STATISTICS.get(ruleName);
+        return statistics == null ? 0 : statistics.delayedInvocations.sum();
+    }
+
+    public static long getTotalDelayInNanos(String ruleName) {
+        LatencyStatistics statistics = STATISTICS.get(ruleName);
+        return statistics == null ? 0 : statistics.totalDelay.sum();
+    }
+
+    public static void reset(String ruleName) {
+        STATISTICS.remove(ruleName);
+    }
+
+    private static final class LatencyStatistics {
+        private final LongAdder delayedInvocations = new LongAdder();
+        private final LongAdder totalDelay = new LongAdder();
+
+        private void record(long delay) {
+            delayedInvocations.increment();
+            totalDelay.add(delay);
+        }
+    }
+}
@@ -11,34 +11,66 @@
 
 package com.vmware.mangle.java.agent.utils;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Logger;
 
 /**
+ * Holds the CPU utilization of the core running it at the requested load, by alternating busy and
+ * idle phases within fixed duty cycle periods measured with {@link System#nanoTime()}.
+ *
+ * The busy share of a period starts at the requested load and is corrected after every period
+ * with the CPU time actually consumed by the thread, so that timer granularity, sleep overshoot and
+ * the scheduler taking the core away do not make the utilization drift from the target. When the
+ * JVM does not support measuring the thread CPU time, the duty cycle runs without feedback.
+ *
  * @author hkilari
  *
  */
 public class CpuLoadGenerator implements Runnable {
     private static final Logger LOG = Logger.getLogger(CpuLoadGenerator.class.getName());
+    private static final long PERIOD_IN_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final double FEEDBACK_GAIN = 0.5;
     private long duration;
     private int load;
 
     public CpuLoadGenerator(int load, long duration) {
         this.duration = duration;
-        this.load = load;
+        this.load = Math.min(100, Math.max(0, load));
     }
 
     public void run() {
         LOG.info("Fiaasco Injecting CPULoad Fault for duration: " + duration + " at Load: " + load);
-        long startTime = System.currentTimeMillis();
-        while (System.currentTimeMillis() - startTime < duration) {
-            try {
-                if (System.currentTimeMillis() % 100 == 0) {
-                    Thread.sleep((long) (100 - load));//(long) Math.floor((1 - load) * 100));
-                }
-            } catch (InterruptedException e) {
-                LOG.fine("Exiting the thread");
-                break;
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        boolean feedback = threadMXBean.isCurrentThreadCpuTimeSupported();
+        if (feedback && !threadMXBean.isThreadCpuTimeEnabled()) {
+            threadMXBean.setThreadCpuTimeEnabled(true);
+        }
+        double target = load / 100.0;
+        double busyShare = target;
+        long endTime = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(duration);
+        long periodStart = System.nanoTime();
+        long cpuTimeAtPeriodStart = feedback ? threadMXBean.getCurrentThreadCpuTime() : 0;
+        while (periodStart < endTime && !Thread.currentThread().isInterrupted()) {
+            long busyEnd = periodStart + (long) (busyShare * PERIOD_IN_NANOS);
+            while (System.nanoTime() < busyEnd) {
+                // keep the core busy for the busy share of the period
+            }
+            long periodEnd = periodStart + PERIOD_IN_NANOS;
+            long idleTime;
+            while ((idleTime = periodEnd - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+                LockSupport.parkNanos(idleTime);
+            }
+            long now = System.nanoTime();
+            if (feedback) {
+                long cpuTime = threadMXBean.getCurrentThreadCpuTime();
+                double measured = (double) (cpuTime - cpuTimeAtPeriodStart) / (now - periodStart);
+                busyShare = Math.min(1.0, Math.max(0.0, busyShare + FEEDBACK_GAIN * (target - measured)));
+                cpuTimeAtPeriodStart = cpuTime;
             }
+            periodStart = now;
         }
         LOG.info("Fiaasco Exiting CPULoad Fault");
     }
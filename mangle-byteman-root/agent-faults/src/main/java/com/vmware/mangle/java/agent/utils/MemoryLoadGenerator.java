@@ -11,77 +11,214 @@
 
 package com.vmware.mangle.java.agent.utils;
 
-import java.util.Arrays;
-import java.util.LinkedList;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.sun.management.HotSpotDiagnosticMXBean;
+
 import com.vmware.mangle.java.agent.faults.helpers.HeapInfoUtils;
 
 /**
+ * Reaches and holds the target usage of the heap, or of the direct memory in off-heap mode, by
+ * allocating large chunks of memory and releasing them again when the usage goes over the target.
+ *
+ * The heap is loaded with long arrays, so that each chunk costs a single object to the garbage
+ * collector. The controller measures the usage once per control interval, allocates the missing
+ * memory in chunks of at most {@link #MAX_CHUNK_SIZE} bytes, and releases the chunks exceeding the
+ * target by more than {@link #TOLERANCE_PERCENTAGE} percent, for instance when the application
+ * itself starts using more memory. As the heap usage includes garbage, the chunks are released on
+ * the usage left by the last garbage collection only.
+ *
+ * The direct memory chunks are freed through their cleaner when the running JDK exposes it, and
+ * left to the garbage collector otherwise.
+ *
  * @author hkilari
  *
  */
 public class MemoryLoadGenerator implements Runnable {
+    private static final Logger LOG = Logger.getLogger(MemoryLoadGenerator.class.getName());
+    private static final long MAX_CHUNK_SIZE = 16L * 1024 * 1024;
+    private static final long MIN_CHUNK_SIZE = 64L * 1024;
+    private static final double TOLERANCE_PERCENTAGE = 2;
+    private static final long CONTROL_INTERVAL_IN_MILLISECONDS = 1000;
+    private static final Consumer<ByteBuffer> DIRECT_BUFFER_CLEANER = getDirectBufferCleaner();
+
     private long duration;
     private int load;
-
-    private static final Logger LOG = Logger.getLogger(MemoryLoadGenerator.class.getName());
-    private ThreadLocal<List<String>> threadLocal = new ThreadLocal<>();
+    private boolean offHeap;
+    private final List<Object> chunks = new ArrayList<>();
+    private long allocatedBytes;
 
     public MemoryLoadGenerator(int load, long duration) {
+        this(load, duration, false);
+    }
+
+    public MemoryLoadGenerator(int load, long duration, boolean offHeap) {
         this.duration = duration;
-        this.load = load;
+        this.load = Math.min(100, Math.max(0, load));
+        this.offHeap = offHeap;
     }
 
     public void run() {
-        LOG.info("Fiaasco Injecting MemoryLoad Fault for duration: " + duration + " at Load: " + load);
-        LOG.info("MaxHeapSize Available: " + RuntimeUtils.getMaxHeapSpace());
-        LOG.info("MaxUsableHeap: " + RuntimeUtils.getMaxUsableHeapSpace());
-        LOG.info("Current HeapUsage: " + RuntimeUtils.getUsedHeapSpace());
-        LOG.info("Current HeapUsage Percentage: " + RuntimeUtils.getCurrentHeapUsageInPercentage());
-        LOG.info("Current Free Space: " + RuntimeUtils.getFreeHeapSpace());
-
-        long reservedMemory = getReservedSizeinBytes(load);
-        LOG.info("Reserved Memory: " + reservedMemory);
-        LinkedList<String> loadList = new LinkedList<>();
-        long startTime = System.currentTimeMillis();
-
-        threadLocal.set(loadList);
-        long count = 0;
-        while (System.currentTimeMillis() - startTime < duration) {
-            LOG.info("Current HeapUsage: " + RuntimeUtils.getUsedHeapSpace());
-            //Loop executes till the freespace available on Max Heap is greater than the ReservedMemory
-            while (RuntimeUtils.getFreeHeapSpace() >= reservedMemory) {
-                char[] chars = new char[100];
-                Arrays.fill(chars, 'a');
-                loadList.addFirst(new String(chars));
-                //Updates Reserved Memory to handle Runtime expansion of the Heap regions by JVM
-                if (count % 100000 == 0) {
-                    ThreadUtils.delayInMilliSeconds(10);
-                    reservedMemory = getReservedSizeinBytes(load);
-                    LOG.info("Reserved Memory: " + reservedMemory);
+        LOG.info("Fiaasco Injecting MemoryLoad Fault for duration: " + duration + " at Load: " + load
+                + (offHeap ? " of the direct memory" : " of the heap"));
+        long capacity = offHeap ? getMaxDirectMemory()
+                : RuntimeUtils.getMaxHeapSpace() - HeapInfoUtils.getFromSpace() * 1024;
+        long target = (long) (capacity * (load / 100.0));
+        long tolerance = (long) (capacity * (TOLERANCE_PERCENTAGE / 100));
+        LOG.info("Memory capacity: " + capacity + ", targeted usage: " + target + ", current usage: " + getUsage());
+
+        long endTime = System.currentTimeMillis() + duration;
+        boolean targetReached = false;
+        try {
+            while (System.currentTimeMillis() < endTime && !Thread.currentThread().isInterrupted()) {
+                long usage = getUsage();
+                if (usage < target - tolerance) {
+                    allocate(target - usage);
+                } else if (usage > target + tolerance && getLiveUsage() > target + tolerance) {
+                    release(getLiveUsage() - target);
+                } else if (!targetReached) {
+                    targetReached = true;
+                    LOG.info("Reached the targeted usage: " + usage + ", holding " + allocatedBytes + " bytes");
                 }
-                count++;
+                Thread.sleep(CONTROL_INTERVAL_IN_MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            LOG.fine("Exiting the thread");
+        } finally {
+            release(allocatedBytes);
+            if (!offHeap) {
+                RuntimeUtils.runGc();
             }
-            LOG.info("HeapUsage post injection: " + RuntimeUtils.getUsedHeapSpace());
-            LOG.info("Current HeapUsage Percentage: " + RuntimeUtils.getCurrentHeapUsageInPercentage());
-            ThreadUtils.delayInSeconds(10);
         }
-        RuntimeUtils.runGc();
         LOG.info("Fiaasco Exiting MemoryLoad Fault");
     }
 
-    private long getReservedSizeinBytes(double load) {
-        double currentUsage = RuntimeUtils.getCurrentHeapUsageInPercentage();
-        //Returns 1 if the Usage target is already met. Else return the maximum free memory can be left before reaching the Targeted Load.
-        //The calculation take account of the Pre Reserved regions of JVM
-        if (currentUsage >= load) {
-            return 1;
-        } else {
-            double loadToCreateInBytes = (((100 - load) / 100) * (double) RuntimeUtils.getMaxUsableHeapSpace())
-                    + (HeapInfoUtils.getFromSpace() * 1024);
-            return (long) loadToCreateInBytes;
+    private void allocate(long bytes) {
+        long remaining = bytes;
+        while (remaining >= MIN_CHUNK_SIZE && !Thread.currentThread().isInterrupted()) {
+            long chunkSize = Math.min(MAX_CHUNK_SIZE, remaining);
+            try {
+                chunks.add(offHeap ? ByteBuffer.allocateDirect((int) chunkSize) : new long[(int) (chunkSize / 8)]);
+            } catch (OutOfMemoryError e) {
+                LOG.warning("Could not allocate " + chunkSize + " more bytes, holding " + allocatedBytes + " bytes");
+                return;
+            }
+            allocatedBytes += chunkSize;
+            remaining -= chunkSize;
+        }
+    }
+
+    private void release(long bytes) {
+        long released = 0;
+        while (released < bytes && !chunks.isEmpty()) {
+            Object chunk = chunks.remove(chunks.size() - 1);
+            long chunkSize;
+            if (chunk instanceof ByteBuffer) {
+                chunkSize = ((ByteBuffer) chunk).capacity();
+                DIRECT_BUFFER_CLEANER.accept((ByteBuffer) chunk);
+            } else {
+                chunkSize = ((long[]) chunk).length * 8L;
+            }
+            allocatedBytes -= chunkSize;
+            released += chunkSize;
+        }
+    }
+
+    /**
+     * Returns the -XX:MaxDirectMemorySize of the JVM, which defaults to the maximum heap size when
+     * it is not set.
+     */
+    static long getMaxDirectMemory() {
+        try {
+            HotSpotDiagnosticMXBean diagnosticBean =
+                    ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            long maxDirectMemory = Long.parseLong(diagnosticBean.getVMOption("MaxDirectMemorySize").getValue());
+            if (maxDirectMemory > 0) {
+                return maxDirectMemory;
+            }
+        } catch (RuntimeException | LinkageError e) {
+            LOG.fine("MaxDirectMemorySize is not available: " + e);
+        }
+        return Runtime.getRuntime().maxMemory();
+    }
+
+    /**
+     * Looks up how to free a direct buffer right away, through Unsafe.invokeCleaner on JDK 9 and
+     * later, or through the cleaner of the buffer on JDK 8.
+     */
+    static Consumer<ByteBuffer> getDirectBufferCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Object unsafe = theUnsafe.get(null);
+            return buffer -> invoke(invokeCleaner, unsafe, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.fine("Unsafe.invokeCleaner is not available: " + e);
+        }
+        try {
+            Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> invoke(clean, invoke(cleaner, buffer));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.fine("The cleaner of the direct buffers is not available: " + e);
+        }
+        return buffer -> {
+        };
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) {
+        if (target == null) {
+            return null;
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.log(Level.FINE, "Could not free the direct buffer, leaving it to the garbage collector", e);
+            return null;
+        }
+    }
+
+    private long getLiveUsage() {
+        if (offHeap) {
+            return getUsage();
+        }
+        long liveUsage = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP) {
+                continue;
+            }
+            MemoryUsage collectionUsage = pool.getCollectionUsage();
+            if (collectionUsage == null) {
+                return getUsage();
+            }
+            liveUsage += collectionUsage.getUsed();
+        }
+        return liveUsage;
+    }
+
+    private long getUsage() {
+        if (!offHeap) {
+            return RuntimeUtils.getUsedHeapSpace();
+        }
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                return pool.getMemoryUsed();
+            }
         }
+        return allocatedBytes;
     }
 }
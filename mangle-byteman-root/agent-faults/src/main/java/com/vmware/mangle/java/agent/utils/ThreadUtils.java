@@ -31,7 +31,12 @@ public class ThreadUtils {
         throw new java.lang.UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
 
+    /**
+     * Loads the given number of cores at the given utilization, with one duty cycle thread per core.
+     * The number of cores is capped at the number of available processors.
+     */
     public static List<Future<?>> triggerCpuLoadGenerator(int noOfThreads, long timeOut, int load) {
+        noOfThreads = Math.min(Math.max(1, noOfThreads), RuntimeUtils.getNoOfProcessors());
         List<Future<?>> futureList = new ArrayList<>();
         ExecutorService executor = Executors.newFixedThreadPool(noOfThreads);
         for (int i = 0; i < noOfThreads; i++) {
@@ -43,9 +48,16 @@ public class ThreadUtils {
     }
 
     public static List<Future<?>> triggerMemoryLoadGenerator(long timeOut, int load) {
+        return triggerMemoryLoadGenerator(timeOut, load, false);
+    }
+
+    /**
+     * Loads the heap, or the direct memory when offHeap is set, at the given usage percentage.
+     */
+    public static List<Future<?>> triggerMemoryLoadGenerator(long timeOut, int load, boolean offHeap) {
         List<Future<?>> futureList = new ArrayList<>();
         ExecutorService executor = Executors.newFixedThreadPool(1);
-        Runnable worker = new MemoryLoadGenerator(load, timeOut);
+        Runnable worker = new MemoryLoadGenerator(load, timeOut, offHeap);
         futureList.add(executor.submit(worker));
         executor.shutdown();
         return futureList;
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.java.agent.faults.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.vmware.mangle.java.agent.faults.helpers.LatencyInjector.Distribution;
+
+/**
+ * Unit Test Case for LatencyInjector.
+ *
+ * @author mangle
+ */
+public class LatencyInjectorTest {
+    private static final String RULE_NAME = "LatencyInjectorTest";
+    private static final int SAMPLES = 100000;
+
+    @After
+    public void tearDown() {
+        LatencyInjector.reset(RULE_NAME);
+    }
+
+    @Test
+    public void testFromString() {
+        assertEquals(Distribution.FIXED, Distribution.fromString(null));
+        assertEquals(Distribution.FIXED, Distribution.fromString(" "));
+        assertEquals(Distribution.LONG_TAIL, Distribution.fromString("long-tail"));
+        assertEquals(Distribution.UNIFORM, Distribution.fromString("Uniform"));
+    }
+
+    @Test
+    public void testSampleWithoutSpread() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (Distribution distribution : Distribution.values()) {
+            assertEquals(100, distribution.sample(100, 0, random));
+        }
+        assertEquals(0, Distribution.LONG_TAIL.sample(0, 50, random));
+    }
+
+    @Test
+    public void testUniformSampleBounds() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long sample = Distribution.UNIFORM.sample(100, 20, random);
+            min = Math.min(min, sample);
+            max = Math.max(max, sample);
+        }
+
+        assertEquals(80, min);
+        assertEquals(120, max);
+    }
+
+    @Test
+    public void testNormalSampleMean() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double sum = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            sum += Distribution.NORMAL.sample(100, 20, random);
+        }
+
+        assertEquals(100, sum / SAMPLES, 1);
+    }
+
+    @Test
+    public void testLongTailSamplePercentiles() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = Distribution.LONG_TAIL.sample(100, 300, random);
+        }
+        Arrays.sort(samples);
+
+        assertEquals(100, samples[SAMPLES / 2], 3);
+        assertEquals(400, samples[SAMPLES * 99 / 100], 20);
+        assertTrue(samples[0] > 0);
+    }
+
+    @Test
+    public void testDelayRecordsStatistics() {
+        long delayed = LatencyInjector.delay(RULE_NAME, 20);
+
+        assertTrue(delayed >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(1, LatencyInjector.getDelayedInvocations(RULE_NAME));
+        assertEquals(delayed, LatencyInjector.getTotalDelayInNanos(RULE_NAME));
+        assertEquals(0, LatencyInjector.delay(RULE_NAME, Distribution.FIXED, 0, 0, 0));
+        assertEquals(1, LatencyInjector.getDelayedInvocations(RULE_NAME));
+    }
+
+    @Test
+    public void testDelayOfInterruptedThread() {
+        Thread.currentThread().interrupt();
+        long delayed;
+        try {
+            delayed = LatencyInjector.delay(RULE_NAME, 60000);
+        } finally {
+            assertTrue("The interrupt status should be kept", Thread.interrupted());
+        }
+
+        assertTrue(delayed < TimeUnit.SECONDS.toNanos(10));
+    }
+
+    @Test
+    public void testDelayEndsWhenInterrupted() throws InterruptedException {
+        CountDownLatch delaying = new CountDownLatch(1);
+        AtomicLong delayed = new AtomicLong();
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Thread thread = new Thread(() -> {
+            delaying.countDown();
+            delayed.set(LatencyInjector.delay(RULE_NAME, 60000));
+            interrupted.set(Thread.currentThread().isInterrupted());
+        });
+        thread.start();
+        assertTrue(delaying.await(10, TimeUnit.SECONDS));
+
+        thread.interrupt();
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertFalse(thread.isAlive());
+        assertTrue("The interrupt status should be kept", interrupted.get());
+        assertTrue(delayed.get() < TimeUnit.SECONDS.toNanos(10));
+        assertEquals(1, LatencyInjector.getDelayedInvocations(RULE_NAME));
+    }
+}
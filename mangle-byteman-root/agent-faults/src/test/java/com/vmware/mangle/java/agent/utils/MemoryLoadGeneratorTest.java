@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.java.agent.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * Unit Test Case for MemoryLoadGenerator.
+ *
+ * @author mangle
+ */
+public class MemoryLoadGeneratorTest {
+    private static final int BUFFER_SIZE = 8 * 1024 * 1024;
+
+    @Test
+    public void testGetMaxDirectMemory() {
+        long maxDirectMemory = MemoryLoadGenerator.getMaxDirectMemory();
+
+        assertTrue(maxDirectMemory > 0);
+        assertTrue(maxDirectMemory >= BUFFER_SIZE);
+    }
+
+    @Test
+    public void testDirectBufferCleanerFreesTheMemory() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        long usedWithBuffer = getDirectMemoryUsed();
+
+        MemoryLoadGenerator.getDirectBufferCleaner().accept(buffer);
+
+        assertEquals(usedWithBuffer - BUFFER_SIZE, getDirectMemoryUsed());
+    }
+
+    @Test
+    public void testDirectBufferCleanerIgnoresSlices() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        buffer.position(512);
+
+        MemoryLoadGenerator.getDirectBufferCleaner().accept(buffer.slice());
+        MemoryLoadGenerator.getDirectBufferCleaner().accept(ByteBuffer.allocate(1024));
+
+        assertEquals(0, buffer.get(0));
+    }
+
+    private static long getDirectMemoryUsed() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                return pool.getMemoryUsed();
+            }
+        }
+        throw new AssertionError("No direct buffer pool");
+    }
+}
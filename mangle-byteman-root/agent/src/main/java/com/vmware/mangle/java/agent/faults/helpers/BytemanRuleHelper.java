@@ -12,17 +12,19 @@
 package com.vmware.mangle.java.agent.faults.helpers;
 
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Random;
-import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import org.jboss.byteman.rule.Rule;
@@ -44,15 +46,41 @@ public class BytemanRuleHelper extends Helper {
     }
 
     private static final Logger LOG = Logger.getLogger(BytemanRuleHelper.class.getName());
+    private static final Map<String, Class<?>> EXCEPTION_CLASSES = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, MethodHandle> EXCEPTION_CONSTRUCTORS = new ConcurrentHashMap<>();
 
     public void threadSleep(long delayInterval) {
         ThreadUtils.delayInMilliSeconds(delayInterval);
     }
 
+    /**
+     * Parks the current thread for the given delay in milliseconds, without consuming CPU.
+     */
     public void sleep(long delayInterval) {
-        long start = new Date().getTime();
-        while (new Date().getTime() - start < delayInterval) {
+        LatencyInjector.delay(rule.getName(), delayInterval);
+    }
+
+    /**
+     * Parks the current thread for a delay drawn from the given distribution (fixed, uniform,
+     * normal or long-tail) around the given delay, shifted by a uniform jitter. All the durations
+     * are in milliseconds.
+     */
+    public void sleep(String distribution, long delayInterval, long spread, long jitter) {
+        LatencyInjector.delay(rule.getName(), LatencyInjector.Distribution.fromString(distribution), delayInterval,
+                spread, jitter);
+    }
+
+    /**
+     * Invoked by Byteman when a rule using this helper is removed, reports the delays the rule added.
+     */
+    public static void uninstalled(Rule rule) {
+        long delayedInvocations = LatencyInjector.getDelayedInvocations(rule.getName());
+        if (delayedInvocations > 0) {
+            LOG.info("Rule " + rule.getName() + " delayed " + delayedInvocations + " invocations by "
+                    + TimeUnit.NANOSECONDS.toMillis(LatencyInjector.getTotalDelayInNanos(rule.getName()))
+                    + " ms in total");
         }
+        LatencyInjector.reset(rule.getName());
     }
 
     public void interrupt() {
@@ -103,13 +131,10 @@ public class BytemanRuleHelper extends Helper {
         HeapDumpUtils.dumpHeap(heapfilePath, true);
     }
 
-    @SuppressWarnings("unchecked")
     public void throwException(String exceptionClassName, String exceptionMessage) throws Throwable {
-        Class<Throwable> exceptionClass = null;
         try {
             if (exceptionClassName != null && exceptionMessage != null) {
-                exceptionClass = (Class<Throwable>) Class.forName(exceptionClassName);
-                createException(exceptionClass, exceptionMessage);
+                createException(getExceptionClass(exceptionClassName), exceptionMessage);
             }
             LOG.warning("Unable to Create Exception as Input Validation Failed");
         } catch (ClassNotFoundException e) {
@@ -118,57 +143,65 @@ public class BytemanRuleHelper extends Helper {
     }
 
     public <T extends Throwable> void createException(Class<T> exceptionType, String message) throws T {
+        MethodHandle constructor = EXCEPTION_CONSTRUCTORS.computeIfAbsent(exceptionType,
+                BytemanRuleHelper::findExceptionConstructor);
+        if (constructor == null) {
+            return;
+        }
+        T exception;
+        try {
+            exception = exceptionType.cast(constructor.invoke(message));
+        } catch (Throwable e) {
+            LOG.severe(e.getMessage());
+            return;
+        }
+        throw exception;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<Throwable> getExceptionClass(String exceptionClassName) throws ClassNotFoundException {
+        Class<?> exceptionClass = EXCEPTION_CLASSES.get(exceptionClassName);
+        if (exceptionClass == null) {
+            exceptionClass = Class.forName(exceptionClassName);
+            EXCEPTION_CLASSES.put(exceptionClassName, exceptionClass);
+        }
+        return (Class<Throwable>) exceptionClass;
+    }
+
+    private static MethodHandle findExceptionConstructor(Class<?> exceptionType) {
         try {
-            throw exceptionType.getConstructor(String.class).newInstance(message);
-        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
-                | NoSuchMethodException | SecurityException e) {
+            return MethodHandles.publicLookup().findConstructor(exceptionType,
+                    MethodType.methodType(void.class, String.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
             LOG.severe(e.getMessage());
+            return null;
         }
     }
 
     public void serviceLatency(String servicesString, String operation, long delayInterval) {
-        List<String> serviceList = tokenizeString(servicesString);
-        if (serviceList != null && isFaultEnabledForService(serviceList, operation)) {
-            if (delayInterval > 0) {
-                sleep(delayInterval);
-            }
+        if (delayInterval > 0 && RuleMatchers.services(servicesString).matches(operation)) {
+            sleep(delayInterval);
         }
     }
 
     public void springServiceLatency(String servicesString, String pathInfo, String httpMethodsString,
             String methodName, long delayInterval) {
-        List<String> serviceList = tokenizeString(servicesString);
-        List<String> methodList = tokenizeString(httpMethodsString);
-        if (serviceList != null && isFaultEnabledForService(serviceList, pathInfo)) {
-            if (httpMethodsString != null && isFaultEnabledForHTTPMethod(methodList, methodName)) {
-                if (delayInterval > 0) {
-                    sleep(delayInterval);
-                }
-            }
+        if (delayInterval > 0 && httpMethodsString != null
+                && RuleMatchers.services(servicesString).matches(pathInfo)
+                && RuleMatchers.methods(httpMethodsString).matches(methodName)) {
+            sleep(delayInterval);
         }
     }
 
     public boolean isFaultEnabled(String servicesString, String pathInfo, String httpMethodsString, String methodName) {
-        List<String> serviceList = tokenizeString(servicesString);
-        List<String> methodList = tokenizeString(httpMethodsString);
-        if (serviceList != null && isFaultEnabledForService(serviceList, pathInfo)) {
-            if (httpMethodsString == null || httpMethodsString.trim().equals("")) {
-                return true;
-            }
-            if (httpMethodsString != null && isFaultEnabledForHTTPMethod(methodList, methodName)) {
-                return true;
-            }
+        if (!RuleMatchers.services(servicesString).matches(pathInfo)) {
+            return false;
         }
-        return false;
-    }
-
-    private List<String> tokenizeString(String inputString) {
-        List<String> stringList = new ArrayList<>();
-        StringTokenizer stringTokenizer = new StringTokenizer(inputString, "#");
-        while (stringTokenizer.hasMoreTokens()) {
-            stringList.add(stringTokenizer.nextToken());
+        if (httpMethodsString == null) {
+            return true;
         }
-        return stringList;
+        RuleMatchers.MethodMatcher methods = RuleMatchers.methods(httpMethodsString);
+        return methods.matchesAllMethods() || methods.matches(methodName);
     }
 
     public static boolean isFaultEnabledForService(List<String> servicesList, String operation) {
@@ -190,17 +223,11 @@ public class BytemanRuleHelper extends Helper {
     }
 
     public boolean applyPercentageFilter(String servicesString, String operation, int percent) {
-        Random rand = new Random();
-        return applyServiceFilter(servicesString, operation) && (rand.nextInt(100) <= percent);
+        return applyServiceFilter(servicesString, operation) && ThreadLocalRandom.current().nextInt(100) <= percent;
     }
 
     public boolean applyServiceFilter(String servicesString, String operation) {
-        List<String> serviceList = new ArrayList<>();
-        StringTokenizer stringTokenizer = new StringTokenizer(servicesString, "#");
-        while (stringTokenizer.hasMoreTokens()) {
-            serviceList.add(stringTokenizer.nextToken());
-        }
-        return serviceList != null && isFaultEnabledForService(serviceList, operation);
+        return RuleMatchers.services(servicesString).matches(operation);
     }
 
     public String objectToJson(Object object) {
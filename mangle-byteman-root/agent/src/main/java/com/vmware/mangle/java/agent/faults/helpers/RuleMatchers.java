@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.java.agent.faults.helpers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.Set;
+import java.util.StringTokenizer;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Matchers of the '#' separated services and http methods of the fault rules. A rule passes the
+ * same strings on every intercepted call, so each string is compiled once and the compiled matcher
+ * is reused by the following calls.
+ *
+ * @author mangle
+ */
+final class RuleMatchers {
+    private static final int MAX_CACHED_MATCHERS = 1024;
+    private static final int AUTOMATON_THRESHOLD = 8;
+    private static final String SEPARATOR = "#";
+    private static final Map<String, ServiceMatcher> SERVICE_MATCHERS = new ConcurrentHashMap<>();
+    private static final Map<String, MethodMatcher> METHOD_MATCHERS = new ConcurrentHashMap<>();
+
+    private RuleMatchers() {
+        throw new java.lang.UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Returns the matcher of the operations containing any of the given services
+     */
+    static ServiceMatcher services(String servicesString) {
+        ServiceMatcher matcher = SERVICE_MATCHERS.get(servicesString);
+        if (matcher == null) {
+            List<String> services = tokenize(servicesString);
+            matcher = services.size() < AUTOMATON_THRESHOLD ? new SubstringServiceMatcher(services)
+                    : new AutomatonServiceMatcher(services);
+            cache(SERVICE_MATCHERS, servicesString, matcher);
+        }
+        return matcher;
+    }
+
+    /**
+     * Returns the matcher of the given http methods, ignoring their case. A blank string stands for
+     * all the methods, while a string of separators only matches none of them.
+     */
+    static MethodMatcher methods(String methodsString) {
+        MethodMatcher matcher = METHOD_MATCHERS.get(methodsString);
+        if (matcher == null) {
+            matcher = new MethodMatcher(tokenize(methodsString), methodsString.trim().isEmpty());
+            cache(METHOD_MATCHERS, methodsString, matcher);
+        }
+        return matcher;
+    }
+
+    private static <T> void cache(Map<String, T> matchers, String key, T matcher) {
+        if (matchers.size() >= MAX_CACHED_MATCHERS) {
+            matchers.clear();
+        }
+        matchers.put(key, matcher);
+    }
+
+    private static List<String> tokenize(String inputString) {
+        List<String> tokens = new ArrayList<>();
+        StringTokenizer stringTokenizer = new StringTokenizer(inputString, SEPARATOR);
+        while (stringTokenizer.hasMoreTokens()) {
+            tokens.add(stringTokenizer.nextToken());
+        }
+        return tokens;
+    }
+
+    interface ServiceMatcher {
+        boolean matches(String operation);
+    }
+
+    /**
+     * Searches the services one after the other, which is the fastest for a handful of services.
+     */
+    private static final class SubstringServiceMatcher implements ServiceMatcher {
+        private final String[] services;
+
+        private SubstringServiceMatcher(List<String> services) {
+            this.services = services.toArray(new String[0]);
+        }
+
+        @Override
+        public boolean matches(String operation) {
+            if (operation == null) {
+                return false;
+            }
+            for (String service : services) {
+                if (operation.contains(service)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Aho-Corasick automaton of the services, finding whether any of them occurs in the operation
+     * in a single pass over the operation, whatever the number of services.
+     */
+    private static final class AutomatonServiceMatcher implements ServiceMatcher {
+        private final char[][] transitionChars;
+        private final int[][] transitionStates;
+        private final int[] failures;
+        private final BitSet terminals;
+
+        private AutomatonServiceMatcher(List<String> services) {
+            List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+            trie.add(new TreeMap<>());
+            terminals = new BitSet();
+            for (String service : services) {
+                int state = 0;
+                for (int i = 0; i < service.length(); i++) {
+                    Integer next = trie.get(state).get(service.charAt(i));
+                    if (next == null) {
+                        next = trie.size();
+                        trie.add(new TreeMap<>());
+                        trie.get(state).put(service.charAt(i), next);
+                    }
+                    state = next;
+                }
+                terminals.set(state);
+            }
+            transitionChars = new char[trie.size()][];
+            transitionStates = new int[trie.size()][];
+            for (int state = 0; state < trie.size(); state++) {
+                transitionChars[state] = new char[trie.get(state).size()];
+                transitionStates[state] = new int[trie.get(state).size()];
+                int index = 0;
+                for (Entry<Character, Integer> transition : trie.get(state).entrySet()) {
+                    transitionChars[state][index] = transition.getKey();
+                    transitionStates[state][index++] = transition.getValue();
+                }
+            }
+            failures = new int[trie.size()];
+            computeFailures();
+        }
+
+        /**
+         * Links every state to the state of its longest proper suffix, breadth first so that the
+         * suffix states are linked before the longer states relying on them.
+         */
+        private void computeFailures() {
+            Queue<Integer> states = new ArrayDeque<>();
+            states.add(0);
+            while (!states.isEmpty()) {
+                int state = states.poll();
+                for (int i = 0; i < transitionChars[state].length; i++) {
+                    char character = transitionChars[state][i];
+                    int next = transitionStates[state][i];
+                    if (state != 0) {
+                        int failure = failures[state];
+                        while (failure != 0 && transition(failure, character) < 0) {
+                            failure = failures[failure];
+                        }
+                        int failureNext = transition(failure, character);
+                        failures[next] = failureNext < 0 ? 0 : failureNext;
+                        if (terminals.get(failures[next])) {
+                            terminals.set(next);
+                        }
+                    }
+                    states.add(next);
+                }
+            }
+        }
+
+        private int transition(int state, char character) {
+            int index = Arrays.binarySearch(transitionChars[state], character);
+            return index < 0 ? -1 : transitionStates[state][index];
+        }
+
+        @Override
+        public boolean matches(String operation) {
+            if (operation == null) {
+                return false;
+            }
+            int state = 0;
+            for (int i = 0; i < operation.length(); i++) {
+                char character = operation.charAt(i);
+                int next = transition(state, character);
+                while (next < 0 && state != 0) {
+                    state = failures[state];
+                    next = transition(state, character);
+                }
+                state = next < 0 ? 0 : next;
+                if (terminals.get(state)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    static final class MethodMatcher {
+        private final Set<String> methods = new HashSet<>();
+        private final boolean allMethods;
+
+        private MethodMatcher(List<String> methods, boolean allMethods) {
+            for (String method : methods) {
+                this.methods.add(method.toUpperCase(Locale.ROOT));
+            }
+            this.allMethods = allMethods;
+        }
+
+        boolean matchesAllMethods() {
+            return allMethods;
+        }
+
+        boolean matches(String methodName) {
+            return methodName != null
+                    && (methods.contains(methodName) || methods.contains(methodName.toUpperCase(Locale.ROOT)));
+        }
+    }
+}
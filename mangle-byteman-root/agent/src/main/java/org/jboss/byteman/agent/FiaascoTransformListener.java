@@ -25,13 +25,23 @@ import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarFile;
 import java.util.logging.Logger;
 
@@ -52,6 +62,11 @@ import com.vmware.mangle.java.agent.utils.RuntimeUtils;
  * a socket based listener class which reads scripts from stdin and installs them in the current
  * runtime
  *
+ * The listener thread only accepts the connections, each connection is served by a pool of worker
+ * threads so that the requests to the agent are handled concurrently. The heap and thread dumps are
+ * handed over to a dedicated diagnostics thread, so that a slow dump does not hold a worker, and
+ * the commands changing the installed rules, jars or system properties are run one at a time.
+ *
  * @author Andrew Dinn
  * @author hkilari
  *
@@ -61,21 +76,79 @@ public class FiaascoTransformListener extends Thread {
     public static int DEFAULT_PORT = 9091;
     public static String DEFAULT_HOST = "localhost";
     public static Integer myPort;
+    public static final String WORKER_THREADS_PROPERTY = AgentMain.BYTEMAN_PREFIX + "listener.workers";
+    public static final int DEFAULT_WORKER_THREADS = 4;
+    private static final int MAX_QUEUED_CONNECTIONS = 64;
+    private static final List<String> DIAGNOSTIC_COMMANDS = Arrays.asList("THREADDUMP", "HEAPDUMP");
+    private static final List<String> EXACT_COMMANDS = Arrays.asList("BOOT", "SYS", "LOAD", "DELETE", "LIST",
+            "DELETEALL", "VERSION", "LISTBOOT", "LISTSYS", "LISTSYSPROPS", "SETSYSPROPS");
     private static FiaascoTransformListener theTransformListener = null;
     private static ServerSocket theServerSocket;
     private static boolean forceExit;
     private Retransformer retransformer;
     private FaultsHelper faultsHelper;
     private boolean isTroubleshootingEnabled = false;
-    private boolean shutdown;
+    private volatile boolean shutdown;
+    private final Map<String, CommandHandler> commands = new LinkedHashMap<>();
+    private final Object configurationLock = new Object();
+    private final ThreadPoolExecutor workers;
+    private final ThreadPoolExecutor diagnostics;
 
     private FiaascoTransformListener(Retransformer retransformer) {
         this.retransformer = retransformer;
         faultsHelper = FaultsHelper.getInstance();
         setDaemon(true);
+        registerCommands();
+        int workerThreads = Math.max(1, Integer.getInteger(WORKER_THREADS_PROPERTY, DEFAULT_WORKER_THREADS));
+        workers = new ThreadPoolExecutor(workerThreads, workerThreads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED_CONNECTIONS), new ListenerThreadFactory("worker"));
+        workers.allowCoreThreadTimeOut(true);
+        diagnostics = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ListenerThreadFactory("diagnostics"));
+        diagnostics.allowCoreThreadTimeOut(true);
         System.out.println("Started Listener by Mangle for Injecting Java Application Faults");
     }
 
+    /**
+     * Builds the command lookup table. The fault commands are registered in the order in which a
+     * line which is not exactly a command is matched against them, FORCETERMINATE coming before
+     * TERMINATE.
+     */
+    private void registerCommands() {
+        commands.put("BOOT", serialized((in, out) -> loadJars(in, out, true)));
+        commands.put("SYS", serialized((in, out) -> loadJars(in, out, false)));
+        commands.put("LOAD", serialized(this::loadScripts));
+        commands.put("DELETE", serialized(this::deleteScripts));
+        commands.put("LIST", this::listScripts);
+        commands.put("DELETEALL", serialized(this::purgeScripts));
+        commands.put("VERSION", this::getVersion);
+        commands.put("LISTBOOT", this::listBootJars);
+        commands.put("LISTSYS", this::listSystemJars);
+        commands.put("LISTSYSPROPS", this::listSystemProperties);
+        commands.put("SETSYSPROPS", serialized(this::setSystemProperties));
+        commands.put("INJECTFAULT", this::injectFault);
+        commands.put("REMEDIATEFAULT", this::remediateFault);
+        commands.put("LISTLIVEFAULTS", this::listLiveFaults);
+        commands.put("LISTALLFAULTS", this::listAllFaults);
+        commands.put("GETFAULT", this::getFaultInfo);
+        commands.put("THREADDUMP", this::getThreadDump);
+        commands.put("HEAPDUMP", this::getHeapDump);
+        commands.put("HEAPUSAGE", this::getCurrentMemoryUsage);
+        commands.put("GETALLFAULTS", this::listAllFaultsInfo);
+        commands.put("FORCETERMINATE", (in, out) -> forceTerminate(out));
+        commands.put("TERMINATE", (in, out) -> terminate(out));
+        commands.put("ENABLETROUBLESHOOTING", serialized(this::enableCollectionOfTroubleshootingData));
+        commands.put("PING", this::sendStatus);
+    }
+
+    private CommandHandler serialized(CommandHandler handler) {
+        return (in, out) -> {
+            synchronized (configurationLock) {
+                handler.handle(in, out);
+            }
+        };
+    }
+
     public static synchronized boolean initialize(Retransformer retransformer) {
         return (initialize(retransformer, null, null));
     }
@@ -187,32 +260,46 @@ public class FiaascoTransformListener extends Thread {
 
         Rule.disableTriggersInternal();
 
-        while (!shutdown) {
-            if (theServerSocket.isClosed()) {
-                return;
-            }
-            Socket socket = null;
-            try {
-                socket = theServerSocket.accept();
-            } catch (IOException e) {
-                if (!theServerSocket.isClosed()) {
-                    Helper.err("TransformListener.run : exception from server socket accept " + e);
-                    Helper.errTraceException(e);
+        ServerSocket serverSocket = theServerSocket;
+        try {
+            while (!shutdown) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                Socket socket = null;
+                try {
+                    socket = serverSocket.accept();
+                } catch (IOException e) {
+                    if (!serverSocket.isClosed()) {
+                        Helper.err("TransformListener.run : exception from server socket accept " + e);
+                        Helper.errTraceException(e);
+                    }
+                    return;
                 }
-                return;
-            }
 
-            Helper.verbose("TransformListener() : handling connection on port " + socket.getLocalPort());
+                Helper.verbose("TransformListener() : handling connection on port " + socket.getLocalPort());
+                submitConnection(socket);
+            }
+        } finally {
+            workers.shutdown();
+            diagnostics.shutdown();
+        }
+    }
 
+    private void submitConnection(Socket socket) {
+        try {
+            workers.execute(() -> handleConnection(socket));
+        } catch (RejectedExecutionException e) {
+            Helper.err("TransformListener() : too many pending connections on port " + socket.getLocalPort());
             try {
-                handleConnection(socket);
-            } catch (Exception e) {
-                Helper.err("TransformListener() : error handling connection on port " + socket.getLocalPort());
-                try {
-                    socket.close();
-                } catch (IOException e1) {
-                    Helper.err("Failed to Terminate Listener. Reason: " + e1.getMessage());
-                }
+                PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream()));
+                out.println("ERROR");
+                out.println("Listener is busy, retry the command later");
+                out.println("OK");
+                out.flush();
+                socket.close();
+            } catch (IOException e1) {
+                Helper.err("TransformListener() : error closing rejected connection " + e1.getMessage());
             }
         }
     }
@@ -263,76 +350,66 @@ public class FiaascoTransformListener extends Thread {
             Helper.errTraceException(e);
         }
 
-        try {
-            if (line == null) {
-                out.println("ERROR");
-                out.println("Expecting input command");
-                out.println("OK");
-                out.flush();
-            } else if (line.equals("BOOT")) {
-                loadJars(in, out, true);
-            } else if (line.equals("SYS")) {
-                loadJars(in, out, false);
-            } else if (line.equals("LOAD")) {
-                loadScripts(in, out);
-            } else if (line.equals("DELETE")) {
-                deleteScripts(in, out);
-            } else if (line.equals("LIST")) {
-                listScripts(in, out);
-            } else if (line.equals("DELETEALL")) {
-                purgeScripts(in, out);
-            } else if (line.equals("VERSION")) {
-                getVersion(in, out);
-            } else if (line.equals("LISTBOOT")) {
-                listBootJars(in, out);
-            } else if (line.equals("LISTSYS")) {
-                listSystemJars(in, out);
-            } else if (line.equals("LISTSYSPROPS")) {
-                listSystemProperties(in, out);
-            } else if (line.equals("SETSYSPROPS")) {
-                setSystemProperties(in, out);
-            } else if (line.contains("INJECTFAULT")) {
-                injectFault(in, out);
-            } else if (line.contains("REMEDIATEFAULT")) {
-                remediateFault(in, out);
-            } else if (line.contains("LISTLIVEFAULTS")) {
-                listLiveFaults(in, out);
-            } else if (line.contains("LISTALLFAULTS")) {
-                listAllFaults(in, out);
-            } else if (line.contains("GETFAULT")) {
-                getFaultInfo(in, out);
-            } else if (line.contains("THREADDUMP")) {
-                getThreadDump(in, out);
-            } else if (line.contains("HEAPDUMP")) {
-                getHeapDump(in, out);
-            } else if (line.contains("HEAPUSAGE")) {
-                getCurrentMemoryUsage(in, out);
-            } else if (line.contains("GETALLFAULTS")) {
-                listAllFaultsInfo(in, out);
-            } else if (line.contains("FORCETERMINATE")) {
-                forceTerminate(out);
-            } else if (line.contains("TERMINATE")) {
-                terminate(out);
-            } else if (line.contains("ENABLETROUBLESHOOTING")) {
-                enableCollectionOfTroubleshootingData(in, out);
-            } else if (line.contains("PING")) {
-                sendStatus(in, out);
-            } else {
-                out.println("ERROR");
-                out.println("Unexpected command " + line);
-                out.println("OK");
-                out.flush();
+        if (line == null) {
+            out.println("ERROR");
+            out.println("Expecting input command");
+            out.println("OK");
+            out.flush();
+            closeSocket(socket);
+            return;
+        }
+
+        String command = findCommand(line);
+        if (command == null) {
+            out.println("ERROR");
+            out.println("Unexpected command " + line);
+            out.println("OK");
+            out.flush();
+            closeSocket(socket);
+        } else if (DIAGNOSTIC_COMMANDS.contains(command)) {
+            try {
+                diagnostics.execute(() -> runCommand(command, socket, in, out));
+            } catch (RejectedExecutionException e) {
+                closeSocket(socket);
+            }
+        } else {
+            runCommand(command, socket, in, out);
+        }
+    }
+
+    /**
+     * Looks up the command of the given line, a line which is not exactly a command being matched
+     * on the first fault command it contains
+     */
+    private String findCommand(String line) {
+        if (commands.containsKey(line)) {
+            return line;
+        }
+        for (String command : commands.keySet()) {
+            if (!EXACT_COMMANDS.contains(command) && line.contains(command)) {
+                return command;
             }
+        }
+        return null;
+    }
+
+    private void runCommand(String command, Socket socket, BufferedReader in, PrintWriter out) {
+        try {
+            commands.get(command).handle(in, out);
         } catch (Exception e) {
-            Helper.err("TransformListener.run : exception " + e + " processing command " + line);
+            Helper.err("TransformListener.run : exception " + e + " processing command " + command);
             Helper.errTraceException(e);
         } finally {
-            try {
-                socket.close();
-            } catch (IOException e1) {
-                Helper.err("TransformListener.run : exception closing socket " + e1);
-                Helper.errTraceException(e1);
-            }
+            closeSocket(socket);
+        }
+    }
+
+    private void closeSocket(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e1) {
+            Helper.err("TransformListener.run : exception closing socket " + e1);
+            Helper.errTraceException(e1);
         }
     }
 
@@ -783,4 +860,35 @@ public class FiaascoTransformListener extends Thread {
         out.println("OK");
         out.flush();
     }
+
+    /**
+     * Serves a command read from a connection to the listener
+     */
+    @FunctionalInterface
+    private interface CommandHandler {
+        void handle(BufferedReader in, PrintWriter out) throws Exception;
+    }
+
+    /**
+     * Creates the daemon threads of the listener pools, with the rule triggers disabled as on the
+     * listener thread itself
+     */
+    private static final class ListenerThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+        private final String name;
+
+        private ListenerThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(() -> {
+                Rule.disableTriggersInternal();
+                runnable.run();
+            }, "Mangle-Listener-" + name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
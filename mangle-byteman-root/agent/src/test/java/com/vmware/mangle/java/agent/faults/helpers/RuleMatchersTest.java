@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.java.agent.faults.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit Test Case for RuleMatchers, checking the service matchers against String.contains.
+ *
+ * @author mangle
+ */
+public class RuleMatchersTest {
+    private static final List<String> OVERLAPPING_SERVICES =
+            Arrays.asList("he", "she", "his", "hers", "aaa", "aab", "abab", "b/c");
+    private static final List<String> SUFFIX_SERVICES = Arrays.asList("/api/v1/users", "v1/users", "users", "/api/v2",
+            "api/v2/orders", "s/1", "/health", "th");
+
+    @Test
+    public void testOverlappingServices() {
+        assertMatchesLikeContains(OVERLAPPING_SERVICES, Arrays.asList("ushers", "shis", "hxe", "aaab", "aabab", "ababa",
+                "abaab", "a/b/c", "b/", "h", "", "sh", "xhisx"));
+    }
+
+    @Test
+    public void testSuffixServices() {
+        assertMatchesLikeContains(SUFFIX_SERVICES, Arrays.asList("/api/v1/users/1", "/api/v3/users", "/v1/user",
+                "/api/v2/order", "/api/v3/orders/1", "/healt", "/status/1", "/ath", "/pathology", "/api/v", ""));
+    }
+
+    @Test
+    public void testRandomServices() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<String> services = new ArrayList<>();
+            int serviceCount = 8 + random.nextInt(12);
+            for (int i = 0; i < serviceCount; i++) {
+                services.add(randomString(random, 1 + random.nextInt(4)));
+            }
+            List<String> operations = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                operations.add(randomString(random, random.nextInt(20)));
+            }
+            assertMatchesLikeContains(services, operations);
+        }
+    }
+
+    @Test
+    public void testNullOperation() {
+        assertFalse(RuleMatchers.services(String.join("#", OVERLAPPING_SERVICES)).matches(null));
+        assertFalse(RuleMatchers.services("/api#/health").matches(null));
+    }
+
+    @Test
+    public void testMethods() {
+        RuleMatchers.MethodMatcher methods = RuleMatchers.methods("GET#post");
+
+        assertTrue(methods.matches("get"));
+        assertTrue(methods.matches("POST"));
+        assertFalse(methods.matches("PUT"));
+        assertFalse(methods.matches(null));
+        assertFalse(methods.matchesAllMethods());
+        assertTrue(RuleMatchers.methods(" ").matchesAllMethods());
+        assertFalse(RuleMatchers.methods("#").matchesAllMethods());
+    }
+
+    @Test
+    public void testIsFaultEnabled() {
+        BytemanRuleHelper helper = new BytemanRuleHelper(null);
+
+        assertTrue(helper.isFaultEnabled("/api#/health", "/api/users", null, "GET"));
+        assertTrue(helper.isFaultEnabled("/api#/health", "/api/users", "", "GET"));
+        assertTrue(helper.isFaultEnabled("/api#/health", "/api/users", "get#PUT", "GET"));
+        assertFalse(helper.isFaultEnabled("/api#/health", "/api/users", "POST", "GET"));
+        assertFalse(helper.isFaultEnabled("/api#/health", "/status", null, "GET"));
+    }
+
+    @Test
+    public void testIsFaultEnabledWithSeparatorOnlyMethods() {
+        BytemanRuleHelper helper = new BytemanRuleHelper(null);
+
+        assertFalse(helper.isFaultEnabled("/api", "/api/users", "#", "GET"));
+        assertFalse(helper.isFaultEnabled("/api", "/api/users", "##", "DELETE"));
+    }
+
+    private static void assertMatchesLikeContains(List<String> services, List<String> operations) {
+        RuleMatchers.ServiceMatcher matcher = RuleMatchers.services(String.join("#", services));
+        for (String operation : operations) {
+            boolean expected = services.stream().anyMatch(operation::contains);
+            assertEquals("services " + services + " in " + operation, expected, matcher.matches(operation));
+        }
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append("ab/".charAt(random.nextInt(3)));
+        }
+        return builder.toString();
+    }
+}
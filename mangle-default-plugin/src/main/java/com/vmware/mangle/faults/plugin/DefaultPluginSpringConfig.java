@@ -38,6 +38,7 @@ import com.vmware.mangle.faults.plugin.tasks.helpers.SystemResourceFaultTaskHelp
 import com.vmware.mangle.faults.plugin.tasks.helpers.VCenterSpecificFaultTaskHelper;
 import com.vmware.mangle.faults.plugin.tasks.helpers.VCenterSpecificFaultTriggerTaskHelper;
 import com.vmware.mangle.faults.plugin.utils.PluginUtils;
+import com.vmware.mangle.faults.plugin.utils.SupportScriptDistributor;
 import com.vmware.mangle.task.framework.endpoint.EndpointClientFactory;
 import com.vmware.mangle.task.framework.helpers.CommandInfoExecutionHelper;
 
@@ -160,6 +161,11 @@ public class DefaultPluginSpringConfig {
         return new PluginUtils();
     }
 
+    @Bean
+    public SupportScriptDistributor supportScriptDistributor() {
+        return new SupportScriptDistributor();
+    }
+
     @Bean
     public K8sSystemResourceFaultHelper k8sSystemResourceFaultHelper(EndpointClientFactory endpointClientFactory,
             SystemResourceFaultUtils systemResourceFaultUtils) {
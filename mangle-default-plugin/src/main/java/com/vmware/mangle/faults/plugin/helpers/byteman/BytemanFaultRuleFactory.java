@@ -50,7 +50,7 @@ public class BytemanFaultRuleFactory {
                 .append(jvmAgentFaultSpec.getArgs().get(AgentRuleConstants.HTTP_METHODS_STRING).trim())
                 .append("\\\",method)").toString();
         builder.append(getIfCondition(ifStr));
-        String helperMethodStr = "sleep(" + jvmAgentFaultSpec.getArgs().get(AgentRuleConstants.LATENCY_STRING) + ");";
+        String helperMethodStr = getSleepMethod(jvmAgentFaultSpec) + ";";
         builder.append(getHelperMethod(helperMethodStr));
         return builder.toString();
     }
@@ -90,7 +90,7 @@ public class BytemanFaultRuleFactory {
         builder.append(getBindString(null));
 
         builder.append(getIfCondition(null));
-        String helperMethodStr = "sleep(" + jvmAgentFaultSpec.getArgs().get(AgentRuleConstants.LATENCY_STRING) + ")";
+        String helperMethodStr = getSleepMethod(jvmAgentFaultSpec);
         builder.append(getHelperMethod(helperMethodStr));
         return builder.toString();
     }
@@ -202,6 +202,18 @@ public class BytemanFaultRuleFactory {
         return builder.toString();
     }
 
+    private String getSleepMethod(CommandExecutionFaultSpec jvmAgentFaultSpec) {
+        String latency = jvmAgentFaultSpec.getArgs().get(AgentRuleConstants.LATENCY_STRING);
+        String distribution = jvmAgentFaultSpec.getArgs().get(AgentRuleConstants.LATENCY_DISTRIBUTION_STRING);
+        if (null == distribution) {
+            return "sleep(" + latency + ")";
+        }
+        return new StringBuilder().append("sleep(\\\"").append(distribution).append("\\\",").append(latency)
+                .append(",").append(jvmAgentFaultSpec.getArgs().get(AgentRuleConstants.LATENCY_SPREAD_STRING))
+                .append(",").append(jvmAgentFaultSpec.getArgs().get(AgentRuleConstants.LATENCY_JITTER_STRING))
+                .append(")").toString();
+    }
+
     private String getRuleName(CommandExecutionFaultSpec jvmAgentFaultSpec) {
         return new StringBuilder(AgentRuleConstants.RULE_STRING).append(jvmAgentFaultSpec.getArgs().get(TASK_ID))
                 .append("\n").toString();
@@ -23,7 +23,6 @@ import static com.vmware.mangle.utils.constants.FaultConstants.TASK_ID;
 import static com.vmware.mangle.utils.constants.FaultConstants.TIMEOUT_IN_MILLI_SEC_ARG;
 import static com.vmware.mangle.utils.constants.FaultConstants.USER;
 
-import java.io.File;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,12 +43,11 @@ import com.vmware.mangle.cassandra.model.tasks.TaskType;
 import com.vmware.mangle.faults.plugin.helpers.byteman.BytemanFaultHelper;
 import com.vmware.mangle.faults.plugin.helpers.byteman.BytemanFaultHelperFactory;
 import com.vmware.mangle.faults.plugin.utils.PluginUtils;
+import com.vmware.mangle.faults.plugin.utils.SupportScriptDistributor;
 import com.vmware.mangle.model.enums.EndpointType;
 import com.vmware.mangle.task.framework.endpoint.EndpointClientFactory;
 import com.vmware.mangle.task.framework.helpers.AbstractRemoteCommandExecutionTaskHelper;
 import com.vmware.mangle.task.framework.utils.TaskDescriptionUtils;
-import com.vmware.mangle.utils.CommandUtils;
-import com.vmware.mangle.utils.ConstantsUtils;
 import com.vmware.mangle.utils.ICommandExecutor;
 import com.vmware.mangle.utils.clients.docker.CustomDockerClient;
 import com.vmware.mangle.utils.clients.ssh.SSHUtils;
@@ -69,6 +67,7 @@ public class BytemanFaultTaskHelper<T extends CommandExecutionFaultSpec>
     private BytemanFaultHelperFactory bytemanFaultHelperFactory;
     private PluginUtils pluginUtils;
     private EndpointClientFactory endpointClientFactory;
+    private SupportScriptDistributor supportScriptDistributor;
 
 
     @Autowired(required = true)
@@ -76,6 +75,11 @@ public class BytemanFaultTaskHelper<T extends CommandExecutionFaultSpec>
         this.pluginUtils = pluginUtils;
     }
 
+    @Autowired(required = true)
+    public void setSupportScriptDistributor(SupportScriptDistributor supportScriptDistributor) {
+        this.supportScriptDistributor = supportScriptDistributor;
+    }
+
     @Autowired(required = true)
     public void setBytemanFaultHelperFactory(BytemanFaultHelperFactory bytemanFaultHelperFactory) {
         this.bytemanFaultHelperFactory = bytemanFaultHelperFactory;
@@ -135,32 +139,24 @@ public class BytemanFaultTaskHelper<T extends CommandExecutionFaultSpec>
         if (!CollectionUtils.isEmpty(listOfFaultInjectionScripts) && task.getTaskType() != TaskType.REMEDIATION
                 && endpoint.getEndPointType().equals(EndpointType.MACHINE)) {
             for (SupportScriptInfo faultInjectionScriptInfo : listOfFaultInjectionScripts) {
-                String filePath = ConstantsUtils.getMangleSupportScriptDirectory() + File.separator
-                        + faultInjectionScriptInfo.getScriptFileName();
                 pluginUtils.copyScriptFileToMangleDirectory(faultInjectionScriptInfo);
-                SSHUtils sshUtils = (SSHUtils) (endpointClientFactory
-                        .getEndPointClient(task.getTaskData().getCredentials(), task.getTaskData().getEndpoint()));
-                sshUtils.putFile(filePath, faultInjectionScriptInfo.getTargetDirectoryPath());
-                log.info("Copied support script file: " + faultInjectionScriptInfo.getScriptFileName()
-                        + " to remote machine");
-                commandInfoExecutionHelper.makeExecutable(getExecutor(task), faultInjectionScriptInfo);
             }
+            SSHUtils sshUtils = (SSHUtils) (endpointClientFactory
+                    .getEndPointClient(task.getTaskData().getCredentials(), task.getTaskData().getEndpoint()));
+            supportScriptDistributor.distribute(sshUtils, listOfFaultInjectionScripts);
+            log.info("Support script files are available on remote machine");
         }
         if (!CollectionUtils.isEmpty(listOfFaultInjectionScripts) && task.getTaskType() != TaskType.REMEDIATION
                 && endpoint.getEndPointType().equals(EndpointType.DOCKER)) {
             for (SupportScriptInfo faultInjectionScriptInfo : listOfFaultInjectionScripts) {
-                String filePath = ConstantsUtils.getMangleSupportScriptDirectory() + File.separator
-                        + faultInjectionScriptInfo.getScriptFileName();
                 pluginUtils.copyScriptFileToMangleDirectory(faultInjectionScriptInfo);
-                CommandUtils.runCommand("chmod u+x " + filePath);
-                CustomDockerClient customDockerClient = (CustomDockerClient) (endpointClientFactory
-                        .getEndPointClient(task.getTaskData().getCredentials(), task.getTaskData().getEndpoint()));
-                customDockerClient.copyFileToContainerByName(
-                        ((JVMAgentFaultSpec) task.getTaskData()).getDockerArguments().getContainerName(), filePath,
-                        faultInjectionScriptInfo.getTargetDirectoryPath());
-                log.info("Copied support script file: " + faultInjectionScriptInfo.getScriptFileName()
-                        + " to docker machine");
             }
+            CustomDockerClient customDockerClient = (CustomDockerClient) (endpointClientFactory
+                    .getEndPointClient(task.getTaskData().getCredentials(), task.getTaskData().getEndpoint()));
+            supportScriptDistributor.distribute(customDockerClient,
+                    ((JVMAgentFaultSpec) task.getTaskData()).getDockerArguments().getContainerName(),
+                    listOfFaultInjectionScripts);
+            log.info("Support script files are available on docker container");
         }
     }
 
@@ -15,7 +15,6 @@ import static com.vmware.mangle.utils.constants.FaultConstants.FAULT_NAME_ARG;
 import static com.vmware.mangle.utils.constants.FaultConstants.INFRA_AGENT_NAME;
 import static com.vmware.mangle.utils.constants.FaultConstants.TIMEOUT_IN_MILLI_SEC_ARG;
 
-import java.io.File;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,11 +32,11 @@ import com.vmware.mangle.cassandra.model.tasks.TaskType;
 import com.vmware.mangle.faults.plugin.helpers.systemresource.SystemResourceFaultHelper;
 import com.vmware.mangle.faults.plugin.helpers.systemresource.SystemResourceFaultHelperFactory;
 import com.vmware.mangle.faults.plugin.utils.PluginUtils;
+import com.vmware.mangle.faults.plugin.utils.SupportScriptDistributor;
 import com.vmware.mangle.model.enums.EndpointType;
 import com.vmware.mangle.task.framework.endpoint.EndpointClientFactory;
 import com.vmware.mangle.task.framework.helpers.AbstractRemoteCommandExecutionTaskHelper;
 import com.vmware.mangle.task.framework.utils.TaskDescriptionUtils;
-import com.vmware.mangle.utils.CommandUtils;
 import com.vmware.mangle.utils.ConstantsUtils;
 import com.vmware.mangle.utils.ICommandExecutor;
 import com.vmware.mangle.utils.clients.docker.CustomDockerClient;
@@ -61,6 +60,7 @@ public class SystemResourceFaultTaskHelper2<T extends CommandExecutionFaultSpec>
     private EndpointClientFactory endpointClientFactory;
     private SystemResourceFaultHelperFactory systemResourceFaultHelperFactory;
     private PluginUtils pluginUtils;
+    private SupportScriptDistributor supportScriptDistributor;
 
 
     @Autowired
@@ -68,6 +68,11 @@ public class SystemResourceFaultTaskHelper2<T extends CommandExecutionFaultSpec>
         this.pluginUtils = pluginUtils;
     }
 
+    @Autowired
+    public void setSupportScriptDistributor(SupportScriptDistributor supportScriptDistributor) {
+        this.supportScriptDistributor = supportScriptDistributor;
+    }
+
     @Autowired
     public void setSystemResourceFaultHelperFactory(SystemResourceFaultHelperFactory systemResourceFaultHelperFactory) {
         this.systemResourceFaultHelperFactory = systemResourceFaultHelperFactory;
@@ -126,35 +131,24 @@ public class SystemResourceFaultTaskHelper2<T extends CommandExecutionFaultSpec>
                 && endpoint.getEndPointType().equals(EndpointType.MACHINE)) {
 
             for (SupportScriptInfo faultInjectionScriptInfo : listOfFaultInjectionScripts) {
-                String filePath = ConstantsUtils.getMangleSupportScriptDirectory() + File.separator
-                        + faultInjectionScriptInfo.getScriptFileName();
-                log.info("Copying support script file: to " + filePath);
+                log.info("Copying support script file: " + faultInjectionScriptInfo.getScriptFileName()
+                        + " to mangle support script directory");
                 pluginUtils.copyScriptFileToMangleDirectory(faultInjectionScriptInfo);
-                SSHUtils sshUtils = (SSHUtils) (endpointClientFactory
-                        .getEndPointClient(task.getTaskData().getCredentials(), task.getTaskData().getEndpoint()));
-                sshUtils.putFile(filePath, faultInjectionScriptInfo.getTargetDirectoryPath());
-                log.info("Copied support script file: " + faultInjectionScriptInfo.getScriptFileName()
-                        + " to remote machine");
-                commandInfoExecutionHelper.makeExecutable(getExecutor(task), faultInjectionScriptInfo);
             }
-
+            SSHUtils sshUtils = (SSHUtils) (endpointClientFactory
+                    .getEndPointClient(task.getTaskData().getCredentials(), task.getTaskData().getEndpoint()));
+            supportScriptDistributor.distribute(sshUtils, listOfFaultInjectionScripts);
+            log.info("Support script files are available on remote machine");
 
         }
         if (listOfFaultInjectionScripts != null && !listOfFaultInjectionScripts.isEmpty()
                 && task.getTaskType() != TaskType.REMEDIATION
                 && endpoint.getEndPointType().equals(EndpointType.DOCKER)) {
-            for (SupportScriptInfo faultInjectionScriptInfo : listOfFaultInjectionScripts) {
-                String filePath = ConstantsUtils.getMangleSupportScriptDirectory() + File.separator
-                        + faultInjectionScriptInfo.getScriptFileName();
-                CommandUtils.runCommand("chmod u+x " + filePath);
-                CustomDockerClient customDockerClient = (CustomDockerClient) (endpointClientFactory
-                        .getEndPointClient(task.getTaskData().getCredentials(), task.getTaskData().getEndpoint()));
-                log.info("Copying support script file: to " + filePath);
-                customDockerClient.copyFileToContainerByName(task.getTaskData().getDockerArguments().getContainerName(),
-                        filePath, faultInjectionScriptInfo.getTargetDirectoryPath());
-                log.info("Copied Support Script File: " + faultInjectionScriptInfo.getScriptFileName()
-                        + " to Docker Machine");
-            }
+            CustomDockerClient customDockerClient = (CustomDockerClient) (endpointClientFactory
+                    .getEndPointClient(task.getTaskData().getCredentials(), task.getTaskData().getEndpoint()));
+            supportScriptDistributor.distribute(customDockerClient,
+                    task.getTaskData().getDockerArguments().getContainerName(), listOfFaultInjectionScripts);
+            log.info("Support script files are available on docker container");
         }
     }
 
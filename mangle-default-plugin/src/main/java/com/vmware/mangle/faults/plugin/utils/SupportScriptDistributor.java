@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.faults.plugin.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+
+import com.vmware.mangle.cassandra.model.tasks.SupportScriptInfo;
+import com.vmware.mangle.cassandra.model.tasks.commands.CommandExecutionResult;
+import com.vmware.mangle.utils.ConstantsUtils;
+import com.vmware.mangle.utils.clients.docker.CustomDockerClient;
+import com.vmware.mangle.utils.clients.ssh.SSHUtils;
+import com.vmware.mangle.utils.exceptions.MangleException;
+import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
+
+/**
+ * Copies the support scripts and agents of a fault to its endpoint, skipping the ones the endpoint
+ * already has.
+ *
+ * The content of every script is digested locally and compared with the digests computed on the
+ * endpoint by a single sha256sum command. The missing or changed scripts are shipped together in one
+ * archive keeping their target paths and executable modes, so that repeating a fault on the same
+ * endpoint only costs that command. The endpoints of a fault are prepared by their own tasks in
+ * parallel, while the preparations of the same endpoint are serialized so that they do not ship the
+ * same scripts twice.
+ *
+ * @author mangle
+ */
+@Log4j2
+public class SupportScriptDistributor {
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final String REMOTE_ROOT = "/";
+    private static final String REMOTE_BUNDLE_DIRECTORY = "/tmp";
+    private static final String BUNDLE_PREFIX = "mangle-support-";
+    private static final String BUNDLE_EXTENSION = ".tar.gz";
+    private static final int EXECUTABLE_MODE = 0100755;
+    private static final int DEFAULT_MODE = 0100644;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String scriptDirectory;
+    private final Map<String, LocalDigest> localDigests = new ConcurrentHashMap<>();
+    private final Map<String, Object> destinationLocks = new ConcurrentHashMap<>();
+
+    public SupportScriptDistributor() {
+        this(ConstantsUtils.getMangleSupportScriptDirectory());
+    }
+
+    public SupportScriptDistributor(String scriptDirectory) {
+        this.scriptDirectory = scriptDirectory;
+    }
+
+    /**
+     * Copies the scripts missing on the remote machine to their target directories, the scripts
+     * being already available in the support script directory of mangle
+     */
+    public void distribute(SSHUtils sshUtils, List<SupportScriptInfo> scripts) throws MangleException {
+        String destination = sshUtils.getUserName() + "@" + sshUtils.getHost() + ":" + sshUtils.getPort();
+        synchronized (getLock(destination)) {
+            List<BundleEntry> entries = getBundleEntries(scripts);
+            for (BundleEntry entry : getUnbundledEntries(entries)) {
+                sshUtils.putFile(entry.file.getPath(), entry.targetDirectory);
+                if (entry.executable) {
+                    runCommand(sshUtils::executeCommand, "chmod u+x " + quote(entry.targetPath));
+                }
+            }
+            List<BundleEntry> staleEntries = getStaleEntries(sshUtils::executeCommand, destination, entries);
+            if (!staleEntries.isEmpty()) {
+                copyBundle(sshUtils, destination, staleEntries);
+            }
+        }
+    }
+
+    /**
+     * Copies the scripts missing in the docker container to their target directories, the scripts
+     * being already available in the support script directory of mangle
+     */
+    public void distribute(CustomDockerClient customDockerClient, String containerName,
+            List<SupportScriptInfo> scripts) throws MangleException {
+        String containerId = customDockerClient.findContainerId(containerName);
+        RemoteShell shell = command -> customDockerClient.execCommandInContainerByID(containerId, command);
+        synchronized (getLock(containerId)) {
+            List<BundleEntry> entries = getBundleEntries(scripts);
+            for (BundleEntry entry : getUnbundledEntries(entries)) {
+                if (entry.executable && !entry.file.setExecutable(true, true)) {
+                    log.warn("Could not make the support script {} executable", entry.file);
+                }
+                customDockerClient.copyFileToContainerByID(containerId, entry.file.getPath(), entry.targetDirectory);
+            }
+            List<BundleEntry> staleEntries = getStaleEntries(shell, containerName, entries);
+            if (!staleEntries.isEmpty()) {
+                ByteArrayOutputStream bundle = new ByteArrayOutputStream();
+                try {
+                    writeBundle(staleEntries, bundle);
+                } catch (IOException e) {
+                    throw new MangleException(e, ErrorCode.FILE_TRANSFER_ERROR, scriptDirectory, containerName);
+                }
+                customDockerClient.copyArchiveToContainerByID(containerId,
+                        new ByteArrayInputStream(bundle.toByteArray()), REMOTE_ROOT);
+                log.info("Copied {} support script files to the container {}", staleEntries.size(), containerName);
+            }
+        }
+    }
+
+    private void copyBundle(SSHUtils sshUtils, String destination, List<BundleEntry> entries)
+            throws MangleException {
+        File bundle = null;
+        try {
+            bundle = createBundle(entries);
+            sshUtils.putFile(bundle.getPath(), REMOTE_BUNDLE_DIRECTORY);
+            String remoteBundle = quote(REMOTE_BUNDLE_DIRECTORY + "/" + bundle.getName());
+            runCommand(sshUtils::executeCommand,
+                    "tar -xzf " + remoteBundle + " -C " + REMOTE_ROOT + " && rm -f " + remoteBundle);
+            log.info("Copied {} support script files to {}", entries.size(), destination);
+        } catch (IOException e) {
+            throw new MangleException(e, ErrorCode.FILE_TRANSFER_ERROR, bundle, destination);
+        } finally {
+            if (bundle != null && !bundle.delete()) {
+                log.warn("Could not delete the support script bundle {}", bundle);
+            }
+        }
+    }
+
+    private Object getLock(String destination) {
+        return destinationLocks.computeIfAbsent(destination, key -> new Object());
+    }
+
+    private List<BundleEntry> getBundleEntries(List<SupportScriptInfo> scripts) throws MangleException {
+        List<BundleEntry> entries = new ArrayList<>();
+        for (SupportScriptInfo script : scripts) {
+            File file = new File(scriptDirectory, script.getScriptFileName());
+            if (!file.isFile()) {
+                throw new MangleException(ErrorCode.SUPPORT_SCRIPT_FILE_NOT_FOUND, script.getScriptFileName());
+            }
+            entries.add(new BundleEntry(file, script.getTargetDirectoryPath(), script.isExecutable(),
+                    getDigest(file)));
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the entries whose target directory is relative to the working directory of the
+     * endpoint, which cannot be extracted from an archive rooted at /, and removes them from the
+     * given entries
+     */
+    private List<BundleEntry> getUnbundledEntries(List<BundleEntry> entries) {
+        List<BundleEntry> unbundledEntries = entries.stream()
+                .filter(entry -> !entry.targetPath.startsWith(REMOTE_ROOT)).collect(Collectors.toList());
+        entries.removeAll(unbundledEntries);
+        return unbundledEntries;
+    }
+
+    /**
+     * Returns the entries whose content differs from the one found on the endpoint, or which are
+     * not executable there while they should be
+     */
+    private List<BundleEntry> getStaleEntries(RemoteShell shell, String destination, List<BundleEntry> entries)
+            throws MangleException {
+        if (entries.isEmpty()) {
+            return entries;
+        }
+        StringBuilder command = new StringBuilder("sha256sum");
+        entries.forEach(entry -> command.append(' ').append(quote(entry.targetPath)));
+        command.append(" 2>/dev/null");
+        List<BundleEntry> executableEntries =
+                entries.stream().filter(entry -> entry.executable).collect(Collectors.toList());
+        if (!executableEntries.isEmpty()) {
+            command.append("; test").append(executableEntries.stream()
+                    .map(entry -> " -x " + quote(entry.targetPath)).collect(Collectors.joining(" -a")));
+        }
+        CommandExecutionResult result = shell.run(command.toString());
+        Map<String, String> remoteDigests = parseDigests(result.getCommandOutput());
+        boolean notExecutable = !executableEntries.isEmpty() && result.getExitCode() != 0;
+        List<BundleEntry> staleEntries = entries.stream()
+                .filter(entry -> !entry.digest.equals(remoteDigests.get(entry.targetPath))
+                        || (entry.executable && notExecutable))
+                .collect(Collectors.toList());
+        log.debug("{} of the {} support script files are up to date on {}", entries.size() - staleEntries.size(),
+                entries.size(), destination);
+        return staleEntries;
+    }
+
+    private static Map<String, String> parseDigests(String output) {
+        Map<String, String> digests = new HashMap<>();
+        if (output == null) {
+            return digests;
+        }
+        for (String line : output.split("\\r?\\n")) {
+            String[] digestAndPath = line.split("\\s+\\*?", 2);
+            if (digestAndPath.length == 2) {
+                digests.put(digestAndPath[1].trim(), digestAndPath[0].trim());
+            }
+        }
+        return digests;
+    }
+
+    private File createBundle(List<BundleEntry> entries) throws IOException {
+        File bundle = File.createTempFile(BUNDLE_PREFIX + getManifestDigest(entries).substring(0, 16) + "-",
+                BUNDLE_EXTENSION, new File(scriptDirectory));
+        try (OutputStream outputStream = new GZIPOutputStream(new FileOutputStream(bundle))) {
+            writeBundle(entries, outputStream);
+        }
+        return bundle;
+    }
+
+    private static void writeBundle(List<BundleEntry> entries, OutputStream outputStream) throws IOException {
+        TarArchiveOutputStream tarOutputStream = new TarArchiveOutputStream(outputStream);
+        tarOutputStream.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+        for (BundleEntry entry : entries) {
+            TarArchiveEntry tarEntry = new TarArchiveEntry(entry.file, entry.targetPath.substring(1));
+            tarEntry.setMode(entry.executable ? EXECUTABLE_MODE : DEFAULT_MODE);
+            tarOutputStream.putArchiveEntry(tarEntry);
+            Files.copy(entry.file.toPath(), tarOutputStream);
+            tarOutputStream.closeArchiveEntry();
+        }
+        tarOutputStream.finish();
+    }
+
+    /**
+     * Digest of the paths, modes and contents of the entries, naming the archive shipping them
+     */
+    private static String getManifestDigest(List<BundleEntry> entries) {
+        MessageDigest messageDigest = newMessageDigest();
+        for (BundleEntry entry : entries) {
+            String manifestLine = entry.digest + " " + entry.executable + " " + entry.targetPath + "\n";
+            messageDigest.update(manifestLine.getBytes(StandardCharsets.UTF_8));
+        }
+        return toHex(messageDigest.digest());
+    }
+
+    private String getDigest(File file) throws MangleException {
+        LocalDigest localDigest = localDigests.get(file.getPath());
+        if (localDigest != null && localDigest.lastModified == file.lastModified()
+                && localDigest.length == file.length()) {
+            return localDigest.digest;
+        }
+        long lastModified = file.lastModified();
+        long length = file.length();
+        MessageDigest messageDigest = newMessageDigest();
+        try (InputStream inputStream = new FileInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new MangleException(e, ErrorCode.SUPPORT_SCRIPT_FILE_NOT_FOUND, file.getName());
+        }
+        String digest = toHex(messageDigest.digest());
+        localDigests.put(file.getPath(), new LocalDigest(lastModified, length, digest));
+        return digest;
+    }
+
+    private static MessageDigest newMessageDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] digest) {
+        return String.format("%0" + (digest.length * 2) + "x", new BigInteger(1, digest));
+    }
+
+    private static void runCommand(RemoteShell shell, String command) throws MangleException {
+        CommandExecutionResult result = shell.run(command);
+        if (result.getExitCode() != 0) {
+            throw new MangleException(ErrorCode.COMMAND_EXEC_EXIT_CODE_ERROR, command, result.getExitCode(),
+                    result.getCommandOutput());
+        }
+    }
+
+    private static String quote(String path) {
+        return "'" + path.replace("'", "'\\''") + "'";
+    }
+
+    /**
+     * Runs a shell command on the endpoint
+     */
+    @FunctionalInterface
+    private interface RemoteShell {
+        CommandExecutionResult run(String command) throws MangleException;
+    }
+
+    private static final class BundleEntry {
+        private final File file;
+        private final String targetDirectory;
+        private final String targetPath;
+        private final boolean executable;
+        private final String digest;
+
+        private BundleEntry(File file, String targetDirectory, boolean executable, String digest) {
+            this.file = file;
+            this.targetDirectory = targetDirectory;
+            this.targetPath = (targetDirectory.endsWith("/") ? targetDirectory : targetDirectory + "/")
+                    + file.getName();
+            this.executable = executable;
+            this.digest = digest;
+        }
+    }
+
+    private static final class LocalDigest {
+        private final long lastModified;
+        private final long length;
+        private final String digest;
+
+        private LocalDigest(long lastModified, long length, String digest) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.digest = digest;
+        }
+    }
+}
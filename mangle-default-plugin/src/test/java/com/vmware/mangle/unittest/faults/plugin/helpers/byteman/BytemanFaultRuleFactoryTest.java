@@ -30,6 +30,7 @@ import com.vmware.mangle.cassandra.model.faults.specs.CommandExecutionFaultSpec;
 import com.vmware.mangle.faults.plugin.helpers.byteman.BytemanFaultRuleFactory;
 import com.vmware.mangle.services.dto.AgentRuleConstants;
 import com.vmware.mangle.services.enums.BytemanFaultType;
+import com.vmware.mangle.services.enums.LatencyDistribution;
 
 /**
  * Unit test cases for BytemanFaultRuleFactory.
@@ -115,6 +116,34 @@ public class BytemanFaultRuleFactoryTest {
         assertTrue(BytemanFaultRuleFactory.getTraceObjectRule(faultSpec).contains("System.out.println(objectValue)"));
     }
 
+    /**
+     * Test method for
+     * {@link com.vmware.mangle.faults.plugin.helpers.byteman.BytemanFaultRuleFactory#getJavaMethodLatencyRule(com.vmware.mangle.cassandra.model.faults.specs.CommandExecutionFaultSpec)}.
+     */
+    @Test
+    public void testGetJavaMethodLatencyRule() {
+        CommandExecutionFaultSpec faultSpec = getCommandExecutionFaultSpec();
+        faultSpec.setFaultType(BytemanFaultType.JAVA_METHOD_LATENCY.name());
+        faultSpec.getArgs().put(AgentRuleConstants.LATENCY_STRING, "2000");
+        assertTrue(BytemanFaultRuleFactory.getJavaMethodLatencyRule(faultSpec).contains("sleep(2000)"));
+    }
+
+    /**
+     * Test method for
+     * {@link com.vmware.mangle.faults.plugin.helpers.byteman.BytemanFaultRuleFactory#getJavaMethodLatencyRule(com.vmware.mangle.cassandra.model.faults.specs.CommandExecutionFaultSpec)}.
+     */
+    @Test
+    public void testGetJavaMethodLatencyRuleWithDistribution() {
+        CommandExecutionFaultSpec faultSpec = getCommandExecutionFaultSpec();
+        faultSpec.setFaultType(BytemanFaultType.JAVA_METHOD_LATENCY.name());
+        faultSpec.getArgs().put(AgentRuleConstants.LATENCY_STRING, "2000");
+        faultSpec.getArgs().put(AgentRuleConstants.LATENCY_DISTRIBUTION_STRING, LatencyDistribution.NORMAL.name());
+        faultSpec.getArgs().put(AgentRuleConstants.LATENCY_SPREAD_STRING, "200");
+        faultSpec.getArgs().put(AgentRuleConstants.LATENCY_JITTER_STRING, "10");
+        assertTrue(BytemanFaultRuleFactory.getJavaMethodLatencyRule(faultSpec)
+                .contains("sleep(\\\"NORMAL\\\",2000,200,10)"));
+    }
+
     private CommandExecutionFaultSpec getCommandExecutionFaultSpec() {
         CommandExecutionFaultSpec faultSpec = new CommandExecutionFaultSpec();
         Map<String, String> args = new HashMap<>();
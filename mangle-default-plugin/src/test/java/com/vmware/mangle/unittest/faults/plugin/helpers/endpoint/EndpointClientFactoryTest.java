@@ -31,8 +31,10 @@ import com.vmware.mangle.cassandra.model.endpoint.CredentialsSpec;
 import com.vmware.mangle.cassandra.model.endpoint.EndpointSpec;
 import com.vmware.mangle.cassandra.model.endpoint.K8SCredentials;
 import com.vmware.mangle.cassandra.model.endpoint.RemoteMachineCredentials;
+import com.vmware.mangle.cassandra.model.endpoint.VCenterAdapterDetails;
 import com.vmware.mangle.faults.plugin.mockdata.CredentialsSpecMockData;
 import com.vmware.mangle.faults.plugin.mockdata.EndpointMockData;
+import com.vmware.mangle.task.framework.endpoint.EndpointClientCache;
 import com.vmware.mangle.task.framework.endpoint.EndpointClientFactory;
 import com.vmware.mangle.utils.clients.azure.CustomAzureClient;
 import com.vmware.mangle.utils.clients.database.DatabaseClient;
@@ -41,6 +43,7 @@ import com.vmware.mangle.utils.clients.endpoint.EndpointClient;
 import com.vmware.mangle.utils.clients.kubernetes.KubernetesCommandLineClient;
 import com.vmware.mangle.utils.clients.redis.RedisProxyClient;
 import com.vmware.mangle.utils.clients.ssh.SSHUtils;
+import com.vmware.mangle.utils.clients.vcenter.VCenterClient;
 import com.vmware.mangle.utils.exceptions.MangleException;
 import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
 
@@ -67,6 +70,7 @@ public class EndpointClientFactoryTest extends PowerMockTestCase {
     public void setUpBeforeClass() throws Exception {
         MockitoAnnotations.initMocks(this);
         endpointClientFactory = new EndpointClientFactory();
+        endpointClientFactory.setClientCache(new EndpointClientCache());
         this.credentialsSpec = credentialsSpecMockData.getRMCredentialsData();
         this.endpointSpec = mockData.rmEndpointMockData();
 
@@ -253,4 +257,70 @@ public class EndpointClientFactoryTest extends PowerMockTestCase {
 
         Assert.assertTrue(endpointClient instanceof DatabaseClient);
     }
+
+    /**
+     * Test method for
+     * {@link EndpointClientFactory#getEndPointClient(CredentialsSpec, EndpointSpec)}
+     *
+     * @throws MangleException
+     */
+    @Test
+    public void testGetEndPointClientFromCache() throws MangleException {
+        EndpointClientFactory factory = new EndpointClientFactory();
+        factory.setClientCache(new EndpointClientCache());
+        EndpointSpec endpointSpec = mockData.dockerEndpointMockData();
+
+        EndpointClient endpointClient = factory.getEndPointClient(null, endpointSpec);
+
+        Assert.assertSame(factory.getEndPointClient(null, endpointSpec), endpointClient);
+        Assert.assertEquals(factory.getClientCache().getHits(), 1);
+        Assert.assertEquals(factory.getClientCache().getMisses(), 1);
+        endpointSpec.getDockerConnectionProperties().setDockerPort(2376);
+        Assert.assertNotSame(factory.getEndPointClient(null, endpointSpec), endpointClient);
+        Assert.assertEquals(factory.getClientCache().size(), 1);
+    }
+
+    /**
+     * Test method for
+     * {@link EndpointClientFactory#getEndPointClient(CredentialsSpec, EndpointSpec)}
+     *
+     * @throws MangleException
+     */
+    @Test
+    public void testGetEndPointClientForVCenterNotCached() throws MangleException {
+        EndpointClientFactory factory = new EndpointClientFactory();
+        factory.setClientCache(new EndpointClientCache());
+        EndpointSpec vCenterEndpointSpec = mockData.vCenterEndpointSpecMock();
+        VCenterAdapterDetails vCenterAdapterDetails = new VCenterAdapterDetails();
+        vCenterAdapterDetails.setAdapterUrl("https://localhost:8443/mangle-vc-adapter");
+        vCenterAdapterDetails.setUsername("admin");
+        vCenterAdapterDetails.setPassword("admin");
+        vCenterEndpointSpec.getVCenterConnectionProperties().setVCenterAdapterDetails(vCenterAdapterDetails);
+        CredentialsSpec vCenterCredentials = credentialsSpecMockData.getVCenterCredentialsData();
+
+        EndpointClient endpointClient = factory.getEndPointClient(vCenterCredentials, vCenterEndpointSpec);
+
+        Assert.assertTrue(endpointClient instanceof VCenterClient);
+        Assert.assertNotSame(factory.getEndPointClient(vCenterCredentials, vCenterEndpointSpec), endpointClient);
+        Assert.assertEquals(factory.getClientCache().size(), 0);
+    }
+
+    /**
+     * Test method for {@link EndpointClientFactory#invalidateCredentials(String)}
+     *
+     * @throws MangleException
+     */
+    @Test
+    public void testInvalidateCredentials() throws MangleException {
+        EndpointClientFactory factory = new EndpointClientFactory();
+        factory.setClientCache(new EndpointClientCache());
+        CredentialsSpec rmCredentialsSpec = credentialsSpecMockData.getRMCredentialsData();
+        EndpointSpec rmEndpointSpec = mockData.rmEndpointMockData();
+
+        EndpointClient endpointClient = factory.getEndPointClient(rmCredentialsSpec, rmEndpointSpec);
+        Assert.assertSame(factory.getEndPointClient(rmCredentialsSpec, rmEndpointSpec), endpointClient);
+
+        factory.invalidateCredentials(rmCredentialsSpec.getName());
+        Assert.assertNotSame(factory.getEndPointClient(rmCredentialsSpec, rmEndpointSpec), endpointClient);
+    }
 }
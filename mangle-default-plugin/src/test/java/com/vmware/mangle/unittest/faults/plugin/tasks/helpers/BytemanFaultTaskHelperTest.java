@@ -46,6 +46,7 @@ import com.vmware.mangle.faults.plugin.helpers.byteman.LinuxBytemanFaultHelper;
 import com.vmware.mangle.faults.plugin.mockdata.FaultsMockData;
 import com.vmware.mangle.faults.plugin.tasks.helpers.BytemanFaultTaskHelper;
 import com.vmware.mangle.faults.plugin.utils.PluginUtils;
+import com.vmware.mangle.faults.plugin.utils.SupportScriptDistributor;
 import com.vmware.mangle.task.framework.endpoint.EndpointClientFactory;
 import com.vmware.mangle.task.framework.helpers.CommandInfoExecutionHelper;
 import com.vmware.mangle.utils.clients.docker.CustomDockerClient;
@@ -93,6 +94,8 @@ public class BytemanFaultTaskHelperTest {
     private CustomDockerClient customDockerClient;
     @Mock
     private PluginUtils pluginUtils;
+    @Mock
+    private SupportScriptDistributor supportScriptDistributor;
 
     /**
      * @throws java.lang.Exception
@@ -170,6 +173,7 @@ public class BytemanFaultTaskHelperTest {
         task.getTriggers().add(new TaskTrigger());
         try {
             codeLevelInjectionTask.executeTask(task);
+            verify(supportScriptDistributor).distribute(sshUtils, task.getTaskData().getSupportScriptInfo());
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -238,6 +242,8 @@ public class BytemanFaultTaskHelperTest {
         task.getTriggers().add(new TaskTrigger());
         try {
             codeLevelInjectionTask.executeTask(task);
+            verify(supportScriptDistributor).distribute(customDockerClient, "testContainer",
+                    task.getTaskData().getSupportScriptInfo());
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -12,6 +12,7 @@
 package com.vmware.mangle.unittest.faults.plugin.tasks.helpers;
 
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
@@ -46,6 +47,7 @@ import com.vmware.mangle.faults.plugin.helpers.systemresource.SystemResourceFaul
 import com.vmware.mangle.faults.plugin.mockdata.FaultsMockData;
 import com.vmware.mangle.faults.plugin.tasks.helpers.SystemResourceFaultTaskHelper2;
 import com.vmware.mangle.faults.plugin.utils.PluginUtils;
+import com.vmware.mangle.faults.plugin.utils.SupportScriptDistributor;
 import com.vmware.mangle.task.framework.endpoint.EndpointClientFactory;
 import com.vmware.mangle.task.framework.helpers.CommandInfoExecutionHelper;
 import com.vmware.mangle.utils.ConstantsUtils;
@@ -71,6 +73,8 @@ public class SystemResourceFaultTaskHelper2Test {
     private SystemResourceFaultUtils systemResourceFaultUtils;
     @Mock
     private PluginUtils pluginUtils;
+    @Mock
+    private SupportScriptDistributor supportScriptDistributor;
     List<CommandInfo> value;
     @Mock
     EndpointClientFactory endpointClientFactory;
@@ -167,9 +171,8 @@ public class SystemResourceFaultTaskHelper2Test {
         doNothing().when(pluginUtils).copyFileFromJarToDestination(Mockito.any(), Mockito.any());
         Mockito.doNothing().when(publisher).publishEvent(Mockito.any());
         when(endpointClientFactory.getEndPointClient(Mockito.any(), Mockito.any())).thenReturn(customDockerClient);
-        when(customDockerClient.copyFileToContainerByName(Mockito.any(), Mockito.any(), Mockito.any()))
-                .thenReturn(true);
-        doNothing().when(commandInfoExecutionHelper).makeExecutable(Mockito.any(), Mockito.any());
+        doNothing().when(supportScriptDistributor).distribute(Mockito.any(CustomDockerClient.class), Mockito.any(),
+                Mockito.any());
         when(commandInfoExecutionHelper.runCommands(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
                 .thenReturn("");
         injectionTaskDocker.setEventPublisher(publisher);
@@ -182,6 +185,8 @@ public class SystemResourceFaultTaskHelper2Test {
                         + "[ DockerSpecificArguments(containerName=testContainer) ]");
         injectionTaskDocker.executeTask(task);
         assertEquals(task.getTaskSubstage(), "COMPLETED");
+        verify(supportScriptDistributor).distribute(Mockito.eq(customDockerClient), Mockito.eq("testContainer"),
+                Mockito.any());
         assertEquals(task.getExtensionName(),
                 "com.vmware.mangle.faults.plugin.tasks.helpers.SystemResourceFaultTaskHelper2");
         assertEquals(task.getTaskData().getInjectionCommandInfoList(), getCpuInjectionCommandInfoList(),
@@ -203,8 +208,7 @@ public class SystemResourceFaultTaskHelper2Test {
         doNothing().when(pluginUtils).copyFileFromJarToDestination(Mockito.any(), Mockito.any());
         Mockito.doNothing().when(publisher).publishEvent(Mockito.any());
         when(endpointClientFactory.getEndPointClient(Mockito.any(), Mockito.any())).thenReturn(sshUtils);
-        when(sshUtils.putFile(Mockito.any(), Mockito.any())).thenReturn(true);
-        doNothing().when(commandInfoExecutionHelper).makeExecutable(Mockito.any(), Mockito.any());
+        doNothing().when(supportScriptDistributor).distribute(Mockito.any(SSHUtils.class), Mockito.any());
         when(commandInfoExecutionHelper.runCommands(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
                 .thenReturn("");
         injectionTaskRemoteMachine.setEventPublisher(publisher);
@@ -216,6 +220,7 @@ public class SystemResourceFaultTaskHelper2Test {
                 "Executing Fault: cpuFault on endpoint: rmEPTest. More Details: " + "[ CpuFaultSpec(cpuLoad=80) ]");
         injectionTaskRemoteMachine.executeTask(task);
         assertEquals(task.getTaskSubstage(), "COMPLETED");
+        verify(supportScriptDistributor).distribute(Mockito.eq(sshUtils), Mockito.any());
         assertEquals(task.getExtensionName(),
                 "com.vmware.mangle.faults.plugin.tasks.helpers.SystemResourceFaultTaskHelper2");
         assertEquals(task.getTaskData().getInjectionCommandInfoList(), getCpuInjectionCommandInfoList(),
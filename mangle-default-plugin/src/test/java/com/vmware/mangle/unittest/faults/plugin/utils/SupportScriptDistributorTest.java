@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.unittest.faults.plugin.utils;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.vmware.mangle.cassandra.model.tasks.SupportScriptInfo;
+import com.vmware.mangle.cassandra.model.tasks.commands.CommandExecutionResult;
+import com.vmware.mangle.faults.plugin.utils.SupportScriptDistributor;
+import com.vmware.mangle.utils.clients.docker.CustomDockerClient;
+import com.vmware.mangle.utils.clients.ssh.SSHUtils;
+import com.vmware.mangle.utils.exceptions.MangleException;
+import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
+
+/**
+ * Unit Test Case for SupportScriptDistributor.
+ *
+ * @author mangle
+ */
+public class SupportScriptDistributorTest {
+    private static final String SCRIPT_NAME = "cpuburn.sh";
+    private static final String RULE_NAME = "task.btm";
+
+    private File scriptDirectory;
+    private SupportScriptDistributor distributor;
+    private List<SupportScriptInfo> scripts;
+    private SSHUtils sshUtils;
+    private Map<String, Integer> bundleEntries;
+
+    @BeforeMethod
+    public void setUp() throws IOException, MangleException {
+        scriptDirectory = Files.createTempDirectory("mangle-scripts").toFile();
+        FileUtils.write(new File(scriptDirectory, SCRIPT_NAME), "#!/bin/sh\necho burn\n", StandardCharsets.UTF_8);
+        FileUtils.write(new File(scriptDirectory, RULE_NAME), "RULE test\nENDRULE\n", StandardCharsets.UTF_8);
+        distributor = new SupportScriptDistributor(scriptDirectory.getPath());
+        scripts = Arrays.asList(getScriptInfo(SCRIPT_NAME, true), getScriptInfo(RULE_NAME, false));
+        bundleEntries = new HashMap<>();
+
+        sshUtils = mock(SSHUtils.class);
+        when(sshUtils.getHost()).thenReturn("10.0.0.1");
+        when(sshUtils.getUserName()).thenReturn("root");
+        when(sshUtils.getPort()).thenReturn(22);
+        when(sshUtils.putFile(anyString(), eq("/tmp"))).then(invocation -> {
+            try (InputStream inputStream =
+                    new GZIPInputStream(new FileInputStream((String) invocation.getArguments()[0]))) {
+                bundleEntries.putAll(readEntries(inputStream));
+            }
+            return true;
+        });
+        when(sshUtils.executeCommand(startsWith("tar -xzf"))).thenReturn(getResult(0, ""));
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(scriptDirectory);
+    }
+
+    @Test
+    public void testDistributeCopiesMissingScriptsInOneBundle() throws Exception {
+        when(sshUtils.executeCommand(startsWith("sha256sum"))).thenReturn(getResult(1, ""));
+
+        distributor.distribute(sshUtils, scripts);
+
+        verify(sshUtils, times(1)).putFile(anyString(), anyString());
+        verify(sshUtils, times(1)).executeCommand(startsWith("tar -xzf"));
+        Assert.assertEquals(bundleEntries.size(), 2);
+        Assert.assertEquals(bundleEntries.get("tmp/" + SCRIPT_NAME).intValue(), 0100755);
+        Assert.assertEquals(bundleEntries.get("tmp/" + RULE_NAME).intValue(), 0100644);
+        Assert.assertEquals(scriptDirectory.list().length, 2, "The local bundle should be deleted once copied");
+    }
+
+    @Test
+    public void testDistributeSkipsScriptsAlreadyPresent() throws Exception {
+        when(sshUtils.executeCommand(startsWith("sha256sum")))
+                .thenReturn(getResult(0, getDigestLine(SCRIPT_NAME) + getDigestLine(RULE_NAME)));
+
+        distributor.distribute(sshUtils, scripts);
+
+        verify(sshUtils, never()).putFile(anyString(), anyString());
+        verify(sshUtils, never()).executeCommand(startsWith("tar -xzf"));
+    }
+
+    @Test
+    public void testDistributeCopiesChangedScriptsOnly() throws Exception {
+        when(sshUtils.executeCommand(startsWith("sha256sum")))
+                .thenReturn(getResult(0, getDigestLine(SCRIPT_NAME)));
+
+        distributor.distribute(sshUtils, scripts);
+
+        Assert.assertEquals(bundleEntries.keySet(), Collections.singleton("tmp/" + RULE_NAME));
+    }
+
+    @Test
+    public void testDistributeCopiesScriptsNotExecutable() throws Exception {
+        when(sshUtils.executeCommand(startsWith("sha256sum")))
+                .thenReturn(getResult(1, getDigestLine(SCRIPT_NAME) + getDigestLine(RULE_NAME)));
+
+        distributor.distribute(sshUtils, scripts);
+
+        Assert.assertEquals(bundleEntries.size(), 1);
+        Assert.assertTrue(bundleEntries.containsKey("tmp/" + SCRIPT_NAME));
+    }
+
+    @Test
+    public void testDistributeFailsWhenExtractionFails() throws Exception {
+        when(sshUtils.executeCommand(startsWith("sha256sum"))).thenReturn(getResult(1, ""));
+        when(sshUtils.executeCommand(startsWith("tar -xzf"))).thenReturn(getResult(2, "No space left on device"));
+
+        try {
+            distributor.distribute(sshUtils, scripts);
+            Assert.fail("Expected MangleException when the bundle cannot be extracted");
+        } catch (MangleException e) {
+            Assert.assertEquals(e.getErrorCode(), ErrorCode.COMMAND_EXEC_EXIT_CODE_ERROR);
+        }
+        Assert.assertEquals(scriptDirectory.list().length, 2, "The local bundle should be deleted on failure");
+    }
+
+    @Test
+    public void testDistributeFailsWhenScriptMissing() {
+        try {
+            distributor.distribute(sshUtils, Arrays.asList(getScriptInfo("missing.sh", true)));
+            Assert.fail("Expected MangleException when the script is not in the support script directory");
+        } catch (MangleException e) {
+            Assert.assertEquals(e.getErrorCode(), ErrorCode.SUPPORT_SCRIPT_FILE_NOT_FOUND);
+        }
+    }
+
+    @Test
+    public void testDistributeToDockerContainer() throws Exception {
+        CustomDockerClient customDockerClient = mock(CustomDockerClient.class);
+        when(customDockerClient.findContainerId("testContainer")).thenReturn("c0ffee");
+        when(customDockerClient.execCommandInContainerByID(eq("c0ffee"), startsWith("sha256sum")))
+                .thenReturn(getResult(0, getDigestLine(SCRIPT_NAME)));
+        when(customDockerClient.copyArchiveToContainerByID(eq("c0ffee"), any(InputStream.class), eq("/")))
+                .then(invocation -> {
+                    bundleEntries.putAll(readEntries((InputStream) invocation.getArguments()[1]));
+                    return true;
+                });
+
+        distributor.distribute(customDockerClient, "testContainer", scripts);
+
+        verify(customDockerClient, times(1)).copyArchiveToContainerByID(eq("c0ffee"), any(InputStream.class),
+                eq("/"));
+        Assert.assertEquals(bundleEntries.size(), 1);
+        Assert.assertEquals(bundleEntries.get("tmp/" + RULE_NAME).intValue(), 0100644);
+    }
+
+    private SupportScriptInfo getScriptInfo(String scriptFileName, boolean executable) {
+        SupportScriptInfo scriptInfo = new SupportScriptInfo();
+        scriptInfo.setScriptFileName(scriptFileName);
+        scriptInfo.setExecutable(executable);
+        scriptInfo.setClassPathResource(true);
+        scriptInfo.setTargetDirectoryPath("/tmp/");
+        return scriptInfo;
+    }
+
+    private String getDigestLine(String scriptFileName) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(Files.readAllBytes(new File(scriptDirectory, scriptFileName).toPath()));
+        return String.format("%064x", new BigInteger(1, digest)) + "  /tmp/" + scriptFileName + "\n";
+    }
+
+    private static CommandExecutionResult getResult(int exitCode, String output) {
+        CommandExecutionResult result = new CommandExecutionResult();
+        result.setExitCode(exitCode);
+        result.setCommandOutput(output);
+        return result;
+    }
+
+    private static Map<String, Integer> readEntries(InputStream inputStream) throws IOException {
+        Map<String, Integer> entries = new HashMap<>();
+        TarArchiveInputStream tarInputStream = new TarArchiveInputStream(inputStream);
+        TarArchiveEntry entry;
+        while ((entry = tarInputStream.getNextTarEntry()) != null) {
+            entries.put(entry.getName(), entry.getMode());
+        }
+        return entries;
+    }
+}
@@ -11,6 +11,8 @@
 
 package com.vmware.mangle.cassandra.model.endpoint;
 
+import java.io.Serializable;
+
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Pattern;
 
@@ -30,7 +32,8 @@ import com.vmware.mangle.model.enums.EncryptField;
  */
 @Table(value = "VCenterAdapter")
 @Data
-public class VCenterAdapterDetails {
+public class VCenterAdapterDetails implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     @NotEmpty
     @PrimaryKeyColumn(value = "name", ordering = Ordering.ASCENDING, type = PrimaryKeyType.PARTITIONED)
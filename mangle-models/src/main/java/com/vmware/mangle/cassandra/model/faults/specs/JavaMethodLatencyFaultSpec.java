@@ -11,13 +11,18 @@
 
 package com.vmware.mangle.cassandra.model.faults.specs;
 
+import javax.validation.constraints.Min;
+
+import com.datastax.driver.core.DataType.Name;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.springframework.data.cassandra.core.mapping.CassandraType;
 
 import com.vmware.mangle.services.enums.BytemanFaultType;
+import com.vmware.mangle.services.enums.LatencyDistribution;
 
 /**
  * @author bkaranam
@@ -34,6 +39,18 @@ public class JavaMethodLatencyFaultSpec extends JVMCodeLevelFaultSpec {
     @ApiModelProperty(value = "Integer value. You can provide integer value in terms of milli seconds", required = true, example = "100")
     private Integer latency;
 
+    @ApiModelProperty(value = "Distribution of the latency: FIXED (default), UNIFORM, NORMAL or LONG_TAIL", required = false, example = "NORMAL")
+    @CassandraType(type = Name.VARCHAR)
+    private LatencyDistribution latencyDistribution;
+
+    @ApiModelProperty(value = "Integer value in milli seconds. Half range for UNIFORM, standard deviation for NORMAL, 99th percentile minus latency for LONG_TAIL", required = false, example = "50")
+    @Min(value = 0, message = "Latency spread is optional. It must be an integer and can have value greater than 0")
+    private Integer latencySpread;
+
+    @ApiModelProperty(value = "Integer value in milli seconds. Uniform jitter added to every delay", required = false, example = "10")
+    @Min(value = 0, message = "Latency jitter is optional. It must be an integer and can have value greater than 0")
+    private Integer latencyJitter;
+
     public JavaMethodLatencyFaultSpec() {
         setFaultType(BytemanFaultType.JAVA_METHOD_LATENCY.toString());
         setFaultName(BytemanFaultType.JAVA_METHOD_LATENCY.toString());
@@ -18,6 +18,7 @@ import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
 import com.vmware.mangle.services.enums.BytemanFaultType;
+import com.vmware.mangle.services.enums.LatencyDistribution;
 
 /**
  * @author hkilari
@@ -52,4 +53,22 @@ public class SpringServiceExceptionFaultSpec extends JavaMethodLatencyFaultSpec
         setFaultName(BytemanFaultType.SPRING_SERVICE_EXCEPTION.toString());
         setSpecType(this.getClass().getName());
     }
+
+    @JsonIgnore
+    @Override
+    public void setLatencyDistribution(LatencyDistribution latencyDistribution) {
+        super.setLatencyDistribution(latencyDistribution);
+    }
+
+    @JsonIgnore
+    @Override
+    public void setLatencySpread(Integer latencySpread) {
+        super.setLatencySpread(latencySpread);
+    }
+
+    @JsonIgnore
+    @Override
+    public void setLatencyJitter(Integer latencyJitter) {
+        super.setLatencyJitter(latencyJitter);
+    }
 }
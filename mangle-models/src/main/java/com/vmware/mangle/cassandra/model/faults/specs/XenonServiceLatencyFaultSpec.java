@@ -11,12 +11,14 @@
 
 package com.vmware.mangle.cassandra.model.faults.specs;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
 import com.vmware.mangle.services.enums.BytemanFaultType;
+import com.vmware.mangle.services.enums.LatencyDistribution;
 
 /**
  * @author bkaranam
@@ -41,4 +43,22 @@ public class XenonServiceLatencyFaultSpec extends JavaMethodLatencyFaultSpec {
         setFaultName(BytemanFaultType.XENON_SERVICE_LATENCY.toString());
         setSpecType(this.getClass().getName());
     }
+
+    @JsonIgnore
+    @Override
+    public void setLatencyDistribution(LatencyDistribution latencyDistribution) {
+        super.setLatencyDistribution(latencyDistribution);
+    }
+
+    @JsonIgnore
+    @Override
+    public void setLatencySpread(Integer latencySpread) {
+        super.setLatencySpread(latencySpread);
+    }
+
+    @JsonIgnore
+    @Override
+    public void setLatencyJitter(Integer latencyJitter) {
+        super.setLatencyJitter(latencyJitter);
+    }
 }
@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.cassandra.core.cql.Ordering;
 import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
 import org.springframework.data.cassandra.core.mapping.CassandraType;
@@ -57,6 +58,12 @@ public class Task<T extends TaskSpec> extends MangleDto implements Serializable
     private String extensionName;
     private String taskClass;
     private Long lastUpdated;
+    /**
+     * Number of past triggers loaded from the trigger history at the bottom of the triggers
+     */
+    @Transient
+    @JsonIgnore
+    private transient int loadedTriggerHistory;
 
     public Task() {
         this.id = super.generateId();
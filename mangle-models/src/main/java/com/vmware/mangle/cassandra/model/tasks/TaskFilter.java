@@ -30,5 +30,11 @@ public class TaskFilter {
     private int fromIndex = 0;
     @Positive
     private int toIndex = 9;
+    /**
+     * Position returned as nextCursor by the previous page. When set (an empty value requests the
+     * first page), the page is read after the cursor, fromIndex is ignored and the total number of
+     * tasks is not computed.
+     */
+    private String cursor;
 
 }
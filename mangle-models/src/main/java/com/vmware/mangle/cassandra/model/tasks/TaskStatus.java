@@ -16,5 +16,5 @@ package com.vmware.mangle.cassandra.model.tasks;
  *
  */
 public enum TaskStatus {
-    INITIALIZING, IN_PROGRESS, INJECTED, PAUSED, COMPLETED, FAILED, TEST_MACHINE_INVALID_STATE, TASK_SKIPPED, CANCELING, TEST_ENDPOINT_UNKNOWN_STATE
+    INITIALIZING, IN_PROGRESS, INJECTED, PAUSED, COMPLETED, FAILED, TEST_MACHINE_INVALID_STATE, TASK_SKIPPED, CANCELING, TEST_ENDPOINT_UNKNOWN_STATE, QUEUED
 }
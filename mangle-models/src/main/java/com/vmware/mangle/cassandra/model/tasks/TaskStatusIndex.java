@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.cassandra.model.tasks;
+
+import java.io.Serializable;
+
+import com.datastax.driver.core.DataType.Name;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.CassandraType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+/**
+ * Lookup entry of a task that is in one of the active states, keyed by that state. Tasks leave the
+ * lookup once they reach any other state, so the active tasks can be read without scanning the
+ * task history.
+ *
+ * @author mangle
+ */
+@Table(value = "task_status_index")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusIndex implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @CassandraType(type = Name.VARCHAR)
+    @PrimaryKeyColumn(value = "taskStatus", type = PrimaryKeyType.PARTITIONED)
+    private TaskStatus taskStatus;
+    @PrimaryKeyColumn(value = "id", ordinal = 0, type = PrimaryKeyType.CLUSTERED)
+    private String id;
+    private String extensionName;
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.cassandra.model.tasks;
+
+import java.io.Serializable;
+
+import com.datastax.driver.core.DataType.Name;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.Ordering;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.CassandraType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import com.vmware.mangle.cassandra.model.faults.specs.EndpointGroupFaultTriggerSpec;
+import com.vmware.mangle.cassandra.model.faults.specs.FaultSpec;
+import com.vmware.mangle.cassandra.model.faults.specs.K8SFaultTriggerSpec;
+import com.vmware.mangle.cassandra.model.faults.specs.TaskSpec;
+import com.vmware.mangle.cassandra.model.resiliencyscore.ResiliencyScoreTask;
+
+/**
+ * Index entry of a task, holding only the fields used for listing and filtering the tasks.
+ *
+ * Entries are partitioned by the task type and clustered by the last updated time in descending
+ * order, so that the latest tasks of a type can be read page by page without loading the task
+ * itself.
+ *
+ * @author mangle
+ */
+@Table(value = "task_summary")
+@Data
+@NoArgsConstructor
+public class TaskSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @CassandraType(type = Name.VARCHAR)
+    @PrimaryKeyColumn(value = "taskType", type = PrimaryKeyType.PARTITIONED)
+    private TaskType taskType;
+    @PrimaryKeyColumn(value = "lastUpdated", ordinal = 0, ordering = Ordering.DESCENDING,
+            type = PrimaryKeyType.CLUSTERED)
+    private Long lastUpdated;
+    @PrimaryKeyColumn(value = "id", ordinal = 1, ordering = Ordering.DESCENDING, type = PrimaryKeyType.CLUSTERED)
+    private String id;
+    @CassandraType(type = Name.VARCHAR)
+    private TaskStatus taskStatus;
+    private String taskName;
+    private String taskDescription;
+    private String endpointName;
+
+    public TaskSummary(Task<?> task) {
+        this.taskType = task.getTaskType();
+        this.lastUpdated = task.getLastUpdated();
+        this.id = task.getId();
+        this.taskStatus = task.getTaskStatus();
+        this.taskName = task.getTaskName();
+        this.taskDescription = task.getTaskDescription();
+        this.endpointName = getEndpointName(task.getTaskData());
+    }
+
+    public TaskSummary(ResiliencyScoreTask task) {
+        this.taskType = task.getTaskType();
+        this.lastUpdated = task.getLastUpdated();
+        this.id = task.getId();
+        this.taskStatus = task.getTaskStatus();
+        this.taskName = task.getTaskName();
+        this.taskDescription = task.getTaskDescription();
+    }
+
+    private static String getEndpointName(TaskSpec taskData) {
+        if (taskData instanceof K8SFaultTriggerSpec && ((K8SFaultTriggerSpec) taskData).getFaultSpec() != null) {
+            return ((K8SFaultTriggerSpec) taskData).getFaultSpec().getEndpointName();
+        } else if (taskData instanceof EndpointGroupFaultTriggerSpec
+                && ((EndpointGroupFaultTriggerSpec) taskData).getFaultSpec() != null) {
+            return ((EndpointGroupFaultTriggerSpec) taskData).getFaultSpec().getEndpointName();
+        } else if (taskData instanceof FaultSpec) {
+            return ((FaultSpec) taskData).getEndpointName();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.cassandra.model.tasks;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.Ordering;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+/**
+ * Past trigger of a task. The task row only holds its latest trigger, the earlier ones are moved to
+ * this table, numbered in the order they ran and read back newest first.
+ *
+ * @author mangle
+ */
+@Table(value = "task_trigger_history")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTriggerHistory implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @PrimaryKeyColumn(value = "taskId", type = PrimaryKeyType.PARTITIONED)
+    private String taskId;
+    @PrimaryKeyColumn(value = "triggerIndex", ordinal = 0, type = PrimaryKeyType.CLUSTERED,
+            ordering = Ordering.DESCENDING)
+    private int triggerIndex;
+    private TaskTrigger trigger;
+}
@@ -34,6 +34,9 @@ public class AgentRuleConstants {
     public static final CharSequence METHOD_STRING = "METHOD ";
     public static final CharSequence HELPER_CLASS_STRING = "HELPER ";
     public static final String LATENCY_STRING = "latency";
+    public static final String LATENCY_DISTRIBUTION_STRING = "latencyDistribution";
+    public static final String LATENCY_SPREAD_STRING = "latencySpread";
+    public static final String LATENCY_JITTER_STRING = "latencyJitter";
     public static final CharSequence AT_ENTRY_STRING = "AT ENTRY";
     public static final String IF_TRUE = "IF true";
     public static final String CLASS_NAME = "className";
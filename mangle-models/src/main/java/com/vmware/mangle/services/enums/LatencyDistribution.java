@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.services.enums;
+
+/**
+ * Shape of the delays injected by the java latency faults around the configured latency.
+ *
+ * @author mangle
+ */
+public enum LatencyDistribution {
+    FIXED, UNIFORM, NORMAL, LONG_TAIL
+}
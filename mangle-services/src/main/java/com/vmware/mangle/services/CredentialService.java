@@ -31,7 +31,11 @@ import org.springframework.web.multipart.MultipartFile;
 import com.vmware.mangle.cassandra.model.endpoint.CredentialsSpec;
 import com.vmware.mangle.cassandra.model.endpoint.K8SCredentials;
 import com.vmware.mangle.cassandra.model.endpoint.RemoteMachineCredentials;
+import com.vmware.mangle.services.commons.CassandraPageCursors;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache.Region;
 import com.vmware.mangle.services.repository.CredentialRepository;
+import com.vmware.mangle.task.framework.endpoint.EndpointClientFactory;
 import com.vmware.mangle.utils.CommonUtils;
 import com.vmware.mangle.utils.clients.kubernetes.KubernetesCommandLineClient;
 import com.vmware.mangle.utils.constants.ErrorConstants;
@@ -50,12 +54,24 @@ import com.vmware.mangle.utils.helpers.security.EncryptFields;
 public class CredentialService {
 
     private CredentialRepository credentialRepository;
+    private EndpointClientFactory endpointClientFactory;
+    private HazelcastSpecCache specCache;
 
     @Autowired
     public CredentialService(CredentialRepository credentialRepository) {
         this.credentialRepository = credentialRepository;
     }
 
+    @Autowired
+    public void setEndpointClientFactory(EndpointClientFactory endpointClientFactory) {
+        this.endpointClientFactory = endpointClientFactory;
+    }
+
+    @Autowired
+    public void setSpecCache(HazelcastSpecCache specCache) {
+        this.specCache = specCache;
+    }
+
     public List<CredentialsSpec> getAllCredentials() {
         log.debug("Received request to get all Credential...");
         return credentialRepository.findAll();
@@ -64,9 +80,9 @@ public class CredentialService {
     public CredentialsSpec getCredentialByName(String name) throws MangleException {
         log.debug("Received request to get Credential by name : {}", name);
         if (StringUtils.hasText(name)) {
-            Optional<CredentialsSpec> optional = credentialRepository.findByName(name);
-            if (optional.isPresent()) {
-                return optional.get();
+            CredentialsSpec credentialsSpec = findCredentialByName(name);
+            if (credentialsSpec != null) {
+                return credentialsSpec;
             } else {
                 throw new MangleRuntimeException(ErrorCode.NO_RECORD_FOUND, ErrorConstants.CREDENTIAL_NAME, name);
             }
@@ -83,7 +99,11 @@ public class CredentialService {
             log.debug("Adding Credentials with credential name : {}", credentialsSpec.getName());
             validateCredentialsBeforeSave(credentialsSpec,
                     credentialRepository.findByName(credentialsSpec.getName()).orElse(null));
-            return credentialRepository.save((CredentialsSpec) EncryptFields.encrypt(credentialsSpec));
+            CredentialsSpec persistedCredentials =
+                    credentialRepository.save((CredentialsSpec) EncryptFields.encrypt(credentialsSpec));
+            invalidateEndpointClients(credentialsSpec.getName());
+            invalidateCachedCredentials(credentialsSpec.getName());
+            return persistedCredentials;
         } else {
             log.error(ErrorConstants.CREDENTIALS_SPEC + ErrorConstants.FIELD_VALUE_EMPTY);
             throw new MangleException(ErrorCode.CREDENTIAL_NAME_NOT_VALID,
@@ -169,6 +189,15 @@ public class CredentialService {
         }
     }
 
+    /**
+     * Retrieves the page of credentials following the cursor returned with the previous page, in a
+     * single query whatever the position of the page. An empty cursor requests the first page.
+     */
+    public Slice<CredentialsSpec> getCredentialsAfterCursor(String cursor, int size) throws MangleException {
+        log.debug("Received request to get the page of Credentials after the cursor {}", cursor);
+        return CassandraPageCursors.getPage(cursor, size, credentialRepository::findAll);
+    }
+
     public int getTotalPages(Slice<CredentialsSpec> slice) {
         long totalCount = credentialRepository.count();
         return slice.getSize() == 0 ? 1 : (int) Math.ceil((double) totalCount / (double) slice.getSize());
@@ -189,7 +218,11 @@ public class CredentialService {
                         credentialsSpec.getName());
             }
             validateCredentialsBeforeSave(credentialsSpec, optional.orElse(null));
-            return credentialRepository.save((CredentialsSpec) EncryptFields.encrypt(credentialsSpec));
+            CredentialsSpec persistedCredentials =
+                    credentialRepository.save((CredentialsSpec) EncryptFields.encrypt(credentialsSpec));
+            invalidateEndpointClients(credentialsSpec.getName());
+            invalidateCachedCredentials(credentialsSpec.getName());
+            return persistedCredentials;
         } else {
             log.error(ErrorConstants.CREDENTIAL_NAME + ErrorConstants.FIELD_VALUE_EMPTY);
             throw new MangleException(ErrorCode.CREDENTIAL_NAME_NOT_VALID,
@@ -197,6 +230,25 @@ public class CredentialService {
         }
     }
 
+    private CredentialsSpec findCredentialByName(String name) {
+        if (specCache == null) {
+            return credentialRepository.findByName(name).orElse(null);
+        }
+        return specCache.get(Region.CREDENTIALS, name, () -> credentialRepository.findByName(name).orElse(null));
+    }
+
+    private void invalidateCachedCredentials(String credentialName) {
+        if (specCache != null) {
+            specCache.invalidate(Region.CREDENTIALS, credentialName);
+        }
+    }
+
+    private void invalidateEndpointClients(String credentialName) {
+        if (null != endpointClientFactory) {
+            endpointClientFactory.invalidateCredentials(credentialName);
+        }
+    }
+
     /**
      * @param credentialsSpec
      * @throws MangleException
@@ -37,6 +37,8 @@ import org.springframework.web.multipart.MultipartFile;
 import com.vmware.mangle.cassandra.model.endpoint.CertificatesSpec;
 import com.vmware.mangle.cassandra.model.endpoint.DockerCertificates;
 import com.vmware.mangle.model.enums.EndpointType;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache.Region;
 import com.vmware.mangle.services.repository.EndpointCertificatesRepository;
 import com.vmware.mangle.utils.CommonUtils;
 import com.vmware.mangle.utils.constants.ErrorConstants;
@@ -55,6 +57,7 @@ import com.vmware.mangle.utils.helpers.security.EncryptFields;
 public class EndpointCertificatesService {
 
     private EndpointCertificatesRepository certificatesRepository;
+    private HazelcastSpecCache specCache;
     private static final String CA_CERT_NAME = "caCert";
     private static final String SERVER_CERT_NAME = "serverCert";
 
@@ -64,6 +67,11 @@ public class EndpointCertificatesService {
         this.certificatesRepository = certificatesRepository;
     }
 
+    @Autowired
+    public void setSpecCache(HazelcastSpecCache specCache) {
+        this.specCache = specCache;
+    }
+
     public List<CertificatesSpec> getAllCertificates() {
         log.debug("Received request to get all Certificates...");
         return certificatesRepository.findAll();
@@ -72,9 +80,9 @@ public class EndpointCertificatesService {
     public CertificatesSpec getCertificatesByName(String name) throws MangleException {
         log.debug("Received request to get Certificates by name : {}", name);
         if (StringUtils.hasText(name)) {
-            Optional<CertificatesSpec> optional = certificatesRepository.findByName(name);
-            if (optional.isPresent()) {
-                return optional.get();
+            CertificatesSpec certificatesSpec = findCertificatesByName(name);
+            if (certificatesSpec != null) {
+                return certificatesSpec;
             } else {
                 throw new MangleRuntimeException(ErrorCode.NO_RECORD_FOUND, ErrorConstants.CERTIFICATES_NAME, name);
             }
@@ -107,7 +115,10 @@ public class EndpointCertificatesService {
             log.debug("Adding Certificates with certificates name : {}", certificatesSpec.getName());
             validateCertificatesBeforeSave(certificatesSpec,
                     certificatesRepository.findByName(certificatesSpec.getName()).orElse(null));
-            return certificatesRepository.save((CertificatesSpec) EncryptFields.encrypt(certificatesSpec));
+            CertificatesSpec persistedCertificates =
+                    certificatesRepository.save((CertificatesSpec) EncryptFields.encrypt(certificatesSpec));
+            invalidateCachedCertificates(certificatesSpec.getName());
+            return persistedCertificates;
         } else {
             log.error(ErrorConstants.CERTIFICATES_SPEC + ErrorConstants.FIELD_VALUE_EMPTY);
             throw new MangleException(ErrorCode.CERTIFICATES_NAME_NOT_VALID,
@@ -180,7 +191,10 @@ public class EndpointCertificatesService {
                         certificatesSpec.getName());
             }
             validateCertificatesBeforeSave(certificatesSpec, optional.orElse(null));
-            return certificatesRepository.save((CertificatesSpec) EncryptFields.encrypt(certificatesSpec));
+            CertificatesSpec persistedCertificates =
+                    certificatesRepository.save((CertificatesSpec) EncryptFields.encrypt(certificatesSpec));
+            invalidateCachedCertificates(certificatesSpec.getName());
+            return persistedCertificates;
         } else {
             log.error(ErrorConstants.CERTIFICATES_NAME + ErrorConstants.FIELD_VALUE_EMPTY);
             throw new MangleException(ErrorCode.CERTIFICATES_NAME_NOT_VALID,
@@ -188,6 +202,19 @@ public class EndpointCertificatesService {
         }
     }
 
+    private CertificatesSpec findCertificatesByName(String name) {
+        if (specCache == null) {
+            return certificatesRepository.findByName(name).orElse(null);
+        }
+        return specCache.get(Region.CERTIFICATES, name, () -> certificatesRepository.findByName(name).orElse(null));
+    }
+
+    private void invalidateCachedCertificates(String certificatesName) {
+        if (specCache != null) {
+            specCache.invalidate(Region.CERTIFICATES, certificatesName);
+        }
+    }
+
     /**
      * @param certificatesSpec
      * @throws MangleException
@@ -19,6 +19,9 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import com.datastax.driver.core.PagingState;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.cassandra.core.query.CassandraPageRequest;
@@ -34,8 +37,12 @@ import com.vmware.mangle.cassandra.model.endpoint.EndpointSpec;
 import com.vmware.mangle.cassandra.model.endpoint.EndpointSpecV1;
 import com.vmware.mangle.cassandra.model.endpoint.VCenterAdapterDetails;
 import com.vmware.mangle.model.enums.EndpointType;
+import com.vmware.mangle.services.commons.CassandraPageCursors;
 import com.vmware.mangle.services.enums.K8SResource;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache.Region;
 import com.vmware.mangle.services.repository.EndpointRepository;
+import com.vmware.mangle.task.framework.endpoint.EndpointClientCache;
 import com.vmware.mangle.task.framework.endpoint.EndpointClientFactory;
 import com.vmware.mangle.utils.clients.docker.CustomDockerClient;
 import com.vmware.mangle.utils.clients.kubernetes.KubernetesCommandLineClient;
@@ -61,6 +68,7 @@ public class EndpointService {
     private EndpointClientFactory endpointClientFactory;
     private MappingService mappingService;
     private VCenterAdapterDetailsService vcaDetailsService;
+    private HazelcastSpecCache specCache;
 
     @Autowired
     public EndpointService(EndpointRepository endpointRepository, CredentialService credentialService,
@@ -74,6 +82,26 @@ public class EndpointService {
         this.vcaDetailsService = vcaDetailsService;
     }
 
+    @Autowired
+    public void setSpecCache(HazelcastSpecCache specCache) {
+        this.specCache = specCache;
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        EndpointClientCache clientCache = endpointClientFactory.getClientCache();
+        FunctionCounter.builder("mangle_endpoint_client_cache_hits", clientCache, EndpointClientCache::getHits)
+                .description("number of endpoint clients reused from the cache").register(meterRegistry);
+        FunctionCounter.builder("mangle_endpoint_client_cache_misses", clientCache, EndpointClientCache::getMisses)
+                .description("number of endpoint clients built as they were not cached").register(meterRegistry);
+        FunctionCounter
+                .builder("mangle_endpoint_client_cache_evictions", clientCache, EndpointClientCache::getEvictions)
+                .description("number of endpoint clients evicted as expired, outdated or least recently used")
+                .register(meterRegistry);
+        Gauge.builder("mangle_endpoint_client_cache_size", clientCache, EndpointClientCache::size)
+                .description("number of endpoint clients in the cache").register(meterRegistry);
+    }
+
     public List<EndpointSpec> getAllEndpoints() {
         log.info("Retrieving all Endpoints...");
         return endpointRepository.findAll();
@@ -82,9 +110,9 @@ public class EndpointService {
     public EndpointSpec getEndpointByName(String endpointName) throws MangleException {
         log.debug("Retrieving endpoint by name : " + endpointName);
         if (endpointName != null && !endpointName.isEmpty()) {
-            Optional<EndpointSpec> optional = endpointRepository.findByName(endpointName);
-            if (optional.isPresent()) {
-                return optional.get();
+            EndpointSpec endpointSpec = findEndpointByName(endpointName);
+            if (endpointSpec != null) {
+                return endpointSpec;
             } else {
                 throw new MangleRuntimeException(ErrorCode.NO_RECORD_FOUND, ErrorConstants.ENDPOINT_NAME, endpointName);
             }
@@ -161,7 +189,10 @@ public class EndpointService {
             log.info("Adding/Updating Endpoint with endpoint name : " + endpointSpec.getName());
             validateEndpointBeforeSave(endpointSpec,
                     endpointRepository.findByName(endpointSpec.getName()).orElse(null));
-            return endpointRepository.save((EndpointSpec) EncryptFields.encrypt(endpointSpec));
+            EndpointSpec persistedEndpoint = endpointRepository.save((EndpointSpec) EncryptFields.encrypt(endpointSpec));
+            endpointClientFactory.invalidateEndpoint(endpointSpec.getName());
+            invalidateCachedEndpoints(endpointSpec.getName());
+            return persistedEndpoint;
         } else {
             log.error(ErrorConstants.ENDPOINT + ErrorConstants.FIELD_VALUE_EMPTY);
             throw new MangleException(ErrorCode.FIELD_VALUE_EMPTY, ErrorConstants.ENDPOINT);
@@ -187,6 +218,15 @@ public class EndpointService {
         }
     }
 
+    /**
+     * Retrieves the page of endpoints following the cursor returned with the previous page, in a
+     * single query whatever the position of the page. An empty cursor requests the first page.
+     */
+    public Slice<EndpointSpec> getEndpointsAfterCursor(String cursor, int size) throws MangleException {
+        log.debug("Retrieving the page of Endpoints after the cursor {}", cursor);
+        return CassandraPageCursors.getPage(cursor, size, endpointRepository::findAll);
+    }
+
     public int getTotalPages(Slice<EndpointSpec> slice) {
         long totalCount = endpointRepository.count();
         return slice.getSize() == 0 ? 1 : (int) Math.ceil((double) totalCount / (double) slice.getSize());
@@ -293,12 +333,17 @@ public class EndpointService {
         if (!CollectionUtils.isEmpty(endpoints)) {
             endpoints.forEach(endpoint -> endpoint.setEnable(enable));
             endpointRepository.saveAll(endpoints);
-            return getEndpointNames(endpoints);
+            List<String> endpointNames = getEndpointNames(endpoints);
+            invalidateCachedEndpoints(endpointNames.toArray(new String[0]));
+            return endpointNames;
         }
         throw new MangleException(ErrorCode.NO_ENDPOINTS_FOUND);
     }
 
     public List<EndpointSpec> getEndpointsWithTags(Map<String, String> tags) {
+        if (specCache != null) {
+            return specCache.getEndpointsWithTags(tags, endpointRepository::findAll);
+        }
         List<EndpointSpec> endpoints = new ArrayList<>();
         endpointRepository.findAll().stream()
                 .filter(endpoint -> endpoint.getTags().entrySet().containsAll(tags.entrySet())).forEach(endpoints::add);
@@ -321,6 +366,20 @@ public class EndpointService {
         return endpointList;
     }
 
+    private EndpointSpec findEndpointByName(String endpointName) {
+        if (specCache == null) {
+            return endpointRepository.findByName(endpointName).orElse(null);
+        }
+        return specCache.get(Region.ENDPOINT, endpointName,
+                () -> endpointRepository.findByName(endpointName).orElse(null));
+    }
+
+    private void invalidateCachedEndpoints(String... endpointNames) {
+        if (specCache != null) {
+            specCache.invalidate(Region.ENDPOINT, endpointNames);
+        }
+    }
+
     private List<String> getEndpointNames(List<EndpointSpec> endpoints) {
         List<String> endpointNames = new ArrayList<>();
         endpoints.forEach(endpoint -> endpointNames.add(endpoint.getName()));
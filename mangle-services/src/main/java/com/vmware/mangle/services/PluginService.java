@@ -55,6 +55,7 @@ import com.vmware.mangle.cassandra.model.plugin.ManglePluginDescriptor;
 import com.vmware.mangle.cassandra.model.plugin.PluginDetails;
 import com.vmware.mangle.model.plugin.ExtensionType;
 import com.vmware.mangle.services.constants.CommonConstants;
+import com.vmware.mangle.services.plugin.ExtensionRegistry;
 import com.vmware.mangle.task.framework.helpers.faults.AbstractCustomFault;
 import com.vmware.mangle.task.framework.skeletons.ITaskHelper;
 import com.vmware.mangle.utils.clients.restclient.RestTemplateWrapper;
@@ -77,6 +78,8 @@ public class PluginService {
     private SpringPluginManager pluginManager;
     @Autowired
     private ApplicationContext appContext;
+    @Autowired
+    private ExtensionRegistry extensionRegistry;
     private static final String EXTENSIONS_KEY = "extensions";
 
     public Map<String, Object> getExtensions() {
@@ -130,14 +133,7 @@ public class PluginService {
 
     @SuppressWarnings("rawtypes")
     public ITaskHelper getExtension(String extensionName) {
-        List<ITaskHelper> tasks = pluginManager.getExtensions(ITaskHelper.class);
-        ITaskHelper ext = null;
-        for (ITaskHelper task : tasks) {
-            if (extensionName.equals(task.getClass().getName())) {
-                ext = task;
-                break;
-            }
-        }
+        ITaskHelper ext = extensionRegistry.getExtension(ITaskHelper.class, extensionName);
         if (null == ext) {
             Object taskObj = appContext
                     .getBean(extensionName.substring(extensionName.lastIndexOf('.') + 1, extensionName.length()));
@@ -148,6 +144,13 @@ public class PluginService {
         return ext;
     }
 
+    /**
+     * Records an invocation of the extension in its invocation timer
+     */
+    public void recordExtensionInvocation(String extensionName, long durationInNanos) {
+        extensionRegistry.recordInvocation(extensionName, durationInNanos);
+    }
+
     public List<String> getExtensionNames() {
         List<PluginWrapper> startedPlugins = pluginManager.getStartedPlugins();
         List<String> extNames = new ArrayList<>();
@@ -170,6 +173,7 @@ public class PluginService {
         try {
             pluginId = pluginManager.loadPlugin(pluginPath);
             pluginManager.startPlugin(pluginId);
+            extensionRegistry.invalidate();
         } catch (PluginRuntimeException e) {
             if (pluginWrappersMap.keySet().contains(pluginPath.toString())) {
                 throw new MangleRuntimeException(e, ErrorCode.PLUGIN_OPERATION_ERROR, "load");
@@ -192,6 +196,7 @@ public class PluginService {
         boolean status = false;
         try {
             status = pluginManager.unloadPlugin(pluginId);
+            extensionRegistry.invalidate();
         } catch (Exception e) {
             throw new MangleRuntimeException(e, ErrorCode.PLUGIN_OPERATION_ERROR, "unload");
         }
@@ -205,6 +210,7 @@ public class PluginService {
         boolean status = false;
         try {
             status = pluginManager.disablePlugin(pluginId);
+            extensionRegistry.invalidate();
         } catch (Exception e) {
             throw new MangleRuntimeException(e, ErrorCode.PLUGIN_OPERATION_ERROR, "disable");
         }
@@ -220,6 +226,7 @@ public class PluginService {
         try {
             status = pluginManager.enablePlugin(pluginId);
             state = pluginManager.startPlugin(pluginId);
+            extensionRegistry.invalidate();
         } catch (Exception e) {
             throw new MangleRuntimeException(e, ErrorCode.PLUGIN_OPERATION_ERROR, "enable");
         }
@@ -235,6 +242,7 @@ public class PluginService {
             checkPluginStateBeforeDelete(pluginId);
             if (!(CommonConstants.DEFAULT_PLUGIN_ID.equals(pluginId))) {
                 status = pluginManager.deletePlugin(pluginId);
+                extensionRegistry.invalidate();
             } else {
                 throw new MangleRuntimeException(ErrorConstants.DEFAULT_PLUGIN_ID_ERROR,
                         ErrorCode.PLUGIN_OPERATION_ERROR);
@@ -279,14 +287,7 @@ public class PluginService {
     }
 
     public AbstractCustomFault getExtensionForCustomFault(String extensionName) throws MangleException {
-        List<AbstractCustomFault> faults = pluginManager.getExtensions(AbstractCustomFault.class);
-        AbstractCustomFault ext = null;
-        for (AbstractCustomFault fault : faults) {
-            if (extensionName.equals(fault.getClass().getName())) {
-                ext = fault;
-                break;
-            }
-        }
+        AbstractCustomFault ext = extensionRegistry.getExtension(AbstractCustomFault.class, extensionName);
         if (ext == null) {
             throw new MangleException(ErrorCode.EXTENSION_NOT_FOUND, extensionName);
         }
@@ -294,14 +295,7 @@ public class PluginService {
     }
 
     public CommandExecutionFaultSpec getExtensionForModel(String extensionName) throws MangleException {
-        List<CommandExecutionFaultSpec> specs = pluginManager.getExtensions(CommandExecutionFaultSpec.class);
-        CommandExecutionFaultSpec ext = null;
-        for (CommandExecutionFaultSpec spec : specs) {
-            if (extensionName.equals(spec.getClass().getName())) {
-                ext = spec;
-                break;
-            }
-        }
+        CommandExecutionFaultSpec ext = extensionRegistry.getExtension(CommandExecutionFaultSpec.class, extensionName);
         if (ext == null) {
             throw new MangleException(ErrorCode.EXTENSION_NOT_FOUND, extensionName);
         }
@@ -15,16 +15,17 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Stack;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
@@ -33,12 +34,15 @@ import org.springframework.util.StringUtils;
 import com.vmware.mangle.cassandra.model.faults.specs.TaskSpec;
 import com.vmware.mangle.cassandra.model.tasks.RemediableTask;
 import com.vmware.mangle.cassandra.model.tasks.Task;
-import com.vmware.mangle.cassandra.model.tasks.TaskFilter;
 import com.vmware.mangle.cassandra.model.tasks.TaskInfo;
 import com.vmware.mangle.cassandra.model.tasks.TaskStatus;
+import com.vmware.mangle.cassandra.model.tasks.TaskStatusIndex;
 import com.vmware.mangle.cassandra.model.tasks.TaskTrigger;
+import com.vmware.mangle.cassandra.model.tasks.TaskTriggerHistory;
 import com.vmware.mangle.services.constants.CommonConstants;
 import com.vmware.mangle.services.repository.TaskRepository;
+import com.vmware.mangle.services.repository.TaskStatusIndexRepository;
+import com.vmware.mangle.services.repository.TaskTriggerHistoryRepository;
 import com.vmware.mangle.utils.constants.Constants;
 import com.vmware.mangle.utils.constants.ErrorConstants;
 import com.vmware.mangle.utils.exceptions.MangleException;
@@ -55,11 +59,36 @@ import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
 @Log4j2
 public class TaskService {
 
+    private static final String SYSTEM_RESOURCE_FAULT_TASK_HELPER =
+            "com.vmware.mangle.faults.plugin.tasks.helpers.SystemResourceFaultTaskHelper2";
+    private static final Set<TaskStatus> IN_PROGRESS_STATUSES =
+            EnumSet.of(TaskStatus.QUEUED, TaskStatus.IN_PROGRESS, TaskStatus.INITIALIZING, TaskStatus.INJECTED);
+    private static final Set<TaskStatus> INJECTED_STATUSES =
+            EnumSet.of(TaskStatus.INJECTED, TaskStatus.TEST_MACHINE_INVALID_STATE);
+    private static final Set<TaskStatus> INDEXED_STATUSES = EnumSet.of(TaskStatus.QUEUED, TaskStatus.IN_PROGRESS,
+            TaskStatus.INITIALIZING, TaskStatus.INJECTED, TaskStatus.TEST_MACHINE_INVALID_STATE);
+    private static final List<String> INDEXED_STATUS_NAMES =
+            INDEXED_STATUSES.stream().map(TaskStatus::name).collect(Collectors.toList());
+
     private TaskRepository taskRepository;
+    private TaskSummaryService taskSummaryService;
+    private TaskStatusIndexRepository taskStatusIndexRepository;
+    private TaskTriggerHistoryRepository taskTriggerHistoryRepository;
+
+    /**
+     * Number of past triggers kept per task, the whole history is kept when it is not positive
+     */
+    @Value("${mangle.task.trigger-history.retention:500}")
+    private int triggerHistoryRetention;
 
     @Autowired
-    public TaskService(TaskRepository taskRepository) {
+    public TaskService(TaskRepository taskRepository, TaskSummaryService taskSummaryService,
+            TaskStatusIndexRepository taskStatusIndexRepository,
+            TaskTriggerHistoryRepository taskTriggerHistoryRepository) {
         this.taskRepository = taskRepository;
+        this.taskSummaryService = taskSummaryService;
+        this.taskStatusIndexRepository = taskStatusIndexRepository;
+        this.taskTriggerHistoryRepository = taskTriggerHistoryRepository;
     }
 
     public List<Task<TaskSpec>> getAllTasks() {
@@ -99,60 +128,108 @@ public class TaskService {
     public Task<TaskSpec> addOrUpdateTask(Task<?> task) throws MangleException {
         if (task != null) {
             log.debug("Creating Task with Id : " + task.getId());
+            Long previousLastUpdated = task.getLastUpdated();
             task.setLastUpdated(System.currentTimeMillis());
-            return taskRepository.save(task);
+            archiveTriggerHistory(task);
+            Task<TaskSpec> persistedTask = taskRepository.save(task);
+            taskSummaryService.updateSummary(task, previousLastUpdated);
+            updateTaskStatusIndex(task);
+            return persistedTask;
         } else {
             log.error(ErrorConstants.TASK + ErrorConstants.FIELD_VALUE_EMPTY);
             throw new MangleException(ErrorCode.FIELD_VALUE_EMPTY, ErrorConstants.TASK);
         }
     }
 
-    public Map<String, Object> getTaskBasedOnIndex(TaskFilter taskFilter) {
-        log.info("Retrieving requested page for Tasks...");
-        List<Task<TaskSpec>> allTasks = getAllTasks();
-        List<Task<TaskSpec>> tasksToReturn = new ArrayList<>();
-        List<Task<TaskSpec>> filteredTasks = getFilteredTasks(allTasks, taskFilter.getTaskType(),
-                taskFilter.getTaskDescription(), taskFilter.getTaskStatus());
-        for (int i = taskFilter.getFromIndex(); i <= taskFilter.getToIndex(); i++) {
-            if (filteredTasks.size() <= i) {
-                break;
+    /**
+     * Moves the task to the status index entry of its current status. Tasks that are not in one of
+     * the indexed statuses are removed from the index. The existing entries are read first so that
+     * only actual transitions write to the index, keeping the tombstones in the status partitions
+     * down to one per transition.
+     *
+     * @param task
+     *            the persisted task
+     */
+    public void updateTaskStatusIndex(Task<?> task) {
+        TaskStatusIndex currentEntry = INDEXED_STATUSES.contains(task.getTaskStatus())
+                ? new TaskStatusIndex(task.getTaskStatus(), task.getId(), task.getExtensionName())
+                : null;
+        boolean isIndexed = false;
+        for (TaskStatusIndex entry : taskStatusIndexRepository.findByTaskStatusInAndId(INDEXED_STATUS_NAMES,
+                task.getId())) {
+            if (entry.equals(currentEntry)) {
+                isIndexed = true;
+            } else {
+                taskStatusIndexRepository.delete(entry);
             }
-            tasksToReturn.add(filteredTasks.get(i));
         }
-        Map<String, Object> pagedObject = new HashMap<>();
-        pagedObject.put(Constants.TASK_SIZE, filteredTasks.size());
-        pagedObject.put(Constants.TASK_LIST, tasksToReturn);
-        return pagedObject;
+        if (currentEntry != null && !isIndexed) {
+            taskStatusIndexRepository.save(currentEntry);
+        }
     }
 
-    @SuppressWarnings("squid:S1871")
-    private List<Task<TaskSpec>> getFilteredTasks(List<Task<TaskSpec>> allTasks, String taskType,
-            String taskDescription, String taskStatus) {
-        List<Task<TaskSpec>> filteredTasks = new ArrayList<>();
-        for (Task<TaskSpec> taskDataToFilter : allTasks) {
-            if (StringUtils.isEmpty(taskType) && StringUtils.isEmpty(taskDescription)
-                    && StringUtils.isEmpty(taskStatus)) {
-                filteredTasks.add(taskDataToFilter);
-            } else if (taskDataToFilter.getTaskType() != null
-                    && taskDataToFilter.getTaskType().toString().contains(taskType)
-                    && taskDataToFilter.getTaskDescription() != null
-                    && taskDataToFilter.getTaskDescription().contains(taskDescription)
-                    && taskDataToFilter.getTaskStatus() != null
-                    && taskDataToFilter.getTaskStatus().toString().contains(taskStatus)) {
-                filteredTasks.add(taskDataToFilter);
+    /**
+     * Moves the past triggers of the task to the trigger history, leaving the latest trigger only
+     * in the task, so that the task row does not grow with every run of a scheduled task. The
+     * triggers already loaded from the history are not written again. Once the history of the task
+     * exceeds the retention, its oldest triggers are removed by a single range deletion.
+     *
+     * @param task
+     *            the task to persist
+     * @return true if triggers were removed from the task
+     */
+    public boolean archiveTriggerHistory(Task<?> task) {
+        Stack<TaskTrigger> triggers = task.getTriggers();
+        if (triggers == null || triggers.size() <= 1) {
+            return false;
+        }
+        int loadedTriggerHistory = task.getLoadedTriggerHistory();
+        if (triggers.size() - 1 > loadedTriggerHistory) {
+            TaskTriggerHistory latestEntry = taskTriggerHistoryRepository.findLatestByTaskId(task.getId());
+            int triggerIndex = latestEntry == null ? 0 : latestEntry.getTriggerIndex() + 1;
+            List<TaskTriggerHistory> entries = new ArrayList<>();
+            for (int i = loadedTriggerHistory; i < triggers.size() - 1; i++) {
+                entries.add(new TaskTriggerHistory(task.getId(), triggerIndex++, triggers.get(i)));
+            }
+            taskTriggerHistoryRepository.saveAll(entries);
+            if (triggerHistoryRetention > 0 && triggerIndex > triggerHistoryRetention) {
+                taskTriggerHistoryRepository.deleteByTaskIdAndTriggerIndexLessThanEqual(task.getId(),
+                        triggerIndex - 1 - triggerHistoryRetention);
             }
+            log.debug("Moved {} triggers of the task {} to the trigger history", entries.size(), task.getId());
+        }
+        TaskTrigger latestTrigger = triggers.peek();
+        triggers.clear();
+        triggers.push(latestTrigger);
+        task.setLoadedTriggerHistory(0);
+        return true;
+    }
 
+    /**
+     * Puts the past triggers of the task back below its latest trigger, oldest first
+     *
+     * @param task
+     *            the task read from the task table
+     * @return the task holding all its triggers
+     */
+    public Task<TaskSpec> loadTriggerHistory(Task<TaskSpec> task) {
+        if (task.getLoadedTriggerHistory() > 0) {
+            return task;
         }
-        filteredTasks.sort((t1, t2) -> {
-            if (t2.getLastUpdated() != null && t1.getLastUpdated() != null) {
-                return t2.getLastUpdated().compareTo(t1.getLastUpdated());
-            } else if (t2.getTriggers().peek().getEndTime() != null && t1.getTriggers().peek().getEndTime() != null) {
-                return t2.getTriggers().peek().getEndTime().compareTo(t1.getTriggers().peek().getEndTime());
-            } else {
-                return 0;
-            }
-        });
-        return filteredTasks;
+        List<TaskTriggerHistory> entries = taskTriggerHistoryRepository.findByTaskId(task.getId());
+        if (entries.isEmpty()) {
+            return task;
+        }
+        Stack<TaskTrigger> triggers = new Stack<>();
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            triggers.push(entries.get(i).getTrigger());
+        }
+        if (task.getTriggers() != null) {
+            triggers.addAll(task.getTriggers());
+        }
+        task.setTriggers(triggers);
+        task.setLoadedTriggerHistory(entries.size());
+        return task;
     }
 
     public Task<TaskSpec> updateRemediationFieldofTaskById(String id, Boolean isRemediated) throws MangleException {
@@ -207,22 +284,35 @@ public class TaskService {
     }
 
     public List<Task<TaskSpec>> getInProgressTasks() {
-        List<Task<TaskSpec>> tasks = taskRepository.findAll();
-        return tasks.stream()
-                .filter(task -> (task.getTaskStatus() == TaskStatus.IN_PROGRESS
-                        || task.getTaskStatus() == TaskStatus.INITIALIZING
-                        || task.getTaskStatus() == TaskStatus.INJECTED))
-                .collect(Collectors.toList());
+        return getTasksByStatus(IN_PROGRESS_STATUSES, null);
     }
 
     public List<Task<TaskSpec>> getInjectedSystemResourceTasks() {
-        List<Task<TaskSpec>> tasks = taskRepository.findAll();
+        return getTasksByStatus(INJECTED_STATUSES, SYSTEM_RESOURCE_FAULT_TASK_HELPER);
+    }
+
+    /**
+     * Retrieves the tasks in one of the given statuses using the status index. The status of the
+     * retrieved tasks is verified again, as the index is only updated after the task is persisted.
+     * Index entries of deleted tasks are removed.
+     */
+    private List<Task<TaskSpec>> getTasksByStatus(Set<TaskStatus> taskStatuses, String extensionName) {
+        List<String> statuses = taskStatuses.stream().map(TaskStatus::name).collect(Collectors.toList());
+        Set<String> taskIds = taskStatusIndexRepository.findByTaskStatusIn(statuses).stream()
+                .filter(entry -> extensionName == null || extensionName.equals(entry.getExtensionName()))
+                .map(TaskStatusIndex::getId).collect(Collectors.toSet());
+        if (taskIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Task<TaskSpec>> tasks = taskRepository.findByIds(new ArrayList<>(taskIds));
+        tasks.forEach(task -> taskIds.remove(task.getId()));
+        for (String deletedTaskId : taskIds) {
+            log.debug("Removing the status index entries of the deleted task {}", deletedTaskId);
+            taskStatusIndexRepository.deleteByTaskStatusInAndId(statuses, deletedTaskId);
+        }
         return tasks.stream()
-                .filter(task -> (Objects.nonNull(task.getExtensionName())
-                        && task.getExtensionName()
-                                .equals("com.vmware.mangle.faults.plugin.tasks.helpers.SystemResourceFaultTaskHelper2")
-                        && (task.getTaskStatus() == TaskStatus.INJECTED
-                                || task.getTaskStatus() == TaskStatus.TEST_MACHINE_INVALID_STATE)))
+                .filter(task -> taskStatuses.contains(task.getTaskStatus())
+                        && (extensionName == null || extensionName.equals(task.getExtensionName())))
                 .collect(Collectors.toList());
     }
 
@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.vmware.mangle.cassandra.model.faults.specs.TaskSpec;
+import com.vmware.mangle.cassandra.model.resiliencyscore.ResiliencyScoreTask;
+import com.vmware.mangle.cassandra.model.tasks.Task;
+import com.vmware.mangle.cassandra.model.tasks.TaskFilter;
+import com.vmware.mangle.cassandra.model.tasks.TaskSummary;
+import com.vmware.mangle.cassandra.model.tasks.TaskType;
+import com.vmware.mangle.services.repository.ResiliencyScoreRepository;
+import com.vmware.mangle.services.repository.TaskRepository;
+import com.vmware.mangle.services.repository.TaskSummaryRepository;
+import com.vmware.mangle.utils.constants.Constants;
+import com.vmware.mangle.utils.exceptions.MangleException;
+import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
+
+/**
+ * Maintains the task_summary index of the fault and resiliency score tasks, and serves the paged
+ * task listing from it.
+ *
+ * A page is read by merging the latest entries of every matching task type partition, so only the
+ * index entries up to the requested page and the tasks of the page itself are read from the
+ * database.
+ *
+ * @author mangle
+ */
+@Component
+@Log4j2
+public class TaskSummaryService {
+
+    private static final int MIN_BATCH_SIZE = 20;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final String CURSOR_SEPARATOR = ":";
+    private static final Comparator<TaskSummary> LATEST_FIRST = Comparator
+            .comparing(TaskSummary::getLastUpdated).thenComparing(TaskSummary::getId).reversed();
+
+    private TaskSummaryRepository taskSummaryRepository;
+    private TaskRepository taskRepository;
+    private ResiliencyScoreRepository resiliencyScoreRepository;
+
+    @Autowired
+    public TaskSummaryService(TaskSummaryRepository taskSummaryRepository, TaskRepository taskRepository,
+            ResiliencyScoreRepository resiliencyScoreRepository) {
+        this.taskSummaryRepository = taskSummaryRepository;
+        this.taskRepository = taskRepository;
+        this.resiliencyScoreRepository = resiliencyScoreRepository;
+    }
+
+    /**
+     * Updates the index entry of the task after it was persisted.
+     *
+     * @param task
+     *            the persisted task
+     * @param previousLastUpdated
+     *            last updated time of the task before it was persisted, used to remove the
+     *            previous index entry
+     */
+    public void updateSummary(Task<?> task, Long previousLastUpdated) {
+        if (task.getTaskType() != null && task.getLastUpdated() != null) {
+            updateSummary(new TaskSummary(task), previousLastUpdated);
+        }
+    }
+
+    /**
+     * Updates the index entry of the resiliency score task after it was persisted.
+     *
+     * @param task
+     *            the persisted task
+     * @param previousLastUpdated
+     *            last updated time of the task before it was persisted, used to remove the
+     *            previous index entry
+     */
+    public void updateSummary(ResiliencyScoreTask task, Long previousLastUpdated) {
+        if (task.getTaskType() != null && task.getLastUpdated() != null) {
+            updateSummary(new TaskSummary(task), previousLastUpdated);
+        }
+    }
+
+    private void updateSummary(TaskSummary taskSummary, Long previousLastUpdated) {
+        try {
+            taskSummaryRepository.save(taskSummary);
+            if (previousLastUpdated != null && !previousLastUpdated.equals(taskSummary.getLastUpdated())) {
+                taskSummaryRepository.deleteEntry(taskSummary.getTaskType().name(), previousLastUpdated,
+                        taskSummary.getId());
+            }
+        } catch (DataAccessException e) {
+            log.error("Updating the summary of the task {} failed, it will be refreshed on the next update",
+                    taskSummary.getId(), e);
+        }
+    }
+
+    /**
+     * Removes the index entry of a deleted task.
+     *
+     * @param taskType
+     *            type of the deleted task
+     * @param lastUpdated
+     *            last updated time of the deleted task
+     * @param taskId
+     *            id of the deleted task
+     */
+    public void deleteSummary(TaskType taskType, Long lastUpdated, String taskId) {
+        if (taskType != null && lastUpdated != null) {
+            taskSummaryRepository.deleteEntry(taskType.name(), lastUpdated, taskId);
+        }
+    }
+
+    /**
+     * Retrieves the requested page of fault and resiliency score tasks, latest updated first.
+     *
+     * Without a cursor, the page between fromIndex and toIndex is returned together with the total
+     * number of matching tasks. With a cursor, the page following the cursor is returned together
+     * with the cursor of the next page, and no total is computed.
+     *
+     * @param taskFilter
+     *            filter and position of the page
+     * @return map holding the tasks of the page and either the total number of tasks or the cursor
+     *         of the next page
+     * @throws MangleException
+     *             when the cursor is invalid
+     */
+    public Map<String, Object> getTaskBasedOnIndex(TaskFilter taskFilter) throws MangleException {
+        log.debug("Retrieving requested page for Tasks using the task summary...");
+        boolean isCursorPage = taskFilter.getCursor() != null;
+        int pageSize = Math.max(taskFilter.getToIndex() - taskFilter.getFromIndex() + 1, 1);
+        List<TaskType> taskTypes = getTaskTypes(taskFilter.getTaskType());
+        TaskSummary cursor = isCursorPage ? decodeCursor(taskFilter.getCursor()) : null;
+        Predicate<TaskSummary> predicate = getPredicate(taskFilter);
+        TaskSummaryReader reader = new TaskSummaryReader(taskTypes, cursor, getBatchSize(pageSize));
+
+        int skippedTasks = 0;
+        while (!isCursorPage && skippedTasks < taskFilter.getFromIndex() && reader.next(predicate) != null) {
+            skippedTasks++;
+        }
+        List<Object> tasksToReturn = new ArrayList<>();
+        TaskSummary lastReadSummary = readPage(reader, predicate, pageSize, tasksToReturn);
+
+        Map<String, Object> pagedObject = new HashMap<>();
+        pagedObject.put(Constants.TASK_LIST, tasksToReturn);
+        if (isCursorPage) {
+            boolean hasNextPage = tasksToReturn.size() == pageSize && reader.next(predicate) != null;
+            pagedObject.put(Constants.NEXT_CURSOR, hasNextPage ? encodeCursor(lastReadSummary) : null);
+        } else {
+            pagedObject.put(Constants.TASK_SIZE,
+                    getTaskCount(taskFilter, taskTypes, reader, predicate, skippedTasks + tasksToReturn.size()));
+        }
+        return pagedObject;
+    }
+
+    private TaskSummary readPage(TaskSummaryReader reader, Predicate<TaskSummary> predicate, int pageSize,
+            List<Object> tasksToReturn) {
+        TaskSummary lastReadSummary = null;
+        while (tasksToReturn.size() < pageSize) {
+            List<TaskSummary> summaries = new ArrayList<>();
+            TaskSummary summary;
+            while (summaries.size() < pageSize - tasksToReturn.size() && (summary = reader.next(predicate)) != null) {
+                summaries.add(summary);
+            }
+            if (summaries.isEmpty()) {
+                break;
+            }
+            tasksToReturn.addAll(getTasks(summaries));
+            lastReadSummary = summaries.get(summaries.size() - 1);
+        }
+        return lastReadSummary;
+    }
+
+    /**
+     * Loads the tasks of the given index entries, preserving their order. Entries whose task was
+     * deleted or updated since are stale and are removed from the index.
+     */
+    private List<Object> getTasks(List<TaskSummary> summaries) {
+        List<String> faultTaskIds = new ArrayList<>();
+        List<String> resiliencyScoreTaskIds = new ArrayList<>();
+        for (TaskSummary summary : summaries) {
+            if (summary.getTaskType() == TaskType.RESILIENCY_SCORE) {
+                resiliencyScoreTaskIds.add(summary.getId());
+            } else {
+                faultTaskIds.add(summary.getId());
+            }
+        }
+        Map<String, Object> tasksById = new HashMap<>();
+        Map<String, Long> lastUpdatedById = new HashMap<>();
+        if (!faultTaskIds.isEmpty()) {
+            for (Task<TaskSpec> task : taskRepository.findByIds(faultTaskIds)) {
+                tasksById.put(task.getId(), task);
+                lastUpdatedById.put(task.getId(), task.getLastUpdated());
+            }
+        }
+        if (!resiliencyScoreTaskIds.isEmpty()) {
+            for (ResiliencyScoreTask task : resiliencyScoreRepository.findByIds(resiliencyScoreTaskIds)) {
+                tasksById.put(task.getId(), task);
+                lastUpdatedById.put(task.getId(), task.getLastUpdated());
+            }
+        }
+        List<Object> tasks = new ArrayList<>();
+        for (TaskSummary summary : summaries) {
+            if (tasksById.containsKey(summary.getId())
+                    && summary.getLastUpdated().equals(lastUpdatedById.get(summary.getId()))) {
+                tasks.add(tasksById.get(summary.getId()));
+            } else {
+                log.debug("Removing stale summary of the task {}", summary.getId());
+                deleteSummary(summary.getTaskType(), summary.getLastUpdated(), summary.getId());
+            }
+        }
+        return tasks;
+    }
+
+    private int getTaskCount(TaskFilter taskFilter, List<TaskType> taskTypes, TaskSummaryReader reader,
+            Predicate<TaskSummary> predicate, int readTasks) {
+        if (StringUtils.isEmpty(taskFilter.getTaskDescription()) && StringUtils.isEmpty(taskFilter.getTaskStatus())
+                && StringUtils.isEmpty(taskFilter.getEndpointName())) {
+            long taskCount = 0;
+            for (TaskType taskType : taskTypes) {
+                taskCount += taskSummaryRepository.countByTaskType(taskType.name());
+            }
+            return (int) taskCount;
+        }
+        int taskCount = readTasks;
+        while (reader.next(predicate) != null) {
+            taskCount++;
+        }
+        return taskCount;
+    }
+
+    private List<TaskType> getTaskTypes(String taskType) {
+        List<TaskType> taskTypes = new ArrayList<>();
+        for (TaskType type : TaskType.values()) {
+            if (StringUtils.isEmpty(taskType) || type.name().contains(taskType)) {
+                taskTypes.add(type);
+            }
+        }
+        return taskTypes;
+    }
+
+    private Predicate<TaskSummary> getPredicate(TaskFilter taskFilter) {
+        String taskDescription = taskFilter.getTaskDescription();
+        String taskStatus = taskFilter.getTaskStatus();
+        String endpointName = taskFilter.getEndpointName();
+        return summary -> (StringUtils.isEmpty(taskDescription)
+                || Objects.toString(summary.getTaskDescription(), "").contains(taskDescription))
+                && (StringUtils.isEmpty(taskStatus) || String.valueOf(summary.getTaskStatus()).contains(taskStatus))
+                && (StringUtils.isEmpty(endpointName)
+                        || Objects.toString(summary.getEndpointName(), "").contains(endpointName));
+    }
+
+    private int getBatchSize(int pageSize) {
+        return Math.min(Math.max(pageSize + 1, MIN_BATCH_SIZE), MAX_BATCH_SIZE);
+    }
+
+    private String encodeCursor(TaskSummary summary) {
+        String position = summary.getLastUpdated() + CURSOR_SEPARATOR + summary.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private TaskSummary decodeCursor(String cursor) throws MangleException {
+        if (cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = position.indexOf(CURSOR_SEPARATOR);
+            TaskSummary summary = new TaskSummary();
+            summary.setLastUpdated(Long.parseLong(position.substring(0, separatorIndex)));
+            summary.setId(position.substring(separatorIndex + 1));
+            return summary;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new MangleException(ErrorCode.INVALID_PAGE_CURSOR, cursor);
+        }
+    }
+
+    /**
+     * Reads the index entries of several task type partitions in batches, merged latest first.
+     */
+    private class TaskSummaryReader {
+        private final PriorityQueue<PartitionReader> partitionReaders =
+                new PriorityQueue<>((reader1, reader2) -> LATEST_FIRST.compare(reader1.peek(), reader2.peek()));
+
+        private TaskSummaryReader(List<TaskType> taskTypes, TaskSummary cursor, int batchSize) {
+            for (TaskType taskType : taskTypes) {
+                PartitionReader partitionReader = new PartitionReader(taskType.name(), batchSize);
+                partitionReader.fetch(cursor);
+                if (partitionReader.peek() != null) {
+                    partitionReaders.add(partitionReader);
+                }
+            }
+        }
+
+        private TaskSummary next(Predicate<TaskSummary> predicate) {
+            while (!partitionReaders.isEmpty()) {
+                PartitionReader partitionReader = partitionReaders.poll();
+                TaskSummary summary = partitionReader.poll();
+                if (partitionReader.peek() != null) {
+                    partitionReaders.add(partitionReader);
+                }
+                if (predicate.test(summary)) {
+                    return summary;
+                }
+            }
+            return null;
+        }
+    }
+
+    private class PartitionReader {
+        private final String taskType;
+        private final int batchSize;
+        private final Deque<TaskSummary> summaries = new ArrayDeque<>();
+        private boolean exhausted;
+
+        private PartitionReader(String taskType, int batchSize) {
+            this.taskType = taskType;
+            this.batchSize = batchSize;
+        }
+
+        private void fetch(TaskSummary after) {
+            List<TaskSummary> batch = after == null ? taskSummaryRepository.findLatest(taskType, batchSize)
+                    : taskSummaryRepository.findLatestBefore(taskType, after.getLastUpdated(), after.getId(),
+                            batchSize);
+            summaries.addAll(batch);
+            exhausted = batch.size() < batchSize;
+        }
+
+        private TaskSummary peek() {
+            return summaries.peek();
+        }
+
+        private TaskSummary poll() {
+            TaskSummary summary = summaries.poll();
+            if (summaries.isEmpty() && !exhausted) {
+                fetch(summary);
+            }
+            return summary;
+        }
+    }
+}
@@ -24,6 +24,8 @@ import org.springframework.util.StringUtils;
 
 import com.vmware.mangle.cassandra.model.endpoint.VCenterAdapterDetails;
 import com.vmware.mangle.cassandra.model.endpoint.VCenterAdapterProperties;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache.Region;
 import com.vmware.mangle.services.repository.VCenterAdapterDetailsRepository;
 import com.vmware.mangle.utils.clients.vcenter.VCenterAdapterClient;
 import com.vmware.mangle.utils.constants.ErrorConstants;
@@ -40,12 +42,18 @@ import com.vmware.mangle.utils.helpers.security.EncryptFields;
 public class VCenterAdapterDetailsService {
 
     private VCenterAdapterDetailsRepository repository;
+    private HazelcastSpecCache specCache;
 
     @Autowired
     public VCenterAdapterDetailsService(VCenterAdapterDetailsRepository repository) {
         this.repository = repository;
     }
 
+    @Autowired
+    public void setSpecCache(HazelcastSpecCache specCache) {
+        this.specCache = specCache;
+    }
+
     public List<VCenterAdapterDetails> getAllVCenterAdapterDetails() {
         return repository.findAll();
     }
@@ -54,7 +62,9 @@ public class VCenterAdapterDetailsService {
         log.debug("Retrieving VCenterDetails for the name {}", vCAdapterDetailsName);
         VCenterAdapterDetails vCenterAdapterDetails = null;
         if (!StringUtils.isEmpty(vCAdapterDetailsName)) {
-            vCenterAdapterDetails = repository.findByName(vCAdapterDetailsName).orElse(null);
+            vCenterAdapterDetails = specCache == null ? repository.findByName(vCAdapterDetailsName).orElse(null)
+                    : specCache.get(Region.VCENTER_ADAPTER_DETAILS, vCAdapterDetailsName,
+                            () -> repository.findByName(vCAdapterDetailsName).orElse(null));
         }
         return vCenterAdapterDetails;
     }
@@ -93,7 +103,10 @@ public class VCenterAdapterDetailsService {
         persistedAdapterDetails.setAdapterUrl(adapterDetails.getAdapterUrl());
         persistedAdapterDetails.setUsername(adapterDetails.getUsername());
         persistedAdapterDetails.setPassword(adapterDetails.getPassword());
-        return repository.save((VCenterAdapterDetails) EncryptFields.encrypt(persistedAdapterDetails));
+        VCenterAdapterDetails updatedAdapterDetails =
+                repository.save((VCenterAdapterDetails) EncryptFields.encrypt(persistedAdapterDetails));
+        invalidateCachedAdapterDetails(adapterDetails.getName());
+        return updatedAdapterDetails;
     }
 
     public VCenterAdapterDetails createVCenterAdapterDetails(VCenterAdapterDetails adapterDetails)
@@ -103,7 +116,10 @@ public class VCenterAdapterDetailsService {
         if (null != persistedAdapterDetails) {
             throw new MangleException(ErrorConstants.DUPLICATE_RECORD, ErrorCode.DUPLICATE_RECORD);
         }
-        return repository.save((VCenterAdapterDetails) EncryptFields.encrypt(adapterDetails));
+        VCenterAdapterDetails createdAdapterDetails =
+                repository.save((VCenterAdapterDetails) EncryptFields.encrypt(adapterDetails));
+        invalidateCachedAdapterDetails(adapterDetails.getName());
+        return createdAdapterDetails;
     }
 
     public void deleteVCenterAdapterDetails(List<String> vcDetailsNames) throws MangleException {
@@ -119,6 +135,7 @@ public class VCenterAdapterDetailsService {
         }
 
         repository.deleteByNameIn(persistedAdapterDetailsNames);
+        invalidateCachedAdapterDetails(persistedAdapterDetailsNames.toArray(new String[0]));
     }
 
     public boolean testConnection(VCenterAdapterDetails adapterDetails) throws MangleException {
@@ -128,4 +145,9 @@ public class VCenterAdapterDetailsService {
         return true;
     }
 
+    private void invalidateCachedAdapterDetails(String... adapterDetailsNames) {
+        if (specCache != null) {
+            specCache.invalidate(Region.VCENTER_ADAPTER_DETAILS, adapterDetailsNames);
+        }
+    }
 }
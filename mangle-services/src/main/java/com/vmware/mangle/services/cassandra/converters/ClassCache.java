@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.services.cassandra.converters;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the classes named in the persisted rows (task and spec types), so that the class of a
+ * row is looked up through {@link Class#forName(String)} once per type rather than once per row.
+ * Only the classes which are found are cached, an unknown name is looked up again on every call.
+ *
+ * @author kumargautam
+ */
+final class ClassCache {
+    private static final Map<String, Class<?>> CLASSES = new ConcurrentHashMap<>();
+
+    private ClassCache() {
+    }
+
+    static Class<?> forName(String className) throws ClassNotFoundException {
+        Class<?> clazz = CLASSES.get(className);
+        if (clazz == null) {
+            clazz = Class.forName(className);
+            CLASSES.put(className, clazz);
+        }
+        return clazz;
+    }
+}
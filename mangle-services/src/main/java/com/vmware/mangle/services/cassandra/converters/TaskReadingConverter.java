@@ -43,7 +43,7 @@ public class TaskReadingConverter implements Converter<Row, Task<TaskSpec>> {
         log.debug("Task Id : " + source.getString("id"));
         Task<TaskSpec> task = null;
         try {
-            task = (Task<TaskSpec>) cassandraConverter.read(Class.forName(taskClass), source);
+            task = (Task<TaskSpec>) cassandraConverter.read(ClassCache.forName(taskClass), source);
         } catch (ClassNotFoundException e) {
             log.error("Error converting task object: " + e.getStackTrace());
         }
@@ -12,8 +12,10 @@
 package com.vmware.mangle.services.cassandra.converters;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import lombok.extern.log4j.Log4j2;
-import org.json.JSONObject;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.convert.ReadingConverter;
 
@@ -28,6 +30,10 @@ import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
 /**
  * TaskSpec Reading Converter.
  *
+ * The stored JSON is parsed once into a tree, the spec type and the child spec type are read from
+ * the tree and the spec is bound from it. The child fault spec of the trigger specs is removed from
+ * the tree before binding the trigger spec, and bound separately to its own type.
+ *
  * @author kumargautam
  */
 @ReadingConverter
@@ -35,43 +41,36 @@ import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
 public class TaskSpecReadingConverter implements Converter<String, TaskSpec> {
 
     private Gson gson;
+    private JsonParser jsonParser;
+    private static final String SPEC_TYPE_PARAM = "specType";
     private static final String CHILD_SPEC_TYPE_PARAM = "childSpecType";
     private static final String FAULT_SPEC_PARAM = "faultSpec";
 
     public TaskSpecReadingConverter() {
         gson = new Gson();
+        jsonParser = new JsonParser();
     }
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     @Override
     public TaskSpec convert(String source) {
         log.debug("Start execution of convert() method...");
         try {
-
-
-            JSONObject jsonObject = new JSONObject(source);
-            String specClassName = jsonObject.getString("specType");
-            Class specClass = Class.forName(specClassName);
-            TaskSpec taskSpec = (TaskSpec) gson.fromJson(source, specClass);
-            if (specClassName.equals(K8SFaultTriggerSpec.class.getName())) {
-                String childSpecClassName = jsonObject.getString(CHILD_SPEC_TYPE_PARAM);
-                Class childSpecClass = Class.forName(childSpecClassName);
-                CommandExecutionFaultSpec childSpec = (CommandExecutionFaultSpec) gson
-                        .fromJson(jsonObject.get(FAULT_SPEC_PARAM).toString(), childSpecClass);
-                ((K8SFaultTriggerSpec) taskSpec).setFaultSpec(childSpec);
+            JsonObject jsonObject = jsonParser.parse(source).getAsJsonObject();
+            Class<?> specClass = ClassCache.forName(jsonObject.get(SPEC_TYPE_PARAM).getAsString());
+            CommandExecutionFaultSpec childSpec = null;
+            if (hasChildSpec(specClass)) {
+                JsonElement childSpecJson = jsonObject.remove(FAULT_SPEC_PARAM);
+                if (childSpecJson != null && !childSpecJson.isJsonNull()) {
+                    Class<?> childSpecClass = ClassCache.forName(jsonObject.get(CHILD_SPEC_TYPE_PARAM).getAsString());
+                    childSpec = (CommandExecutionFaultSpec) gson.fromJson(childSpecJson, childSpecClass);
+                }
             }
-            if (specClassName.equals(VCenterFaultTriggerSpec.class.getName())) {
-                String childSpecClassName = jsonObject.getString(CHILD_SPEC_TYPE_PARAM);
-                Class childSpecClass = Class.forName(childSpecClassName);
-                CommandExecutionFaultSpec childSpec = (CommandExecutionFaultSpec) gson
-                        .fromJson(jsonObject.get(FAULT_SPEC_PARAM).toString(), childSpecClass);
+            TaskSpec taskSpec = (TaskSpec) gson.fromJson(jsonObject, specClass);
+            if (taskSpec instanceof K8SFaultTriggerSpec) {
+                ((K8SFaultTriggerSpec) taskSpec).setFaultSpec(childSpec);
+            } else if (taskSpec instanceof VCenterFaultTriggerSpec) {
                 ((VCenterFaultTriggerSpec) taskSpec).setFaultSpec(childSpec);
-            }
-            if (specClassName.equals(EndpointGroupFaultTriggerSpec.class.getName())) {
-                String childSpecClassName = jsonObject.getString(CHILD_SPEC_TYPE_PARAM);
-                Class childSpecClass = Class.forName(childSpecClassName);
-                CommandExecutionFaultSpec childSpec = (CommandExecutionFaultSpec) gson
-                        .fromJson(jsonObject.get(FAULT_SPEC_PARAM).toString(), childSpecClass);
+            } else if (taskSpec instanceof EndpointGroupFaultTriggerSpec) {
                 ((EndpointGroupFaultTriggerSpec) taskSpec).setFaultSpec(childSpec);
             }
             return taskSpec;
@@ -80,4 +79,9 @@ public class TaskSpecReadingConverter implements Converter<String, TaskSpec> {
         }
     }
 
+    private static boolean hasChildSpec(Class<?> specClass) {
+        return K8SFaultTriggerSpec.class.isAssignableFrom(specClass)
+                || VCenterFaultTriggerSpec.class.isAssignableFrom(specClass)
+                || EndpointGroupFaultTriggerSpec.class.isAssignableFrom(specClass);
+    }
 }
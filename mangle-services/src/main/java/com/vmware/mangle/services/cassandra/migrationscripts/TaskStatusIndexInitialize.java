@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.services.cassandra.migrationscripts;
+
+import com.datastax.driver.core.SimpleStatement;
+import io.smartcat.migration.SchemaMigration;
+import io.smartcat.migration.exceptions.MigrationException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import com.vmware.mangle.cassandra.model.faults.specs.TaskSpec;
+import com.vmware.mangle.cassandra.model.tasks.Task;
+import com.vmware.mangle.services.TaskService;
+import com.vmware.mangle.services.repository.TaskRepository;
+
+/**
+ * Populates the task_status_index table with the active tasks persisted before the table was
+ * introduced.
+ *
+ * @author mangle
+ */
+@Log4j2
+@Component
+public class TaskStatusIndexInitialize extends SchemaMigration implements MangleDBMigration {
+
+    private static final int SCRIPT_VERSION = 6;
+    private static final int PAGE_SIZE = 500;
+    /**
+     * Entries are deleted whenever a task completes, so the tombstones are purged after three
+     * hours instead of the default ten days.
+     */
+    private static final String ALTER_GC_GRACE_SECONDS =
+            "ALTER TABLE task_status_index WITH gc_grace_seconds = 10800";
+
+    private TaskRepository taskRepository;
+    private TaskService taskService;
+
+    @Autowired
+    public TaskStatusIndexInitialize(TaskRepository taskRepository, TaskService taskService) {
+        super(SCRIPT_VERSION);
+        this.taskRepository = taskRepository;
+        this.taskService = taskService;
+    }
+
+    @Override
+    public boolean proceedDBUpgrade() {
+        return true;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Populate task_status_index table.";
+    }
+
+    @Override
+    public void execute() throws MigrationException {
+        log.info("Populating task_status_index table");
+        executeWithSchemaAgreement(new SimpleStatement(ALTER_GC_GRACE_SECONDS));
+        Slice<Task<TaskSpec>> slice = taskRepository.findAll(CassandraPageRequest.of(0, PAGE_SIZE));
+        indexTasks(slice);
+        while (slice.hasNext()) {
+            slice = taskRepository.findAll(slice.nextPageable());
+            indexTasks(slice);
+        }
+    }
+
+    private void indexTasks(Slice<Task<TaskSpec>> slice) {
+        for (Task<TaskSpec> task : slice.getContent()) {
+            taskService.updateTaskStatusIndex(task);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.services.cassandra.migrationscripts;
+
+import io.smartcat.migration.SchemaMigration;
+import io.smartcat.migration.exceptions.MigrationException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import com.vmware.mangle.cassandra.model.faults.specs.TaskSpec;
+import com.vmware.mangle.cassandra.model.resiliencyscore.ResiliencyScoreTask;
+import com.vmware.mangle.cassandra.model.tasks.Task;
+import com.vmware.mangle.services.TaskSummaryService;
+import com.vmware.mangle.services.repository.ResiliencyScoreRepository;
+import com.vmware.mangle.services.repository.TaskRepository;
+
+/**
+ * Populates the task_summary table with the tasks persisted before the table was introduced.
+ *
+ * @author mangle
+ */
+@Log4j2
+@Component
+public class TaskSummaryInitialize extends SchemaMigration implements MangleDBMigration {
+
+    private static final int SCRIPT_VERSION = 5;
+    private static final int PAGE_SIZE = 500;
+
+    private TaskRepository taskRepository;
+    private ResiliencyScoreRepository resiliencyScoreRepository;
+    private TaskSummaryService taskSummaryService;
+
+    @Autowired
+    public TaskSummaryInitialize(TaskRepository taskRepository, ResiliencyScoreRepository resiliencyScoreRepository,
+            TaskSummaryService taskSummaryService) {
+        super(SCRIPT_VERSION);
+        this.taskRepository = taskRepository;
+        this.resiliencyScoreRepository = resiliencyScoreRepository;
+        this.taskSummaryService = taskSummaryService;
+    }
+
+    @Override
+    public boolean proceedDBUpgrade() {
+        return true;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Populate task_summary table.";
+    }
+
+    @Override
+    public void execute() throws MigrationException {
+        log.info("Populating task_summary table");
+        Slice<Task<TaskSpec>> slice = taskRepository.findAll(CassandraPageRequest.of(0, PAGE_SIZE));
+        indexTasks(slice);
+        while (slice.hasNext()) {
+            slice = taskRepository.findAll(slice.nextPageable());
+            indexTasks(slice);
+        }
+        for (ResiliencyScoreTask task : resiliencyScoreRepository.findAll()) {
+            taskSummaryService.updateSummary(task, null);
+        }
+    }
+
+    private void indexTasks(Slice<Task<TaskSpec>> slice) {
+        for (Task<TaskSpec> task : slice.getContent()) {
+            taskSummaryService.updateSummary(task, null);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.services.cassandra.migrationscripts;
+
+import io.smartcat.migration.SchemaMigration;
+import io.smartcat.migration.exceptions.MigrationException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import com.vmware.mangle.cassandra.model.faults.specs.TaskSpec;
+import com.vmware.mangle.cassandra.model.tasks.Task;
+import com.vmware.mangle.services.TaskService;
+import com.vmware.mangle.services.repository.TaskRepository;
+
+/**
+ * Moves the past triggers of the tasks persisted before the task_trigger_history table was
+ * introduced out of the task rows.
+ *
+ * @author mangle
+ */
+@Log4j2
+@Component
+public class TaskTriggerHistoryInitialize extends SchemaMigration implements MangleDBMigration {
+
+    private static final int SCRIPT_VERSION = 7;
+    private static final int PAGE_SIZE = 100;
+
+    private TaskRepository taskRepository;
+    private TaskService taskService;
+
+    @Autowired
+    public TaskTriggerHistoryInitialize(TaskRepository taskRepository, TaskService taskService) {
+        super(SCRIPT_VERSION);
+        this.taskRepository = taskRepository;
+        this.taskService = taskService;
+    }
+
+    @Override
+    public boolean proceedDBUpgrade() {
+        return true;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Move the past task triggers to task_trigger_history table.";
+    }
+
+    @Override
+    public void execute() throws MigrationException {
+        log.info("Populating task_trigger_history table");
+        Slice<Task<TaskSpec>> slice = taskRepository.findAll(CassandraPageRequest.of(0, PAGE_SIZE));
+        archiveTriggers(slice);
+        while (slice.hasNext()) {
+            slice = taskRepository.findAll(slice.nextPageable());
+            archiveTriggers(slice);
+        }
+    }
+
+    private void archiveTriggers(Slice<Task<TaskSpec>> slice) {
+        for (Task<TaskSpec> task : slice.getContent()) {
+            if (taskService.archiveTriggerHistory(task)) {
+                taskRepository.save(task);
+            }
+        }
+    }
+}
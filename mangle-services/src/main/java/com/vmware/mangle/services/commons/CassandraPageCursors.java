@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.services.commons;
+
+import java.nio.BufferUnderflowException;
+import java.util.Base64;
+import java.util.function.Function;
+
+import com.datastax.driver.core.PagingState;
+import com.datastax.driver.core.exceptions.PagingStateException;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.vmware.mangle.utils.exceptions.MangleException;
+import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
+
+/**
+ * Opaque cursors over the pages of a Cassandra table, holding the paging state where the next
+ * page starts, so that any page is read with a single query instead of walking the pages before
+ * it.
+ *
+ * @author mangle
+ */
+public class CassandraPageCursors {
+
+    private CassandraPageCursors() {
+
+    }
+
+    /**
+     * Reads the page of the given size following the cursor, the first page for an empty cursor
+     *
+     * @param cursor
+     *            cursor returned by {@link #getNextCursor(Slice)} for the previous page
+     * @param size
+     *            number of rows of the page
+     * @param finder
+     *            repository query reading the page of the given pageable
+     * @throws MangleException
+     *             when the cursor was not returned by the same query
+     */
+    public static <T> Slice<T> getPage(String cursor, int size, Function<Pageable, Slice<T>> finder)
+            throws MangleException {
+        try {
+            return finder.apply(getPageRequest(cursor, size));
+        } catch (RuntimeException e) {
+            if (e instanceof PagingStateException || e.getCause() instanceof PagingStateException) {
+                throw new MangleException(ErrorCode.INVALID_PAGE_CURSOR, cursor);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the cursor of the page following the given page, or null if it is the last page
+     */
+    public static String getNextCursor(Slice<?> slice) {
+        if (!slice.hasNext() || !(slice.getPageable() instanceof CassandraPageRequest)) {
+            return null;
+        }
+        PagingState pagingState = ((CassandraPageRequest) slice.getPageable()).getPagingState();
+        return pagingState == null ? null
+                : Base64.getUrlEncoder().withoutPadding().encodeToString(pagingState.toBytes());
+    }
+
+    private static CassandraPageRequest getPageRequest(String cursor, int size) throws MangleException {
+        if (cursor == null || cursor.isEmpty()) {
+            return CassandraPageRequest.of(0, size);
+        }
+        try {
+            PagingState pagingState = PagingState.fromBytes(Base64.getUrlDecoder().decode(cursor));
+            return CassandraPageRequest.of(PageRequest.of(0, size), pagingState);
+        } catch (IllegalArgumentException | BufferUnderflowException | PagingStateException e) {
+            throw new MangleException(ErrorCode.INVALID_PAGE_CURSOR, cursor);
+        }
+    }
+}
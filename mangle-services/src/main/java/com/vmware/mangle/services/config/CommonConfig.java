@@ -14,6 +14,7 @@ package com.vmware.mangle.services.config;
 import javax.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
@@ -21,6 +22,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.vmware.mangle.services.commons.ServiceCommonUtils;
+import com.vmware.mangle.services.poll.PollingProperties;
+import com.vmware.mangle.services.tasks.executor.TaskExecutorProperties;
 import com.vmware.mangle.utils.constants.Constants;
 
 /**
@@ -29,6 +32,7 @@ import com.vmware.mangle.utils.constants.Constants;
  * @author dbhat
  */
 @Configuration
+@EnableConfigurationProperties({ TaskExecutorProperties.class, PollingProperties.class })
 public class CommonConfig {
 
     @Autowired
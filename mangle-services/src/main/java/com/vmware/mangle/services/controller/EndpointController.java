@@ -71,6 +71,7 @@ import com.vmware.mangle.services.EndpointCertificatesService;
 import com.vmware.mangle.services.EndpointService;
 import com.vmware.mangle.services.cassandra.model.events.basic.EntityCreatedEvent;
 import com.vmware.mangle.services.cassandra.model.events.basic.EntityUpdatedEvent;
+import com.vmware.mangle.services.commons.CassandraPageCursors;
 import com.vmware.mangle.services.constants.CommonConstants;
 import com.vmware.mangle.services.deletionutils.CredentialDeletionService;
 import com.vmware.mangle.services.deletionutils.EndpointCertificatesDeletionService;
@@ -78,6 +79,7 @@ import com.vmware.mangle.services.deletionutils.EndpointDeletionService;
 import com.vmware.mangle.services.enums.K8SResource;
 import com.vmware.mangle.services.events.web.CustomEventPublisher;
 import com.vmware.mangle.services.updateutils.EndpointUpdateService;
+import com.vmware.mangle.utils.constants.Constants;
 import com.vmware.mangle.utils.constants.ErrorConstants;
 import com.vmware.mangle.utils.exceptions.MangleException;
 import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
@@ -487,32 +489,51 @@ public class EndpointController {
         return new ResponseEntity<>(errorDetails, HttpStatus.PRECONDITION_FAILED);
     }
 
-    @ApiOperation(value = "API to get all the endpoints based on page", nickname = "getEndpointsBasedOnPage")
+    @ApiOperation(value = "API to get all the endpoints based on page, or after the cursor of the previous page",
+            nickname = "getEndpointsBasedOnPage")
     @GetMapping(value = "v1/endpoints/page", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     public ResponseEntity<List<EndpointSpec>> getEndpointsBasedOnPage(
             @RequestParam(value = "pageNo", defaultValue = "1") int page,
-            @RequestParam(value = "size", defaultValue = "4") int size) {
+            @RequestParam(value = "size", defaultValue = "4") int size,
+            @RequestParam(value = "cursor", required = false) String cursor) throws MangleException {
         log.info("Start execution of getEndpointsBasedOnPage() method");
-        Slice<EndpointSpec> result = endpointService.getEndpointBasedOnPage(page, size);
+        Slice<EndpointSpec> result = cursor == null ? endpointService.getEndpointBasedOnPage(page, size)
+                : endpointService.getEndpointsAfterCursor(cursor, size);
         HttpHeaders headers = new HttpHeaders();
         headers.add(CommonConstants.MESSAGE_HEADER, CommonConstants.ENDPOINTS_RESULT_FOUND);
-        headers.add("totalPage", String.valueOf(endpointService.getTotalPages(result)));
+        if (cursor == null) {
+            headers.add("totalPage", String.valueOf(endpointService.getTotalPages(result)));
+        }
+        addNextCursorHeader(headers, result);
         return new ResponseEntity<>(result.getContent(), headers, HttpStatus.OK);
     }
 
-    @ApiOperation(value = "API to get all the credentials based on page", nickname = "getCredentialsBasedOnPage")
+    @ApiOperation(value = "API to get all the credentials based on page, or after the cursor of the previous page",
+            nickname = "getCredentialsBasedOnPage")
     @GetMapping(value = "v1/endpoints/credentials/page", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     public ResponseEntity<List<CredentialsSpec>> getCredentialsBasedOnPage(
             @RequestParam(value = "pageNo", defaultValue = "1") int page,
-            @RequestParam(value = "size", defaultValue = "4") int size) {
+            @RequestParam(value = "size", defaultValue = "4") int size,
+            @RequestParam(value = "cursor", required = false) String cursor) throws MangleException {
         log.info("Start execution of getCredentialsBasedOnPage() method");
-        Slice<CredentialsSpec> result = credentialService.getCredentialsBasedOnPage(page, size);
+        Slice<CredentialsSpec> result = cursor == null ? credentialService.getCredentialsBasedOnPage(page, size)
+                : credentialService.getCredentialsAfterCursor(cursor, size);
         HttpHeaders headers = new HttpHeaders();
         headers.add(CommonConstants.MESSAGE_HEADER, CommonConstants.CREDENTIALS_RESULT_FOUND);
-        headers.add("totalPage", String.valueOf(credentialService.getTotalPages(result)));
+        if (cursor == null) {
+            headers.add("totalPage", String.valueOf(credentialService.getTotalPages(result)));
+        }
+        addNextCursorHeader(headers, result);
         return new ResponseEntity<>(result.getContent(), headers, HttpStatus.OK);
     }
 
+    private void addNextCursorHeader(HttpHeaders headers, Slice<?> result) {
+        String nextCursor = CassandraPageCursors.getNextCursor(result);
+        if (nextCursor != null) {
+            headers.add(Constants.NEXT_CURSOR, nextCursor);
+        }
+    }
+
     @ApiOperation(value = "API to test the endpoint connection", nickname = "testEndPointConnection")
     @PostMapping(value = "v1/endpoints/testConnection", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Resource<EndpointSpec>> testConnection(@RequestParam String endpointName)
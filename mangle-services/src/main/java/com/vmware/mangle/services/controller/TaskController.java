@@ -92,14 +92,14 @@ public class TaskController {
         return new ResponseEntity<>(resources, HttpStatus.OK);
     }
 
-    @ApiOperation(value = "API to get all the sorted task based on index", nickname = "getTaskBasedOnIndex")
+    @ApiOperation(value = "API to get all the sorted task based on index, or after the cursor of the previous page",
+            nickname = "getTaskBasedOnIndex")
     @PostMapping(value = "/pagination", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Resource<Map<String, Object>>> getTaskBasedOnIndex(@RequestBody TaskFilter taskFilter)
             throws MangleException {
         log.debug("Start execution of getTaskBasedOnIndex() method with filter:" + taskFilter);
 
-        Resource<Map<String, Object>> resource = new Resource<>(taskHelper
-                .getTaskBasedOnIndex(taskService.getAllTasks(), resiliencyScoreService.getAllTasks(), taskFilter));
+        Resource<Map<String, Object>> resource = new Resource<>(taskHelper.getTaskBasedOnIndex(taskFilter));
         resource.add(getSelfLink(), getTaskHateoasLink(), deleteTasksHateoasLink());
         return new ResponseEntity<>(resource, HttpStatus.OK);
     }
@@ -116,7 +116,7 @@ public class TaskController {
             ResiliencyScoreTask resiliencyScoreTask = resiliencyScoreService.getTaskById(taskId);
             taskResource = new Resource<>(resiliencyScoreTask);
         } else {
-            Task<TaskSpec> task = taskService.getTaskById(taskId);
+            Task<TaskSpec> task = taskService.loadTriggerHistory(taskService.getTaskById(taskId));
             taskResource = new Resource<>(task);
         }
         HttpHeaders headers = new HttpHeaders();
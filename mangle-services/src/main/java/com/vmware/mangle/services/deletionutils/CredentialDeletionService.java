@@ -22,6 +22,8 @@ import org.springframework.util.CollectionUtils;
 import com.vmware.mangle.cassandra.model.endpoint.CredentialsSpec;
 import com.vmware.mangle.model.response.DeleteOperationResponse;
 import com.vmware.mangle.services.EndpointService;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache.Region;
 import com.vmware.mangle.services.repository.CredentialRepository;
 import com.vmware.mangle.utils.constants.ErrorConstants;
 import com.vmware.mangle.utils.exceptions.MangleException;
@@ -37,6 +39,7 @@ public class CredentialDeletionService {
 
     private EndpointService endpointService;
     private CredentialRepository credentialRepository;
+    private HazelcastSpecCache specCache;
 
     @Autowired
     public CredentialDeletionService(EndpointService endpointService, CredentialRepository credentialRepository) {
@@ -44,6 +47,11 @@ public class CredentialDeletionService {
         this.credentialRepository = credentialRepository;
     }
 
+    @Autowired
+    public void setSpecCache(HazelcastSpecCache specCache) {
+        this.specCache = specCache;
+    }
+
     public DeleteOperationResponse deleteCredentialsByNames(List<String> credentialNames) throws MangleException {
         log.info("Deleting Credentials by names : " + credentialNames);
         DeleteOperationResponse model = new DeleteOperationResponse();
@@ -70,6 +78,9 @@ public class CredentialDeletionService {
 
             if (model.getAssociations().isEmpty()) {
                 credentialRepository.deleteByNameIn(credentials);
+                if (specCache != null) {
+                    specCache.invalidate(Region.CREDENTIALS, credentials);
+                }
             }
 
             return model;
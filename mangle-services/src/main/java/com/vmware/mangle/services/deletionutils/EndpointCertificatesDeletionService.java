@@ -24,6 +24,8 @@ import com.vmware.mangle.cassandra.model.endpoint.CertificatesSpec;
 import com.vmware.mangle.cassandra.model.endpoint.EndpointSpec;
 import com.vmware.mangle.model.enums.EndpointType;
 import com.vmware.mangle.model.response.DeleteOperationResponse;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache.Region;
 import com.vmware.mangle.services.repository.EndpointCertificatesRepository;
 import com.vmware.mangle.services.repository.EndpointRepository;
 import com.vmware.mangle.utils.constants.ErrorConstants;
@@ -40,6 +42,7 @@ public class EndpointCertificatesDeletionService {
 
     private EndpointRepository endpointRepository;
     private EndpointCertificatesRepository certificatesRepository;
+    private HazelcastSpecCache specCache;
 
     @Autowired
     public EndpointCertificatesDeletionService(EndpointRepository endpointRepository,
@@ -48,6 +51,11 @@ public class EndpointCertificatesDeletionService {
         this.certificatesRepository = certificatesRepository;
     }
 
+    @Autowired
+    public void setSpecCache(HazelcastSpecCache specCache) {
+        this.specCache = specCache;
+    }
+
     public DeleteOperationResponse deleteCertificatesByNames(List<String> certificatesNames) throws MangleException {
         log.info("Deleting Certificates by names : " + certificatesNames);
         if (!CollectionUtils.isEmpty(certificatesNames)) {
@@ -85,6 +93,9 @@ public class EndpointCertificatesDeletionService {
         }
         if (response.getAssociations().size() == 0) {
             certificatesRepository.deleteByNameIn(certificates);
+            if (specCache != null) {
+                specCache.invalidate(Region.CERTIFICATES, certificates);
+            }
         }
         return response;
     }
@@ -33,6 +33,8 @@ import com.vmware.mangle.model.enums.EndpointType;
 import com.vmware.mangle.model.response.DeleteEndpointOperationResponse;
 import com.vmware.mangle.services.SchedulerService;
 import com.vmware.mangle.services.TaskService;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache.Region;
 import com.vmware.mangle.services.repository.EndpointRepository;
 import com.vmware.mangle.utils.constants.ErrorConstants;
 import com.vmware.mangle.utils.exceptions.MangleException;
@@ -50,6 +52,7 @@ public class EndpointDeletionService {
     private EndpointRepository endpointRepository;
     private SchedulerService schedulerService;
     private TaskService taskService;
+    private HazelcastSpecCache specCache;
 
     @Autowired
     public EndpointDeletionService(EndpointRepository endpointRepository, SchedulerService schedulerService,
@@ -59,10 +62,16 @@ public class EndpointDeletionService {
         this.taskService = taskService;
     }
 
+    @Autowired
+    public void setSpecCache(HazelcastSpecCache specCache) {
+        this.specCache = specCache;
+    }
+
     public boolean deleteEndpointByName(String endpointName) throws MangleException {
         log.info("Deleting Endpoint by names : " + endpointName);
         if (endpointName != null && !endpointName.isEmpty()) {
             endpointRepository.deleteByName(endpointName);
+            invalidateCachedEndpoints(endpointName);
             return true;
         } else {
             log.error(ErrorConstants.ENDPOINT_NAME + ErrorConstants.FIELD_VALUE_EMPTY);
@@ -91,6 +100,7 @@ public class EndpointDeletionService {
             }
 
             endpointRepository.deleteByNameIn(persistedendpointNames);
+            invalidateCachedEndpoints(persistedendpointNames.toArray(new String[0]));
             return response;
         } else {
             log.error(ErrorConstants.ENDPOINT_NAME + ErrorConstants.FIELD_VALUE_EMPTY);
@@ -98,6 +108,12 @@ public class EndpointDeletionService {
         }
     }
 
+    private void invalidateCachedEndpoints(String... endpointNames) {
+        if (specCache != null) {
+            specCache.invalidate(Region.ENDPOINT, endpointNames);
+        }
+    }
+
     /**
      * find if the given list of endpoints are bound to the schedules that are active
      *
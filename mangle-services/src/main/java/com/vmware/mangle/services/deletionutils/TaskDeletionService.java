@@ -31,9 +31,11 @@ import com.vmware.mangle.cassandra.model.tasks.Task;
 import com.vmware.mangle.cassandra.model.tasks.TaskStatus;
 import com.vmware.mangle.model.response.DeleteOperationResponse;
 import com.vmware.mangle.services.SchedulerService;
+import com.vmware.mangle.services.TaskSummaryService;
 import com.vmware.mangle.services.cassandra.model.events.basic.EntityOperationFailedEvent;
 import com.vmware.mangle.services.events.web.CustomEventPublisher;
 import com.vmware.mangle.services.repository.TaskRepository;
+import com.vmware.mangle.services.repository.TaskTriggerHistoryRepository;
 import com.vmware.mangle.utils.constants.ErrorConstants;
 import com.vmware.mangle.utils.exceptions.MangleException;
 import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
@@ -50,13 +52,18 @@ public class TaskDeletionService {
     private TaskRepository taskRepository;
     private SchedulerService schedulerService;
     private CustomEventPublisher eventPublisher;
+    private TaskSummaryService taskSummaryService;
+    private TaskTriggerHistoryRepository taskTriggerHistoryRepository;
 
     @Autowired
     public TaskDeletionService(TaskRepository taskRepository, SchedulerService schedulerService,
-            CustomEventPublisher eventPublisher) {
+            CustomEventPublisher eventPublisher, TaskSummaryService taskSummaryService,
+            TaskTriggerHistoryRepository taskTriggerHistoryRepository) {
         this.taskRepository = taskRepository;
         this.schedulerService = schedulerService;
         this.eventPublisher = eventPublisher;
+        this.taskSummaryService = taskSummaryService;
+        this.taskTriggerHistoryRepository = taskTriggerHistoryRepository;
     }
 
     public DeleteOperationResponse deleteTasksByIds(List<String> taskIds) throws MangleException {
@@ -81,6 +88,9 @@ public class TaskDeletionService {
                 }
 
                 taskRepository.deleteByIdIn(persistedTaskIds);
+                taskTriggerHistoryRepository.deleteByTaskIdIn(persistedTaskIds);
+                persistedTasks.forEach(task -> taskSummaryService.deleteSummary(task.getTaskType(),
+                        task.getLastUpdated(), task.getId()));
             } else {
                 deleteResponse.setResponseMessage(ErrorConstants.TASK_DELETION_PRECHECK_FAIL);
             }
@@ -103,6 +113,10 @@ public class TaskDeletionService {
                         ErrorCode.INPROGRESS_TASK_DELETION_FAILURE, taskId);
             }
             taskRepository.deleteByIdIn(Collections.singleton(taskId));
+            taskTriggerHistoryRepository.deleteByTaskIdIn(Collections.singleton(taskId));
+            if (task != null) {
+                taskSummaryService.deleteSummary(task.getTaskType(), task.getLastUpdated(), taskId);
+            }
             return true;
         } else {
             log.warn(ErrorConstants.TASK_ID + ErrorConstants.FIELD_VALUE_EMPTY);
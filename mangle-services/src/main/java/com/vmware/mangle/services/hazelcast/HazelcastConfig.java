@@ -19,7 +19,9 @@ import java.util.Set;
 import com.google.common.net.InetAddresses;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.ListenerConfig;
+import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MemberAttributeConfig;
+import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.QuorumConfig;
 import com.hazelcast.config.QuorumListenerConfig;
 import com.hazelcast.core.Hazelcast;
@@ -212,6 +214,19 @@ public class HazelcastConfig {
         return hazelcastInstance;
     }
 
+    /**
+     * The node to tasks map is read by every node on membership and migration events, while it is
+     * only updated when a node starts or stops owning a task. Its entries are thus near cached, the
+     * near cache being invalidated on every update.
+     */
+    private MapConfig getNodeTasksMapConfig() {
+        NearCacheConfig nearCacheConfig = new NearCacheConfig(HazelcastConstants.HAZELCAST_NODE_TASKS_MAP);
+        nearCacheConfig.setInvalidateOnChange(true);
+        MapConfig mapConfig = new MapConfig(HazelcastConstants.HAZELCAST_NODE_TASKS_MAP);
+        mapConfig.setNearCacheConfig(nearCacheConfig);
+        return mapConfig;
+    }
+
     private Config getClusterConfig() throws MangleException {
         Config config = new Config();
         HazelcastClusterConfig clusterConfig = clusterConfigService.getClusterConfiguration();
@@ -228,6 +243,7 @@ public class HazelcastConfig {
         config.addListenerConfig(new ListenerConfig(membershipListener));
         config.addListenerConfig(new ListenerConfig(migrationListener));
         config.addListenerConfig(new ListenerConfig(new HazelcastLifeCycleListener()));
+        config.addMapConfig(getNodeTasksMapConfig());
         List<String> members = HazelcastUtils.getMembersList(clusterMembers);
 
         /**
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.services.hazelcast;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.SerializationUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.vmware.mangle.cassandra.model.endpoint.EndpointSpec;
+
+/**
+ * Near cache of the endpoints, credentials, certificates and vCenter adapter details read on every
+ * fault injection, with an index of the endpoints by tag.
+ *
+ * The cached specs are copies, and every read hands out a new copy, as the callers decrypt and
+ * enrich the specs they get. A write on any node evicts the spec locally and on the other nodes of
+ * the cluster through the {@link HazelcastSyncTopicManager}, the time to live only bounding how
+ * long a missed sync event can serve a stale spec.
+ *
+ * @author mangle
+ */
+@Component
+@Log4j2
+public class HazelcastSpecCache implements HazelcastClusterSyncAware {
+    public static final long DEFAULT_TIME_TO_LIVE = TimeUnit.MINUTES.toMillis(5);
+    private static final int MAX_SIZE = 10000;
+    private static final String SEPARATOR = ":";
+
+    public enum Region {
+        ENDPOINT,
+        CREDENTIALS,
+        CERTIFICATES,
+        VCENTER_ADAPTER_DETAILS
+    }
+
+    private final long timeToLive;
+    private final LongSupplier clock;
+    private final Map<Region, Map<String, CacheEntry>> regions = new EnumMap<>(Region.class);
+    private final AtomicReference<TagIndex> tagIndex = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private HazelcastSyncTopicManager topicManager;
+
+    public HazelcastSpecCache() {
+        this(DEFAULT_TIME_TO_LIVE);
+    }
+
+    public HazelcastSpecCache(long timeToLive) {
+        this(timeToLive, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a cache expiring its specs against the given clock, returning the current time in
+     * milliseconds
+     */
+    public HazelcastSpecCache(long timeToLive, LongSupplier clock) {
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        for (Region region : Region.values()) {
+            regions.put(region, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Autowired(required = false)
+    public void setTopicManager(HazelcastSyncTopicManager topicManager) {
+        this.topicManager = topicManager;
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("mangle_spec_cache_hits", this, HazelcastSpecCache::getHits)
+                .description("number of specs read from the spec cache").register(meterRegistry);
+        FunctionCounter.builder("mangle_spec_cache_misses", this, HazelcastSpecCache::getMisses)
+                .description("number of specs loaded from the database as they were not cached")
+                .register(meterRegistry);
+        Gauge.builder("mangle_spec_cache_size", this, HazelcastSpecCache::size)
+                .description("number of specs in the spec cache").register(meterRegistry);
+    }
+
+    /**
+     * Returns a copy of the cached spec of the given name, loading and caching it on a miss. Nothing
+     * is cached when the loader returns null or fails.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Serializable> T get(Region region, String name, Supplier<T> loader) {
+        Map<String, CacheEntry> entries = regions.get(region);
+        CacheEntry entry = entries.get(name);
+        if (entry != null && !entry.isExpiredAt(clock.getAsLong())) {
+            hits.increment();
+            return (T) SerializationUtils.clone(entry.spec);
+        }
+        misses.increment();
+        long loadGeneration = generation.get();
+        T spec = loader.get();
+        if (spec != null) {
+            if (entries.size() >= MAX_SIZE) {
+                evictExpired(entries);
+            }
+            CacheEntry loadedEntry = new CacheEntry(SerializationUtils.clone(spec), clock.getAsLong() + timeToLive);
+            entries.put(name, loadedEntry);
+            if (generation.get() != loadGeneration) {
+                // an eviction raced the load, which may have read the spec before its update
+                entries.remove(name, loadedEntry);
+            }
+        }
+        return spec;
+    }
+
+    /**
+     * Returns copies of the endpoints having all the given tags, the tag index being built from the
+     * endpoints returned by the loader on a miss.
+     */
+    public List<EndpointSpec> getEndpointsWithTags(Map<String, String> tags, Supplier<List<EndpointSpec>> loader) {
+        TagIndex index = tagIndex.get();
+        if (index != null && !index.isExpiredAt(clock.getAsLong())) {
+            hits.increment();
+        } else {
+            misses.increment();
+            long loadGeneration = generation.get();
+            index = new TagIndex(loader.get(), clock.getAsLong() + timeToLive);
+            tagIndex.set(index);
+            if (generation.get() != loadGeneration) {
+                tagIndex.compareAndSet(index, null);
+            }
+        }
+        return index.select(tags);
+    }
+
+    /**
+     * Evicts the specs of the given names on this node, and triggers their eviction on the other
+     * nodes of the cluster
+     */
+    public void invalidate(Region region, String... names) {
+        evict(region, names);
+        if (topicManager != null && names.length > 0) {
+            try {
+                topicManager.triggerSyncEvent(HazelcastSpecCache.class,
+                        Arrays.stream(names).map(name -> region + SEPARATOR + name).toArray(String[]::new));
+            } catch (RuntimeException e) {
+                log.warn("Failed to evict the {} {} on the other nodes: {}", region, Arrays.toString(names),
+                        e.getMessage());
+            }
+        }
+    }
+
+    public void invalidate(Region region, List<String> names) {
+        invalidate(region, names.toArray(new String[0]));
+    }
+
+    @Override
+    public void resync(String objectIdentifier) {
+        log.debug("Evicting {} from the spec cache on the update from an other node", objectIdentifier);
+        String[] regionAndName = objectIdentifier.split(SEPARATOR, 2);
+        try {
+            evict(Region.valueOf(regionAndName[0]), regionAndName.length > 1 ? regionAndName[1] : "");
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring the invalid spec cache sync event {}", objectIdentifier);
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        regions.values().forEach(Map::clear);
+        tagIndex.set(null);
+    }
+
+    public int size() {
+        return regions.values().stream().mapToInt(Map::size).sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private void evict(Region region, String... names) {
+        generation.incrementAndGet();
+        Map<String, CacheEntry> entries = regions.get(region);
+        for (String name : names) {
+            entries.remove(name);
+        }
+        if (region == Region.ENDPOINT) {
+            tagIndex.set(null);
+        }
+    }
+
+    private void evictExpired(Map<String, CacheEntry> entries) {
+        long now = clock.getAsLong();
+        entries.values().removeIf(entry -> entry.isExpiredAt(now));
+        if (entries.size() >= MAX_SIZE) {
+            entries.clear();
+        }
+    }
+
+    private static final class CacheEntry {
+        private final Serializable spec;
+        private final long expiresAt;
+
+        private CacheEntry(Serializable spec, long expiresAt) {
+            this.spec = spec;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpiredAt(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    /**
+     * Copies of all the endpoints, indexed by tag name and value so that a selection only filters
+     * the endpoints having its most selective tag.
+     */
+    private static final class TagIndex {
+        private final List<EndpointSpec> endpoints = new ArrayList<>();
+        private final Map<String, Map<String, List<EndpointSpec>>> endpointsByTag = new HashMap<>();
+        private final long expiresAt;
+
+        private TagIndex(List<EndpointSpec> endpoints, long expiresAt) {
+            for (EndpointSpec endpoint : endpoints) {
+                EndpointSpec copy = SerializationUtils.clone(endpoint);
+                this.endpoints.add(copy);
+                if (copy.getTags() != null) {
+                    copy.getTags().forEach((tagName, tagValue) -> endpointsByTag
+                            .computeIfAbsent(tagName, name -> new HashMap<>())
+                            .computeIfAbsent(tagValue, value -> new ArrayList<>()).add(copy));
+                }
+            }
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpiredAt(long now) {
+            return now >= expiresAt;
+        }
+
+        private List<EndpointSpec> select(Map<String, String> tags) {
+            List<EndpointSpec> candidates = endpoints;
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                List<EndpointSpec> taggedEndpoints = endpointsByTag.getOrDefault(tag.getKey(), Collections.emptyMap())
+                        .getOrDefault(tag.getValue(), Collections.emptyList());
+                if (taggedEndpoints.size() < candidates.size()) {
+                    candidates = taggedEndpoints;
+                }
+            }
+            return candidates.stream()
+                    .filter(endpoint -> tags.isEmpty() || endpoint.getTags() != null
+                            && endpoint.getTags().entrySet().containsAll(tags.entrySet()))
+                    .map(SerializationUtils::clone).collect(Collectors.toList());
+        }
+    }
+}
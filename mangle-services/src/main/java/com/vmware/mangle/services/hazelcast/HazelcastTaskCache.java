@@ -36,9 +36,8 @@ public class HazelcastTaskCache implements HazelcastInstanceAware {
 
     public String addTaskToCache(String key, String value) {
         log.debug("Adding key {} with the value {} to the map", key, value);
-        if (!taskMap.containsKey(key)) {
-            taskMap.put(key, value);
-        } else if (taskMap.containsKey(key) && !taskMap.get(key).equals(value)) {
+        String previousValue = taskMap.putIfAbsent(key, value);
+        if (previousValue != null && !previousValue.equals(value)) {
             updateTaskCache(key, value);
         }
         return key;
@@ -46,9 +45,7 @@ public class HazelcastTaskCache implements HazelcastInstanceAware {
 
     public void updateTaskCache(String taskId, String taskStatus) {
         log.debug("Modifying the task status of the task {} to {} on hazelcast", taskId, taskStatus);
-        if (taskMap.containsKey(taskId)) {
-            taskMap.replace(taskId, taskStatus);
-        } else {
+        if (taskMap.replace(taskId, taskStatus) == null) {
             log.fatal(ErrorConstants.UNEXPECTED_TASK_UPDATE_EVENT);
         }
     }
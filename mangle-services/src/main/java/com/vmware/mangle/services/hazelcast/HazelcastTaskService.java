@@ -14,7 +14,6 @@ package com.vmware.mangle.services.hazelcast;
 import static com.vmware.mangle.utils.constants.HazelcastConstants.HAZELCAST_NODE_TASKS_MAP;
 import static com.vmware.mangle.utils.constants.HazelcastConstants.HAZELCAST_TASKS_MAP;
 
-import java.util.HashSet;
 import java.util.Set;
 
 import com.hazelcast.core.HazelcastInstance;
@@ -192,15 +191,7 @@ public class HazelcastTaskService implements HazelcastInstanceAware {
         log.debug("Added task to the mangle cluster node {} for execution", currentInstance.getAddress());
         String host = currentInstance.getUuid();
         IMap<String, Set<String>> nodeToTaskMapping = hazelcastInstance.getMap(HAZELCAST_NODE_TASKS_MAP);
-        Set<String> tasks = new HashSet<>();
-        if (nodeToTaskMapping.containsKey(host)) {
-            tasks = nodeToTaskMapping.get(host);
-            tasks.add(taskId);
-            nodeToTaskMapping.put(host, tasks);
-        } else {
-            tasks.add(taskId);
-            nodeToTaskMapping.put(host, tasks);
-        }
+        nodeToTaskMapping.executeOnKey(host, NodeTasksEntryProcessor.addTask(taskId));
     }
 
     public void removeTaskFromClusterNodeCache(String taskId) {
@@ -208,11 +199,7 @@ public class HazelcastTaskService implements HazelcastInstanceAware {
         log.debug("Removing task from the mangle cluster node {}'s execution context", currentInstance.getAddress());
         String host = currentInstance.getUuid();
         IMap<String, Set<String>> nodeToTaskMapping = hazelcastInstance.getMap(HAZELCAST_NODE_TASKS_MAP);
-        Set<String> tasks;
-        if (nodeToTaskMapping.containsKey(host)) {
-            tasks = nodeToTaskMapping.get(host);
-            tasks.remove(taskId);
-            nodeToTaskMapping.put(host, tasks);
+        if (Boolean.TRUE.equals(nodeToTaskMapping.executeOnKey(host, NodeTasksEntryProcessor.removeTask(taskId)))) {
             log.trace("Removed task from the mangle cluster node {}'s execution context", currentInstance.getAddress());
         }
     }
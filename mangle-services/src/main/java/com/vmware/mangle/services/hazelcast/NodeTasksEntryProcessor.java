@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.services.hazelcast;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.hazelcast.map.AbstractEntryProcessor;
+
+/**
+ * @author chetanc
+ *
+ *         Adds a task to, or removes a task from, the set of tasks owned by a mangle cluster node.
+ *         The update runs on the partition owning the node's entry (and is replayed on its backup),
+ *         so concurrent updates of the same node never overwrite each other and only the task id
+ *         travels over the network instead of the whole set.
+ */
+public class NodeTasksEntryProcessor extends AbstractEntryProcessor<String, Set<String>> {
+    private static final long serialVersionUID = 1L;
+
+    private final String taskId;
+    private final boolean add;
+
+    private NodeTasksEntryProcessor(String taskId, boolean add) {
+        this.taskId = taskId;
+        this.add = add;
+    }
+
+    public static NodeTasksEntryProcessor addTask(String taskId) {
+        return new NodeTasksEntryProcessor(taskId, true);
+    }
+
+    public static NodeTasksEntryProcessor removeTask(String taskId) {
+        return new NodeTasksEntryProcessor(taskId, false);
+    }
+
+    /**
+     * @return true if the set of tasks of the node has changed
+     */
+    @Override
+    public Object process(Map.Entry<String, Set<String>> entry) {
+        Set<String> tasks = entry.getValue();
+        if (add) {
+            if (tasks == null) {
+                tasks = new HashSet<>();
+            }
+            if (!tasks.add(taskId)) {
+                return false;
+            }
+            entry.setValue(tasks);
+            return true;
+        }
+        if (tasks == null || !tasks.remove(taskId)) {
+            return false;
+        }
+        entry.setValue(tasks.isEmpty() ? null : tasks);
+        return true;
+    }
+}
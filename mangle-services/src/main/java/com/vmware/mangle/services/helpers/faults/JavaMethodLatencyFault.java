@@ -11,6 +11,9 @@
 
 package com.vmware.mangle.services.helpers.faults;
 
+import static com.vmware.mangle.services.dto.AgentRuleConstants.LATENCY_DISTRIBUTION_STRING;
+import static com.vmware.mangle.services.dto.AgentRuleConstants.LATENCY_JITTER_STRING;
+import static com.vmware.mangle.services.dto.AgentRuleConstants.LATENCY_SPREAD_STRING;
 import static com.vmware.mangle.services.dto.AgentRuleConstants.LATENCY_STRING;
 
 import java.util.HashMap;
@@ -38,6 +41,18 @@ public class JavaMethodLatencyFault extends AbstractFault {
         JavaMethodLatencyFaultSpec localFaultSpec = (JavaMethodLatencyFaultSpec) faultSpec;
         Map<String, String> specificArgs = new HashMap<>();
         specificArgs.put(LATENCY_STRING, Integer.toString(localFaultSpec.getLatency()));
+        putLatencyDistributionArgs(localFaultSpec, specificArgs);
         return specificArgs;
     }
+
+    static void putLatencyDistributionArgs(JavaMethodLatencyFaultSpec faultSpec, Map<String, String> specificArgs) {
+        if (null == faultSpec.getLatencyDistribution()) {
+            return;
+        }
+        specificArgs.put(LATENCY_DISTRIBUTION_STRING, faultSpec.getLatencyDistribution().name());
+        specificArgs.put(LATENCY_SPREAD_STRING,
+                Integer.toString(null == faultSpec.getLatencySpread() ? 0 : faultSpec.getLatencySpread()));
+        specificArgs.put(LATENCY_JITTER_STRING,
+                Integer.toString(null == faultSpec.getLatencyJitter() ? 0 : faultSpec.getLatencyJitter()));
+    }
 }
\ No newline at end of file
@@ -44,6 +44,7 @@ public class SpringServiceLatencyFault extends AbstractFault {
         specificArgs.put(SERVICES_STRING, localFaultSpec.getServicesString());
         specificArgs.put(SERVICE_SCOPE_STRING, Boolean.toString(localFaultSpec.isEnableOnLocalRequests()));
         specificArgs.put(HTTP_METHODS_STRING, localFaultSpec.getHttpMethodsString());
+        JavaMethodLatencyFault.putLatencyDistributionArgs(localFaultSpec, specificArgs);
         return specificArgs;
     }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.services.plugin;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.pf4j.spring.SpringPluginManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Index of the extension classes of the started plugins, by extension type and class name.
+ *
+ * The extensions of a type are indexed on the first lookup of that type, and the index is dropped
+ * whenever a plugin is loaded, unloaded, enabled, disabled or deleted. A lookup then creates the
+ * requested extension only, instead of creating every extension of the type as
+ * {@link SpringPluginManager#getExtensions(Class)} does. A new extension instance is returned on
+ * every lookup, as with the plugin manager.
+ *
+ * The invocations of the extensions are recorded in a timer per extension, when a meter registry is
+ * available.
+ *
+ * @author kumargautam
+ */
+@Component
+@Log4j2
+public class ExtensionRegistry {
+    private static final String INVOCATION_TIMER = "mangle_extension_invocation";
+    private static final String EXTENSION_TAG = "extension";
+
+    private final SpringPluginManager pluginManager;
+    private volatile Map<Class<?>, Map<String, Class<?>>> extensionClasses = new ConcurrentHashMap<>();
+    private final Map<String, Timer> invocationTimers = new ConcurrentHashMap<>();
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    public ExtensionRegistry(SpringPluginManager pluginManager) {
+        this.pluginManager = pluginManager;
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @return a new instance of the named extension of the given type, or null if none of the
+     *         started plugins provides it
+     */
+    public <T> T getExtension(Class<T> type, String extensionName) {
+        Class<?> extensionClass = getExtensionClasses(type).get(extensionName);
+        if (extensionClass == null) {
+            return null;
+        }
+        return type.cast(pluginManager.getExtensionFactory().create(extensionClass));
+    }
+
+    /**
+     * Drops the index, to be called whenever the set of started plugins changes
+     */
+    public void invalidate() {
+        extensionClasses = new ConcurrentHashMap<>();
+        log.debug("Extension registry invalidated");
+    }
+
+    public void recordInvocation(String extensionName, long durationInNanos) {
+        if (meterRegistry == null || extensionName == null) {
+            return;
+        }
+        invocationTimers.computeIfAbsent(extensionName,
+                name -> Timer.builder(INVOCATION_TIMER).description("invocations of the plugin extensions")
+                        .tag(EXTENSION_TAG, name).register(meterRegistry))
+                .record(durationInNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the number of recorded invocations of the extension
+     */
+    public long getInvocationCount(String extensionName) {
+        Timer timer = invocationTimers.get(extensionName);
+        return timer == null ? 0 : timer.count();
+    }
+
+    private Map<String, Class<?>> getExtensionClasses(Class<?> type) {
+        Map<Class<?>, Map<String, Class<?>>> index = extensionClasses;
+        Map<String, Class<?>> classes = index.get(type);
+        if (classes == null) {
+            classes = new ConcurrentHashMap<>();
+            for (Class<?> extensionClass : pluginManager.getExtensionClasses(type)) {
+                classes.put(extensionClass.getName(), extensionClass);
+            }
+            index.put(type, classes);
+            log.debug("Indexed {} extensions of the type {}", classes.size(), type.getName());
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.services.poll;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits applied by the {@link PollingService} while checking the remediation status of the
+ * injected system resource faults.
+ *
+ * @author mangle
+ */
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "mangle.polling")
+public class PollingProperties {
+    /**
+     * Number of endpoints polled concurrently in a polling cycle.
+     */
+    private int poolSize = 16;
+
+    /**
+     * Number of tasks checked on a single endpoint in a polling cycle. The tasks which were not
+     * checked for the longest time are picked first, the remaining ones are checked in the next
+     * cycles.
+     */
+    private int maxTasksPerEndpoint = 50;
+
+    /**
+     * Lower bound of the delay between two polling cycles, in milliseconds.
+     */
+    private long minInterval = 10000;
+
+    /**
+     * Upper bound of the delay between two polling cycles, in milliseconds. The delay grows
+     * towards this bound when there is nothing to poll or when the cycles get slower.
+     */
+    private long maxInterval = 60000;
+
+    /**
+     * Time a polling cycle waits for the endpoints to respond, in milliseconds. Endpoints which
+     * did not respond in time are skipped until their pending poll completes.
+     */
+    private long cycleTimeout = 300000;
+}
@@ -14,14 +14,30 @@ package com.vmware.mangle.services.poll;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import javax.annotation.PreDestroy;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
@@ -55,6 +71,13 @@ import com.vmware.mangle.utils.exceptions.MangleException;
 import com.vmware.mangle.utils.exceptions.handler.CustomErrorMessage;
 
 /**
+ * Polls the remediation status of the injected system resource faults.
+ *
+ * The tasks are grouped by their endpoint in every polling cycle. The endpoints are polled
+ * concurrently on a bounded pool, while the tasks of an endpoint are checked one after the other
+ * through a single endpoint client, so that an endpoint never sees more than one status check at a
+ * time. The delay between the cycles follows the time taken by the cycles.
+ *
  * @author jayasankarr
  * @param <T>
  *
@@ -65,6 +88,7 @@ import com.vmware.mangle.utils.exceptions.handler.CustomErrorMessage;
 public class PollingService<T extends Task<? extends TaskSpec>> {
 
     private ExecutorService threadService;
+    private ExecutorService endpointPollerService;
     private boolean stopThread = false;
     private TaskService taskService;
     Thread thread = null;
@@ -76,8 +100,15 @@ public class PollingService<T extends Task<? extends TaskSpec>> {
 
     private CommandInfoExecutionHelper commandInfoExecutionHelper;
     private EndpointClientFactory endpointClientFactory;
+    private PollingProperties pollingProperties;
     private static final int DEFAULT_RECOVERY_TIME = 120000;
 
+    private final Set<String> busyEndpoints = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> lastPolledTimes = new ConcurrentHashMap<>();
+    private final AtomicInteger polledTaskCount = new AtomicInteger();
+    private final AtomicLong pollingInterval = new AtomicLong();
+    private Timer cycleTimer;
+
     public void setCommandInfoExecutionHelper(CommandInfoExecutionHelper commandInfoExecutionHelper) {
         this.commandInfoExecutionHelper = commandInfoExecutionHelper;
 
@@ -88,10 +119,22 @@ public class PollingService<T extends Task<? extends TaskSpec>> {
 
     }
 
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.cycleTimer = Timer.builder("mangle_polling_cycle")
+                .description("time taken to poll the remediation status of the injected faults")
+                .register(meterRegistry);
+        Gauge.builder("mangle_polling_tasks", polledTaskCount, AtomicInteger::get)
+                .description("number of injected faults polled in the last cycle").register(meterRegistry);
+        Gauge.builder("mangle_polling_interval", pollingInterval, AtomicLong::get)
+                .description("delay in milliseconds before the next polling cycle").register(meterRegistry);
+    }
+
     @Autowired
     public PollingService(FaultInjectionHelper faultInjectionHelper, CustomErrorMessage customErrorMessage,
             ApplicationEventPublisher publisher, TaskService taskService,
-            CommandInfoExecutionHelper commandInfoExecutionHelper, EndpointClientFactory endpointClientFactory) {
+            CommandInfoExecutionHelper commandInfoExecutionHelper, EndpointClientFactory endpointClientFactory,
+            PollingProperties pollingProperties) {
 
         this.commandInfoExecutionHelper = commandInfoExecutionHelper;
         this.endpointClientFactory = endpointClientFactory;
@@ -99,102 +142,210 @@ public class PollingService<T extends Task<? extends TaskSpec>> {
         this.customErrorMessage = customErrorMessage;
         this.taskService = taskService;
         this.publisher = publisher;
+        this.pollingProperties = pollingProperties;
+        this.pollingInterval.set(pollingProperties.getMinInterval());
         this.threadService = Executors.newSingleThreadExecutor();
+        this.endpointPollerService = Executors.newFixedThreadPool(pollingProperties.getPoolSize());
     }
 
-    @SuppressWarnings({ "unchecked" })
     public void startPollingThread() {
 
         Runnable pollingThread = () -> {
             log.info("Starting polling thread..");
             while (!stopThread) {
                 try {
-                    List<Task<TaskSpec>> inprogressTasks = taskService.getInjectedSystemResourceTasks();
-                    if (!inprogressTasks.isEmpty()) {
-                        for (Object obTask : inprogressTasks) {
-                            Task<CommandExecutionFaultSpec> task = (Task<CommandExecutionFaultSpec>) obTask;
-                            log.debug("Remediation status of current polling task:"
-                                    + ((RemediableTask) obTask).isRemediated());
-                            CommandExecutionFaultSpec spec = task.getTaskData();
-                            try {
-                                faultInjectionHelper.updateFaultSpec(spec);
-                                EndpointClient endpointClient = endpointClientFactory
-                                        .getEndPointClient(spec.getCredentials(), spec.getEndpoint());
-
-                                //Incase if task got remediated between one round of polling adding type.
-                                if (task.getTaskType() == TaskType.INJECTION
-                                        && ((RemediableTask) obTask).isRemediated() == false) {
-                                    String output = "";
-                                    if (endpointClient instanceof CustomDockerClient) {
-                                        DockerCommandUtils dockerClient =
-                                                new DockerCommandUtils(spec, endpointClientFactory);
-                                        output = commandInfoExecutionHelper.runCommands((ICommandExecutor) dockerClient,
-                                                spec.getStatusCommandInfoList(), task.getTaskTroubleShootingInfo(),
-                                                null);
-                                    } else {
-                                        output = commandInfoExecutionHelper.runCommands(
-                                                (ICommandExecutor) endpointClient, spec.getStatusCommandInfoList(),
-                                                task.getTaskTroubleShootingInfo(), null);
-                                    }
-                                    log.info("Status: " + output);
-                                    if (output.contains(TaskStatus.COMPLETED.name()) && (task.getTaskStatus().equals(
-                                            TaskStatus.IN_PROGRESS) || task.getTaskStatus().equals(TaskStatus.INJECTED)
-                                            || task.getTaskStatus().equals(TaskStatus.TEST_MACHINE_INVALID_STATE))) {
-                                        updateTaskInfo((T) task, TaskStatus.COMPLETED, task.getTaskFailureReason(),
-                                                100);
-                                        taskService.updateRemediationFieldofTaskById(task.getId(), true);
-                                    }
-                                    if (output.contains(TaskStatus.FAILED.name())
-                                            && (task.getTaskStatus().equals(TaskStatus.IN_PROGRESS)
-                                                    || task.getTaskStatus().equals(TaskStatus.INJECTED))) {
-                                        updateTaskInfo((T) task, TaskStatus.FAILED, output, 100);
-                                        taskService.updateRemediationFieldofTaskById(task.getId(), true);
-                                    }
-                                }
-                            } catch (MangleException | NullPointerException e) {
-                                log.error(e);
-                                if (e.getMessage().contains("socket is not established")) {
-                                    handleSocketError(e, task, spec);
-                                } else if (e.getMessage().contains(
-                                        KnownFailureConstants.INJECTION_FILES_IS_MISSING_IN_THE_ENDPOINT_OUTPUT1)
-                                        || e.getMessage().contains(
-                                                KnownFailureConstants.INJECTION_FILES_IS_MISSING_IN_THE_ENDPOINT_OUTPUT2)) {
-                                    if (task.getTaskStatus().equals(TaskStatus.INJECTED)
-                                            || task.getTaskStatus().equals(TaskStatus.TEST_MACHINE_INVALID_STATE)) {
-                                        updateTaskInfo((T) task, TaskStatus.FAILED,
-                                                KnownFailureConstants.INFRA_AGENT_FILES_MISSING_MESSAGE, 100);
-                                    }
-                                } else if (e.getMessage()
-                                        .contains(KnownFailureConstants.INFRA_AGENT_NOT_RUNNING_AT_ENDPOINT_OUTPUT)) {
-                                    updateTaskInfo((T) task, TaskStatus.FAILED,
-                                            KnownFailureConstants.INFRA_AGENT_NOT_RUNNING_AT_ENDPOINT_MESSAGE, 100);
-                                } else if (spec.getEndpoint().getEndPointType().equals(EndpointType.K8S_CLUSTER)) {
-                                    handleK8sErrors(e, task, spec);
-                                } else if (spec.getEndpoint().getEndPointType().equals(EndpointType.DOCKER)) {
-                                    handleDockerErrors(e, task, spec);
-                                }
-                            } catch (Exception e) {
-                                log.error(e);
-                            }
-                        }
-                    }
-                    try {
-                        Thread.sleep(20000);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        log.error("Exception while sleeping polling thread:", e.getMessage());
-                    }
+                    runPollingCycle();
                 } catch (CassandraConnectionFailureException e) {
                     //when connection fails,this creates to many logs.so keeping it as part of debug
                     log.debug("Database connection failed: ", e.getMessage());
                 } catch (Exception e) {
                     log.error("Exception in polling thread:", e);
                 }
+                try {
+                    Thread.sleep(pollingInterval.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.error("Exception while sleeping polling thread:", e.getMessage());
+                }
             }
         };
         threadService.submit(pollingThread);
     }
 
+    /**
+     * Polls the remediation status of all the injected system resource faults once, and computes
+     * the delay before the next cycle.
+     */
+    public void runPollingCycle() {
+        long cycleStart = System.nanoTime();
+        List<Task<TaskSpec>> injectedTasks = taskService.getInjectedSystemResourceTasks();
+        lastPolledTimes.keySet().retainAll(injectedTasks.stream().map(Task::getId).collect(Collectors.toSet()));
+        int polledTasks = injectedTasks.isEmpty() ? 0 : pollEndpoints(groupByEndpoint(injectedTasks));
+        long cycleTime = System.nanoTime() - cycleStart;
+
+        polledTaskCount.set(polledTasks);
+        pollingInterval.set(getNextInterval(pollingInterval.get(), TimeUnit.NANOSECONDS.toMillis(cycleTime),
+                injectedTasks.isEmpty()));
+        if (null != cycleTimer) {
+            cycleTimer.record(cycleTime, TimeUnit.NANOSECONDS);
+        }
+        log.debug("Polled {} of {} injected tasks in {} ms, next cycle in {} ms", polledTasks, injectedTasks.size(),
+                TimeUnit.NANOSECONDS.toMillis(cycleTime), pollingInterval.get());
+    }
+
+    public long getPollingInterval() {
+        return pollingInterval.get();
+    }
+
+    /**
+     * Idle cycles double the delay up to the upper bound. Busy cycles wait at least as long as the
+     * cycle took, so that the endpoints are never polled for more than half of the time.
+     */
+    private long getNextInterval(long previousInterval, long cycleTime, boolean idle) {
+        long interval = idle ? previousInterval * 2 : cycleTime;
+        return Math.min(Math.max(interval, pollingProperties.getMinInterval()), pollingProperties.getMaxInterval());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, List<Task<CommandExecutionFaultSpec>>> groupByEndpoint(List<Task<TaskSpec>> tasks) {
+        Map<String, List<Task<CommandExecutionFaultSpec>>> endpointTasks = new HashMap<>();
+        for (Object obTask : tasks) {
+            Task<CommandExecutionFaultSpec> task = (Task<CommandExecutionFaultSpec>) obTask;
+            endpointTasks.computeIfAbsent(String.valueOf(task.getTaskData().getEndpointName()),
+                    endpointName -> new ArrayList<>()).add(task);
+        }
+        return endpointTasks;
+    }
+
+    private int pollEndpoints(Map<String, List<Task<CommandExecutionFaultSpec>>> endpointTasks) {
+        List<Callable<Integer>> endpointPolls = new ArrayList<>();
+        for (Map.Entry<String, List<Task<CommandExecutionFaultSpec>>> entry : endpointTasks.entrySet()) {
+            List<Task<CommandExecutionFaultSpec>> tasks = selectTasks(entry.getValue());
+            endpointPolls.add(() -> pollEndpoint(entry.getKey(), tasks));
+        }
+        int polledTasks = 0;
+        try {
+            for (Future<Integer> endpointPoll : endpointPollerService.invokeAll(endpointPolls,
+                    pollingProperties.getCycleTimeout(), TimeUnit.MILLISECONDS)) {
+                if (endpointPoll.isCancelled()) {
+                    continue;
+                }
+                polledTasks += endpointPoll.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Polling cycle interrupted: ", e.getMessage());
+        } catch (ExecutionException e) {
+            log.error("Exception while polling the endpoints: ", e);
+        }
+        return polledTasks;
+    }
+
+    private List<Task<CommandExecutionFaultSpec>> selectTasks(List<Task<CommandExecutionFaultSpec>> tasks) {
+        if (tasks.size() <= pollingProperties.getMaxTasksPerEndpoint()) {
+            return tasks;
+        }
+        return tasks.stream()
+                .sorted(Comparator.comparingLong(
+                        (Task<CommandExecutionFaultSpec> task) -> lastPolledTimes.getOrDefault(task.getId(), 0L)))
+                .limit(pollingProperties.getMaxTasksPerEndpoint()).collect(Collectors.toList());
+    }
+
+    /**
+     * Checks the given tasks of an endpoint one after the other, reusing the endpoint clients
+     * between them. An endpoint whose poll from a previous cycle is still running is skipped.
+     */
+    private int pollEndpoint(String endpointName, List<Task<CommandExecutionFaultSpec>> tasks) {
+        if (!busyEndpoints.add(endpointName)) {
+            log.debug("Skipping endpoint {}, its previous poll is still in progress", endpointName);
+            return 0;
+        }
+        try {
+            Map<String, EndpointClient> endpointClients = new HashMap<>();
+            for (Task<CommandExecutionFaultSpec> task : tasks) {
+                lastPolledTimes.put(task.getId(), System.currentTimeMillis());
+                try {
+                    pollTask(task, endpointClients);
+                } catch (MangleException e) {
+                    log.error(customErrorMessage.getErrorMessage(e), e);
+                }
+            }
+            return tasks.size();
+        } finally {
+            busyEndpoints.remove(endpointName);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void pollTask(Task<CommandExecutionFaultSpec> task, Map<String, EndpointClient> endpointClients)
+            throws MangleException {
+        log.debug("Remediation status of current polling task:" + ((RemediableTask) task).isRemediated());
+        CommandExecutionFaultSpec spec = task.getTaskData();
+        try {
+            faultInjectionHelper.updateFaultSpec(spec);
+            EndpointClient endpointClient = getEndpointClient(spec, endpointClients);
+
+            //Incase if task got remediated between one round of polling adding type.
+            if (task.getTaskType() == TaskType.INJECTION && ((RemediableTask) task).isRemediated() == false) {
+                String output = "";
+                if (endpointClient instanceof CustomDockerClient) {
+                    DockerCommandUtils dockerClient = new DockerCommandUtils(spec, (CustomDockerClient) endpointClient);
+                    output = commandInfoExecutionHelper.runCommands((ICommandExecutor) dockerClient,
+                            spec.getStatusCommandInfoList(), task.getTaskTroubleShootingInfo(), null);
+                } else {
+                    output = commandInfoExecutionHelper.runCommands((ICommandExecutor) endpointClient,
+                            spec.getStatusCommandInfoList(), task.getTaskTroubleShootingInfo(), null);
+                }
+                log.info("Status: " + output);
+                if (output.contains(TaskStatus.COMPLETED.name()) && (task.getTaskStatus().equals(TaskStatus.IN_PROGRESS)
+                        || task.getTaskStatus().equals(TaskStatus.INJECTED)
+                        || task.getTaskStatus().equals(TaskStatus.TEST_MACHINE_INVALID_STATE))) {
+                    updateTaskInfo((T) task, TaskStatus.COMPLETED, task.getTaskFailureReason(), 100);
+                    taskService.updateRemediationFieldofTaskById(task.getId(), true);
+                }
+                if (output.contains(TaskStatus.FAILED.name()) && (task.getTaskStatus().equals(TaskStatus.IN_PROGRESS)
+                        || task.getTaskStatus().equals(TaskStatus.INJECTED))) {
+                    updateTaskInfo((T) task, TaskStatus.FAILED, output, 100);
+                    taskService.updateRemediationFieldofTaskById(task.getId(), true);
+                }
+            }
+        } catch (MangleException | NullPointerException e) {
+            log.error(e);
+            if (e.getMessage().contains("socket is not established")) {
+                handleSocketError(e, task, spec);
+            } else if (e.getMessage().contains(KnownFailureConstants.INJECTION_FILES_IS_MISSING_IN_THE_ENDPOINT_OUTPUT1)
+                    || e.getMessage()
+                            .contains(KnownFailureConstants.INJECTION_FILES_IS_MISSING_IN_THE_ENDPOINT_OUTPUT2)) {
+                if (task.getTaskStatus().equals(TaskStatus.INJECTED)
+                        || task.getTaskStatus().equals(TaskStatus.TEST_MACHINE_INVALID_STATE)) {
+                    updateTaskInfo((T) task, TaskStatus.FAILED, KnownFailureConstants.INFRA_AGENT_FILES_MISSING_MESSAGE,
+                            100);
+                }
+            } else if (e.getMessage().contains(KnownFailureConstants.INFRA_AGENT_NOT_RUNNING_AT_ENDPOINT_OUTPUT)) {
+                updateTaskInfo((T) task, TaskStatus.FAILED,
+                        KnownFailureConstants.INFRA_AGENT_NOT_RUNNING_AT_ENDPOINT_MESSAGE, 100);
+            } else if (spec.getEndpoint().getEndPointType().equals(EndpointType.K8S_CLUSTER)) {
+                handleK8sErrors(e, task, spec);
+            } else if (spec.getEndpoint().getEndPointType().equals(EndpointType.DOCKER)) {
+                handleDockerErrors(e, task, spec);
+            }
+        } catch (Exception e) {
+            log.error(e);
+        }
+    }
+
+    private EndpointClient getEndpointClient(CommandExecutionFaultSpec spec,
+            Map<String, EndpointClient> endpointClients) throws MangleException {
+        String clientKey = spec.getEndpoint().getName() + ":"
+                + (null == spec.getCredentials() ? "" : spec.getCredentials().getName());
+        EndpointClient endpointClient = endpointClients.get(clientKey);
+        if (null == endpointClient) {
+            endpointClient = endpointClientFactory.getEndPointClient(spec.getCredentials(), spec.getEndpoint());
+            endpointClients.put(clientKey, endpointClient);
+        }
+        return endpointClient;
+    }
+
     @SuppressWarnings("unchecked")
     private void handleSocketError(Exception e, Task<CommandExecutionFaultSpec> task, CommandExecutionFaultSpec spec)
             throws MangleException {
@@ -296,6 +447,7 @@ public class PollingService<T extends Task<? extends TaskSpec>> {
         log.info("Stopping the polling service thread instance");
         this.stopThread = true;
         this.threadService.shutdownNow();
+        this.endpointPollerService.shutdownNow();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.services.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.vmware.mangle.cassandra.model.tasks.TaskStatusIndex;
+
+/**
+ * Repository class for {@link TaskStatusIndex}.
+ *
+ * @author mangle
+ */
+@Repository
+public interface TaskStatusIndexRepository extends CassandraRepository<TaskStatusIndex, MapId> {
+
+    @SuppressWarnings("unchecked")
+    TaskStatusIndex save(TaskStatusIndex taskStatusIndex);
+
+    @Query("select * from task_status_index where taskStatus IN ?0")
+    List<TaskStatusIndex> findByTaskStatusIn(Collection<String> taskStatuses);
+
+    @Query("select * from task_status_index where taskStatus IN ?0 and id = ?1")
+    List<TaskStatusIndex> findByTaskStatusInAndId(Collection<String> taskStatuses, String id);
+
+    @Query("delete from task_status_index where taskStatus IN ?0 and id = ?1")
+    void deleteByTaskStatusInAndId(Collection<String> taskStatuses, String id);
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.services.repository;
+
+import java.util.List;
+
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.vmware.mangle.cassandra.model.tasks.TaskSummary;
+
+/**
+ * Repository class for {@link TaskSummary}.
+ *
+ * @author mangle
+ */
+@Repository
+public interface TaskSummaryRepository extends CassandraRepository<TaskSummary, MapId> {
+
+    @SuppressWarnings("unchecked")
+    TaskSummary save(TaskSummary taskSummary);
+
+    @Query("select * from task_summary where taskType = ?0 limit ?1")
+    List<TaskSummary> findLatest(String taskType, int limit);
+
+    @Query("select * from task_summary where taskType = ?0 and (lastUpdated, id) < (?1, ?2) limit ?3")
+    List<TaskSummary> findLatestBefore(String taskType, long lastUpdated, String id, int limit);
+
+    @Query(value = "select count(*) from task_summary where taskType = ?0", count = true)
+    long countByTaskType(String taskType);
+
+    @Query("delete from task_summary where taskType = ?0 and lastUpdated = ?1 and id = ?2")
+    void deleteEntry(String taskType, long lastUpdated, String id);
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.services.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.cassandra.core.mapping.MapId;
+import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.vmware.mangle.cassandra.model.tasks.TaskTriggerHistory;
+
+/**
+ * Repository class for {@link TaskTriggerHistory}.
+ *
+ * @author mangle
+ */
+@Repository
+public interface TaskTriggerHistoryRepository extends CassandraRepository<TaskTriggerHistory, MapId> {
+
+    @Query("select * from task_trigger_history where taskId = ?0")
+    List<TaskTriggerHistory> findByTaskId(String taskId);
+
+    @Query("select * from task_trigger_history where taskId = ?0 limit 1")
+    TaskTriggerHistory findLatestByTaskId(String taskId);
+
+    @Query("delete from task_trigger_history where taskId = ?0 and triggerIndex <= ?1")
+    void deleteByTaskIdAndTriggerIndexLessThanEqual(String taskId, int triggerIndex);
+
+    @Query("delete from task_trigger_history where taskId IN ?0")
+    void deleteByTaskIdIn(Collection<String> taskIds);
+}
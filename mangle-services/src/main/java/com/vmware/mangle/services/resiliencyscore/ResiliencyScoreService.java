@@ -33,6 +33,7 @@ import com.vmware.mangle.cassandra.model.resiliencyscore.Service;
 import com.vmware.mangle.cassandra.model.scheduler.SchedulerSpec;
 import com.vmware.mangle.model.response.DeleteOperationResponse;
 import com.vmware.mangle.services.SchedulerService;
+import com.vmware.mangle.services.TaskSummaryService;
 import com.vmware.mangle.services.repository.QueryRepository;
 import com.vmware.mangle.services.repository.ResiliencyScoreRepository;
 import com.vmware.mangle.services.repository.ServiceRepository;
@@ -60,6 +61,8 @@ public class ResiliencyScoreService {
     private QueryRepository queryRepository;
     @Autowired
     private SchedulerService schedulerService;
+    @Autowired
+    private TaskSummaryService taskSummaryService;
 
     public ResiliencyScoreTask getTaskById(String taskId) throws MangleException {
         log.info("Retrieving task by id : " + taskId);
@@ -80,8 +83,11 @@ public class ResiliencyScoreService {
     public ResiliencyScoreTask addOrUpdateTask(ResiliencyScoreTask task) throws MangleException {
         if (task != null) {
             log.debug("Creating Task with Id : " + task.getId());
+            Long previousLastUpdated = task.getLastUpdated();
             task.setLastUpdated(System.currentTimeMillis());
-            return repository.save(task);
+            ResiliencyScoreTask persistedTask = repository.save(task);
+            taskSummaryService.updateSummary(task, previousLastUpdated);
+            return persistedTask;
         }
         log.error(ErrorConstants.TASK + ErrorConstants.FIELD_VALUE_EMPTY);
         throw new MangleRuntimeException(ErrorCode.FIELD_VALUE_EMPTY, ErrorConstants.TASK);
@@ -125,6 +131,8 @@ public class ResiliencyScoreService {
         Optional<ResiliencyScoreTask> resiliencyScore = repository.findById(resiliencyScoreId);
         if (resiliencyScore.isPresent()) {
             repository.deleteById(resiliencyScoreId);
+            taskSummaryService.deleteSummary(resiliencyScore.get().getTaskType(),
+                    resiliencyScore.get().getLastUpdated(), resiliencyScoreId);
             return true;
         }
         log.error(ErrorConstants.RESILIENCY_SCORE_TASK_NOT_FOUND + resiliencyScoreId);
@@ -298,6 +306,8 @@ public class ResiliencyScoreService {
                     throw new MangleException(ErrorCode.NO_RECORD_FOUND, ErrorConstants.TASK, taskIds.toString());
                 }
                 repository.deleteByIdIn(persistedTaskIds);
+                persistedTasks.forEach(task -> taskSummaryService.deleteSummary(task.getTaskType(),
+                        task.getLastUpdated(), task.getId()));
             } else {
                 deleteResponse.setResponseMessage(ErrorConstants.RESILIENCY_SCORE_TASK_DELETION_PRECHECK_FAIL);
             }
@@ -18,6 +18,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.PreDestroy;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -64,6 +68,8 @@ public class ResiliencyScoreTaskExecutor<T extends Task<? extends TaskSpec>> {
     @Setter
     private Service service;
     private List<QueryDto> allQueries;
+    private final ExecutorService queryExecutor =
+            Executors.newFixedThreadPool(ResiliencyConstants.QUERY_THREAD_POOL_SIZE);
 
     @Autowired
     private ResiliencyScoreService resiliencyScoreService;
@@ -129,6 +135,7 @@ public class ResiliencyScoreTaskExecutor<T extends Task<? extends TaskSpec>> {
         log.info("Calculating Resiliency score for the service: " + service.getName());
         ResiliencyScoreUtils resiliencyScoreUtils =
                 new ResiliencyScoreUtils(properties, service, allQueries, startTime, endTime);
+        resiliencyScoreUtils.setQueryExecutor(queryExecutor);
         updateResiliencyScoreTaskStatus(TaskStatus.IN_PROGRESS);
 
         ResiliencyScoreVO resiliencyScoreForService = resiliencyScoreUtils.calculateResiliencyScore();
@@ -292,4 +299,9 @@ public class ResiliencyScoreTaskExecutor<T extends Task<? extends TaskSpec>> {
         return queries;
     }
 
+    @PreDestroy
+    public void destroy() {
+        log.info("Stopping the resiliency score query executor");
+        queryExecutor.shutdownNow();
+    }
 }
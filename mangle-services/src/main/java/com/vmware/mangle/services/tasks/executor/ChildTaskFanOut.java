@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.services.tasks.executor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.log4j.Log4j2;
+
+import com.vmware.mangle.cassandra.model.faults.specs.TaskSpec;
+import com.vmware.mangle.cassandra.model.tasks.Task;
+import com.vmware.mangle.utils.exceptions.MangleException;
+
+/**
+ * Persists and submits the child tasks spawned by a K8S or endpoint group fault.
+ *
+ * The children are rolled out in waves holding {@link TaskExecutorProperties#getChildTaskRolloutPercentage()}
+ * percent of them. A wave is split into batches which are handed over to a bounded worker pool, so
+ * that up to {@link TaskExecutorProperties#getChildTaskParallelism()} children are persisted and
+ * submitted at the same time. The next wave starts once every child of the current one has been
+ * submitted and the rollout interval has elapsed.
+ *
+ * @author mangle
+ */
+@Log4j2
+public class ChildTaskFanOut {
+
+    private final ThreadPoolExecutor workerPool;
+    private volatile TaskExecutorProperties properties;
+
+    public ChildTaskFanOut(TaskExecutorProperties properties) {
+        this.properties = properties;
+        this.workerPool = new ThreadPoolExecutor(properties.getChildTaskParallelism(),
+                properties.getChildTaskParallelism(), 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        this.workerPool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Applies new limits, the waves which are already being submitted are not affected.
+     *
+     * @param properties
+     *            the limits to apply
+     */
+    public void configure(TaskExecutorProperties properties) {
+        int poolSize = properties.getChildTaskParallelism();
+        if (poolSize > workerPool.getMaximumPoolSize()) {
+            workerPool.setMaximumPoolSize(poolSize);
+            workerPool.setCorePoolSize(poolSize);
+        } else {
+            workerPool.setCorePoolSize(poolSize);
+            workerPool.setMaximumPoolSize(poolSize);
+        }
+        this.properties = properties;
+    }
+
+    /**
+     * Submits the given child tasks through the submitter. A child which fails to be submitted is
+     * logged and does not prevent its siblings from being submitted.
+     *
+     * @param childTasks
+     *            the child tasks to submit
+     * @param submitter
+     *            persists and submits a single child task
+     * @return the number of child tasks submitted
+     * @throws InterruptedException
+     *             when interrupted while waiting for a wave to be submitted
+     */
+    public int dispatch(List<? extends Task<? extends TaskSpec>> childTasks, ChildTaskSubmitter submitter)
+            throws InterruptedException {
+        TaskExecutorProperties currentProperties = this.properties;
+        int waveSize = getWaveSize(childTasks.size(), currentProperties.getChildTaskRolloutPercentage());
+        int batchSize = Math.max(1, currentProperties.getChildTaskBatchSize());
+        int submittedTasks = 0;
+        for (int waveStart = 0; waveStart < childTasks.size(); waveStart += waveSize) {
+            if (waveStart > 0 && currentProperties.getChildTaskRolloutInterval() > 0) {
+                Thread.sleep(currentProperties.getChildTaskRolloutInterval());
+            }
+            List<Callable<Integer>> batches = new ArrayList<>();
+            int waveEnd = Math.min(childTasks.size(), waveStart + waveSize);
+            for (int batchStart = waveStart; batchStart < waveEnd; batchStart += batchSize) {
+                List<? extends Task<? extends TaskSpec>> batch =
+                        childTasks.subList(batchStart, Math.min(waveEnd, batchStart + batchSize));
+                batches.add(() -> submitBatch(batch, submitter));
+            }
+            for (Future<Integer> result : workerPool.invokeAll(batches)) {
+                submittedTasks += getSubmittedTasks(result);
+            }
+            log.debug("Submitted {} of {} child tasks", submittedTasks, childTasks.size());
+        }
+        return submittedTasks;
+    }
+
+    public void shutdown() {
+        workerPool.shutdownNow();
+    }
+
+    private int submitBatch(List<? extends Task<? extends TaskSpec>> batch, ChildTaskSubmitter submitter) {
+        int submittedTasks = 0;
+        for (Task<? extends TaskSpec> childTask : batch) {
+            try {
+                log.info("Submitting Child Task {} for Execution...", childTask.getId());
+                submitter.submit(childTask);
+                submittedTasks++;
+            } catch (MangleException e) {
+                log.error("Submitting Child Task " + childTask.getId() + " failed", e);
+            }
+        }
+        return submittedTasks;
+    }
+
+    private int getSubmittedTasks(Future<Integer> result) throws InterruptedException {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            log.error("Submitting a batch of child tasks failed", e.getCause());
+            return 0;
+        }
+    }
+
+    private static int getWaveSize(int childTaskCount, int rolloutPercentage) {
+        int percentage = Math.min(100, Math.max(1, rolloutPercentage));
+        return Math.max(1, (int) Math.ceil(childTaskCount * percentage / 100.0));
+    }
+
+    /**
+     * Persists and submits a single child task.
+     */
+    @FunctionalInterface
+    public interface ChildTaskSubmitter {
+        void submit(Task<? extends TaskSpec> childTask) throws MangleException;
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.services.tasks.executor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.log4j.Log4j2;
+
+import com.vmware.mangle.cassandra.model.faults.specs.CommandExecutionFaultSpec;
+import com.vmware.mangle.cassandra.model.tasks.Task;
+import com.vmware.mangle.cassandra.model.tasks.TaskType;
+import com.vmware.mangle.model.enums.EndpointType;
+import com.vmware.mangle.utils.exceptions.MangleException;
+import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
+
+/**
+ * Bounded, prioritized dispatcher used by the {@link TaskExecutor}.
+ *
+ * Submitted tasks are kept in a priority queue (remediation tasks ahead of every other task, FIFO
+ * within the same priority) and are handed over to a bounded worker pool once a node wide slot and
+ * a slot for the endpoint type of the task are available. Submitting a task never blocks the
+ * caller; draining of the queue is serialized with a work-in-progress counter instead of a lock.
+ *
+ * @author mangle
+ */
+@Log4j2
+public class TaskExecutionDispatcher {
+
+    private static final int REMEDIATION_PRIORITY = 0;
+    private static final int DEFAULT_PRIORITY = 1;
+
+    private final ThreadPoolExecutor workerPool;
+    private final PriorityBlockingQueue<QueuedTask> pendingTasks = new PriorityBlockingQueue<>();
+    private final Map<String, QueuedTask> pendingTasksById = new ConcurrentHashMap<>();
+    private final Map<EndpointType, AtomicInteger> runningTasksPerEndpointType = new ConcurrentHashMap<>();
+    private final AtomicInteger runningTaskCount = new AtomicInteger();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile TaskExecutorProperties properties;
+
+    public TaskExecutionDispatcher(TaskExecutorProperties properties) {
+        this.properties = properties;
+        this.workerPool = new ThreadPoolExecutor(properties.getMaxConcurrentTasks(),
+                properties.getMaxConcurrentTasks(), 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        this.workerPool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Applies new limits to the dispatcher. Tasks that are already running are not affected.
+     *
+     * @param properties
+     *            the limits to apply
+     */
+    public void configure(TaskExecutorProperties properties) {
+        int poolSize = properties.getMaxConcurrentTasks();
+        if (poolSize > workerPool.getMaximumPoolSize()) {
+            workerPool.setMaximumPoolSize(poolSize);
+            workerPool.setCorePoolSize(poolSize);
+        } else {
+            workerPool.setCorePoolSize(poolSize);
+            workerPool.setMaximumPoolSize(poolSize);
+        }
+        this.properties = properties;
+        drain();
+    }
+
+    /**
+     * Queues the given task for execution. The runnable is started as soon as the limits allow it,
+     * which can be before this method returns.
+     *
+     * @param task
+     *            the task to be executed
+     * @param runnable
+     *            the execution logic of the task
+     * @throws MangleException
+     *             when the queue has already reached its capacity
+     */
+    public void submit(Task<?> task, Runnable runnable) throws MangleException {
+        int queuedTasks = pendingTasks.size();
+        if (queuedTasks >= properties.getQueueCapacity()) {
+            throw new MangleException(ErrorCode.TASK_QUEUE_FULL, queuedTasks);
+        }
+        QueuedTask queuedTask = new QueuedTask(task.getId(), getPriority(task), sequence.getAndIncrement(),
+                getEndpointType(task), runnable);
+        pendingTasksById.put(queuedTask.taskId, queuedTask);
+        pendingTasks.offer(queuedTask);
+        drain();
+    }
+
+    /**
+     * Tests whether a task submitted now would be started right away.
+     *
+     * @param task
+     *            the task to test
+     * @return true when there is no backlog and a slot is free for the task
+     */
+    public boolean hasFreeSlot(Task<?> task) {
+        EndpointType endpointType = getEndpointType(task);
+        return pendingTasks.isEmpty() && runningTaskCount.get() < properties.getMaxConcurrentTasks()
+                && (endpointType == null
+                        || getRunningTasks(endpointType).get() < getEndpointTypeLimit(endpointType));
+    }
+
+    /**
+     * Removes a task that is still waiting in the queue.
+     *
+     * @param taskId
+     *            id of the task to remove
+     * @return true if the task was waiting and will not be executed anymore
+     */
+    public boolean remove(String taskId) {
+        QueuedTask queuedTask = pendingTasksById.remove(taskId);
+        if (queuedTask == null || !queuedTask.claim()) {
+            return false;
+        }
+        pendingTasks.remove(queuedTask);
+        return true;
+    }
+
+    public boolean isQueued(String taskId) {
+        return pendingTasksById.containsKey(taskId);
+    }
+
+    public int getQueuedTaskCount() {
+        return pendingTasks.size();
+    }
+
+    public int getRunningTaskCount() {
+        return runningTaskCount.get();
+    }
+
+    public void shutdown() {
+        workerPool.shutdown();
+    }
+
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            dispatchPendingTasks();
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Only one thread at a time runs this method (see {@link #drain()}), so the slot counters can
+     * only be incremented from here while completed tasks concurrently decrement them.
+     */
+    private void dispatchPendingTasks() {
+        List<QueuedTask> deferredTasks = new ArrayList<>();
+        QueuedTask queuedTask;
+        while (runningTaskCount.get() < properties.getMaxConcurrentTasks()
+                && (queuedTask = pendingTasks.poll()) != null) {
+            if (!tryAcquireEndpointTypeSlot(queuedTask.endpointType)) {
+                deferredTasks.add(queuedTask);
+                continue;
+            }
+            if (!queuedTask.claim()) {
+                releaseEndpointTypeSlot(queuedTask.endpointType);
+                continue;
+            }
+            pendingTasksById.remove(queuedTask.taskId, queuedTask);
+            runningTaskCount.incrementAndGet();
+            dispatch(queuedTask);
+        }
+        pendingTasks.addAll(deferredTasks);
+    }
+
+    private void dispatch(QueuedTask queuedTask) {
+        try {
+            workerPool.execute(() -> {
+                try {
+                    queuedTask.runnable.run();
+                } finally {
+                    release(queuedTask);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.error("Execution of the task {} was rejected by the worker pool", queuedTask.taskId, e);
+            runningTaskCount.decrementAndGet();
+            releaseEndpointTypeSlot(queuedTask.endpointType);
+        }
+    }
+
+    private void release(QueuedTask queuedTask) {
+        runningTaskCount.decrementAndGet();
+        releaseEndpointTypeSlot(queuedTask.endpointType);
+        drain();
+    }
+
+    private boolean tryAcquireEndpointTypeSlot(EndpointType endpointType) {
+        if (endpointType == null) {
+            return true;
+        }
+        AtomicInteger runningTasks = getRunningTasks(endpointType);
+        if (runningTasks.get() >= getEndpointTypeLimit(endpointType)) {
+            return false;
+        }
+        runningTasks.incrementAndGet();
+        return true;
+    }
+
+    private void releaseEndpointTypeSlot(EndpointType endpointType) {
+        if (endpointType != null) {
+            getRunningTasks(endpointType).decrementAndGet();
+        }
+    }
+
+    private AtomicInteger getRunningTasks(EndpointType endpointType) {
+        return runningTasksPerEndpointType.computeIfAbsent(endpointType, type -> new AtomicInteger());
+    }
+
+    private int getEndpointTypeLimit(EndpointType endpointType) {
+        Integer limit = properties.getEndpointTypeLimits().get(endpointType);
+        return limit == null ? Integer.MAX_VALUE : limit;
+    }
+
+    private static int getPriority(Task<?> task) {
+        return task.getTaskType() == TaskType.REMEDIATION ? REMEDIATION_PRIORITY : DEFAULT_PRIORITY;
+    }
+
+    private static EndpointType getEndpointType(Task<?> task) {
+        if (task.getTaskData() instanceof CommandExecutionFaultSpec) {
+            CommandExecutionFaultSpec faultSpec = (CommandExecutionFaultSpec) task.getTaskData();
+            if (faultSpec.getEndpoint() != null) {
+                return faultSpec.getEndpoint().getEndPointType();
+            }
+        }
+        return null;
+    }
+
+    private static final class QueuedTask implements Comparable<QueuedTask> {
+        private final String taskId;
+        private final int priority;
+        private final long sequence;
+        private final EndpointType endpointType;
+        private final Runnable runnable;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private QueuedTask(String taskId, int priority, long sequence, EndpointType endpointType,
+                Runnable runnable) {
+            this.taskId = taskId;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.endpointType = endpointType;
+            this.runnable = runnable;
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        @Override
+        public int compareTo(QueuedTask other) {
+            int result = Integer.compare(priority, other.priority);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(sequence);
+        }
+    }
+}
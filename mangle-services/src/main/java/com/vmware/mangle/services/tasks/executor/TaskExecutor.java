@@ -13,12 +13,13 @@ package com.vmware.mangle.services.tasks.executor;
 
 import static com.vmware.mangle.utils.constants.URLConstants.MANGLE_CURRENT_STATUS_MESSAGE;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -26,15 +27,19 @@ import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import javax.annotation.PostConstruct;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
 import com.vmware.mangle.cassandra.model.faults.specs.MultiTaskSpec;
 import com.vmware.mangle.cassandra.model.faults.specs.TaskSpec;
-import com.vmware.mangle.cassandra.model.tasks.FaultTask;
 import com.vmware.mangle.cassandra.model.tasks.FaultTriggeringTask;
 import com.vmware.mangle.cassandra.model.tasks.RemediableTask;
 import com.vmware.mangle.cassandra.model.tasks.Task;
@@ -52,10 +57,10 @@ import com.vmware.mangle.services.events.task.TaskCompletedEvent;
 import com.vmware.mangle.services.events.task.TaskModifiedEvent;
 import com.vmware.mangle.services.helpers.FaultInjectionHelper;
 import com.vmware.mangle.services.scheduler.Scheduler;
+import com.vmware.mangle.task.framework.events.TaskSubstageEvent;
 import com.vmware.mangle.task.framework.helpers.AbstractTaskHelper;
 import com.vmware.mangle.task.framework.skeletons.ITaskHelper;
 import com.vmware.mangle.task.framework.skeletons.TaskRunner;
-import com.vmware.mangle.utils.CommonUtils;
 import com.vmware.mangle.utils.constants.Constants;
 import com.vmware.mangle.utils.constants.KnownFailureConstants;
 import com.vmware.mangle.utils.constants.URLConstants;
@@ -66,7 +71,9 @@ import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
 import com.vmware.mangle.utils.messages.tasks.TaskExecutionMessages;
 
 /**
- * The {@link TaskRunner} that uses the Executor-Framework of J2SE to run tasks in parallel.
+ * The {@link TaskRunner} that uses the Executor-Framework of J2SE to run tasks in parallel. The
+ * number of concurrently running tasks is bounded by the {@link TaskExecutorProperties}, tasks
+ * exceeding the limits wait in a prioritized queue with the status {@link TaskStatus#QUEUED}.
  *
  * @param <T>
  *            The concrete {@link AbstractTaskHelper}-Type
@@ -79,11 +86,15 @@ import com.vmware.mangle.utils.messages.tasks.TaskExecutionMessages;
 public class TaskExecutor<T extends Task<? extends TaskSpec>> implements TaskRunner<T> {
 
     private final Map<String, T> runningTasks;
-    private final ExecutorService threadPool;
+    private final TaskExecutionDispatcher dispatcher;
+    private final ChildTaskFanOut childTaskFanOut;
+    private final ExecutorService childTaskCoordinator;
+    private final Map<String, CompletableFuture<Void>> childTasksReady = new ConcurrentHashMap<>();
     private final Lock runningTasksLock = new ReentrantLock();
     private final Condition taskDoneCondition = runningTasksLock.newCondition();
-    private final Condition taskStartCondition = runningTasksLock.newCondition();
 
+    @Autowired(required = false)
+    private TaskExecutorProperties taskExecutorProperties;
 
     @Autowired
     private TaskService taskService;
@@ -112,10 +123,26 @@ public class TaskExecutor<T extends Task<? extends TaskSpec>> implements TaskRun
      * Constructor.
      */
     public TaskExecutor() {
-        threadPool = Executors.newCachedThreadPool();
+        dispatcher = new TaskExecutionDispatcher(new TaskExecutorProperties());
+        childTaskFanOut = new ChildTaskFanOut(new TaskExecutorProperties());
+        childTaskCoordinator = Executors.newCachedThreadPool();
         runningTasks = new ConcurrentHashMap<>();
     }
 
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        Gauge.builder("mangle_queued_tasks", this, TaskExecutor::getNumberOfQueuedTasks)
+                .description("number of tasks waiting for the execution limits").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (taskExecutorProperties != null) {
+            dispatcher.configure(taskExecutorProperties);
+            childTaskFanOut.configure(taskExecutorProperties);
+        }
+    }
+
     public Task<? extends TaskSpec> submitTask(final T task) throws MangleException {
         Object taskData = task.getTaskData();
         if ((TaskType.INJECTION.equals(task.getTaskType())
@@ -176,51 +203,69 @@ public class TaskExecutor<T extends Task<? extends TaskSpec>> implements TaskRun
         if (!task.isInitialized()) {
             throw new MangleTaskException(ErrorCode.TASK_NOT_INTIALIAZED, task);
         }
-        runningTasksLock.lock();
+        ITaskHelper<TaskSpec> itask = pluginService.getExtension(task.getExtensionName());
+        itask.setEventPublisher(publisher);
+        final Runnable runnable = () -> runTask(itask, task);
+        if (!dispatcher.hasFreeSlot(task)) {
+            log.info("Execution limits reached, queueing the task {}", task.getId());
+            updateTaskInfo(task, TaskStatus.QUEUED, null, 0);
+        }
+        runningTasks.put(task.getId(), task);
         try {
-            ITaskHelper<TaskSpec> itask = pluginService.getExtension(task.getExtensionName());
-            itask.setEventPublisher(publisher);
-            final Runnable runnable = () -> runTask(itask, task);
-            runningTasks.put(task.getId(), task);
-            threadPool.execute(runnable);
-            taskStartCondition.await();
-            if (task instanceof FaultTriggeringTask && task.getTaskData() instanceof MultiTaskSpec) {
-                handleChildTasks((FaultTriggeringTask) task);
-            }
-        } finally {
-            runningTasksLock.unlock();
+            dispatcher.submit(task, runnable);
+        } catch (MangleException e) {
+            runningTasks.remove(task.getId(), task);
+            updateTaskInfo(task, TaskStatus.FAILED, customErrorMessage.getErrorMessage(e), 100);
+            throw e;
         }
     }
 
+    /**
+     * Submits the child tasks once the task helper has prepared them, which is signalled through
+     * the {@link TaskSubstageEvent} marking the task as ready for child execution, or at the latest
+     * when the execution of the task ends.
+     */
     private void handleChildTasks(FaultTriggeringTask task) {
-        final Runnable runnable = () -> {
-            log.info("Waiting for Child Tasks Initialization...");
-            //Wait for data of child Tasks gets prepared within 6 mins
-            //Condition 1: Not ready for Child Execution
-            //Condition 2: The Object Map should not be Empty
-            //Condition 3: The TaskStatus should not be IN_PROGRESS
-            LocalDateTime startTime = LocalDateTime.now();
-            while ((!((MultiTaskSpec) task.getTaskData()).isReadyForChildExecution()
-                    || CollectionUtils.isEmpty(task.getTaskObjmap())) && task.getTaskStatus() == TaskStatus.IN_PROGRESS
-                    && Duration.between(startTime, LocalDateTime.now()).getSeconds() <= 360) {
-                CommonUtils.delayInSecondsWithDebugLog(1);
-            }
-
+        log.info("Waiting for Child Tasks Initialization...");
+        CompletableFuture<Void> ready = new CompletableFuture<>();
+        childTasksReady.put(task.getId(), ready);
+        ready.thenRunAsync(() -> {
             triggerChildTasks(task);
             cleanUpTask(task);
-        };
-        threadPool.execute(runnable);
+        }, childTaskCoordinator);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @EventListener
+    public void handleTaskSubstageEvent(TaskSubstageEvent event) {
+        Task task = event.getTask();
+        if (task.getTaskData() instanceof MultiTaskSpec
+                && ((MultiTaskSpec) task.getTaskData()).isReadyForChildExecution()) {
+            signalChildTasksReady(task.getId());
+        }
+    }
+
+    private void signalChildTasksReady(String taskId) {
+        CompletableFuture<Void> ready = childTasksReady.remove(taskId);
+        if (null != ready) {
+            ready.complete(null);
+        }
     }
 
+    @SuppressWarnings("unchecked")
     private void triggerChildTasks(FaultTriggeringTask task) {
-        task.getTaskObjmap().values().forEach(childTask -> {
-            try {
-                log.info("Submitting Child Task {} for Execution...", ((FaultTask) childTask).getId());
-                faultInjectionHelper.saveTask((Task<? extends TaskSpec>) childTask);
-            } catch (MangleException e) {
-                log.error("", e);
-            }
-        });
+        if (CollectionUtils.isEmpty(task.getTaskObjmap())) {
+            return;
+        }
+        List<Task<? extends TaskSpec>> childTasks = new ArrayList<>(task.getTaskObjmap().values());
+        try {
+            int submittedTasks = childTaskFanOut.dispatch(childTasks, faultInjectionHelper::saveTask);
+            log.info("Submitted {} of {} Child Tasks of the task {}", submittedTasks, childTasks.size(),
+                    task.getId());
+        } catch (InterruptedException e) {
+            log.error("Interrupted while submitting the Child Tasks of the task " + task.getId(), e);
+            Thread.currentThread().interrupt();
+        }
     }
 
     private void cleanUpTask(FaultTriggeringTask task) {
@@ -235,17 +280,19 @@ public class TaskExecutor<T extends Task<? extends TaskSpec>> implements TaskRun
 
     private void runTask(final ITaskHelper itask, T task) {
         Thread.currentThread().setName(task.getTaskName());
-        try {
-            runningTasksLock.lock();
-            taskStartCondition.signal();
-        } finally {
-            runningTasksLock.unlock();
-        }
         try {
             TaskTrigger trigger = task.getTriggers().peek();
             trigger.setNode(node);
             updateTaskInfo(task, TaskStatus.IN_PROGRESS, trigger.getTaskFailureReason(), 0);
-            itask.run(task);
+            if (task instanceof FaultTriggeringTask && task.getTaskData() instanceof MultiTaskSpec) {
+                handleChildTasks((FaultTriggeringTask) task);
+            }
+            long start = System.nanoTime();
+            try {
+                itask.run(task);
+            } finally {
+                pluginService.recordExtensionInvocation(task.getExtensionName(), System.nanoTime() - start);
+            }
         } catch (final MangleException e) {
             String msg = new StringBuilder("ErrorCode : ").append(e.getErrorCode().getCode())
                     .append(", ErrorMessage : ").append(customErrorMessage.getErrorMessage(e)).toString();
@@ -257,6 +304,7 @@ public class TaskExecutor<T extends Task<? extends TaskSpec>> implements TaskRun
         } finally {
             task.updateTaskDescription(itask.getDescription(task));
             complete(task);
+            signalChildTasksReady(task.getId());
             if (task.getTaskStatus() == TaskStatus.COMPLETED || task.getTaskStatus() == TaskStatus.FAILED
                     || task.getTaskStatus() == TaskStatus.INJECTED) {
                 publisher.publishEvent(new TaskCompletedEvent(task));
@@ -267,13 +315,19 @@ public class TaskExecutor<T extends Task<? extends TaskSpec>> implements TaskRun
     @Override
     public void cancel(final T task) throws MangleTaskException {
         runningTasksLock.lock();
-        if ((this.runningTasks.get(task.getId()) == null) && task.getTaskStatus() != TaskStatus.COMPLETED) {
-            throw new MangleTaskException(ErrorCode.TASK_NOT_BELONGS_TO_RUNNER);
-        } else if (task.getTaskStatus() == TaskStatus.IN_PROGRESS) {
-            task.setTaskStatus(TaskStatus.CANCELING);
-            pluginService.getExtension(task.getExtensionName()).cancel();
+        try {
+            if ((this.runningTasks.get(task.getId()) == null) && task.getTaskStatus() != TaskStatus.COMPLETED) {
+                throw new MangleTaskException(ErrorCode.TASK_NOT_BELONGS_TO_RUNNER);
+            } else if (dispatcher.remove(task.getId())) {
+                runningTasks.remove(task.getId(), task);
+                updateTaskInfo(task, TaskStatus.FAILED, TaskExecutionMessages.TASK_CANCELLED_WHILE_QUEUED, 100);
+            } else if (task.getTaskStatus() == TaskStatus.IN_PROGRESS) {
+                task.setTaskStatus(TaskStatus.CANCELING);
+                pluginService.getExtension(task.getExtensionName()).cancel();
+            }
+        } finally {
+            runningTasksLock.unlock();
         }
-        runningTasksLock.unlock();
     }
 
     @Override
@@ -300,7 +354,7 @@ public class TaskExecutor<T extends Task<? extends TaskSpec>> implements TaskRun
     public boolean hasStarted(final T task) {
         runningTasksLock.lock();
         try {
-            return task.getTaskStatus() != TaskStatus.INITIALIZING;
+            return task.getTaskStatus() != TaskStatus.INITIALIZING && task.getTaskStatus() != TaskStatus.QUEUED;
         } finally {
             runningTasksLock.unlock();
         }
@@ -337,7 +391,7 @@ public class TaskExecutor<T extends Task<? extends TaskSpec>> implements TaskRun
 
     @Override
     public void join(final T task) throws InterruptedException, MangleTaskException {
-        if (task.getTaskStatus() == TaskStatus.INITIALIZING) {
+        if (task.getTaskStatus() == TaskStatus.INITIALIZING || task.getTaskStatus() == TaskStatus.QUEUED) {
             throw new MangleTaskException(ErrorCode.TASK_NOT_BEEN_STARTED, task);
         }
         while (task.getTaskStatus() != TaskStatus.COMPLETED) {
@@ -451,10 +505,16 @@ public class TaskExecutor<T extends Task<? extends TaskSpec>> implements TaskRun
         return runningTasks;
     }
 
+    public int getNumberOfQueuedTasks() {
+        return dispatcher.getQueuedTaskCount();
+    }
+
     @Override
     public void dispose() throws MangleTaskException, InterruptedException {
         join();
-        threadPool.shutdown();
+        dispatcher.shutdown();
+        childTaskCoordinator.shutdown();
+        childTaskFanOut.shutdown();
     }
 
     private boolean validateNodeStatus(T task) {
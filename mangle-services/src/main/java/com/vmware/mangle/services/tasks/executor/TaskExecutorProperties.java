@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.services.tasks.executor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.vmware.mangle.model.enums.EndpointType;
+
+/**
+ * Limits applied by the {@link TaskExecutor} while running tasks on the current node.
+ *
+ * @author mangle
+ */
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "mangle.task.executor")
+public class TaskExecutorProperties {
+    /**
+     * Number of tasks allowed to run concurrently on this node.
+     */
+    private int maxConcurrentTasks = 64;
+
+    /**
+     * Number of tasks allowed to wait for a free execution slot before submissions are rejected.
+     */
+    private int queueCapacity = 2000;
+
+    /**
+     * Number of tasks allowed to run concurrently against a single endpoint type. Endpoint types
+     * without an entry are only bound by {@link #maxConcurrentTasks}.
+     */
+    private Map<EndpointType, Integer> endpointTypeLimits = new EnumMap<>(EndpointType.class);
+
+    /**
+     * Number of child tasks of a K8S or endpoint group fault persisted and submitted concurrently.
+     */
+    private int childTaskParallelism = 16;
+
+    /**
+     * Number of child tasks persisted and submitted one after the other by a single worker.
+     */
+    private int childTaskBatchSize = 25;
+
+    /**
+     * Percentage of the child tasks submitted in each rollout wave, 100 submits all of them at once.
+     */
+    private int childTaskRolloutPercentage = 100;
+
+    /**
+     * Delay in milliseconds between two rollout waves.
+     */
+    private long childTaskRolloutInterval = 0;
+}
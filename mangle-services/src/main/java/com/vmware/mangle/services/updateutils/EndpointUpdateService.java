@@ -32,6 +32,8 @@ import com.vmware.mangle.services.SchedulerService;
 import com.vmware.mangle.services.TaskService;
 import com.vmware.mangle.services.events.schedule.ScheduleUpdatedEvent;
 import com.vmware.mangle.services.events.web.CustomEventPublisher;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache.Region;
 import com.vmware.mangle.services.repository.EndpointRepository;
 import com.vmware.mangle.services.scheduler.Scheduler;
 import com.vmware.mangle.utils.constants.ErrorConstants;
@@ -50,6 +52,7 @@ public class EndpointUpdateService {
     private SchedulerService schedulerService;
     private TaskService taskService;
     private CustomEventPublisher eventPublisher;
+    private HazelcastSpecCache specCache;
 
     @Autowired
     public EndpointUpdateService(EndpointRepository endpointRepository, SchedulerService schedulerService,
@@ -60,6 +63,11 @@ public class EndpointUpdateService {
         this.eventPublisher = eventPublisher;
     }
 
+    @Autowired
+    public void setSpecCache(HazelcastSpecCache specCache) {
+        this.specCache = specCache;
+    }
+
     public EndpointSpec updateEndpointByEndpointName(String name, EndpointSpec endpointSpec) throws MangleException {
         log.info("Updating Endpoint by Endpoint name : " + name);
         if (name != null && endpointSpec != null) {
@@ -74,6 +82,9 @@ public class EndpointUpdateService {
                         dbEndpointSpec.getEndPointType());
             }
             EndpointSpec updatedEndpointSpec = endpointRepository.save(endpointSpec);
+            if (specCache != null) {
+                specCache.invalidate(Region.ENDPOINT, name, endpointSpec.getName());
+            }
             handleScheduledJobsOnEndpoint(name);
             return updatedEndpointSpec;
         } else {
@@ -30,10 +30,15 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import com.vmware.mangle.cassandra.model.faults.specs.CommandExecutionFaultSpec;
+import com.vmware.mangle.cassandra.model.faults.specs.CpuFaultSpec;
+import com.vmware.mangle.cassandra.model.faults.specs.K8SFaultTriggerSpec;
 import com.vmware.mangle.cassandra.model.faults.specs.TaskSpec;
+import com.vmware.mangle.cassandra.model.faults.specs.VMNicFaultSpec;
 import com.vmware.mangle.cassandra.model.tasks.FaultTask;
 import com.vmware.mangle.cassandra.model.tasks.Task;
 import com.vmware.mangle.services.cassandra.converters.TaskReadingConverter;
+import com.vmware.mangle.services.cassandra.converters.TaskSpecReadingConverter;
+import com.vmware.mangle.services.cassandra.converters.TaskSpecWritingConverter;
 import com.vmware.mangle.services.mockdata.FaultsMockData;
 import com.vmware.mangle.services.mockdata.TasksMockData;
 
@@ -89,4 +94,29 @@ public class TaskSpecReadingConverterTest {
 
     }
 
+    @Test
+    public void testConvertTaskSpec() {
+        VMNicFaultSpec faultSpec = faultsMockData.getVMNicFaultSpec();
+        String source = new TaskSpecWritingConverter().convert(faultSpec);
+
+        TaskSpec taskSpec = new TaskSpecReadingConverter().convert(source);
+
+        Assert.assertEquals(taskSpec, faultSpec);
+    }
+
+    @Test
+    public void testConvertTriggerSpecWithChildSpec() {
+        K8SFaultTriggerSpec triggerSpec = faultsMockData.getK8SCPUFaultTriggerSpec();
+        triggerSpec.setChildSpecType(CpuFaultSpec.class.getName());
+        String source = new TaskSpecWritingConverter().convert(triggerSpec);
+        TaskSpecReadingConverter taskSpecReadingConverter = new TaskSpecReadingConverter();
+
+        TaskSpec taskSpec = taskSpecReadingConverter.convert(source);
+
+        Assert.assertTrue(taskSpec instanceof K8SFaultTriggerSpec);
+        Assert.assertTrue(((K8SFaultTriggerSpec) taskSpec).getFaultSpec() instanceof CpuFaultSpec);
+        Assert.assertEquals(taskSpec, triggerSpec);
+        Assert.assertEquals(taskSpecReadingConverter.convert(source), taskSpec);
+    }
+
 }
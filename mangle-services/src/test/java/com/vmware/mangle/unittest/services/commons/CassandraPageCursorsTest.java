@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.unittest.services.commons;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.datastax.driver.core.PagingState;
+import com.datastax.driver.core.exceptions.PagingStateException;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.vmware.mangle.services.commons.CassandraPageCursors;
+import com.vmware.mangle.utils.exceptions.MangleException;
+import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
+
+/**
+ * Unit Test Case for CassandraPageCursors.
+ *
+ * @author mangle
+ */
+public class CassandraPageCursorsTest {
+    private List<Pageable> requests;
+    private byte[] pagingStateBytes;
+
+    @BeforeMethod
+    public void setUp() {
+        requests = new ArrayList<>();
+        byte[] state = { 1, 2, 3, 4, 5 };
+        byte[] hash = new byte[16];
+        pagingStateBytes = ByteBuffer.allocate(state.length + hash.length + 6).putShort((short) state.length)
+                .putShort((short) hash.length).put(state).put(hash).putShort((short) 4).array();
+    }
+
+    @Test
+    public void testGetFirstPage() throws MangleException {
+        CassandraPageCursors.getPage(null, 10, this::find);
+        CassandraPageCursors.getPage("", 10, this::find);
+
+        Assert.assertEquals(requests.size(), 2);
+        for (Pageable request : requests) {
+            Assert.assertEquals(request.getPageSize(), 10);
+            Assert.assertNull(((CassandraPageRequest) request).getPagingState());
+        }
+    }
+
+    @Test
+    public void testGetPageAfterNextCursor() throws MangleException {
+        Slice<String> firstPage = new SliceImpl<>(Arrays.asList("a", "b"),
+                CassandraPageRequest.of(PageRequest.of(0, 2), PagingState.fromBytes(pagingStateBytes)), true);
+        String cursor = CassandraPageCursors.getNextCursor(firstPage);
+
+        Assert.assertNotNull(cursor);
+        CassandraPageCursors.getPage(cursor, 2, this::find);
+        Assert.assertEquals(requests.size(), 1);
+        Assert.assertEquals(requests.get(0).getPageSize(), 2);
+        Assert.assertEquals(((CassandraPageRequest) requests.get(0)).getPagingState().toBytes(), pagingStateBytes);
+    }
+
+    @Test
+    public void testGetNextCursorOfLastPage() {
+        Slice<String> lastPage = new SliceImpl<>(Arrays.asList("a"), CassandraPageRequest.of(0, 2), false);
+
+        Assert.assertNull(CassandraPageCursors.getNextCursor(lastPage));
+    }
+
+    @Test
+    public void testGetPageWithInvalidCursor() {
+        for (String cursor : Arrays.asList("not a cursor", "AAAA", "AAEAAQ")) {
+            try {
+                CassandraPageCursors.getPage(cursor, 2, this::find);
+                Assert.fail("Expected MangleException for the invalid cursor " + cursor);
+            } catch (MangleException e) {
+                Assert.assertEquals(e.getErrorCode(), ErrorCode.INVALID_PAGE_CURSOR);
+            }
+        }
+        Assert.assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    public void testGetPageWithCursorOfAnotherQuery() {
+        String cursor = CassandraPageCursors.getNextCursor(new SliceImpl<>(Arrays.asList("a"),
+                CassandraPageRequest.of(PageRequest.of(0, 1), PagingState.fromBytes(pagingStateBytes)), true));
+        try {
+            CassandraPageCursors.getPage(cursor, 1, pageable -> {
+                throw new PagingStateException("Paging state mismatch");
+            });
+            Assert.fail("Expected MangleException for the cursor of another query");
+        } catch (MangleException e) {
+            Assert.assertEquals(e.getErrorCode(), ErrorCode.INVALID_PAGE_CURSOR);
+        }
+    }
+
+    private Slice<String> find(Pageable pageable) {
+        requests.add(pageable);
+        return new SliceImpl<>(Arrays.asList("a", "b"), pageable, false);
+    }
+}
@@ -20,6 +20,7 @@ import static org.mockito.Mockito.when;
 import java.net.UnknownHostException;
 import java.text.SimpleDateFormat;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -29,6 +30,7 @@ import com.hazelcast.core.Cluster;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.Member;
 import com.hazelcast.nio.Address;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
@@ -359,6 +361,34 @@ public class MangleBootInitializerTest {
         verify(taskService, times(1)).addOrUpdateTask(task);
     }
 
+    @Test
+    public void testInitializeApplicationTasksRequeuesQueuedTask() throws UnknownHostException, MangleException {
+        Member clusterMember = mock(Member.class);
+        Cluster cluster = mock(Cluster.class);
+        Set<Member> members = new HashSet<>(Collections.singletonList(clusterMember));
+        Address address = new Address("127.0.0.1", 90000);
+        Task<TaskSpec> task = mockData.getMockTask();
+        task.setTaskStatus(TaskStatus.QUEUED);
+        SimpleDateFormat sdf = new SimpleDateFormat(Constants.DEFAULT_DATE_FORMAT);
+        task.getTriggers().peek().setStartTime(sdf.format(System.currentTimeMillis()));
+
+        when(hazelcastInstance.getCluster()).thenReturn(cluster);
+        when(cluster.getMembers()).thenReturn(members);
+        when(cluster.getLocalMember()).thenReturn(clusterMember);
+        when(clusterMember.getAddress()).thenReturn(address);
+        when(taskService.getInProgressTasks()).thenReturn(Collections.singletonList(task));
+        when(taskService.getTaskById(task.getId())).thenReturn(task);
+
+        bootInitializer.initializeApplicationTasks();
+        ArgumentCaptor<Runnable> retrigger = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(1)).schedule(retrigger.capture(), any(Date.class));
+        retrigger.getValue().run();
+
+        Assert.assertEquals(task.getTaskStatus(), TaskStatus.QUEUED);
+        verify(taskService, times(0)).addOrUpdateTask(task);
+        verify(taskCache, times(1)).addTaskToCache(task.getId(), TaskStatus.QUEUED.name());
+    }
+
     @Test
     public void testInitializeApplicationTasksParseException() throws UnknownHostException, MangleException {
         Member clusterMember = mock(Member.class);
@@ -34,12 +34,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import com.datastax.driver.core.PagingState;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.mockito.internal.stubbing.answers.ReturnsArgumentAt;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
 import org.springframework.data.domain.Slice;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.Resource;
@@ -80,6 +82,7 @@ import com.vmware.mangle.services.mockdata.CertificatesSpecMockData;
 import com.vmware.mangle.services.mockdata.CredentialsSpecMockData;
 import com.vmware.mangle.services.mockdata.EndpointMockData;
 import com.vmware.mangle.services.updateutils.EndpointUpdateService;
+import com.vmware.mangle.utils.constants.Constants;
 import com.vmware.mangle.utils.exceptions.MangleException;
 import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
 
@@ -533,7 +536,7 @@ public class EndpointControllerTest {
 
     @SuppressWarnings("unchecked")
     @Test
-    public void testGetCredentialsBasedOnPage() {
+    public void testGetCredentialsBasedOnPage() throws MangleException {
         CredentialsSpec spec = credentialsSpecMockData.getAWSCredentialsData();
         List<CredentialsSpec> list = new ArrayList<>();
         list.add(spec);
@@ -542,7 +545,7 @@ public class EndpointControllerTest {
         when(credentialService.getTotalPages(any(Slice.class))).thenReturn(4);
         when(page.getSize()).thenReturn(5);
         when(page.getContent()).thenReturn(list);
-        ResponseEntity<List<CredentialsSpec>> responseEntity = controller.getCredentialsBasedOnPage(1, 10);
+        ResponseEntity<List<CredentialsSpec>> responseEntity = controller.getCredentialsBasedOnPage(1, 10, null);
         Assert.assertEquals(responseEntity.getStatusCode(), HttpStatus.OK);
         verify(credentialService, times(1)).getCredentialsBasedOnPage(anyInt(), anyInt());
         verify(page, times(1)).getContent();
@@ -550,7 +553,21 @@ public class EndpointControllerTest {
 
     @SuppressWarnings("unchecked")
     @Test
-    public void testGetEndpointsBasedOnPage() {
+    public void testGetCredentialsAfterCursor() throws MangleException {
+        Slice<CredentialsSpec> page = Mockito.mock(Slice.class);
+        when(credentialService.getCredentialsAfterCursor("cursor", 10)).thenReturn(page);
+        when(page.getContent()).thenReturn(Collections.singletonList(credentialsSpecMockData.getAWSCredentialsData()));
+        ResponseEntity<List<CredentialsSpec>> responseEntity = controller.getCredentialsBasedOnPage(1, 10, "cursor");
+        Assert.assertEquals(responseEntity.getStatusCode(), HttpStatus.OK);
+        Assert.assertFalse(responseEntity.getHeaders().containsKey(Constants.NEXT_CURSOR));
+        verify(credentialService, times(1)).getCredentialsAfterCursor("cursor", 10);
+        verify(credentialService, times(0)).getCredentialsBasedOnPage(anyInt(), anyInt());
+        verify(credentialService, times(0)).getTotalPages(any(Slice.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetEndpointsBasedOnPage() throws MangleException {
         EndpointSpec spec = mockData.getVCenterEndpointSpecMock();
         List<EndpointSpec> list = new ArrayList<>();
         list.add(spec);
@@ -559,12 +576,32 @@ public class EndpointControllerTest {
         when(endpointService.getTotalPages(any(Slice.class))).thenReturn(4);
         when(page.getSize()).thenReturn(5);
         when(page.getContent()).thenReturn(list);
-        ResponseEntity<List<EndpointSpec>> responseEntity = controller.getEndpointsBasedOnPage(1, 10);
+        ResponseEntity<List<EndpointSpec>> responseEntity = controller.getEndpointsBasedOnPage(1, 10, null);
         Assert.assertEquals(responseEntity.getStatusCode(), HttpStatus.OK);
         verify(endpointService, times(1)).getEndpointBasedOnPage(anyInt(), anyInt());
         verify(page, times(1)).getContent();
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetEndpointsAfterCursor() throws MangleException {
+        Slice<EndpointSpec> page = Mockito.mock(Slice.class);
+        CassandraPageRequest pageRequest = Mockito.mock(CassandraPageRequest.class);
+        PagingState pagingState = Mockito.mock(PagingState.class);
+        when(endpointService.getEndpointsAfterCursor("", 10)).thenReturn(page);
+        when(page.getContent()).thenReturn(Collections.singletonList(mockData.getVCenterEndpointSpecMock()));
+        when(page.hasNext()).thenReturn(true);
+        when(page.getPageable()).thenReturn(pageRequest);
+        when(pageRequest.getPagingState()).thenReturn(pagingState);
+        when(pagingState.toBytes()).thenReturn(new byte[] { 1, 2, 3 });
+        ResponseEntity<List<EndpointSpec>> responseEntity = controller.getEndpointsBasedOnPage(1, 10, "");
+        Assert.assertEquals(responseEntity.getStatusCode(), HttpStatus.OK);
+        Assert.assertEquals(responseEntity.getHeaders().getFirst(Constants.NEXT_CURSOR), "AQID");
+        Assert.assertFalse(responseEntity.getHeaders().containsKey("totalPage"));
+        verify(endpointService, times(1)).getEndpointsAfterCursor("", 10);
+        verify(endpointService, times(0)).getTotalPages(any(Slice.class));
+    }
+
     @Test
     public void testEndPointTestConnectionMethod() throws MangleException {
         EndpointSpec spec = mockData.getVCenterEndpointSpecMock();
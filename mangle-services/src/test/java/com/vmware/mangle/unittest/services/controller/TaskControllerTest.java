@@ -122,11 +122,11 @@ public class TaskControllerTest {
         Map<String, Object> pageMock = new HashMap<>();
         pageMock.put(Constants.TASK_SIZE, 2);
         pageMock.put(Constants.TASK_LIST, tasksMockData.getDummy1Tasks());
-        when(taskHelper.getTaskBasedOnIndex(any(), any(), any(TaskFilter.class))).thenReturn(pageMock);
+        when(taskHelper.getTaskBasedOnIndex(any(TaskFilter.class))).thenReturn(pageMock);
         ResponseEntity<Resource<Map<String, Object>>> responseEntity =
                 taskController.getTaskBasedOnIndex(new TaskFilter());
         Assert.assertNotNull(responseEntity.getBody());
-        verify(taskHelper, times(1)).getTaskBasedOnIndex(any(), any(), any(TaskFilter.class));
+        verify(taskHelper, times(1)).getTaskBasedOnIndex(any(TaskFilter.class));
         assertEquals(responseEntity.getStatusCode(), HttpStatus.OK);
     }
 
@@ -139,6 +139,7 @@ public class TaskControllerTest {
     public void testGetTaskById() throws MangleException {
         Task<TaskSpec> task = tasksMockData.getDummy1Task();
         when(taskService.getTaskById(anyString())).thenReturn(task);
+        when(taskService.loadTriggerHistory(task)).thenReturn(task);
         when(taskHelper.getTaskType(anyString())).thenReturn(TaskType.INJECTION);
 
         ResponseEntity<Resource<Object>> response = taskController.getTask(task.getId());
@@ -146,6 +147,7 @@ public class TaskControllerTest {
 
         Assert.assertNotNull(taskResource);
         verify(taskService, times(1)).getTaskById(anyString());
+        verify(taskService, times(1)).loadTriggerHistory(task);
         assertEquals(response.getStatusCode(), HttpStatus.OK);
         assertEquals(taskResource.getContent(), task);
     }
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.unittest.services.hazelcast;
+
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.vmware.mangle.cassandra.model.endpoint.CredentialsSpec;
+import com.vmware.mangle.cassandra.model.endpoint.EndpointSpec;
+import com.vmware.mangle.cassandra.model.endpoint.RemoteMachineCredentials;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache.Region;
+import com.vmware.mangle.services.hazelcast.HazelcastSyncTopicManager;
+
+/**
+ * Unit Test Case for HazelcastSpecCache.
+ *
+ * @author mangle
+ */
+public class HazelcastSpecCacheTest {
+    private HazelcastSpecCache specCache;
+    private HazelcastSyncTopicManager topicManager;
+    private AtomicInteger loads;
+    private List<EndpointSpec> endpoints;
+    private long currentTime;
+
+    @BeforeMethod
+    public void setUp() {
+        currentTime = 0;
+        specCache = new HazelcastSpecCache(60000, () -> currentTime);
+        topicManager = mock(HazelcastSyncTopicManager.class);
+        specCache.setTopicManager(topicManager);
+        loads = new AtomicInteger();
+        endpoints = Arrays.asList(getEndpoint("machine-1", "env", "prod", "os", "ubuntu"),
+                getEndpoint("machine-2", "env", "prod", "os", "photon"), getEndpoint("machine-3", "env", "test"),
+                getEndpoint("docker-1"));
+    }
+
+    @Test
+    public void testGetReturnsCopiesOfCachedSpec() {
+        EndpointSpec first = specCache.get(Region.ENDPOINT, "machine-1", () -> loadEndpoint("machine-1"));
+        first.setCredentialsName("modified");
+        EndpointSpec second = specCache.get(Region.ENDPOINT, "machine-1", () -> loadEndpoint("machine-1"));
+
+        Assert.assertEquals(loads.get(), 1);
+        Assert.assertEquals(second.getName(), "machine-1");
+        Assert.assertNull(second.getCredentialsName(), "The cached spec should not be modified by the callers");
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(specCache.getHits(), 1);
+        Assert.assertEquals(specCache.getMisses(), 1);
+    }
+
+    @Test
+    public void testGetDoesNotCacheMissingSpec() {
+        Assert.assertNull(specCache.get(Region.CREDENTIALS, "missing", () -> {
+            loads.incrementAndGet();
+            return (CredentialsSpec) null;
+        }));
+        specCache.get(Region.CREDENTIALS, "missing", () -> {
+            loads.incrementAndGet();
+            return (CredentialsSpec) null;
+        });
+
+        Assert.assertEquals(loads.get(), 2);
+        Assert.assertEquals(specCache.size(), 0);
+    }
+
+    @Test
+    public void testRegionsAreSeparated() {
+        specCache.get(Region.ENDPOINT, "same-name", () -> loadEndpoint("same-name"));
+        CredentialsSpec credentials = specCache.get(Region.CREDENTIALS, "same-name", () -> {
+            loads.incrementAndGet();
+            RemoteMachineCredentials remoteMachineCredentials = new RemoteMachineCredentials();
+            remoteMachineCredentials.setName("same-name");
+            return remoteMachineCredentials;
+        });
+
+        Assert.assertTrue(credentials instanceof RemoteMachineCredentials);
+        Assert.assertEquals(loads.get(), 2);
+        Assert.assertEquals(specCache.size(), 2);
+    }
+
+    @Test
+    public void testGetAfterExpiry() {
+        specCache.get(Region.ENDPOINT, "machine-1", () -> loadEndpoint("machine-1"));
+        specCache.getEndpointsWithTags(Collections.singletonMap("env", "prod"), this::loadEndpoints);
+        currentTime = 59999;
+        specCache.get(Region.ENDPOINT, "machine-1", () -> loadEndpoint("machine-1"));
+        specCache.getEndpointsWithTags(Collections.singletonMap("env", "prod"), this::loadEndpoints);
+        Assert.assertEquals(specCache.getMisses(), 2);
+
+        currentTime = 60000;
+        specCache.get(Region.ENDPOINT, "machine-1", () -> loadEndpoint("machine-1"));
+        specCache.getEndpointsWithTags(Collections.singletonMap("env", "prod"), this::loadEndpoints);
+        Assert.assertEquals(specCache.getMisses(), 4);
+        Assert.assertEquals(loads.get(), 4);
+    }
+
+    @Test
+    public void testInvalidateEvictsAndSyncsOtherNodes() {
+        specCache.get(Region.ENDPOINT, "machine-1", () -> loadEndpoint("machine-1"));
+        specCache.invalidate(Region.ENDPOINT, "machine-1");
+        specCache.get(Region.ENDPOINT, "machine-1", () -> loadEndpoint("machine-1"));
+
+        Assert.assertEquals(loads.get(), 2);
+        verify(topicManager, times(1)).triggerSyncEvent(HazelcastSpecCache.class, "ENDPOINT:machine-1");
+    }
+
+    @Test
+    public void testInvalidateWhenSyncFails() {
+        doThrow(new NullPointerException()).when(topicManager).triggerSyncEvent(eq(HazelcastSpecCache.class),
+                (String[]) anyVararg());
+        specCache.get(Region.CERTIFICATES, "certificates", () -> loadEndpoint("certificates"));
+
+        specCache.invalidate(Region.CERTIFICATES, "certificates");
+
+        Assert.assertEquals(specCache.size(), 0);
+    }
+
+    @Test
+    public void testResyncEvictsWithoutSyncingOtherNodes() {
+        specCache.get(Region.VCENTER_ADAPTER_DETAILS, "adapter:1", () -> loadEndpoint("adapter:1"));
+        specCache.resync("VCENTER_ADAPTER_DETAILS:adapter:1");
+        specCache.resync("UNKNOWN:adapter:1");
+
+        Assert.assertEquals(specCache.size(), 0);
+        verifyZeroInteractions(topicManager);
+    }
+
+    @Test
+    public void testGetEndpointsWithTags() {
+        Map<String, String> tags = new HashMap<>();
+        tags.put("env", "prod");
+
+        Assert.assertEquals(getNames(specCache.getEndpointsWithTags(tags, this::loadEndpoints)),
+                Arrays.asList("machine-1", "machine-2"));
+        tags.put("os", "photon");
+        Assert.assertEquals(getNames(specCache.getEndpointsWithTags(tags, this::loadEndpoints)),
+                Collections.singletonList("machine-2"));
+        tags.put("os", "windows");
+        Assert.assertTrue(specCache.getEndpointsWithTags(tags, this::loadEndpoints).isEmpty());
+        Assert.assertEquals(specCache.getEndpointsWithTags(Collections.emptyMap(), this::loadEndpoints).size(), 4);
+
+        Assert.assertEquals(loads.get(), 1);
+    }
+
+    @Test
+    public void testGetEndpointsWithTagsAfterEndpointUpdate() {
+        Map<String, String> tags = Collections.singletonMap("env", "test");
+        specCache.getEndpointsWithTags(tags, this::loadEndpoints);
+        specCache.invalidate(Region.CREDENTIALS, "credentials");
+        specCache.getEndpointsWithTags(tags, this::loadEndpoints);
+        Assert.assertEquals(loads.get(), 1);
+
+        specCache.resync("ENDPOINT:machine-3");
+        specCache.getEndpointsWithTags(tags, this::loadEndpoints);
+        Assert.assertEquals(loads.get(), 2);
+    }
+
+    private EndpointSpec loadEndpoint(String name) {
+        loads.incrementAndGet();
+        return getEndpoint(name);
+    }
+
+    private List<EndpointSpec> loadEndpoints() {
+        loads.incrementAndGet();
+        return endpoints;
+    }
+
+    private static EndpointSpec getEndpoint(String name, String... tags) {
+        EndpointSpec endpointSpec = new EndpointSpec();
+        endpointSpec.setName(name);
+        if (tags.length > 0) {
+            Map<String, String> tagMap = new HashMap<>();
+            for (int i = 0; i < tags.length; i += 2) {
+                tagMap.put(tags[i], tags[i + 1]);
+            }
+            endpointSpec.setTags(tagMap);
+        }
+        return endpointSpec;
+    }
+
+    private static List<String> getNames(List<EndpointSpec> endpointSpecs) {
+        List<String> names = new ArrayList<>();
+        endpointSpecs.forEach(endpointSpec -> names.add(endpointSpec.getName()));
+        Collections.sort(names);
+        return names;
+    }
+}
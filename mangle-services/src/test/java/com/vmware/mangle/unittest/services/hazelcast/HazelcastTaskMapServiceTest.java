@@ -65,12 +65,31 @@ public class HazelcastTaskMapServiceTest {
         hz = Mockito.mock(HazelcastInstance.class);
         when(hz.getMap(any())).thenReturn(map);
         when(map.addLocalEntryListener(listener)).thenReturn(key);
-        when(map.putIfAbsent(anyString(), anyString())).thenReturn(new ReturnsArgumentAt(1));
+        when(map.putIfAbsent(anyString(), anyString())).thenReturn(null);
 
         mapService.setHazelcastInstance(hz);
         String result = mapService.addTaskToCache(key, value);
         Assert.assertEquals(result, key);
-        verify(map, times(1)).put(anyString(), anyString());
+        verify(map, times(1)).putIfAbsent(key, value);
+        verify(map, times(0)).replace(anyString(), anyString());
+    }
+
+    @Test
+    public void testAddToMapWithNewValue() {
+        String key = UUID.randomUUID().toString();
+        String value = UUID.randomUUID().toString();
+
+        hz = Mockito.mock(HazelcastInstance.class);
+        when(hz.getMap(any())).thenReturn(map);
+        when(map.addLocalEntryListener(listener)).thenReturn(key);
+        when(map.putIfAbsent(anyString(), anyString())).thenReturn("previousValue");
+        when(map.replace(anyString(), anyString())).thenReturn("previousValue");
+
+        mapService.setHazelcastInstance(hz);
+        String result = mapService.addTaskToCache(key, value);
+        Assert.assertEquals(result, key);
+        verify(map, times(0)).put(anyString(), anyString());
+        verify(map, times(1)).replace(key, value);
     }
 
     @Test
@@ -81,11 +100,12 @@ public class HazelcastTaskMapServiceTest {
         hz = Mockito.mock(HazelcastInstance.class);
         when(hz.getMap(any())).thenReturn(map);
         when(map.addLocalEntryListener(listener)).thenReturn(key);
-        when(map.replace(anyString(), anyString())).thenReturn(new ReturnsArgumentAt(1));
+        when(map.replace(anyString(), anyString())).thenReturn(null);
 
         mapService.setHazelcastInstance(hz);
         mapService.updateTaskCache(key, value);
-        verify(map, times(0)).replace(anyString(), anyString());
+        verify(map, times(1)).replace(anyString(), anyString());
+        verify(map, times(0)).put(anyString(), anyString());
     }
 
     @Test
@@ -13,6 +13,7 @@ package com.vmware.mangle.unittest.services.hazelcast;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -153,8 +154,6 @@ public class HazelcastTaskServiceTest {
         Member member = mock(Member.class);
         Address address = new Address("127.0.0.1", 90000);
         String memberId = UUID.randomUUID().toString();
-        String key = UUID.randomUUID().toString();
-        Set<Object> currentNodeTasks = new HashSet<Object>(Arrays.asList(key));
         IMap<Object, Object> map = mock(IMap.class);
 
         when(taskService.getTaskById(taskId)).thenReturn(mockData.getMockTask());
@@ -167,8 +166,7 @@ public class HazelcastTaskServiceTest {
         when(cluster.getLocalMember()).thenReturn(member);
         when(member.getAddress()).thenReturn(address);
         when(instance.getMap(any())).thenReturn(map);
-        when(map.containsKey(memberId)).thenReturn(true);
-        when(map.get(memberId)).thenReturn(currentNodeTasks);
+        when(map.executeOnKey(eq(memberId), any())).thenReturn(true);
         when(member.getUuid()).thenReturn(memberId);
 
         hazelcastTaskService.triggerTask(task);
@@ -181,10 +179,9 @@ public class HazelcastTaskServiceTest {
         verify(member, times(1)).getAddress();
         verify(instance, times(1)).getMap(any());
 
-        verify(map, times(1)).containsKey(memberId);
-        verify(map, times(1)).get(memberId);
+        verify(map, times(1)).executeOnKey(eq(memberId), any());
         verify(member, times(1)).getUuid();
-        verify(map, times(1)).put(any(), any());
+        verify(map, times(0)).put(any(), any());
     }
 
     @Test
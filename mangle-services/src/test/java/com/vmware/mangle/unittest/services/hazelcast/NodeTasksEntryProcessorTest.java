@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.unittest.services.hazelcast;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.vmware.mangle.services.hazelcast.NodeTasksEntryProcessor;
+
+/**
+ * Unit Test cases for {@link NodeTasksEntryProcessor}.
+ *
+ * @author chetanc
+ */
+public class NodeTasksEntryProcessorTest {
+
+    @Test
+    public void testAddTaskToAbsentNode() {
+        String taskId = UUID.randomUUID().toString();
+        Map.Entry<String, Set<String>> entry = new AbstractMap.SimpleEntry<>(UUID.randomUUID().toString(), null);
+
+        Object result = NodeTasksEntryProcessor.addTask(taskId).process(entry);
+
+        Assert.assertEquals(result, true);
+        Assert.assertEquals(entry.getValue(), new HashSet<>(Arrays.asList(taskId)));
+    }
+
+    @Test
+    public void testAddTaskToExistingNode() {
+        String taskId = UUID.randomUUID().toString();
+        Map.Entry<String, Set<String>> entry = new AbstractMap.SimpleEntry<>(UUID.randomUUID().toString(),
+                new HashSet<>(Arrays.asList("existingTask")));
+
+        Assert.assertEquals(NodeTasksEntryProcessor.addTask(taskId).process(entry), true);
+        Assert.assertEquals(NodeTasksEntryProcessor.addTask(taskId).process(entry), false);
+        Assert.assertEquals(entry.getValue(), new HashSet<>(Arrays.asList("existingTask", taskId)));
+    }
+
+    @Test
+    public void testRemoveTask() {
+        String taskId = UUID.randomUUID().toString();
+        Map.Entry<String, Set<String>> entry = new AbstractMap.SimpleEntry<>(UUID.randomUUID().toString(),
+                new HashSet<>(Arrays.asList("existingTask", taskId)));
+
+        Object result = NodeTasksEntryProcessor.removeTask(taskId).process(entry);
+
+        Assert.assertEquals(result, true);
+        Assert.assertEquals(entry.getValue(), new HashSet<>(Arrays.asList("existingTask")));
+    }
+
+    @Test
+    public void testRemoveLastTask() {
+        String taskId = UUID.randomUUID().toString();
+        Map.Entry<String, Set<String>> entry =
+                new AbstractMap.SimpleEntry<>(UUID.randomUUID().toString(), new HashSet<>(Arrays.asList(taskId)));
+
+        Assert.assertEquals(NodeTasksEntryProcessor.removeTask(taskId).process(entry), true);
+        Assert.assertNull(entry.getValue());
+        Assert.assertEquals(NodeTasksEntryProcessor.removeTask(taskId).process(entry), false);
+    }
+}
@@ -20,7 +20,6 @@ import static org.mockito.Mockito.when;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -34,7 +33,6 @@ import com.vmware.mangle.cassandra.model.faults.specs.CommandExecutionFaultSpec;
 import com.vmware.mangle.cassandra.model.faults.specs.TaskSpec;
 import com.vmware.mangle.cassandra.model.resiliencyscore.ResiliencyScoreTask;
 import com.vmware.mangle.cassandra.model.tasks.Task;
-import com.vmware.mangle.cassandra.model.tasks.TaskFilter;
 import com.vmware.mangle.cassandra.model.tasks.TaskType;
 import com.vmware.mangle.model.response.DeleteOperationResponse;
 import com.vmware.mangle.services.TaskService;
@@ -42,10 +40,8 @@ import com.vmware.mangle.services.deletionutils.TaskDeletionService;
 import com.vmware.mangle.services.helpers.TaskHelper;
 import com.vmware.mangle.services.mockdata.FaultsMockData;
 import com.vmware.mangle.services.mockdata.ResiliencyScoreMockData;
-import com.vmware.mangle.services.mockdata.TaskFilterMockData;
 import com.vmware.mangle.services.mockdata.TasksMockData;
 import com.vmware.mangle.services.resiliencyscore.ResiliencyScoreService;
-import com.vmware.mangle.utils.constants.Constants;
 import com.vmware.mangle.utils.constants.ErrorConstants;
 import com.vmware.mangle.utils.exceptions.MangleException;
 import com.vmware.mangle.utils.exceptions.MangleRuntimeException;
@@ -105,162 +101,6 @@ public class TaskHelperTest {
         Assert.assertEquals(taskType, TaskType.INJECTION);
     }
 
-
-    @Test(description = "Validate Filter task based on Index when NO fault tasks are in the DB")
-    public void validateTaskFilterDataWhenNoFaultTasksInDB() {
-        List<ResiliencyScoreTask> resiliencyScoreTasks = new ArrayList<>();
-        resiliencyScoreTasks.add(ResiliencyScoreMockData.getResiliencyScoreTask1());
-        List<Task<TaskSpec>> faultTasks = new ArrayList<>();
-        TaskFilter taskFilter = TaskFilterMockData.getTaskFilter();
-
-        Map<String, Object> pageObject = taskHelper.getTaskBasedOnIndex(faultTasks, resiliencyScoreTasks, taskFilter);
-
-        Assert.assertEquals(pageObject.get(Constants.TASK_SIZE), resiliencyScoreTasks.size());
-        Assert.assertNotNull(pageObject.get(Constants.TASK_LIST));
-    }
-
-    @Test(description = "Validate Filter task based on Index when NO ResiliencyScore tasks are in the DB")
-    public void validateTaskFilterDataWhenNoResiliencyScoreTasksInDB() {
-        List<ResiliencyScoreTask> resiliencyScoreTasks = new ArrayList<>();
-        List<Task<TaskSpec>> faultTasks = tasksMockData.getDummy1Tasks();
-        TaskFilter taskFilter = TaskFilterMockData.getTaskFilter();
-
-        Map<String, Object> pageObject = taskHelper.getTaskBasedOnIndex(faultTasks, resiliencyScoreTasks, taskFilter);
-
-        Assert.assertEquals(pageObject.get(Constants.TASK_SIZE), faultTasks.size());
-        Assert.assertNotNull(pageObject.get(Constants.TASK_LIST));
-    }
-
-    @Test(description = "Validate Task Filter when only Fault Tasks are in DB")
-    public void validateTaskFilterDataForFaultTasksOnly() {
-        List<ResiliencyScoreTask> resiliencyScoreTasks = new ArrayList<>();
-        List<Task<TaskSpec>> faultTasks = tasksMockData.getDummy1Tasks();
-
-        TaskFilter taskFilter = TaskFilterMockData.getTaskFilterWithData();
-        Map<String, Object> pageObject = taskHelper.getTaskBasedOnIndex(faultTasks, resiliencyScoreTasks, taskFilter);
-
-        Assert.assertEquals(pageObject.get(Constants.TASK_SIZE), faultTasks.size());
-        Assert.assertNotNull(pageObject.get(Constants.TASK_LIST));
-    }
-
-    @Test(description = "Validate Task Filter when Resiliency and Fault Tasks are in DB")
-    public void validateTaskFilterDataForFaultAndResiliencyTasks() {
-        List<ResiliencyScoreTask> resiliencyScoreTasks = new ArrayList<>();
-        resiliencyScoreTasks.add(ResiliencyScoreMockData.getResiliencyScoreTask1());
-        List<Task<TaskSpec>> faultTasks = tasksMockData.getDummy1Tasks();
-
-        TaskFilter taskFilter = TaskFilterMockData.getTaskFilterWithData();
-
-        Map<String, Object> pageObject = taskHelper.getTaskBasedOnIndex(faultTasks, resiliencyScoreTasks, taskFilter);
-
-        Assert.assertEquals(pageObject.get(Constants.TASK_SIZE), faultTasks.size() + resiliencyScoreTasks.size());
-        Assert.assertNotNull(pageObject.get(Constants.TASK_LIST));
-    }
-
-    @Test(description = "Validate Task Filter when Resiliency and Fault Tasks are in DB")
-    public void validateTaskFilterDataForResiliencyTasksOnly() {
-        List<ResiliencyScoreTask> resiliencyScoreTasks = new ArrayList<>();
-        resiliencyScoreTasks.add(ResiliencyScoreMockData.getResiliencyScoreTask1());
-        List<Task<TaskSpec>> faultTasks = new ArrayList<>();
-
-        TaskFilter taskFilter = TaskFilterMockData.getTaskFilterWithData();
-
-        Map<String, Object> pageObject = taskHelper.getTaskBasedOnIndex(faultTasks, resiliencyScoreTasks, taskFilter);
-
-        Assert.assertEquals(pageObject.get(Constants.TASK_SIZE), resiliencyScoreTasks.size());
-        Assert.assertNotNull(pageObject.get(Constants.TASK_LIST));
-    }
-
-    @Test(description = "Validate partial Task Filter when only Fault Tasks are in DB")
-    public void validateTaskFilterDataWithPartialFieldsForFaultTasksOnly() {
-        List<ResiliencyScoreTask> resiliencyScoreTasks = new ArrayList<>();
-        List<Task<TaskSpec>> faultTasks = tasksMockData.getDummy1Tasks();
-
-        TaskFilter taskFilter = TaskFilterMockData.getTaskFilterWithPartialFields();
-
-        Map<String, Object> pageObject = taskHelper.getTaskBasedOnIndex(faultTasks, resiliencyScoreTasks, taskFilter);
-
-        Assert.assertEquals(pageObject.get(Constants.TASK_SIZE), faultTasks.size());
-        Assert.assertNotNull(pageObject.get(Constants.TASK_LIST));
-    }
-
-    @Test(description = "Validate partial Task Filter when only Resiliency Tasks are in DB")
-    public void validateTaskFilterDataWithPartialFieldsForResiliencyTasksOnly() {
-        List<ResiliencyScoreTask> resiliencyScoreTasks = new ArrayList<>();
-        resiliencyScoreTasks.add(ResiliencyScoreMockData.getResiliencyScoreTask1());
-        List<Task<TaskSpec>> faultTasks = new ArrayList<>();
-
-        TaskFilter taskFilter = TaskFilterMockData.getTaskFilterWithPartialFields();
-
-        Map<String, Object> pageObject = taskHelper.getTaskBasedOnIndex(faultTasks, resiliencyScoreTasks, taskFilter);
-
-        Assert.assertEquals(pageObject.get(Constants.TASK_SIZE), resiliencyScoreTasks.size());
-        Assert.assertNotNull(pageObject.get(Constants.TASK_LIST));
-    }
-
-    @Test(description = "Validate partial Task Filter when only Fault Tasks are in DB")
-    public void validateTaskFilterDataWithPartialFieldsForFaultAndResiliencyTasks() {
-        List<ResiliencyScoreTask> resiliencyScoreTasks = new ArrayList<>();
-        resiliencyScoreTasks.add(ResiliencyScoreMockData.getResiliencyScoreTask1());
-        List<Task<TaskSpec>> faultTasks = tasksMockData.getDummy1Tasks();
-
-        TaskFilter taskFilter = TaskFilterMockData.getTaskFilterWithPartialFields();
-
-        Map<String, Object> pageObject = taskHelper.getTaskBasedOnIndex(faultTasks, resiliencyScoreTasks, taskFilter);
-
-        Assert.assertEquals(pageObject.get(Constants.TASK_SIZE), faultTasks.size() + resiliencyScoreTasks.size());
-        Assert.assertNotNull(pageObject.get(Constants.TASK_LIST));
-    }
-
-    @Test(description = "Validate partial Task Filter when only Fault Tasks are in DB")
-    public void validateTaskFilterDataWithPartialMatchForFaultAndResiliencyTasks() {
-        List<ResiliencyScoreTask> resiliencyScoreTasks = new ArrayList<>();
-        List<ResiliencyScoreTask> dummy1ResiliencyScoreTasks = new ArrayList<>();
-        List<ResiliencyScoreTask> dummy2ResiliencyScoreTasks = new ArrayList<>();
-        dummy1ResiliencyScoreTasks.add(ResiliencyScoreMockData.getResiliencyScoreTask1());
-        dummy2ResiliencyScoreTasks.add(ResiliencyScoreMockData.getResiliencyScoreTask2());
-        resiliencyScoreTasks.addAll(dummy2ResiliencyScoreTasks);
-        resiliencyScoreTasks.addAll(dummy2ResiliencyScoreTasks);
-        List<Task<TaskSpec>> faultTasks = new ArrayList<>();
-        List<Task<TaskSpec>> dummy1FaultTasks = tasksMockData.getDummy1Tasks();
-        List<Task<TaskSpec>> dummy2FaultTasks = tasksMockData.getDummy2Tasks();
-        faultTasks.addAll(dummy1FaultTasks);
-        faultTasks.addAll(dummy2FaultTasks);
-
-        TaskFilter taskFilter = TaskFilterMockData.getTaskFilter1WithPartialFields();
-
-        Map<String, Object> pageObject = taskHelper.getTaskBasedOnIndex(faultTasks, resiliencyScoreTasks, taskFilter);
-
-        Assert.assertEquals(pageObject.get(Constants.TASK_SIZE), dummy2FaultTasks.size());
-        Assert.assertNotNull(pageObject.get(Constants.TASK_LIST));
-    }
-
-    @Test(description = "Validate Filter task based on Index when NO tasks are in the DB")
-    public void validateTaskFilterDataWhenNoTasksInDB() {
-        List<ResiliencyScoreTask> resiliencyScoreTasks = new ArrayList<>();
-        List<Task<TaskSpec>> faultTasks = new ArrayList<>();
-        TaskFilter taskFilter = TaskFilterMockData.getTaskFilter();
-
-        Map<String, Object> pageObject = taskHelper.getTaskBasedOnIndex(faultTasks, resiliencyScoreTasks, taskFilter);
-
-        Assert.assertEquals(pageObject.get(Constants.TASK_SIZE), 0);
-        Assert.assertNotNull(pageObject.get(Constants.TASK_LIST));
-    }
-
-    @Test(description = "Validate Filter task based on Index when both ResiliencyScore tasks and Fault tasks are in the DB")
-    public void validateTaskFilterDataWithAllTypesOfTasksInDB() {
-        List<ResiliencyScoreTask> resiliencyScoreTasks = new ArrayList<>();
-        resiliencyScoreTasks.add(ResiliencyScoreMockData.getResiliencyScoreTask1());
-        List<Task<TaskSpec>> faultTasks = tasksMockData.getDummy1Tasks();
-        TaskFilter taskFilter = TaskFilterMockData.getTaskFilter();
-        int numberOfTasks = resiliencyScoreTasks.size() + faultTasks.size();
-
-        Map<String, Object> pageObject = taskHelper.getTaskBasedOnIndex(faultTasks, resiliencyScoreTasks, taskFilter);
-
-        Assert.assertEquals(pageObject.get(Constants.TASK_SIZE), numberOfTasks);
-        Assert.assertNotNull(pageObject.get(Constants.TASK_LIST));
-    }
-
     @Test(description = "Validating deleting of tasks having only resiliency score task IDs")
     public void deleteOnlyResiliencyScoreTasks() throws MangleException {
         List<ResiliencyScoreTask> tasks = Arrays.asList(ResiliencyScoreMockData.getResiliencyScoreTask1());
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.unittest.services.plugin;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.pf4j.ExtensionFactory;
+import org.pf4j.spring.SpringPluginManager;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.vmware.mangle.cassandra.model.faults.specs.CommandExecutionFaultSpec;
+import com.vmware.mangle.cassandra.model.faults.specs.CpuFaultSpec;
+import com.vmware.mangle.cassandra.model.faults.specs.MemoryFaultSpec;
+import com.vmware.mangle.services.plugin.ExtensionRegistry;
+
+/**
+ * Unit Test cases for {@link ExtensionRegistry}.
+ *
+ * @author kumargautam
+ */
+public class ExtensionRegistryTest {
+
+    private SpringPluginManager pluginManager;
+    private ExtensionFactory extensionFactory;
+    private ExtensionRegistry extensionRegistry;
+
+    @BeforeMethod
+    public void initMocks() {
+        pluginManager = mock(SpringPluginManager.class);
+        extensionFactory = mock(ExtensionFactory.class);
+        when(pluginManager.getExtensionFactory()).thenReturn(extensionFactory);
+        doReturn(Arrays.asList(CpuFaultSpec.class, MemoryFaultSpec.class)).when(pluginManager)
+                .getExtensionClasses(CommandExecutionFaultSpec.class);
+        extensionRegistry = new ExtensionRegistry(pluginManager);
+    }
+
+    @Test
+    public void testGetExtension() {
+        when(extensionFactory.create(MemoryFaultSpec.class)).thenReturn(new MemoryFaultSpec());
+
+        CommandExecutionFaultSpec extension =
+                extensionRegistry.getExtension(CommandExecutionFaultSpec.class, MemoryFaultSpec.class.getName());
+        Assert.assertTrue(extension instanceof MemoryFaultSpec);
+        Assert.assertNull(extensionRegistry.getExtension(CommandExecutionFaultSpec.class, "UnknownExtension"));
+
+        verify(pluginManager, times(1)).getExtensionClasses(CommandExecutionFaultSpec.class);
+        verify(extensionFactory, times(1)).create(MemoryFaultSpec.class);
+        verify(extensionFactory, times(0)).create(CpuFaultSpec.class);
+    }
+
+    @Test
+    public void testInvalidate() {
+        extensionRegistry.getExtension(CommandExecutionFaultSpec.class, CpuFaultSpec.class.getName());
+        extensionRegistry.invalidate();
+        extensionRegistry.getExtension(CommandExecutionFaultSpec.class, CpuFaultSpec.class.getName());
+
+        verify(pluginManager, times(2)).getExtensionClasses(CommandExecutionFaultSpec.class);
+        verify(extensionFactory, times(2)).create(CpuFaultSpec.class);
+    }
+
+    @Test
+    public void testRecordInvocation() {
+        String extensionName = CpuFaultSpec.class.getName();
+        extensionRegistry.recordInvocation(extensionName, 1000L);
+        Assert.assertEquals(extensionRegistry.getInvocationCount(extensionName), 0);
+
+        extensionRegistry.setMeterRegistry(new SimpleMeterRegistry());
+        extensionRegistry.recordInvocation(extensionName, 1000L);
+        extensionRegistry.recordInvocation(extensionName, 3000L);
+        Assert.assertEquals(extensionRegistry.getInvocationCount(extensionName), 2);
+        Assert.assertEquals(extensionRegistry.getInvocationCount(MemoryFaultSpec.class.getName()), 0);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.unittest.services.poll;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Stack;
+import java.util.UUID;
+
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.vmware.mangle.cassandra.model.endpoint.CredentialsSpec;
+import com.vmware.mangle.cassandra.model.endpoint.EndpointSpec;
+import com.vmware.mangle.cassandra.model.faults.specs.CommandExecutionFaultSpec;
+import com.vmware.mangle.cassandra.model.faults.specs.TaskSpec;
+import com.vmware.mangle.cassandra.model.tasks.FaultTask;
+import com.vmware.mangle.cassandra.model.tasks.Task;
+import com.vmware.mangle.cassandra.model.tasks.TaskStatus;
+import com.vmware.mangle.cassandra.model.tasks.TaskTrigger;
+import com.vmware.mangle.cassandra.model.tasks.TaskTroubleShootingInfo;
+import com.vmware.mangle.cassandra.model.tasks.TaskType;
+import com.vmware.mangle.cassandra.model.tasks.commands.CommandInfo;
+import com.vmware.mangle.model.enums.EndpointType;
+import com.vmware.mangle.services.TaskService;
+import com.vmware.mangle.services.helpers.FaultInjectionHelper;
+import com.vmware.mangle.services.poll.PollingProperties;
+import com.vmware.mangle.services.poll.PollingService;
+import com.vmware.mangle.task.framework.endpoint.EndpointClientFactory;
+import com.vmware.mangle.task.framework.helpers.CommandInfoExecutionHelper;
+import com.vmware.mangle.utils.ICommandExecutor;
+import com.vmware.mangle.utils.clients.ssh.SSHUtils;
+import com.vmware.mangle.utils.exceptions.MangleException;
+import com.vmware.mangle.utils.exceptions.handler.CustomErrorMessage;
+
+/**
+ * Unit Test cases for {@link PollingService}.
+ *
+ * @author mangle
+ */
+public class PollingServiceTest {
+
+    @Mock
+    private FaultInjectionHelper faultInjectionHelper;
+    @Mock
+    private CustomErrorMessage customErrorMessage;
+    @Mock
+    private ApplicationEventPublisher publisher;
+    @Mock
+    private TaskService taskService;
+    @Mock
+    private CommandInfoExecutionHelper commandInfoExecutionHelper;
+    @Mock
+    private EndpointClientFactory endpointClientFactory;
+
+    private PollingProperties pollingProperties;
+    private PollingService<Task<TaskSpec>> pollingService;
+
+    @BeforeMethod
+    public void initMocks() {
+        MockitoAnnotations.initMocks(this);
+        pollingProperties = new PollingProperties();
+        pollingProperties.setMinInterval(1000);
+        pollingProperties.setMaxInterval(4000);
+        pollingService = new PollingService<>(faultInjectionHelper, customErrorMessage, publisher, taskService,
+                commandInfoExecutionHelper, endpointClientFactory, pollingProperties);
+    }
+
+    @AfterMethod
+    public void destroy() {
+        pollingService.destroy();
+    }
+
+    @Test
+    public void testRunPollingCycleReusesEndpointClient() throws MangleException {
+        List<Task<TaskSpec>> tasks = new ArrayList<>();
+        tasks.add(getInjectedTask("endpoint1"));
+        tasks.add(getInjectedTask("endpoint1"));
+        tasks.add(getInjectedTask("endpoint2"));
+        when(taskService.getInjectedSystemResourceTasks()).thenReturn(tasks);
+        when(endpointClientFactory.getEndPointClient(any(CredentialsSpec.class), any(EndpointSpec.class)))
+                .thenAnswer(invocation -> mock(SSHUtils.class));
+        when(commandInfoExecutionHelper.runCommands(any(ICommandExecutor.class), anyListOf(CommandInfo.class),
+                any(TaskTroubleShootingInfo.class), any())).thenReturn(TaskStatus.COMPLETED.name());
+
+        pollingService.runPollingCycle();
+
+        verify(endpointClientFactory, times(2)).getEndPointClient(any(CredentialsSpec.class),
+                any(EndpointSpec.class));
+        for (Task<TaskSpec> task : tasks) {
+            Assert.assertEquals(task.getTaskStatus(), TaskStatus.COMPLETED);
+            verify(taskService).updateRemediationFieldofTaskById(task.getId(), true);
+        }
+    }
+
+    @Test
+    public void testRunPollingCycleLimitsTasksPerEndpoint() throws MangleException {
+        pollingProperties.setMaxTasksPerEndpoint(1);
+        List<Task<TaskSpec>> tasks = new ArrayList<>();
+        tasks.add(getInjectedTask("endpoint1"));
+        tasks.add(getInjectedTask("endpoint1"));
+        when(taskService.getInjectedSystemResourceTasks()).thenReturn(tasks);
+        when(endpointClientFactory.getEndPointClient(any(CredentialsSpec.class), any(EndpointSpec.class)))
+                .thenAnswer(invocation -> mock(SSHUtils.class));
+        when(commandInfoExecutionHelper.runCommands(any(ICommandExecutor.class), anyListOf(CommandInfo.class),
+                any(TaskTroubleShootingInfo.class), any())).thenReturn(TaskStatus.IN_PROGRESS.name());
+
+        pollingService.runPollingCycle();
+        pollingService.runPollingCycle();
+
+        verify(commandInfoExecutionHelper, times(2)).runCommands(any(ICommandExecutor.class),
+                anyListOf(CommandInfo.class),
+                any(TaskTroubleShootingInfo.class), any());
+        verify(faultInjectionHelper).updateFaultSpec(tasks.get(0).getTaskData());
+        verify(faultInjectionHelper).updateFaultSpec(tasks.get(1).getTaskData());
+    }
+
+    @Test
+    public void testRunPollingCycleBacksOffWhenIdle() {
+        when(taskService.getInjectedSystemResourceTasks()).thenReturn(new ArrayList<>());
+        Assert.assertEquals(pollingService.getPollingInterval(), 1000);
+
+        pollingService.runPollingCycle();
+        Assert.assertEquals(pollingService.getPollingInterval(), 2000);
+        pollingService.runPollingCycle();
+        pollingService.runPollingCycle();
+        Assert.assertEquals(pollingService.getPollingInterval(), 4000);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Task<TaskSpec> getInjectedTask(String endpointName) {
+        EndpointSpec endpoint = new EndpointSpec();
+        endpoint.setName(endpointName);
+        endpoint.setEndPointType(EndpointType.MACHINE);
+        CommandExecutionFaultSpec spec = new CommandExecutionFaultSpec();
+        spec.setEndpointName(endpointName);
+        spec.setEndpoint(endpoint);
+        Stack<TaskTrigger> triggers = new Stack<>();
+        TaskTrigger trigger = new TaskTrigger();
+        trigger.setStartTime(new Date().toString());
+        trigger.setTaskStatus(TaskStatus.INJECTED);
+        triggers.push(trigger);
+        Task task = new FaultTask();
+        task.setId(UUID.randomUUID().toString());
+        task.setTaskType(TaskType.INJECTION);
+        task.setTriggers(triggers);
+        task.setTaskData(spec);
+        return task;
+    }
+}
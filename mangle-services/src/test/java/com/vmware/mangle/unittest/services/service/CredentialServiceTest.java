@@ -436,6 +436,20 @@ public class CredentialServiceTest extends PowerMockTestCase {
         verify(slice, times(1)).getSize();
     }
 
+    /**
+     * Test method for {@link CredentialService#getCredentialsAfterCursor(String, int)}.
+     */
+    @Test(description = "Test to get the page after an invalid cursor")
+    public void testGetCredentialsAfterInvalidCursor() {
+        try {
+            credentialService.getCredentialsAfterCursor("invalid cursor", 4);
+            Assert.fail("Expected MangleException for the invalid cursor");
+        } catch (MangleException e) {
+            Assert.assertEquals(e.getErrorCode(), ErrorCode.INVALID_PAGE_CURSOR);
+        }
+        verify(credentialRepository, times(0)).findAll(any(Pageable.class));
+    }
+
     /**
      * Test method for {@link CredentialService#updateCredential(CredentialsSpec)}
      *
@@ -58,6 +58,7 @@ import com.vmware.mangle.services.SchedulerService;
 import com.vmware.mangle.services.TaskService;
 import com.vmware.mangle.services.VCenterAdapterDetailsService;
 import com.vmware.mangle.services.enums.K8SResource;
+import com.vmware.mangle.services.hazelcast.HazelcastSpecCache;
 import com.vmware.mangle.services.mockdata.CredentialsSpecMockData;
 import com.vmware.mangle.services.mockdata.EndpointMockData;
 import com.vmware.mangle.services.repository.EndpointRepository;
@@ -242,6 +243,28 @@ public class EndpointServiceTest extends PowerMockTestCase {
         verify(repository, times(0)).findByEndPointType(any(EndpointType.class));
     }
 
+    /**
+     * Test method for {@link EndpointService#getEndpointByName(java.lang.String)} with the spec
+     * cache.
+     *
+     * @throws MangleException
+     */
+    @Test
+    public void testGetEndpointByNameFromSpecCache() throws MangleException {
+        endpointService.setSpecCache(new HazelcastSpecCache());
+        when(repository.findByName(anyString())).thenReturn(Optional.of(endpointSpec));
+        when(repository.save(any(EndpointSpec.class))).thenReturn(endpointSpec);
+
+        endpointService.getEndpointByName(endpointSpec.getName());
+        EndpointSpec actualResult = endpointService.getEndpointByName(endpointSpec.getName());
+        verify(repository, times(1)).findByName(anyString());
+        Assert.assertEquals(actualResult, endpointSpec);
+
+        endpointService.addOrUpdateEndpoint(endpointSpec);
+        endpointService.getEndpointByName(endpointSpec.getName());
+        verify(repository, times(3)).findByName(anyString());
+    }
+
     /**
      * Test method for {@link EndpointService#addOrUpdateEndpoint(EndpointSpec)}
      *
@@ -353,6 +376,21 @@ public class EndpointServiceTest extends PowerMockTestCase {
         verify(slice, times(1)).getSize();
     }
 
+    /**
+     * Test method for {@link EndpointService#getEndpointsAfterCursor(String, int)}.
+     *
+     * @throws MangleException
+     */
+    @SuppressWarnings("unchecked")
+    @Test(description = "Test to get the page after a cursor in a single query")
+    public void testGetEndpointsAfterCursor() throws MangleException {
+        Slice<EndpointSpec> slice = Mockito.mock(Slice.class);
+        when(repository.findAll(any(Pageable.class))).thenReturn(slice);
+        Slice<EndpointSpec> actualResult = endpointService.getEndpointsAfterCursor("", 4);
+        verify(repository, times(1)).findAll(any(Pageable.class));
+        Assert.assertEquals(actualResult, slice);
+    }
+
     /**
      * Test method for {@link EndpointService#testEndpointConnection(EndpointSpec)}
      *
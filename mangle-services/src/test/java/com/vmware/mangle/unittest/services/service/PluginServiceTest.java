@@ -14,6 +14,7 @@ package com.vmware.mangle.unittest.services.service;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -62,6 +63,7 @@ import com.vmware.mangle.services.FileStorageService;
 import com.vmware.mangle.services.PluginDetailsService;
 import com.vmware.mangle.services.PluginService;
 import com.vmware.mangle.services.constants.CommonConstants;
+import com.vmware.mangle.services.plugin.ExtensionRegistry;
 import com.vmware.mangle.services.mockdata.CustomFaultMockData;
 import com.vmware.mangle.task.framework.helpers.faults.AbstractCustomFault;
 import com.vmware.mangle.task.framework.skeletons.ITaskHelper;
@@ -87,6 +89,8 @@ public class PluginServiceTest extends PowerMockTestCase {
     @Mock
     private ApplicationContext appContext;
     @Mock
+    private ExtensionRegistry extensionRegistry;
+    @Mock
     private FileStorageService storageService;
     @Mock
     private PluginDetailsService pluginDetailsService;
@@ -153,14 +157,11 @@ public class PluginServiceTest extends PowerMockTestCase {
     @SuppressWarnings("rawtypes")
     @Test
     public void testGetPluginsString() {
-        List<ITaskHelper> listFaultInjectionTask = new ArrayList<>();
-        ITaskHelper<?> injectionTask = mock(ITaskHelper.class);
-        listFaultInjectionTask.add(injectionTask);
-        when(pluginManager.getExtensions(eq(ITaskHelper.class))).thenReturn(listFaultInjectionTask);
+        when(extensionRegistry.getExtension(ITaskHelper.class, "IFaultInjectionTask")).thenReturn(null);
         when(appContext.getBean(anyString())).thenReturn(null);
         ITaskHelper<?> actualResult = pluginService.getExtension("IFaultInjectionTask");
         Assert.assertNull(actualResult);
-        verify(pluginManager, times(1)).getExtensions(eq(ITaskHelper.class));
+        verify(extensionRegistry, times(1)).getExtension(ITaskHelper.class, "IFaultInjectionTask");
     }
 
     /**
@@ -169,18 +170,17 @@ public class PluginServiceTest extends PowerMockTestCase {
     @SuppressWarnings("rawtypes")
     @Test
     public void testGetExtensionMatchingTaskClass() {
-        List<ITaskHelper> listFaultInjectionTask = new ArrayList<>();
         ITaskHelper<?> injectionTask = mock(ITaskHelper.class);
-        listFaultInjectionTask.add(injectionTask);
+        String extensionName = injectionTask.getClass().getName();
 
-        when(pluginManager.getExtensions(eq(ITaskHelper.class))).thenReturn(listFaultInjectionTask);
+        when(extensionRegistry.getExtension(ITaskHelper.class, extensionName)).thenReturn(injectionTask);
         when(appContext.getBean(anyString())).thenReturn(null);
 
-        ITaskHelper<?> actualResult = pluginService.getExtension(injectionTask.getClass().getName());
+        ITaskHelper<?> actualResult = pluginService.getExtension(extensionName);
 
         Assert.assertNotNull(actualResult);
-        verify(pluginManager, times(1)).getExtensions(eq(ITaskHelper.class));
-        verify(appContext, times(0)).getBean(anyString());
+        verify(extensionRegistry, times(1)).getExtension(ITaskHelper.class, extensionName);
+        verify(appContext, times(0)).getBean(extensionName.substring(extensionName.lastIndexOf('.') + 1));
     }
 
     /**
@@ -189,18 +189,16 @@ public class PluginServiceTest extends PowerMockTestCase {
     @SuppressWarnings("rawtypes")
     @Test
     public void testGetExtensionNotMatchingTaskClass() {
-        List<ITaskHelper> listFaultInjectionTask = new ArrayList<>();
         ITaskHelper<?> injectionTask = mock(ITaskHelper.class);
-        listFaultInjectionTask.add(injectionTask);
 
-        when(pluginManager.getExtensions(eq(ITaskHelper.class))).thenReturn(listFaultInjectionTask);
-        when(appContext.getBean(anyString())).thenReturn(injectionTask);
+        when(extensionRegistry.getExtension(ITaskHelper.class, "NotMatchingTask")).thenReturn(null);
+        when(appContext.getBean("NotMatchingTask")).thenReturn(injectionTask);
 
-        ITaskHelper<?> actualResult = pluginService.getExtension("IFaultInjectionTask");
+        ITaskHelper<?> actualResult = pluginService.getExtension("NotMatchingTask");
 
         Assert.assertNotNull(actualResult);
-        verify(pluginManager, times(1)).getExtensions(eq(ITaskHelper.class));
-        verify(appContext, times(1)).getBean(anyString());
+        verify(extensionRegistry, times(1)).getExtension(ITaskHelper.class, "NotMatchingTask");
+        verify(appContext, times(1)).getBean("NotMatchingTask");
     }
 
     /**
@@ -290,6 +288,7 @@ public class PluginServiceTest extends PowerMockTestCase {
         boolean actualResult = pluginService.unloadPlugin(pluginId);
         Assert.assertTrue(actualResult);
         verify(pluginManager, times(1)).unloadPlugin(anyString());
+        verify(extensionRegistry, atLeastOnce()).invalidate();
     }
 
     /**
@@ -793,15 +792,12 @@ public class PluginServiceTest extends PowerMockTestCase {
      */
     @Test
     public void testGetExtensionForModel() throws MangleException {
-        List<CommandExecutionFaultSpec> listCommandExecutionFaultSpec = new ArrayList<>();
-        CommandExecutionFaultSpec commandExecutionFaultSpec = new CommandExecutionFaultSpec();
-        listCommandExecutionFaultSpec.add(commandExecutionFaultSpec);
-        when(pluginManager.getExtensions(eq(CommandExecutionFaultSpec.class)))
-                .thenReturn(listCommandExecutionFaultSpec);
-        CommandExecutionFaultSpec actualResult = pluginService
-                .getExtensionForModel("com.vmware.mangle.cassandra.model.faults.specs.CommandExecutionFaultSpec");
+        String extensionName = "com.vmware.mangle.cassandra.model.faults.specs.CommandExecutionFaultSpec";
+        when(extensionRegistry.getExtension(CommandExecutionFaultSpec.class, extensionName))
+                .thenReturn(new CommandExecutionFaultSpec());
+        CommandExecutionFaultSpec actualResult = pluginService.getExtensionForModel(extensionName);
         Assert.assertNotNull(actualResult);
-        verify(pluginManager, times(1)).getExtensions(eq(CommandExecutionFaultSpec.class));
+        verify(extensionRegistry, times(1)).getExtension(CommandExecutionFaultSpec.class, extensionName);
     }
 
     /**
@@ -809,17 +805,14 @@ public class PluginServiceTest extends PowerMockTestCase {
      */
     @Test
     public void testGetExtensionForModelWithMangleException() {
-        List<CommandExecutionFaultSpec> listCommandExecutionFaultSpec = new ArrayList<>();
-        CommandExecutionFaultSpec commandExecutionFaultSpec = new CommandExecutionFaultSpec();
-        listCommandExecutionFaultSpec.add(commandExecutionFaultSpec);
-        when(pluginManager.getExtensions(eq(CommandExecutionFaultSpec.class)))
-                .thenReturn(listCommandExecutionFaultSpec);
+        String extensionName = "com.vmware.mangle.cassandra.model.faults.specs.CommandExecutionFaultSpec1";
+        when(extensionRegistry.getExtension(CommandExecutionFaultSpec.class, extensionName)).thenReturn(null);
         try {
-            pluginService
-                    .getExtensionForModel("com.vmware.mangle.cassandra.model.faults.specs.CommandExecutionFaultSpec1");
+            pluginService.getExtensionForModel(extensionName);
+            Assert.fail("Expected MangleException for an unknown extension");
         } catch (MangleException e) {
             assertEquals(ErrorCode.EXTENSION_NOT_FOUND, e.getErrorCode());
-            verify(pluginManager, times(1)).getExtensions(eq(CommandExecutionFaultSpec.class));
+            verify(extensionRegistry, times(1)).getExtension(CommandExecutionFaultSpec.class, extensionName);
         }
     }
 
@@ -829,16 +822,14 @@ public class PluginServiceTest extends PowerMockTestCase {
      */
     @Test
     public void testGetExtensionForCustomFaultWithMangleException() {
-        List<AbstractCustomFault> listAbstractCustomFault = new ArrayList<>();
-        AbstractCustomFault customFault = mock(AbstractCustomFault.class);
-        listAbstractCustomFault.add(customFault);
-        when(pluginManager.getExtensions(eq(AbstractCustomFault.class))).thenReturn(listAbstractCustomFault);
+        String extensionName = "com.vmware.mangle.task.framework.helpers.faults.AbstractCustomFault";
+        when(extensionRegistry.getExtension(AbstractCustomFault.class, extensionName)).thenReturn(null);
         try {
-            pluginService
-                    .getExtensionForCustomFault("com.vmware.mangle.task.framework.helpers.faults.AbstractCustomFault");
+            pluginService.getExtensionForCustomFault(extensionName);
+            Assert.fail("Expected MangleException for an unknown extension");
         } catch (MangleException e) {
             assertEquals(ErrorCode.EXTENSION_NOT_FOUND, e.getErrorCode());
-            verify(pluginManager, times(1)).getExtensions(eq(AbstractCustomFault.class));
+            verify(extensionRegistry, times(1)).getExtension(AbstractCustomFault.class, extensionName);
         }
     }
 
@@ -848,14 +839,12 @@ public class PluginServiceTest extends PowerMockTestCase {
      */
     @Test
     public void testGetExtensionForCustomFault() throws MangleException {
-        List<AbstractCustomFault> listAbstractCustomFault = new ArrayList<>();
         AbstractCustomFault customFault = mock(AbstractCustomFault.class);
-        listAbstractCustomFault.add(customFault);
-        when(pluginManager.getExtensions(eq(AbstractCustomFault.class))).thenReturn(listAbstractCustomFault);
-        AbstractCustomFault customFault1 =
-                pluginService.getExtensionForCustomFault(customFault.getClass().getName());
+        String extensionName = customFault.getClass().getName();
+        when(extensionRegistry.getExtension(AbstractCustomFault.class, extensionName)).thenReturn(customFault);
+        AbstractCustomFault customFault1 = pluginService.getExtensionForCustomFault(extensionName);
         Assert.assertNotNull(customFault1);
-        verify(pluginManager, times(1)).getExtensions(eq(AbstractCustomFault.class));
+        verify(extensionRegistry, times(1)).getExtension(AbstractCustomFault.class, extensionName);
     }
 
     /**
@@ -21,17 +21,20 @@ import static org.mockito.Mockito.when;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.Stack;
 
 import lombok.extern.log4j.Log4j2;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.mockito.internal.stubbing.answers.ReturnsArgumentAt;
 import org.springframework.data.domain.Slice;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -40,13 +43,17 @@ import com.vmware.mangle.cassandra.model.faults.specs.CommandExecutionFaultSpec;
 import com.vmware.mangle.cassandra.model.faults.specs.TaskSpec;
 import com.vmware.mangle.cassandra.model.tasks.FaultTask;
 import com.vmware.mangle.cassandra.model.tasks.Task;
-import com.vmware.mangle.cassandra.model.tasks.TaskFilter;
 import com.vmware.mangle.cassandra.model.tasks.TaskStatus;
+import com.vmware.mangle.cassandra.model.tasks.TaskStatusIndex;
 import com.vmware.mangle.cassandra.model.tasks.TaskTrigger;
+import com.vmware.mangle.cassandra.model.tasks.TaskTriggerHistory;
 import com.vmware.mangle.services.TaskService;
+import com.vmware.mangle.services.TaskSummaryService;
 import com.vmware.mangle.services.constants.CommonConstants;
 import com.vmware.mangle.services.mockdata.TasksMockData;
 import com.vmware.mangle.services.repository.TaskRepository;
+import com.vmware.mangle.services.repository.TaskStatusIndexRepository;
+import com.vmware.mangle.services.repository.TaskTriggerHistoryRepository;
 import com.vmware.mangle.utils.exceptions.MangleException;
 import com.vmware.mangle.utils.exceptions.MangleRuntimeException;
 import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
@@ -61,15 +68,25 @@ public class TaskServiceTest {
 
     @Mock
     private TaskRepository taskRepository;
+    @Mock
+    private TaskSummaryService taskSummaryService;
+    @Mock
+    private TaskStatusIndexRepository taskStatusIndexRepository;
+    @Mock
+    private TaskTriggerHistoryRepository taskTriggerHistoryRepository;
 
     private TaskService taskService;
 
+    private static final String SYSTEM_RESOURCE_FAULT_TASK_HELPER =
+            "com.vmware.mangle.faults.plugin.tasks.helpers.SystemResourceFaultTaskHelper2";
+
     private TasksMockData<TaskSpec> tasksMockData = new TasksMockData<>(new CommandExecutionFaultSpec());
 
     @BeforeMethod
     public void initMocks() {
         MockitoAnnotations.initMocks(this);
-        taskService = new TaskService(taskRepository);
+        taskService = new TaskService(taskRepository, taskSummaryService, taskStatusIndexRepository,
+                taskTriggerHistoryRepository);
     }
 
     /**
@@ -199,8 +216,10 @@ public class TaskServiceTest {
         log.info("Executing test: addOrUpdateTaskTest on method TaskService#addOrUpdateTask(Task)");
         Task<TaskSpec> task = tasksMockData.getDummy1Task();
         Mockito.when(taskRepository.save(Mockito.any())).thenReturn(task);
+        Long previousLastUpdated = task.getLastUpdated();
         Task<TaskSpec> persistedTest = taskService.addOrUpdateTask(task);
         verify(taskRepository, Mockito.times(1)).save(Mockito.any());
+        verify(taskSummaryService, Mockito.times(1)).updateSummary(task, previousLastUpdated);
         Assert.assertEquals(persistedTest, task);
     }
 
@@ -338,20 +357,6 @@ public class TaskServiceTest {
         }
     }
 
-    /**
-     * Test method for {@link TaskService#getTaskBasedOnPage(int, int)}.
-     *
-     */
-    @Test
-    public void getTaskBasedOnIndexTest() {
-        log.info("Executing test: getTaskBasedOnIndexTest on TaskService#getTaskBasedOnIndex");
-        List<Task<TaskSpec>> tasks = tasksMockData.getDummy1Tasks();
-        Mockito.when(taskRepository.findAll()).thenReturn(tasks);
-        Map<String, Object> response = taskService.getTaskBasedOnIndex(new TaskFilter());
-        verify(taskRepository, Mockito.times(1)).findAll();
-        Assert.assertTrue(response != null);
-    }
-
     /**
      * Test method for {@link TaskService#getTaskByIsScheduledTask(boolean)}.
      *
@@ -424,11 +429,150 @@ public class TaskServiceTest {
         List<Task<TaskSpec>> tasks = new ArrayList<>();
         tasks.add(task);
         List<String> taskIds = new ArrayList<>(Arrays.asList(task.getId()));
-        Mockito.when(taskRepository.findAll()).thenReturn(tasks);
+        Mockito.when(taskStatusIndexRepository.findByTaskStatusIn(any()))
+                .thenReturn(Arrays.asList(new TaskStatusIndex(TaskStatus.IN_PROGRESS, task.getId(), null)));
+        Mockito.when(taskRepository.findByIds(Mockito.anyList())).thenReturn(tasks);
         Mockito.when(taskRepository.save(any())).thenReturn(task);
         String actualResult = taskService.cleanupInprogressTasks(60);
         Assert.assertEquals(actualResult, String.format(CommonConstants.INPROGRESS_TASK_FOR_CLEANUP, taskIds));
-        verify(taskRepository, times(1)).findAll();
+        verify(taskRepository, times(0)).findAll();
         verify(taskRepository, times(1)).save(any());
     }
+
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void testGetInProgressTasksIncludesQueuedTasks() {
+        Task<TaskSpec> queuedTask = tasksMockData.getDummy1Task();
+        queuedTask.setTaskStatus(TaskStatus.QUEUED);
+        Mockito.when(taskStatusIndexRepository.findByTaskStatusIn(any()))
+                .thenReturn(Arrays.asList(new TaskStatusIndex(TaskStatus.QUEUED, queuedTask.getId(), null)));
+        Mockito.when(taskRepository.findByIds(Mockito.anyList())).thenReturn(Arrays.asList(queuedTask));
+
+        List<Task<TaskSpec>> tasks = taskService.getInProgressTasks();
+
+        Assert.assertEquals(tasks, Arrays.asList(queuedTask));
+        ArgumentCaptor<List> statuses = ArgumentCaptor.forClass(List.class);
+        verify(taskStatusIndexRepository, times(1)).findByTaskStatusIn(statuses.capture());
+        Assert.assertTrue(statuses.getValue().contains(TaskStatus.QUEUED.name()));
+    }
+
+    @Test
+    public void testUpdateTaskStatusIndexOfQueuedTask() {
+        Task<TaskSpec> task = tasksMockData.getDummy1Task();
+        task.setTaskStatus(TaskStatus.QUEUED);
+        Mockito.when(taskStatusIndexRepository.findByTaskStatusInAndId(any(), anyString()))
+                .thenReturn(Collections.emptyList());
+
+        taskService.updateTaskStatusIndex(task);
+
+        verify(taskStatusIndexRepository, times(1))
+                .save(new TaskStatusIndex(TaskStatus.QUEUED, task.getId(), task.getExtensionName()));
+    }
+
+    @Test
+    public void testGetInjectedSystemResourceTasks() {
+        Task<TaskSpec> injectedTask = tasksMockData.getDummy1Task();
+        injectedTask.setExtensionName(SYSTEM_RESOURCE_FAULT_TASK_HELPER);
+        injectedTask.setTaskStatus(TaskStatus.INJECTED);
+        Task<TaskSpec> remediatedTask = new TasksMockData<TaskSpec>(new CommandExecutionFaultSpec()).getDummy2Task();
+        remediatedTask.setId("remediatedTaskId");
+        remediatedTask.setExtensionName(SYSTEM_RESOURCE_FAULT_TASK_HELPER);
+        remediatedTask.setTaskStatus(TaskStatus.COMPLETED);
+        Mockito.when(taskStatusIndexRepository.findByTaskStatusIn(any())).thenReturn(Arrays.asList(
+                new TaskStatusIndex(TaskStatus.INJECTED, injectedTask.getId(), SYSTEM_RESOURCE_FAULT_TASK_HELPER),
+                new TaskStatusIndex(TaskStatus.INJECTED, remediatedTask.getId(), SYSTEM_RESOURCE_FAULT_TASK_HELPER),
+                new TaskStatusIndex(TaskStatus.INJECTED, "deletedTaskId", SYSTEM_RESOURCE_FAULT_TASK_HELPER),
+                new TaskStatusIndex(TaskStatus.INJECTED, "otherTaskId", "otherExtension")));
+        Mockito.when(taskRepository.findByIds(Mockito.anyList()))
+                .thenReturn(Arrays.asList(injectedTask, remediatedTask));
+
+        List<Task<TaskSpec>> tasks = taskService.getInjectedSystemResourceTasks();
+
+        Assert.assertEquals(tasks, Arrays.asList(injectedTask));
+        verify(taskRepository, times(0)).findAll();
+        verify(taskStatusIndexRepository, times(1)).deleteByTaskStatusInAndId(any(), Mockito.eq("deletedTaskId"));
+    }
+
+    @Test
+    public void testUpdateTaskStatusIndex() {
+        Task<TaskSpec> task = tasksMockData.getDummy1Task();
+        task.setTaskStatus(TaskStatus.INJECTED);
+        TaskStatusIndex inProgressEntry = new TaskStatusIndex(TaskStatus.IN_PROGRESS, task.getId(), null);
+        Mockito.when(taskStatusIndexRepository.findByTaskStatusInAndId(any(), anyString()))
+                .thenReturn(Arrays.asList(inProgressEntry));
+
+        taskService.updateTaskStatusIndex(task);
+        verify(taskStatusIndexRepository, times(1)).delete(inProgressEntry);
+        verify(taskStatusIndexRepository, times(1))
+                .save(new TaskStatusIndex(TaskStatus.INJECTED, task.getId(), task.getExtensionName()));
+
+        task.setTaskStatus(TaskStatus.COMPLETED);
+        Mockito.when(taskStatusIndexRepository.findByTaskStatusInAndId(any(), anyString())).thenReturn(
+                Arrays.asList(new TaskStatusIndex(TaskStatus.INJECTED, task.getId(), task.getExtensionName())));
+        taskService.updateTaskStatusIndex(task);
+        verify(taskStatusIndexRepository, times(2)).delete(any(TaskStatusIndex.class));
+        verify(taskStatusIndexRepository, times(1)).save(any(TaskStatusIndex.class));
+    }
+
+    @Test
+    public void testArchiveTriggerHistory() {
+        ReflectionTestUtils.setField(taskService, "triggerHistoryRetention", 5);
+        Task<TaskSpec> task = tasksMockData.getDummy1Task();
+        Stack<TaskTrigger> triggers = getTriggers(3);
+        TaskTrigger latestTrigger = triggers.peek();
+        task.setTriggers(triggers);
+        Mockito.when(taskTriggerHistoryRepository.findLatestByTaskId(task.getId()))
+                .thenReturn(new TaskTriggerHistory(task.getId(), 4, new TaskTrigger()));
+
+        Assert.assertTrue(taskService.archiveTriggerHistory(task));
+        Assert.assertEquals(task.getTriggers().size(), 1);
+        Assert.assertSame(task.getTriggers().peek(), latestTrigger);
+        verify(taskTriggerHistoryRepository, times(1))
+                .saveAll(Arrays.asList(new TaskTriggerHistory(task.getId(), 5, getTriggers(3).get(0)),
+                        new TaskTriggerHistory(task.getId(), 6, getTriggers(3).get(1))));
+        verify(taskTriggerHistoryRepository, times(1)).deleteByTaskIdAndTriggerIndexLessThanEqual(task.getId(), 1);
+
+        Assert.assertFalse(taskService.archiveTriggerHistory(task));
+    }
+
+    @Test
+    public void testAddOrUpdateTaskWithSingleTrigger() throws MangleException {
+        Task<TaskSpec> task = tasksMockData.getDummy1Task();
+        task.setTriggers(getTriggers(1));
+
+        taskService.addOrUpdateTask(task);
+        verify(taskRepository, times(1)).save(task);
+        verify(taskTriggerHistoryRepository, times(0)).findLatestByTaskId(anyString());
+        verify(taskTriggerHistoryRepository, times(0)).saveAll(any());
+    }
+
+    @Test
+    public void testLoadTriggerHistory() {
+        Task<TaskSpec> task = tasksMockData.getDummy1Task();
+        Stack<TaskTrigger> history = getTriggers(3);
+        task.setTriggers(getTriggers(1));
+        Mockito.when(taskTriggerHistoryRepository.findByTaskId(task.getId()))
+                .thenReturn(Arrays.asList(new TaskTriggerHistory(task.getId(), 1, history.get(1)),
+                        new TaskTriggerHistory(task.getId(), 0, history.get(0))));
+
+        taskService.loadTriggerHistory(task);
+        Assert.assertEquals(task.getTriggers().size(), 3);
+        Assert.assertEquals(task.getTriggers().get(0), history.get(0));
+        Assert.assertEquals(task.getTriggers().get(1), history.get(1));
+        Assert.assertEquals(task.getLoadedTriggerHistory(), 2);
+
+        Assert.assertTrue(taskService.archiveTriggerHistory(task));
+        Assert.assertEquals(task.getTriggers().size(), 1);
+        verify(taskTriggerHistoryRepository, times(0)).saveAll(any());
+    }
+
+    private Stack<TaskTrigger> getTriggers(int count) {
+        Stack<TaskTrigger> triggers = new Stack<>();
+        for (int i = 0; i < count; i++) {
+            TaskTrigger trigger = new TaskTrigger();
+            trigger.setStartTime("trigger-" + i);
+            triggers.push(trigger);
+        }
+        return triggers;
+    }
 }
\ No newline at end of file
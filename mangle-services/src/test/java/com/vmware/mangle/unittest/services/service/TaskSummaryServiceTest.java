@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.unittest.services.service;
+
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.vmware.mangle.cassandra.model.faults.specs.TaskSpec;
+import com.vmware.mangle.cassandra.model.resiliencyscore.ResiliencyScoreTask;
+import com.vmware.mangle.cassandra.model.tasks.Task;
+import com.vmware.mangle.cassandra.model.tasks.TaskFilter;
+import com.vmware.mangle.cassandra.model.tasks.TaskSummary;
+import com.vmware.mangle.cassandra.model.tasks.TaskType;
+import com.vmware.mangle.services.TaskSummaryService;
+import com.vmware.mangle.services.repository.ResiliencyScoreRepository;
+import com.vmware.mangle.services.repository.TaskRepository;
+import com.vmware.mangle.services.repository.TaskSummaryRepository;
+import com.vmware.mangle.utils.constants.Constants;
+import com.vmware.mangle.utils.exceptions.MangleException;
+import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
+
+/**
+ * Unit Test cases for {@link TaskSummaryService}.
+ *
+ * @author mangle
+ */
+public class TaskSummaryServiceTest {
+
+    private static final Comparator<TaskSummary> LATEST_FIRST = Comparator
+            .comparing(TaskSummary::getLastUpdated).thenComparing(TaskSummary::getId).reversed();
+
+    @Mock
+    private TaskSummaryRepository taskSummaryRepository;
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private ResiliencyScoreRepository resiliencyScoreRepository;
+
+    private TaskSummaryService taskSummaryService;
+    private List<TaskSummary> summaries;
+    private List<Task<TaskSpec>> tasks;
+
+    @BeforeMethod
+    public void initMocks() {
+        MockitoAnnotations.initMocks(this);
+        taskSummaryService = new TaskSummaryService(taskSummaryRepository, taskRepository, resiliencyScoreRepository);
+        summaries = new ArrayList<>();
+        tasks = new ArrayList<>();
+        when(taskSummaryRepository.findLatest(anyString(), anyInt())).thenAnswer(invocation -> summaries.stream()
+                .filter(summary -> summary.getTaskType().name().equals(invocation.getArguments()[0]))
+                .sorted(LATEST_FIRST).limit((int) invocation.getArguments()[1]).collect(Collectors.toList()));
+        when(taskSummaryRepository.findLatestBefore(anyString(), anyLong(), anyString(), anyInt()))
+                .thenAnswer(invocation -> {
+                    TaskSummary cursor = new TaskSummary();
+                    cursor.setLastUpdated((Long) invocation.getArguments()[1]);
+                    cursor.setId((String) invocation.getArguments()[2]);
+                    return summaries.stream()
+                            .filter(summary -> summary.getTaskType().name().equals(invocation.getArguments()[0])
+                                    && LATEST_FIRST.compare(summary, cursor) > 0)
+                            .sorted(LATEST_FIRST).limit((int) invocation.getArguments()[3]).collect(Collectors.toList());
+                });
+        when(taskSummaryRepository.countByTaskType(anyString())).thenAnswer(invocation -> summaries.stream()
+                .filter(summary -> summary.getTaskType().name().equals(invocation.getArguments()[0])).count());
+        when(taskRepository.findByIds(anyList())).thenAnswer(invocation -> {
+            List<?> ids = (List<?>) invocation.getArguments()[0];
+            return tasks.stream().filter(task -> ids.contains(task.getId())).collect(Collectors.toList());
+        });
+        when(resiliencyScoreRepository.findByIds(anyCollection())).thenReturn(new ArrayList<ResiliencyScoreTask>());
+    }
+
+    @Test
+    public void testGetTaskBasedOnIndexMergesTaskTypesLatestFirst() throws MangleException {
+        addTask(TaskType.INJECTION, 100L);
+        addTask(TaskType.REMEDIATION, 300L);
+        addTask(TaskType.INJECTION, 200L);
+        addTask(TaskType.INJECTION, 50L);
+
+        TaskFilter taskFilter = new TaskFilter();
+        taskFilter.setFromIndex(1);
+        taskFilter.setToIndex(2);
+        Map<String, Object> pagedObject = taskSummaryService.getTaskBasedOnIndex(taskFilter);
+
+        Assert.assertEquals(pagedObject.get(Constants.TASK_SIZE), 4);
+        Assert.assertEquals(getLastUpdatedValues(pagedObject), new Long[] { 200L, 100L });
+    }
+
+    @Test
+    public void testGetTaskBasedOnIndexWithCursor() throws MangleException {
+        for (long lastUpdated = 1; lastUpdated <= 5; lastUpdated++) {
+            addTask(lastUpdated % 2 == 0 ? TaskType.REMEDIATION : TaskType.INJECTION, lastUpdated);
+        }
+        TaskFilter taskFilter = new TaskFilter();
+        taskFilter.setToIndex(2);
+        taskFilter.setCursor("");
+
+        Map<String, Object> firstPage = taskSummaryService.getTaskBasedOnIndex(taskFilter);
+        Assert.assertEquals(getLastUpdatedValues(firstPage), new Long[] { 5L, 4L, 3L });
+        Assert.assertFalse(firstPage.containsKey(Constants.TASK_SIZE));
+        Assert.assertNotNull(firstPage.get(Constants.NEXT_CURSOR));
+
+        taskFilter.setCursor((String) firstPage.get(Constants.NEXT_CURSOR));
+        Map<String, Object> secondPage = taskSummaryService.getTaskBasedOnIndex(taskFilter);
+        Assert.assertEquals(getLastUpdatedValues(secondPage), new Long[] { 2L, 1L });
+        Assert.assertNull(secondPage.get(Constants.NEXT_CURSOR));
+    }
+
+    @Test
+    public void testGetTaskBasedOnIndexRemovesStaleSummaries() throws MangleException {
+        addTask(TaskType.INJECTION, 100L);
+        Task<TaskSpec> updatedTask = addTask(TaskType.INJECTION, 200L);
+        summaries.add(getSummary(updatedTask, 150L));
+
+        TaskFilter taskFilter = new TaskFilter();
+        taskFilter.setTaskStatus(updatedTask.getTaskStatus().name());
+        Map<String, Object> pagedObject = taskSummaryService.getTaskBasedOnIndex(taskFilter);
+
+        Assert.assertEquals(getLastUpdatedValues(pagedObject), new Long[] { 200L, 100L });
+        verify(taskSummaryRepository).deleteEntry(TaskType.INJECTION.name(), 150L, updatedTask.getId());
+    }
+
+    @Test
+    public void testUpdateSummaryRemovesPreviousEntry() {
+        Task<TaskSpec> task = getTask(TaskType.INJECTION, 200L);
+
+        taskSummaryService.updateSummary(task, 100L);
+        verify(taskSummaryRepository).save(new TaskSummary(task));
+        verify(taskSummaryRepository).deleteEntry(TaskType.INJECTION.name(), 100L, task.getId());
+
+        taskSummaryService.updateSummary(task, 200L);
+        verify(taskSummaryRepository, never()).deleteEntry(TaskType.INJECTION.name(), 200L, task.getId());
+    }
+
+    @Test
+    public void testGetTaskBasedOnIndexWithInvalidCursor() {
+        TaskFilter taskFilter = new TaskFilter();
+        taskFilter.setCursor("invalid");
+        try {
+            taskSummaryService.getTaskBasedOnIndex(taskFilter);
+            Assert.fail("Expected the cursor to be rejected");
+        } catch (MangleException e) {
+            Assert.assertEquals(e.getErrorCode(), ErrorCode.INVALID_PAGE_CURSOR);
+        }
+    }
+
+    private Task<TaskSpec> addTask(TaskType taskType, long lastUpdated) {
+        Task<TaskSpec> task = getTask(taskType, lastUpdated);
+        tasks.add(task);
+        summaries.add(getSummary(task, lastUpdated));
+        return task;
+    }
+
+    private Task<TaskSpec> getTask(TaskType taskType, long lastUpdated) {
+        Task<TaskSpec> task = new Task<>();
+        task.setTaskType(taskType);
+        task.setLastUpdated(lastUpdated);
+        return task;
+    }
+
+    private TaskSummary getSummary(Task<TaskSpec> task, long lastUpdated) {
+        TaskSummary summary = new TaskSummary(task);
+        summary.setLastUpdated(lastUpdated);
+        return summary;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Long[] getLastUpdatedValues(Map<String, Object> pagedObject) {
+        Collection<Object> pageTasks = (Collection<Object>) pagedObject.get(Constants.TASK_LIST);
+        return pageTasks.stream().map(task -> ((Task<?>) task).getLastUpdated()).toArray(Long[]::new);
+    }
+}
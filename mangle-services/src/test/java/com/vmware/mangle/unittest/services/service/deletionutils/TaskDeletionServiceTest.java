@@ -39,12 +39,14 @@ import com.vmware.mangle.cassandra.model.tasks.Task;
 import com.vmware.mangle.cassandra.model.tasks.TaskStatus;
 import com.vmware.mangle.model.response.DeleteOperationResponse;
 import com.vmware.mangle.services.SchedulerService;
+import com.vmware.mangle.services.TaskSummaryService;
 import com.vmware.mangle.services.deletionutils.TaskDeletionService;
 import com.vmware.mangle.services.events.web.CustomEventPublisher;
 import com.vmware.mangle.services.mockdata.FaultsMockData;
 import com.vmware.mangle.services.mockdata.SchedulerControllerMockData;
 import com.vmware.mangle.services.mockdata.TasksMockData;
 import com.vmware.mangle.services.repository.TaskRepository;
+import com.vmware.mangle.services.repository.TaskTriggerHistoryRepository;
 import com.vmware.mangle.utils.constants.ErrorConstants;
 import com.vmware.mangle.utils.exceptions.MangleException;
 import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
@@ -66,6 +68,10 @@ public class TaskDeletionServiceTest {
     private TaskRepository taskRepository;
     @Mock
     private CustomEventPublisher eventPublisher;
+    @Mock
+    private TaskSummaryService taskSummaryService;
+    @Mock
+    private TaskTriggerHistoryRepository taskTriggerHistoryRepository;
 
     private TaskDeletionService taskDeletionService;
 
@@ -77,7 +83,8 @@ public class TaskDeletionServiceTest {
     @BeforeMethod
     public void initMocks() {
         MockitoAnnotations.initMocks(this);
-        taskDeletionService = new TaskDeletionService(taskRepository, schedulerService, eventPublisher);
+        taskDeletionService = new TaskDeletionService(taskRepository, schedulerService, eventPublisher, taskSummaryService,
+                taskTriggerHistoryRepository);
     }
 
     @Test
@@ -153,6 +160,7 @@ public class TaskDeletionServiceTest {
         when(taskRepository.findById(task.getId())).thenReturn(taskOp);
         boolean del = taskDeletionService.deleteTaskById(task.getId());
         Assert.assertTrue(del, "Testcase for TaskDeletionService.deleteTaskById(String) failed when the TaskStatus has completed");
+        verify(taskTriggerHistoryRepository, times(1)).deleteByTaskIdIn(Collections.singleton(task.getId()));
     }
 
     @Test(enabled = false)
@@ -35,6 +35,7 @@ import com.vmware.mangle.cassandra.model.resiliencyscore.Service;
 import com.vmware.mangle.cassandra.model.scheduler.SchedulerSpec;
 import com.vmware.mangle.model.response.DeleteOperationResponse;
 import com.vmware.mangle.services.SchedulerService;
+import com.vmware.mangle.services.TaskSummaryService;
 import com.vmware.mangle.services.mockdata.MockDataConstants;
 import com.vmware.mangle.services.mockdata.ResiliencyScoreMockData;
 import com.vmware.mangle.services.mockdata.SchedulerControllerMockData;
@@ -58,6 +59,8 @@ public class ResiliencyScoreServiceTest {
     private QueryRepository queryRepository;
     @Mock
     private SchedulerService schedulerService;
+    @Mock
+    private TaskSummaryService taskSummaryService;
 
     @InjectMocks
     private ResiliencyScoreService resiliencyScoreService;
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.unittest.services.tasks.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.vmware.mangle.cassandra.model.faults.specs.CommandExecutionFaultSpec;
+import com.vmware.mangle.cassandra.model.tasks.Task;
+import com.vmware.mangle.services.tasks.executor.ChildTaskFanOut;
+import com.vmware.mangle.services.tasks.executor.TaskExecutorProperties;
+import com.vmware.mangle.utils.exceptions.MangleException;
+import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
+
+/**
+ * Unit Test cases for {@link ChildTaskFanOut}.
+ *
+ * @author mangle
+ */
+public class ChildTaskFanOutTest {
+
+    @Test
+    public void testDispatchSubmitsBatchesConcurrently() throws Exception {
+        TaskExecutorProperties properties = new TaskExecutorProperties();
+        properties.setChildTaskParallelism(4);
+        properties.setChildTaskBatchSize(5);
+        ChildTaskFanOut fanOut = new ChildTaskFanOut(properties);
+        List<Task<CommandExecutionFaultSpec>> childTasks = getChildTasks(20);
+        CountDownLatch allBatchesStarted = new CountDownLatch(4);
+        Set<String> submittedTaskIds = ConcurrentHashMap.newKeySet();
+
+        int submittedTasks = fanOut.dispatch(childTasks, childTask -> {
+            allBatchesStarted.countDown();
+            try {
+                // every batch blocks until the four batches run at the same time
+                Assert.assertTrue(allBatchesStarted.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            submittedTaskIds.add(childTask.getId());
+        });
+
+        Assert.assertEquals(submittedTasks, 20);
+        Assert.assertEquals(submittedTaskIds.size(), 20);
+        fanOut.shutdown();
+    }
+
+    @Test
+    public void testDispatchInRolloutWaves() throws Exception {
+        TaskExecutorProperties properties = new TaskExecutorProperties();
+        properties.setChildTaskRolloutPercentage(30);
+        properties.setChildTaskBatchSize(1);
+        ChildTaskFanOut fanOut = new ChildTaskFanOut(properties);
+        List<Task<CommandExecutionFaultSpec>> childTasks = getChildTasks(10);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        int submittedTasks = fanOut.dispatch(childTasks, childTask -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+        });
+
+        Assert.assertEquals(submittedTasks, 10);
+        Assert.assertTrue(maxInFlight.get() <= 3, "wave of 30% submitted more than 3 children at once");
+        fanOut.shutdown();
+    }
+
+    @Test
+    public void testDispatchContinuesAfterFailure() throws Exception {
+        ChildTaskFanOut fanOut = new ChildTaskFanOut(new TaskExecutorProperties());
+        List<Task<CommandExecutionFaultSpec>> childTasks = getChildTasks(3);
+        String failingTaskId = childTasks.get(1).getId();
+
+        int submittedTasks = fanOut.dispatch(childTasks, childTask -> {
+            if (failingTaskId.equals(childTask.getId())) {
+                throw new MangleException(ErrorCode.GENERIC_ERROR);
+            }
+        });
+
+        Assert.assertEquals(submittedTasks, 2);
+        fanOut.shutdown();
+    }
+
+    private List<Task<CommandExecutionFaultSpec>> getChildTasks(int count) {
+        List<Task<CommandExecutionFaultSpec>> childTasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task<CommandExecutionFaultSpec> childTask = new Task<>();
+            childTask.setId("child-" + i);
+            childTasks.add(childTask);
+        }
+        return childTasks;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.unittest.services.tasks.impl;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.vmware.mangle.cassandra.model.endpoint.EndpointSpec;
+import com.vmware.mangle.cassandra.model.faults.specs.CommandExecutionFaultSpec;
+import com.vmware.mangle.cassandra.model.tasks.Task;
+import com.vmware.mangle.cassandra.model.tasks.TaskType;
+import com.vmware.mangle.model.enums.EndpointType;
+import com.vmware.mangle.services.tasks.executor.TaskExecutionDispatcher;
+import com.vmware.mangle.services.tasks.executor.TaskExecutorProperties;
+import com.vmware.mangle.utils.exceptions.MangleException;
+import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
+
+/**
+ * Unit Test cases for {@link TaskExecutionDispatcher}.
+ *
+ * @author mangle
+ */
+public class TaskExecutionDispatcherTest {
+
+    @Test
+    public void testRemediationTasksRunAheadOfInjections() throws Exception {
+        TaskExecutorProperties properties = new TaskExecutorProperties();
+        properties.setMaxConcurrentTasks(1);
+        TaskExecutionDispatcher dispatcher = new TaskExecutionDispatcher(properties);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(2);
+        List<String> executionOrder = new CopyOnWriteArrayList<>();
+
+        dispatcher.submit(getTask(TaskType.INJECTION, null), () -> await(blocker));
+        Task<CommandExecutionFaultSpec> injection = getTask(TaskType.INJECTION, null);
+        Task<CommandExecutionFaultSpec> remediation = getTask(TaskType.REMEDIATION, null);
+        Assert.assertFalse(dispatcher.hasFreeSlot(injection));
+        dispatcher.submit(injection, () -> {
+            executionOrder.add(injection.getId());
+            finished.countDown();
+        });
+        dispatcher.submit(remediation, () -> {
+            executionOrder.add(remediation.getId());
+            finished.countDown();
+        });
+        Assert.assertEquals(dispatcher.getQueuedTaskCount(), 2);
+        Assert.assertTrue(dispatcher.isQueued(injection.getId()));
+
+        blocker.countDown();
+        Assert.assertTrue(finished.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(executionOrder.get(0), remediation.getId());
+        Assert.assertEquals(executionOrder.get(1), injection.getId());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void testEndpointTypeLimit() throws Exception {
+        TaskExecutorProperties properties = new TaskExecutorProperties();
+        properties.getEndpointTypeLimits().put(EndpointType.K8S_CLUSTER, 1);
+        TaskExecutionDispatcher dispatcher = new TaskExecutionDispatcher(properties);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch machineTaskStarted = new CountDownLatch(1);
+
+        dispatcher.submit(getTask(TaskType.INJECTION, EndpointType.K8S_CLUSTER), () -> await(blocker));
+        Task<CommandExecutionFaultSpec> k8sTask = getTask(TaskType.INJECTION, EndpointType.K8S_CLUSTER);
+        dispatcher.submit(k8sTask, () -> {
+        });
+        dispatcher.submit(getTask(TaskType.INJECTION, EndpointType.MACHINE), machineTaskStarted::countDown);
+
+        Assert.assertTrue(machineTaskStarted.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(dispatcher.isQueued(k8sTask.getId()));
+        Assert.assertTrue(dispatcher.remove(k8sTask.getId()));
+        Assert.assertFalse(dispatcher.isQueued(k8sTask.getId()));
+        blocker.countDown();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void testSubmitWhenQueueIsFull() throws Exception {
+        TaskExecutorProperties properties = new TaskExecutorProperties();
+        properties.setMaxConcurrentTasks(1);
+        properties.setQueueCapacity(1);
+        TaskExecutionDispatcher dispatcher = new TaskExecutionDispatcher(properties);
+        CountDownLatch blocker = new CountDownLatch(1);
+
+        dispatcher.submit(getTask(TaskType.INJECTION, null), () -> await(blocker));
+        dispatcher.submit(getTask(TaskType.INJECTION, null), () -> {
+        });
+        try {
+            dispatcher.submit(getTask(TaskType.INJECTION, null), () -> {
+            });
+            Assert.fail("Expected the submission to be rejected");
+        } catch (MangleException e) {
+            Assert.assertEquals(e.getErrorCode(), ErrorCode.TASK_QUEUE_FULL);
+        } finally {
+            blocker.countDown();
+            dispatcher.shutdown();
+        }
+    }
+
+    private Task<CommandExecutionFaultSpec> getTask(TaskType taskType, EndpointType endpointType) {
+        CommandExecutionFaultSpec faultSpec = new CommandExecutionFaultSpec();
+        if (endpointType != null) {
+            EndpointSpec endpointSpec = new EndpointSpec();
+            endpointSpec.setEndPointType(endpointType);
+            faultSpec.setEndpoint(endpointSpec);
+        }
+        Task<CommandExecutionFaultSpec> task = new Task<>();
+        task.setTaskType(taskType);
+        task.setTaskData(faultSpec);
+        return task;
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
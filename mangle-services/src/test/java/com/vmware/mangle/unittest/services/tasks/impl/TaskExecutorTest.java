@@ -15,6 +15,7 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.log4j.Log4j2;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -244,4 +245,13 @@ public class TaskExecutorTest extends PowerMockTestCase {
         Assert.assertTrue(concurrentTaskRunner.hasStarted(task));
     }
 
+    @Test(priority = 7)
+    public void testQueuedTasksGauge() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        concurrentTaskRunner.setMeterRegistry(meterRegistry);
+
+        Assert.assertEquals(meterRegistry.get("mangle_queued_tasks").gauge().value(),
+                (double) concurrentTaskRunner.getNumberOfQueuedTasks());
+    }
+
 }
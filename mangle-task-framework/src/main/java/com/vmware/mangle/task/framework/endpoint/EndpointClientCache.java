@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.task.framework.endpoint;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.log4j.Log4j2;
+
+import com.vmware.mangle.utils.clients.endpoint.EndpointClient;
+
+/**
+ * Keeps the endpoint clients built by the {@link EndpointClientFactory}, so that the credentials
+ * are decrypted and the clients are connected once per endpoint instead of once per fault or
+ * polling iteration.
+ *
+ * The clients are stored by endpoint name together with the version of the endpoint and
+ * credentials they were built from, and a client is only returned for the same version. The
+ * entries expire after the time to live, and the least recently used entries are evicted when the
+ * cache is full.
+ *
+ * The cache is shared by the factories of the application and of the plugins, so that an update
+ * of an endpoint or a credential invalidates the clients used by all of them.
+ *
+ * @author mangle
+ */
+@Log4j2
+public class EndpointClientCache {
+    public static final int DEFAULT_MAX_SIZE = 500;
+    public static final long DEFAULT_TIME_TO_LIVE = TimeUnit.MINUTES.toMillis(30);
+
+    private static final EndpointClientCache INSTANCE = new EndpointClientCache();
+
+    private final Map<String, CachedClient> clients;
+    private final long timeToLive;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public EndpointClientCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    public EndpointClientCache(int maxSize, long timeToLive) {
+        this.timeToLive = timeToLive;
+        this.clients = new LinkedHashMap<String, CachedClient>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedClient> eldest) {
+                if (size() > maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static EndpointClientCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the client of the endpoint if it was built from the given version and has not
+     * expired, null otherwise.
+     */
+    public synchronized EndpointClient get(String endpointName, int version) {
+        CachedClient cachedClient = clients.get(endpointName);
+        if (null != cachedClient && cachedClient.version == version
+                && cachedClient.expiresAt > System.currentTimeMillis()) {
+            hits.incrementAndGet();
+            return cachedClient.client;
+        }
+        if (null != cachedClient) {
+            clients.remove(endpointName);
+            evictions.incrementAndGet();
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public synchronized void put(String endpointName, String credentialsName, int version, EndpointClient client) {
+        clients.put(endpointName, new CachedClient(client, credentialsName, version,
+                System.currentTimeMillis() + timeToLive));
+    }
+
+    /**
+     * Removes the client of the given endpoint.
+     */
+    public synchronized void invalidateEndpoint(String endpointName) {
+        if (null != clients.remove(endpointName)) {
+            log.debug("Invalidated the cached client of the endpoint {}", endpointName);
+        }
+    }
+
+    /**
+     * Removes the clients of all the endpoints using the given credentials.
+     */
+    public synchronized void invalidateCredentials(String credentialsName) {
+        Iterator<Map.Entry<String, CachedClient>> iterator = clients.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, CachedClient> entry = iterator.next();
+            if (Objects.equals(credentialsName, entry.getValue().credentialsName)) {
+                iterator.remove();
+                log.debug("Invalidated the cached client of the endpoint {}", entry.getKey());
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        clients.clear();
+    }
+
+    public synchronized int size() {
+        return clients.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private static final class CachedClient {
+        private final EndpointClient client;
+        private final String credentialsName;
+        private final int version;
+        private final long expiresAt;
+
+        private CachedClient(EndpointClient client, String credentialsName, int version, long expiresAt) {
+            this.client = client;
+            this.credentialsName = credentialsName;
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -14,10 +14,12 @@ package com.vmware.mangle.task.framework.endpoint;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.Objects;
 
 import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SerializationUtils;
 import org.springframework.stereotype.Component;
 
 import com.vmware.mangle.cassandra.model.endpoint.AWSConnectionProperties;
@@ -58,11 +60,75 @@ import com.vmware.mangle.utils.helpers.security.DecryptFields;
 @Component
 public class EndpointClientFactory {
 
+    private EndpointClientCache clientCache = EndpointClientCache.getInstance();
+
+    public void setClientCache(EndpointClientCache clientCache) {
+        this.clientCache = clientCache;
+    }
+
+    public EndpointClientCache getClientCache() {
+        return clientCache;
+    }
+
+    /**
+     * Returns the client of the endpoint. The docker, remote machine, AWS and Azure clients are
+     * reused from the {@link EndpointClientCache} as long as the endpoint and its credentials are
+     * unchanged.
+     */
     public EndpointClient getEndPointClient(CredentialsSpec credentials, @NonNull EndpointSpec endpoint)
             throws MangleException {
         if (null != endpoint.getEnable() && !endpoint.getEnable()) {
             throw new MangleException(ErrorCode.ENDPOINT_DISABLED, endpoint.getName());
         }
+        if (!isCacheable(endpoint)) {
+            return createEndPointClient(credentials, endpoint);
+        }
+        int version = Objects.hash(endpoint, credentials);
+        EndpointClient client = clientCache.get(endpoint.getName(), version);
+        if (null == client) {
+            // the specs are decrypted in place, decrypt copies so that they still match the version
+            client = createEndPointClient(null != credentials ? SerializationUtils.clone(credentials) : null,
+                    SerializationUtils.clone(endpoint));
+            clientCache.put(endpoint.getName(), null != credentials ? credentials.getName() : null, version, client);
+        }
+        return client;
+    }
+
+    /**
+     * Removes the cached client of the endpoint, to be called when the endpoint is updated.
+     */
+    public void invalidateEndpoint(String endpointName) {
+        clientCache.invalidateEndpoint(endpointName);
+    }
+
+    /**
+     * Removes the cached clients of the endpoints using the credentials, to be called when the
+     * credentials are updated.
+     */
+    public void invalidateCredentials(String credentialsName) {
+        clientCache.invalidateCredentials(credentialsName);
+    }
+
+    private boolean isCacheable(EndpointSpec endpoint) {
+        if (null == endpoint.getName()) {
+            return false;
+        }
+        switch (endpoint.getEndPointType()) {
+        case DOCKER:
+        case MACHINE:
+        case AWS:
+        case AZURE:
+            return true;
+        default:
+            // the kubernetes and redis clients are shared instances re-configured on every call, and
+            // the vCenter adapter client keeps the state of the request being sent so it is built
+            // per call, the adapter reusing its vCenter session across the calls
+            return false;
+        }
+    }
+
+    private EndpointClient createEndPointClient(CredentialsSpec credentials, EndpointSpec endpoint)
+            throws MangleException {
         switch (endpoint.getEndPointType()) {
         case DOCKER:
             return getCustomDockerClient(endpoint.getDockerConnectionProperties());
@@ -13,9 +13,9 @@ package com.vmware.mangle.task.framework.helpers;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.StringUtils;
@@ -31,7 +31,6 @@ import com.vmware.mangle.utils.CommonUtils;
 import com.vmware.mangle.utils.ICommandExecutor;
 import com.vmware.mangle.utils.constants.Constants;
 import com.vmware.mangle.utils.constants.ErrorConstants;
-import com.vmware.mangle.utils.constants.StringConstants;
 import com.vmware.mangle.utils.exceptions.MangleException;
 import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
 
@@ -182,49 +181,20 @@ public class CommandInfoExecutionHelper {
      */
     private String getAbsoluteCommand(CommandInfo commandInfo, TaskTroubleShootingInfo taskTroubleShootingInfo,
             Map<String, String> args, String latestCommandOutput) throws MangleException {
-        CommandInfo.CommandInfoBuilder builder = commandInfo.toBuilder();
-        // Replace all the arg references
-        if (!CollectionUtils.isEmpty(args)) {
-            builder.command(processReferences(commandInfo, args, Constants.FIAACO_CMD_ARG_EXPRESSION));
+        CommandTemplate template = CommandTemplate.compile(commandInfo.getCommand());
+        if (!template.hasPlaceholders()) {
+            return template.getCommand();
         }
-
-        // Replace all the additional Information references
+        Map<String, String> additionalInfo = null;
         if (taskTroubleShootingInfo != null) {
-            builder.command(processReferences(commandInfo, taskTroubleShootingInfo.getAdditionalInfo(),
-                    Constants.FIAACO_CMD_ADD_INFO_EXPRESSION));
-        }
-        // Condition to replace Reference to Previous Command result in the present Command
-        if (commandInfo.getCommand().contains(Constants.FIAACO_CMD_STACK_EXPRESSION) && latestCommandOutput != null) {
-            builder.command(commandInfo.getCommand().replaceAll("\\" + Constants.FIAACO_CMD_STACK_EXPRESSION,
-                    latestCommandOutput.trim()));
-        }
-        log.debug("Absolute Command is " + this.maskCommand(commandInfo.getCommand()));
-        return builder.build().getCommand();
-    }
-
-    /**
-     * @param commandInfo
-     * @param referedValues
-     * @throws MangleException
-     */
-    private String processReferences(CommandInfo commandInfo, Map<String, String> referedValues, String expression)
-            throws MangleException {
-        if (commandInfo.getCommand().contains(expression) && referedValues != null) {
-            String command = commandInfo.getCommand();
-            for (Entry<String, String> entry : referedValues.entrySet()) {
-                if (command.contains(expression + entry.getKey()) && entry.getValue() != null) {
-                    command = command.replaceAll("\\" + expression + entry.getKey(), entry.getValue());
-                }
-            }
-            commandInfo = commandInfo.toBuilder().command(command).build();
-        }
-        if (commandInfo.getCommand().contains(expression)) {
-            throw new MangleException(ErrorCode.MISSING_REFERENCE_VALUES, this.maskCommand(commandInfo.getCommand()));
+            additionalInfo = taskTroubleShootingInfo.getAdditionalInfo() != null
+                    ? taskTroubleShootingInfo.getAdditionalInfo() : Collections.emptyMap();
         }
-        return commandInfo.getCommand();
+        String absoluteCommand = template.render(args, additionalInfo, latestCommandOutput);
+        log.debug("Absolute Command is " + this.maskCommand(absoluteCommand));
+        return absoluteCommand;
     }
 
-
     /**
      * Utility method to make a Script File executable
      *
@@ -247,6 +217,6 @@ public class CommandInfoExecutionHelper {
     }
 
     private String maskCommand(String command) {
-        return command.replaceAll(StringConstants.REGULAR_EXP_FOR_PASS_MASK, StringConstants.REPLACEMENT_TXT);
+        return CommandTemplate.mask(command);
     }
 }
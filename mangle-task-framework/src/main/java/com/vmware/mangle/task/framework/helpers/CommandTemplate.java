@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.task.framework.helpers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.vmware.mangle.utils.constants.Constants;
+import com.vmware.mangle.utils.constants.StringConstants;
+import com.vmware.mangle.utils.exceptions.MangleException;
+import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
+
+/**
+ * A command of a fault, parsed once into literal text and the placeholder slots referring to the
+ * task args ($FI_ARG_name), to the additional information of the task ($FI_ADD_INFO_name) and to
+ * the output of the previous command ($FI_STACK).
+ *
+ * The name of a slot is the longest run of letters, digits and underscores following its prefix.
+ * When rendering, the slot is replaced by the value of the longest name which is a prefix of it,
+ * so that "$FI_ARG_idSuffix" still renders the value of "id" followed by "Suffix". The values are
+ * copied as they are, they are neither interpreted as regex replacements nor searched for further
+ * references.
+ *
+ * @author mangle
+ */
+public final class CommandTemplate {
+    public static final int MAX_CACHED_TEMPLATES = 1024;
+    private static final Map<String, CommandTemplate> TEMPLATES =
+            new LinkedHashMap<String, CommandTemplate>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CommandTemplate> eldest) {
+                    return size() > MAX_CACHED_TEMPLATES;
+                }
+            };
+    private static final Pattern PASSWORD_PATTERN = Pattern.compile(StringConstants.REGULAR_EXP_FOR_PASS_MASK);
+    private static final String STACK_EXPRESSION = Constants.FIAACO_CMD_STACK_EXPRESSION.toString();
+
+    private final String command;
+    private final String[] literals;
+    private final Slot[] slots;
+
+    private CommandTemplate(String command, List<String> literals, List<Slot> slots) {
+        this.command = command;
+        this.literals = literals.toArray(new String[0]);
+        this.slots = slots.toArray(new Slot[0]);
+    }
+
+    /**
+     * Returns the template of the given command, parsing the command on first use only. The least
+     * recently used template is dropped once the cache is full.
+     */
+    public static CommandTemplate compile(String command) {
+        synchronized (TEMPLATES) {
+            CommandTemplate template = TEMPLATES.get(command);
+            if (null != template) {
+                return template;
+            }
+        }
+        CommandTemplate template = parse(command);
+        synchronized (TEMPLATES) {
+            CommandTemplate cachedTemplate = TEMPLATES.putIfAbsent(command, template);
+            return null != cachedTemplate ? cachedTemplate : template;
+        }
+    }
+
+    /**
+     * Masks the passwords and user names passed as options of the given command, for logging.
+     */
+    public static String mask(String command) {
+        return PASSWORD_PATTERN.matcher(command).replaceAll(StringConstants.REPLACEMENT_TXT);
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public boolean hasPlaceholders() {
+        return slots.length > 0;
+    }
+
+    /**
+     * Renders the command in a single pass over the slots. The references to the args are left as
+     * they are when there are no args, the references to the additional information when there is
+     * no additional information and the references to the previous output when there is no
+     * previous output.
+     *
+     * @param args
+     *            the task args, may be null or empty
+     * @param additionalInfo
+     *            the additional information of the task, may be null
+     * @param previousOutput
+     *            the output of the previous command, may be null
+     * @return the absolute command
+     * @throws MangleException
+     *             with {@link ErrorCode#MISSING_REFERENCE_VALUES} when an arg or additional
+     *             information reference has no value
+     */
+    public String render(Map<String, String> args, Map<String, String> additionalInfo, String previousOutput)
+            throws MangleException {
+        if (slots.length == 0) {
+            return command;
+        }
+        StringBuilder builder = new StringBuilder(command.length() + 16 * slots.length);
+        String trimmedOutput = null == previousOutput ? null : previousOutput.trim();
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(literals[i]);
+            Slot slot = slots[i];
+            if (STACK_EXPRESSION.equals(slot.expression)) {
+                builder.append(null == trimmedOutput ? slot.expression : trimmedOutput);
+                continue;
+            }
+            boolean argSlot = Constants.FIAACO_CMD_ARG_EXPRESSION.equals(slot.expression);
+            if (argSlot ? null == args || args.isEmpty() : null == additionalInfo) {
+                builder.append(slot.expression).append(slot.name);
+                continue;
+            }
+            Map<String, String> values = argSlot ? args : additionalInfo;
+            int nameLength = resolve(values, slot.name);
+            if (nameLength == 0) {
+                throw new MangleException(ErrorCode.MISSING_REFERENCE_VALUES, mask(command));
+            }
+            builder.append(values.get(slot.name.substring(0, nameLength)));
+            builder.append(slot.name, nameLength, slot.name.length());
+        }
+        builder.append(literals[slots.length]);
+        return builder.toString();
+    }
+
+    private static int resolve(Map<String, String> values, String name) {
+        if (null == values || values.isEmpty()) {
+            return 0;
+        }
+        for (int length = name.length(); length > 0; length--) {
+            if (null != values.get(name.substring(0, length))) {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    private static CommandTemplate parse(String command) {
+        List<String> literals = new ArrayList<>();
+        List<Slot> slots = new ArrayList<>();
+        int literalStart = 0;
+        int index = command.indexOf('$');
+        while (index >= 0) {
+            String expression = getExpression(command, index);
+            if (null == expression) {
+                index = command.indexOf('$', index + 1);
+                continue;
+            }
+            int nameStart = index + expression.length();
+            int nameEnd = nameStart;
+            if (!STACK_EXPRESSION.equals(expression)) {
+                while (nameEnd < command.length() && isNameCharacter(command.charAt(nameEnd))) {
+                    nameEnd++;
+                }
+            }
+            literals.add(command.substring(literalStart, index));
+            slots.add(new Slot(expression, command.substring(nameStart, nameEnd)));
+            literalStart = nameEnd;
+            index = command.indexOf('$', nameEnd);
+        }
+        literals.add(command.substring(literalStart));
+        return new CommandTemplate(command, literals, slots);
+    }
+
+    private static String getExpression(String command, int index) {
+        if (command.startsWith(Constants.FIAACO_CMD_ARG_EXPRESSION, index)) {
+            return Constants.FIAACO_CMD_ARG_EXPRESSION;
+        }
+        if (command.startsWith(Constants.FIAACO_CMD_ADD_INFO_EXPRESSION, index)) {
+            return Constants.FIAACO_CMD_ADD_INFO_EXPRESSION;
+        }
+        if (command.startsWith(STACK_EXPRESSION, index)) {
+            return STACK_EXPRESSION;
+        }
+        return null;
+    }
+
+    private static boolean isNameCharacter(char character) {
+        return Character.isLetterOrDigit(character) || character == '_';
+    }
+
+    private static final class Slot {
+        private final String expression;
+        private final String name;
+
+        private Slot(String expression, String name) {
+            this.expression = expression;
+            this.name = name;
+        }
+    }
+}
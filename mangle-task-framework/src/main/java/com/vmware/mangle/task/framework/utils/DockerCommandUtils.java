@@ -37,6 +37,11 @@ public class DockerCommandUtils implements ICommandExecutor {
                 .getEndPointClient(jvmAgentFaultSpec.getCredentials(), jvmAgentFaultSpec.getEndpoint());
     }
 
+    public DockerCommandUtils(CommandExecutionFaultSpec jvmAgentFaultSpec, CustomDockerClient dockerClient) {
+        this.faultSpec = jvmAgentFaultSpec;
+        this.dockerClient = dockerClient;
+    }
+
     public CommandExecutionResult runCommand(String command) throws MangleException {
         CommandExecutionResult commandExecutionResult = this.dockerClient
                 .execCommandInContainerByName(faultSpec.getDockerArguments().getContainerName(), command);
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.unittest.task.framework.helpers;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.vmware.mangle.task.framework.helpers.CommandTemplate;
+import com.vmware.mangle.utils.exceptions.MangleException;
+import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
+
+/**
+ * Unit Test cases for {@link CommandTemplate}.
+ *
+ * @author mangle
+ */
+public class CommandTemplateTest {
+
+    @Test
+    public void testRenderAllReferences() throws MangleException {
+        Map<String, String> args = new HashMap<>();
+        args.put("id", "12345");
+        Map<String, String> additionalInfo = new HashMap<>();
+        additionalInfo.put("testProperty", "value");
+
+        String command = CommandTemplate.compile("echo $FI_STACK arg: $FI_ARG_id, property: $FI_ADD_INFO_testProperty")
+                .render(args, additionalInfo, " Injecting Fault\n");
+
+        Assert.assertEquals(command, "echo Injecting Fault arg: 12345, property: value");
+    }
+
+    @Test
+    public void testRenderValuesLiterally() throws MangleException {
+        Map<String, String> args = new HashMap<>();
+        args.put("pattern", "$1\\d+ $FI_ARG_pattern");
+
+        String command = CommandTemplate.compile("grep '$FI_ARG_pattern' file").render(args, null, null);
+
+        Assert.assertEquals(command, "grep '$1\\d+ $FI_ARG_pattern' file");
+    }
+
+    @Test
+    public void testRenderLongestMatchingName() throws MangleException {
+        Map<String, String> args = new HashMap<>();
+        args.put("id", "1");
+        args.put("idx", "2");
+
+        String command =
+                CommandTemplate.compile("run $FI_ARG_idx $FI_ARG_id $FI_ARG_idSuffix").render(args, null, null);
+
+        Assert.assertEquals(command, "run 2 1 1Suffix");
+    }
+
+    @Test
+    public void testRenderKeepsStackWithoutPreviousOutput() throws MangleException {
+        CommandTemplate template = CommandTemplate.compile("echo $FI_STACK");
+
+        Assert.assertEquals(template.render(null, null, null), "echo $FI_STACK");
+        Assert.assertSame(CommandTemplate.compile("echo $FI_STACK"), template);
+    }
+
+    @Test
+    public void testRenderKeepsReferencesWithoutValues() throws MangleException {
+        CommandTemplate template = CommandTemplate.compile("run $FI_ARG_id $FI_ADD_INFO_host");
+
+        Assert.assertEquals(template.render(null, null, null), "run $FI_ARG_id $FI_ADD_INFO_host");
+        Assert.assertEquals(template.render(Collections.emptyMap(), null, null), "run $FI_ARG_id $FI_ADD_INFO_host");
+        try {
+            template.render(null, Collections.emptyMap(), null);
+            Assert.fail("Expected MangleException for an additional information reference without value");
+        } catch (MangleException e) {
+            Assert.assertEquals(e.getErrorCode(), ErrorCode.MISSING_REFERENCE_VALUES);
+        }
+    }
+
+    @Test
+    public void testCompileKeepsRecentlyUsedTemplates() {
+        CommandTemplate recentlyUsed = CommandTemplate.compile("echo recently used $FI_STACK");
+        CommandTemplate leastRecentlyUsed = CommandTemplate.compile("echo least recently used $FI_STACK");
+        Assert.assertSame(CommandTemplate.compile("echo recently used $FI_STACK"), recentlyUsed);
+
+        for (int i = 0; i < CommandTemplate.MAX_CACHED_TEMPLATES - 1; i++) {
+            CommandTemplate.compile("echo " + i);
+        }
+
+        Assert.assertSame(CommandTemplate.compile("echo recently used $FI_STACK"), recentlyUsed);
+        Assert.assertNotSame(CommandTemplate.compile("echo least recently used $FI_STACK"), leastRecentlyUsed);
+    }
+
+    @Test
+    public void testRenderMissingReference() {
+        Map<String, String> args = new HashMap<>();
+        args.put("id", null);
+        try {
+            CommandTemplate.compile("run $FI_ARG_id --password secret").render(args, null, null);
+            Assert.fail("Expected MangleException for a reference without value");
+        } catch (MangleException e) {
+            Assert.assertEquals(e.getErrorCode(), ErrorCode.MISSING_REFERENCE_VALUES);
+        }
+    }
+}
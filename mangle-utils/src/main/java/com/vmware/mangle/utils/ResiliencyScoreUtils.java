@@ -13,10 +13,17 @@ package com.vmware.mangle.utils;
 
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.util.CollectionUtils;
@@ -59,6 +66,15 @@ public class ResiliencyScoreUtils {
     private ServiceResiliencyScore serviceResiliencyScore;
     private List<QueryDto> allQueries;
     private String statusMessage;
+    @Setter
+    private long retryBackoffInMilliSeconds = ResiliencyConstants.QUERY_RETRY_INITIAL_BACKOFF_IN_MILLISECONDS;
+    private Map<QueryWindow, CompletableFuture<List<TimeSeriesResiliencyScore>>> queryResults;
+    /**
+     * Executor the queries run on, shared by the calculations. The queries run one after the other
+     * on the calling thread when it is not set.
+     */
+    @Setter
+    private Executor queryExecutor = Runnable::run;
 
     public ResiliencyScoreUtils(ResiliencyScoreProperties properties, Service service, List<QueryDto> allQueries,
             long startTime, long endTime) {
@@ -156,29 +172,56 @@ public class ResiliencyScoreUtils {
     private List<Double> processEventsToGetRScore(List<WavefrontEvent> events) {
         log.debug(" Processing all the events for calculating the resiliency score");
 
+        queryResults = new ConcurrentHashMap<>();
+        try {
+            // Fan out the queries of all the events first, the scores are then collected in order.
+            List<List<CompletableFuture<List<TimeSeriesResiliencyScore>>>> preInjectionResults = new ArrayList<>();
+            List<List<CompletableFuture<List<TimeSeriesResiliencyScore>>>> postInjectionResults = new ArrayList<>();
+            for (WavefrontEvent event : events) {
+                long preInjectionTime = getPreInjectionTimeWindow(event.getStart());
+                long postInjectionTime = getPostInjectionTimeWindow(event.getEnd());
+                log.debug("PreInjection time: " + preInjectionTime + " and Post Injection time: " + postInjectionTime);
+                List<CompletableFuture<List<TimeSeriesResiliencyScore>>> preInjectionResultsOfEvent = new ArrayList<>();
+                List<CompletableFuture<List<TimeSeriesResiliencyScore>>> postInjectionResultsOfEvent =
+                        new ArrayList<>();
+                for (QueryDto query : allQueries) {
+                    preInjectionResultsOfEvent.add(fetchResiliencyScoreForQuery(query.getQueryCondition(),
+                            preInjectionTime, event.getStart()));
+                    postInjectionResultsOfEvent.add(fetchResiliencyScoreForQuery(query.getQueryCondition(),
+                            event.getEnd(), postInjectionTime));
+                }
+                preInjectionResults.add(preInjectionResultsOfEvent);
+                postInjectionResults.add(postInjectionResultsOfEvent);
+            }
+            return collectRScoreOfEvents(events, preInjectionResults, postInjectionResults);
+        } finally {
+            // the queries still queued are skipped when the calculation fails
+            queryResults.values().forEach(result -> result.cancel(false));
+        }
+    }
+
+    private List<Double> collectRScoreOfEvents(List<WavefrontEvent> events,
+            List<List<CompletableFuture<List<TimeSeriesResiliencyScore>>>> preInjectionResults,
+            List<List<CompletableFuture<List<TimeSeriesResiliencyScore>>>> postInjectionResults) {
         List<Double> rScoreForQueries = new ArrayList<>();
         List<FaultEventResiliencyScore> faultEventResiliencyScores = new ArrayList<>();
         // Iterate through each of the fault injection events to calculate the pre-injection and post injection resiliency scores.
-        for (WavefrontEvent event : events) {
+        for (int eventIndex = 0; eventIndex < events.size(); eventIndex++) {
+            WavefrontEvent event = events.get(eventIndex);
             log.info("Processing the fault injection event: " + event.getName() + " with event start time: "
                     + event.getStart() + " end time: " + event.getEnd());
-            long preInjectionTime = getPreInjectionTimeWindow(event.getStart());
-            long postInjectionTime = getPostInjectionTimeWindow(event.getEnd());
-            log.debug("PreInjection time: " + preInjectionTime + " and Post Injection time: " + postInjectionTime);
             FaultEventResiliencyScore faultEventResiliencyScore = new FaultEventResiliencyScore();
             faultEventResiliencyScore.setFaultInjectionEventName(event.getName());
             List<QueryResiliencyScore> queryResiliencyScoreList = new ArrayList<>();
-            for (QueryDto query : allQueries) {
+            for (int queryIndex = 0; queryIndex < allQueries.size(); queryIndex++) {
+                QueryDto query = allQueries.get(queryIndex);
                 QueryResiliencyScore queryResiliencyScore = new QueryResiliencyScore();
                 queryResiliencyScore.setQueryName(query.getQueryCondition());
                 log.info(" Processing Resiliency score for Query: " + query.getQueryCondition());
-                log.info("Processing Pre-Injection score");
                 List<TimeSeriesResiliencyScore> preInjectionScoreOfQuery =
-                        retrieveResiliencyScoreForQuery(query.getQueryCondition(), preInjectionTime, event.getStart());
-
-                log.info("Processing Post-Injection score");
+                        getResult(preInjectionResults.get(eventIndex).get(queryIndex));
                 List<TimeSeriesResiliencyScore> postInjectionScoreOfQuery =
-                        retrieveResiliencyScoreForQuery(query.getQueryCondition(), event.getEnd(), postInjectionTime);
+                        getResult(postInjectionResults.get(eventIndex).get(queryIndex));
 
                 List<Double> rScoreOfQueryList = getOverallRScoreForQuery(preInjectionScoreOfQuery,
                         postInjectionScoreOfQuery, query.getWeight());
@@ -195,11 +238,36 @@ public class ResiliencyScoreUtils {
         return rScoreForQueries;
     }
 
+    /**
+     * Method to retrieve the time series data for the query condition asynchronously. The result
+     * of a query is shared by all the events having the same time window for it, as it happens
+     * when several faults are injected at once, so that it is retrieved once only.
+     */
+    private CompletableFuture<List<TimeSeriesResiliencyScore>> fetchResiliencyScoreForQuery(String query,
+            long startTimeInEpoch, long endTimeInEpoch) {
+        return queryResults.computeIfAbsent(new QueryWindow(query, startTimeInEpoch, endTimeInEpoch),
+                window -> CompletableFuture.supplyAsync(
+                        () -> retrieveResiliencyScoreForQuery(query, startTimeInEpoch, endTimeInEpoch),
+                        queryExecutor));
+    }
+
+    private List<TimeSeriesResiliencyScore> getResult(CompletableFuture<List<TimeSeriesResiliencyScore>> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     /**
      * Method to retrieve the time series data for the query condition specified for the specified
      * duration of time. If the time series data retrieved from the monitoring tools is empty or no
-     * data, the method will do retry attempts. If the time series data is empty even after
-     * configured retry attempts, the resiliency score for the query is marked as invalid.
+     * data, the method will do retry attempts, doubling the delay between two attempts. If the
+     * time series data is empty even after configured retry attempts, the resiliency score for the
+     * query is marked as invalid.
      *
      * @param query
      *            : Query to be run in the configured monitoring tool.
@@ -216,8 +284,14 @@ public class ResiliencyScoreUtils {
                 getResiliencyScoresListForQuery(query, startTimeInEpoch, endTimeInEpoch);
         if (CollectionUtils.isEmpty(resiliencyScoreOfQuery)) {
             int retryCount = 0;
+            long retryBackoff = retryBackoffInMilliSeconds;
             while (retryCount < ResiliencyConstants.QUERY_RETRY_COUNT) {
                 log.error(ErrorConstants.INVALID_TIME_SERIES_DATA + ErrorConstants.RETRYING);
+                CommonUtils.delayInMilliSeconds((int) retryBackoff);
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                retryBackoff = retryBackoff * 2;
                 resiliencyScoreOfQuery = getResiliencyScoresListForQuery(query, startTimeInEpoch, endTimeInEpoch);
                 if (!CollectionUtils.isEmpty(resiliencyScoreOfQuery)) {
                     return resiliencyScoreOfQuery;
@@ -302,24 +376,29 @@ public class ResiliencyScoreUtils {
             log.debug("Hence, Resiliency score will not be calculated for the query");
             return rScores;
         }
+        // Index the post injection scores by tags, to match each pre injection score in constant time.
+        Map<Map<String, String>, List<TimeSeriesResiliencyScore>> postInjectionScoresByTags = new HashMap<>();
+        for (TimeSeriesResiliencyScore postInjectionScore : postInjectionScoreList) {
+            postInjectionScoresByTags.computeIfAbsent(postInjectionScore.getTags(), tags -> new ArrayList<>())
+                    .add(postInjectionScore);
+        }
         for (TimeSeriesResiliencyScore preInjectionScore : preInjectionScoreList) {
-            for (TimeSeriesResiliencyScore postInjectionScore : postInjectionScoreList) {
-                if (preInjectionScore.getTags().equals(postInjectionScore.getTags())) {
-                    log.debug(" calculating the RScore for time series data ");
-                    log.debug("Pre-Injection Score for : " + preInjectionScore.getTags() + ResiliencyConstants.IS
-                            + preInjectionScore.getRScore());
-                    log.debug("Post-Injection Score: " + postInjectionScore.getTags() + ResiliencyConstants.IS
-                            + postInjectionScore.getRScore());
-                    Double rScore =
-                            getPercentageOfRScore(preInjectionScore.getRScore(), postInjectionScore.getRScore());
-
-                    if (rScore > 1 || rScore < 0) {
-                        log.debug(
-                                " Resiliency score is greater than 1 or less than 1 indicates invalid score. Hence, rejecting the score");
-                    } else {
-                        rScores.add(rScore * queryWeightage);
-                        this.totalWeightOfQueries = totalWeightOfQueries + queryWeightage;
-                    }
+            for (TimeSeriesResiliencyScore postInjectionScore : postInjectionScoresByTags
+                    .getOrDefault(preInjectionScore.getTags(), Collections.emptyList())) {
+                log.debug(" calculating the RScore for time series data ");
+                log.debug("Pre-Injection Score for : " + preInjectionScore.getTags() + ResiliencyConstants.IS
+                        + preInjectionScore.getRScore());
+                log.debug("Post-Injection Score: " + postInjectionScore.getTags() + ResiliencyConstants.IS
+                        + postInjectionScore.getRScore());
+                Double rScore =
+                        getPercentageOfRScore(preInjectionScore.getRScore(), postInjectionScore.getRScore());
+
+                if (rScore > 1 || rScore < 0) {
+                    log.debug(
+                            " Resiliency score is greater than 1 or less than 1 indicates invalid score. Hence, rejecting the score");
+                } else {
+                    rScores.add(rScore * queryWeightage);
+                    this.totalWeightOfQueries = totalWeightOfQueries + queryWeightage;
                 }
             }
         }
@@ -459,4 +538,11 @@ public class ResiliencyScoreUtils {
         return rScore;
     }
 
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class QueryWindow {
+        private final String query;
+        private final long startTimeInEpoch;
+        private final long endTimeInEpoch;
+    }
 }
@@ -72,6 +72,7 @@ import com.vmware.mangle.model.aws.AwsRDSFaults;
 import com.vmware.mangle.model.aws.AwsRDSInstance;
 import com.vmware.mangle.utils.CommonUtils;
 import com.vmware.mangle.utils.RetryUtils;
+import com.vmware.mangle.utils.clients.endpoint.EndpointInventoryCache;
 import com.vmware.mangle.utils.constants.ErrorConstants;
 import com.vmware.mangle.utils.exceptions.MangleException;
 import com.vmware.mangle.utils.exceptions.MangleRuntimeException;
@@ -82,6 +83,8 @@ import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
  */
 @Log4j2
 public class AWSCommonUtils {
+    private static final int DESCRIBE_INSTANCES_PAGE_SIZE = 1000;
+
     private AWSCommonUtils() {
 
     }
@@ -93,15 +96,36 @@ public class AWSCommonUtils {
             return Collections.emptyList();
         }
 
+        List<String> instanceIds = EndpointInventoryCache.getInstance().getResources(client.getInventoryScope(),
+                awsTags, () -> getRunningInstances(client, awsTags));
+        if (random) {
+            Random rand = new Random();
+            return Arrays.asList(instanceIds.get(rand.nextInt(instanceIds.size())));
+        } else {
+            return instanceIds;
+        }
+    }
+
+    /**
+     * Lists the running instances carrying the given tags, following the result pages until the
+     * last one.
+     */
+    private static List<String> getRunningInstances(CustomAwsClient client, Map<String, String> awsTags)
+            throws MangleException {
         AmazonEC2Async ec2Client = client.ec2Client();
-        DescribeInstancesRequest describeInstancesRequest =
-                new DescribeInstancesRequest().withFilters(getFilters(awsTags));
-        DescribeInstancesResult result = ec2Client.describeInstances(describeInstancesRequest);
-        if (CollectionUtils.isEmpty(result.getReservations())) {
+        DescribeInstancesRequest describeInstancesRequest = new DescribeInstancesRequest()
+                .withFilters(getFilters(awsTags)).withMaxResults(DESCRIBE_INSTANCES_PAGE_SIZE);
+        List<Reservation> reservations = new ArrayList<>();
+        do {
+            DescribeInstancesResult result = ec2Client.describeInstances(describeInstancesRequest);
+            reservations.addAll(result.getReservations());
+            describeInstancesRequest.setNextToken(result.getNextToken());
+        } while (StringUtils.hasText(describeInstancesRequest.getNextToken()));
+        if (CollectionUtils.isEmpty(reservations)) {
             throw new MangleException(ErrorCode.AWS_NO_INSTANCES_FOUND,
                     CommonUtils.maptoDelimitedKeyValuePairString(awsTags, ","));
         }
-        return getInstancesFromReservations(result.getReservations(), awsTags, random);
+        return getInstancesFromReservations(reservations, awsTags);
     }
 
     public static String findSecurityGroup(CustomAwsClient client, String instanceId, String groupName)
@@ -540,7 +564,7 @@ public class AWSCommonUtils {
     }
 
     private static List<String> getInstancesFromReservations(List<Reservation> reservations,
-            Map<String, String> awsTags, boolean random) throws MangleException {
+            Map<String, String> awsTags) throws MangleException {
         List<String> instanceIds = new ArrayList<>();
         for (Reservation reservation : reservations) {
             for (Instance instance : reservation.getInstances()) {
@@ -553,12 +577,7 @@ public class AWSCommonUtils {
             throw new MangleException(ErrorCode.AWS_NO_RUNNING_INSTANCES_FOUND,
                     CommonUtils.maptoDelimitedKeyValuePairString(awsTags, ","));
         }
-        if (random) {
-            Random rand = new Random();
-            return Arrays.asList(instanceIds.get(rand.nextInt(instanceIds.size())));
-        } else {
-            return instanceIds;
-        }
+        return instanceIds;
     }
 
     private static void verifyVolumeStatus(CustomAwsClient client, String volumeId, VolumeState state)
@@ -34,6 +34,9 @@ public class CustomAwsClient implements EndpointClient {
     /** The region. */
     private final String region;
 
+    /** The access key id. */
+    private final String accessKeyId;
+
     /**
      * The constructor allows you to provide your accessKeyId and secretAccesskey
      *
@@ -46,6 +49,7 @@ public class CustomAwsClient implements EndpointClient {
      */
     public CustomAwsClient(String region, String accessKeyId, String secretAccessKey) {
         this.region = region;
+        this.accessKeyId = accessKeyId;
         exportCredentials(accessKeyId, secretAccessKey);
     }
 
@@ -77,6 +81,15 @@ public class CustomAwsClient implements EndpointClient {
         return builder.build();
     }
 
+    /**
+     * Identifies the account and region the instances listed through this client belong to
+     *
+     * @return the inventory scope of the client
+     */
+    public String getInventoryScope() {
+        return "aws:" + accessKeyId + ":" + region;
+    }
+
     @Override
     public boolean testConnection() throws MangleException {
         try {
@@ -35,6 +35,7 @@ import org.springframework.util.CollectionUtils;
 import rx.Observable;
 
 import com.vmware.mangle.utils.CommonUtils;
+import com.vmware.mangle.utils.clients.endpoint.EndpointInventoryCache;
 import com.vmware.mangle.utils.constants.AzureConstants;
 import com.vmware.mangle.utils.exceptions.MangleException;
 import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
@@ -54,19 +55,8 @@ public class AzureCommonUtils {
             log.debug("azureTags should not be null or empty map");
             return Collections.emptyList();
         }
-        List<String> resourceIds = new ArrayList<>();
-        Azure azureClient = client.getClient();
-        Observable<VirtualMachine> vms = azureClient.virtualMachines().listAsync();
-        vms.subscribe(vm -> {
-            if ((vm.tags().entrySet().containsAll(azureTags.entrySet()))) {
-                resourceIds.add(vm.id());
-            }
-        });
-
-        if (CollectionUtils.isEmpty(resourceIds)) {
-            throw new MangleException(ErrorCode.AZURE_NO_RESOURCES_FOUND,
-                    CommonUtils.maptoDelimitedKeyValuePairString(azureTags, ","));
-        }
+        List<String> resourceIds = EndpointInventoryCache.getInstance().getResources(client.getInventoryScope(),
+                azureTags, () -> getTaggedVMResourceIds(client, azureTags));
         if (random) {
             Random rand = new Random();
             return Arrays.asList(resourceIds.get(rand.nextInt(resourceIds.size())));
@@ -75,6 +65,24 @@ public class AzureCommonUtils {
         }
     }
 
+    /**
+     * Lists the virtual machines carrying the given tags, waiting for all the pages of the
+     * subscription to be listed.
+     */
+    private static List<String> getTaggedVMResourceIds(CustomAzureClient client, Map<String, String> azureTags)
+            throws MangleException {
+        Azure azureClient = client.getClient();
+        Observable<VirtualMachine> vms = azureClient.virtualMachines().listAsync();
+        List<String> resourceIds =
+                vms.filter(vm -> vm.tags().entrySet().containsAll(azureTags.entrySet())).map(VirtualMachine::id)
+                        .toList().toBlocking().single();
+        if (CollectionUtils.isEmpty(resourceIds)) {
+            throw new MangleException(ErrorCode.AZURE_NO_RESOURCES_FOUND,
+                    CommonUtils.maptoDelimitedKeyValuePairString(azureTags, ","));
+        }
+        return resourceIds;
+    }
+
     public static Map<String, String> getSecurityGroups(CustomAzureClient client, String resourceId)
             throws MangleException {
         Map<String, String> nic_sg_map = new HashMap<String, String>();
@@ -74,6 +74,15 @@ public class CustomAzureClient implements EndpointClient {
         return azure;
     }
 
+    /**
+     * Identifies the subscription the resources listed through this client belong to
+     *
+     * @return the inventory scope of the client
+     */
+    public String getInventoryScope() {
+        return "azure:" + tenant + ":" + clientId + ":" + subscriptionId;
+    }
+
     @Override
     public boolean testConnection() throws MangleException {
         try {
@@ -12,6 +12,7 @@
 package com.vmware.mangle.utils.clients.docker;
 
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
@@ -381,6 +382,27 @@ public class CustomDockerClient implements EndpointClient {
         return true;
     }
 
+    /**
+     * Copies the files of the given tar stream to the container, extracting them under the given
+     * destination directory with the paths and modes they have in the archive
+     */
+    public boolean copyArchiveToContainerByID(String containerId, InputStream tarInputStream, String destFilePath)
+            throws MangleException {
+        try {
+            dockerClient.copyArchiveToContainerCmd(containerId).withRemotePath(destFilePath)
+                    .withTarInputStream(tarInputStream).exec();
+        } catch (DockerClientException exception) {
+            log.error("Archive copy to container:" + containerId + " is failed with exception "
+                    + exception.getMessage());
+            throw new MangleException(exception, ErrorCode.FILE_TRANSFER_ERROR, "archive", destFilePath);
+        } catch (NotFoundException notFoundException) {
+            log.error("Archive copy to container:" + containerId + " is failed with exception "
+                    + notFoundException.getMessage());
+            throw new MangleException(notFoundException, ErrorCode.DIRECTORY_NOT_FOUND, destFilePath);
+        }
+        return true;
+    }
+
     public String getDockerIPByName(String containerName) throws MangleException {
         String containerID = findContainerId(containerName);
         return getDockerIP(containerID);
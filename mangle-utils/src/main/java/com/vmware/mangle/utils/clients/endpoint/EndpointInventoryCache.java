@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.utils.clients.endpoint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import lombok.extern.log4j.Log4j2;
+
+import com.vmware.mangle.utils.exceptions.MangleException;
+
+/**
+ * Cache of the resources of a cloud endpoint (AWS account and region, Azure subscription)
+ * selected by a set of tags.
+ *
+ * The resources of a tag selection are loaded once per time to live, the callers selecting the
+ * same tags while they are being loaded wait for that load instead of listing the inventory again.
+ * A load which fails is not cached, so that the next selection retries it.
+ *
+ * @author mangle
+ */
+@Log4j2
+public class EndpointInventoryCache {
+    public static final long DEFAULT_TIME_TO_LIVE = TimeUnit.SECONDS.toMillis(30);
+    private static final int MAX_SIZE = 1000;
+    private static final String SEPARATOR = "|";
+    private static final EndpointInventoryCache INSTANCE = new EndpointInventoryCache();
+
+    private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final long timeToLive;
+    private final LongSupplier clock;
+
+    public EndpointInventoryCache() {
+        this(DEFAULT_TIME_TO_LIVE);
+    }
+
+    public EndpointInventoryCache(long timeToLive) {
+        this(timeToLive, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock:
+     *            current time in milliseconds the expiry of the selections is checked against
+     */
+    public EndpointInventoryCache(long timeToLive, LongSupplier clock) {
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    public static EndpointInventoryCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the resources of the endpoint carrying all the given tags, loading them through the
+     * given loader when they are not cached
+     *
+     * @param endpoint:
+     *            identifies the account the resources belong to, the resources are not cached when
+     *            null
+     */
+    public List<String> getResources(String endpoint, Map<String, String> tags, InventoryLoader loader)
+            throws MangleException {
+        if (null == endpoint) {
+            return loader.load();
+        }
+        String key = getKey(endpoint, tags);
+        while (true) {
+            CacheEntry entry = entries.get(key);
+            if (null != entry && entry.expiresAt > clock.getAsLong()) {
+                return entry.get();
+            }
+            CacheEntry newEntry = new CacheEntry();
+            boolean loading = null == entry ? null == entries.putIfAbsent(key, newEntry)
+                    : entries.replace(key, entry, newEntry);
+            if (loading) {
+                return load(key, newEntry, loader);
+            }
+        }
+    }
+
+    /**
+     * Removes the cached selections of the given endpoint, so that they are loaded again on the next
+     * lookup
+     */
+    public void evict(String endpoint) {
+        String prefix = endpoint + SEPARATOR;
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private List<String> load(String key, CacheEntry entry, InventoryLoader loader) throws MangleException {
+        try {
+            List<String> resources = Collections.unmodifiableList(new ArrayList<>(loader.load()));
+            if (entries.size() > MAX_SIZE) {
+                evictExpired();
+            }
+            entry.expiresAt = clock.getAsLong() + timeToLive;
+            entry.result.complete(resources);
+            log.debug("Cached {} resources of the selection {}", resources.size(), key);
+            return resources;
+        } catch (Throwable e) {
+            // an error must release the selections waiting for this load as well
+            entries.remove(key, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void evictExpired() {
+        long now = clock.getAsLong();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+    }
+
+    private static String getKey(String endpoint, Map<String, String> tags) {
+        return endpoint + SEPARATOR + new TreeMap<>(tags);
+    }
+
+    /**
+     * Lists the resources of the endpoint carrying the selected tags
+     */
+    @FunctionalInterface
+    public interface InventoryLoader {
+        List<String> load() throws MangleException;
+    }
+
+    private static final class CacheEntry {
+        private final CompletableFuture<List<String>> result = new CompletableFuture<>();
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private List<String> get() throws MangleException {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof MangleException) {
+                    throw (MangleException) e.getCause();
+                }
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+}
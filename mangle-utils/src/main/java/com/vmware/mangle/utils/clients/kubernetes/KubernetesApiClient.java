@@ -0,0 +1,524 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.utils.clients.kubernetes;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.openssl.PEMKeyPair;
+import org.bouncycastle.openssl.PEMParser;
+import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
+import org.yaml.snakeyaml.Yaml;
+
+import com.vmware.mangle.utils.exceptions.MangleException;
+import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
+import com.vmware.mangle.utils.helpers.security.CertificateHelper;
+
+/**
+ * Client talking to the Kubernetes API server directly, using the server, certificates and
+ * credentials of the current context of a kubeconfig file.
+ *
+ * Clients are cached by the content of the kubeconfig and the namespace, so that the API server
+ * connections kept alive by the JDK are reused by all the operations on the cluster. The cached
+ * clients expire after the time to live, and the least recently used clients are evicted when the
+ * cache is full. Kubeconfig
+ * files relying on exec or auth-provider plugins are not supported, such clusters are handled
+ * through kubectl only.
+ *
+ * @author mangle
+ */
+@Log4j2
+public class KubernetesApiClient {
+    public static final int MAX_CACHED_CLIENTS = 100;
+    public static final long CLIENT_TIME_TO_LIVE = TimeUnit.MINUTES.toMillis(30);
+    private static final Map<String, CachedClient> CLIENTS =
+            new LinkedHashMap<String, CachedClient>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedClient> eldest) {
+                    return size() > MAX_CACHED_CLIENTS;
+                }
+            };
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String DEFAULT_NAMESPACE = "default";
+    private static final int CONNECT_TIMEOUT = 10000;
+    private static final int READ_TIMEOUT = 60000;
+    private static final int WATCH_READ_TIMEOUT_MARGIN = 10000;
+
+    private final String server;
+    private final String namespace;
+    private final String authorization;
+    private final SSLSocketFactory sslSocketFactory;
+    private final HostnameVerifier hostnameVerifier;
+
+    private KubernetesApiClient(String server, String namespace, String authorization,
+            SSLSocketFactory sslSocketFactory, HostnameVerifier hostnameVerifier) {
+        this.server = server.endsWith("/") ? server.substring(0, server.length() - 1) : server;
+        this.namespace = namespace;
+        this.authorization = authorization;
+        this.sslSocketFactory = sslSocketFactory;
+        this.hostnameVerifier = hostnameVerifier;
+    }
+
+    /**
+     * Returns the client of the current context of the given kubeconfig file.
+     *
+     * @param kubeConfigLocation
+     *            path to the kubeconfig file
+     * @param namespace
+     *            namespace to operate on, the namespace of the context is used when null
+     * @throws MangleException
+     *             when the kubeconfig can not be read or is not supported
+     */
+    public static KubernetesApiClient getClient(String kubeConfigLocation, String namespace)
+            throws MangleException {
+        byte[] kubeConfig;
+        try {
+            kubeConfig = Files.readAllBytes(Paths.get(kubeConfigLocation));
+        } catch (IOException e) {
+            throw new MangleException(e, ErrorCode.K8S_INVALID_CONFIG_FILE);
+        }
+        String key = digest(kubeConfig) + "/" + namespace;
+        synchronized (CLIENTS) {
+            CachedClient cachedClient = CLIENTS.get(key);
+            if (null != cachedClient && cachedClient.expiresAt > System.currentTimeMillis()) {
+                return cachedClient.client;
+            }
+        }
+        KubernetesApiClient client = fromKubeConfig(new String(kubeConfig, StandardCharsets.UTF_8), namespace);
+        synchronized (CLIENTS) {
+            CLIENTS.put(key, new CachedClient(client, System.currentTimeMillis() + CLIENT_TIME_TO_LIVE));
+        }
+        return client;
+    }
+
+    /**
+     * Returns the number of cached clients, including the expired ones not evicted yet
+     */
+    public static int getCachedClientCount() {
+        synchronized (CLIENTS) {
+            return CLIENTS.size();
+        }
+    }
+
+    /**
+     * Removes all the cached clients, the next operations building their clients again
+     */
+    public static void clearCachedClients() {
+        synchronized (CLIENTS) {
+            CLIENTS.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static KubernetesApiClient fromKubeConfig(String kubeConfigYaml, String namespace) throws MangleException {
+        try {
+            Map<String, Object> kubeConfig = (Map<String, Object>) new Yaml().load(kubeConfigYaml);
+            Map<String, Object> context =
+                    getNamedEntry(kubeConfig, "contexts", "context", (String) kubeConfig.get("current-context"));
+            Map<String, Object> cluster =
+                    getNamedEntry(kubeConfig, "clusters", "cluster", (String) context.get("cluster"));
+            Map<String, Object> user = context.containsKey("user")
+                    ? getNamedEntry(kubeConfig, "users", "user", (String) context.get("user"))
+                    : Collections.emptyMap();
+            if (user.containsKey("exec") || user.containsKey("auth-provider")) {
+                throw new MangleException(ErrorCode.K8S_INVALID_CONFIG_FILE);
+            }
+
+            String contextNamespace = null != namespace ? namespace : (String) context.get("namespace");
+            boolean insecure = Boolean.TRUE.equals(cluster.get("insecure-skip-tls-verify"));
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(getKeyManagers(user), getTrustManagers(cluster, insecure), null);
+            return new KubernetesApiClient((String) cluster.get("server"),
+                    null != contextNamespace ? contextNamespace : DEFAULT_NAMESPACE, getAuthorization(user),
+                    sslContext.getSocketFactory(), insecure ? (hostname, session) -> true : null);
+        } catch (MangleException e) {
+            throw e;
+        } catch (Exception e) {
+            log.debug("Kubeconfig is not supported by the API client: {}", e.getMessage());
+            throw new MangleException(e, ErrorCode.K8S_INVALID_CONFIG_FILE);
+        }
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    /**
+     * Reads the namespace of the client, returning null if it does not exist.
+     */
+    public JsonNode readNamespace() throws MangleException {
+        return request("GET", "/api/v1/namespaces/" + namespace);
+    }
+
+    public JsonNode listPods(String labelSelector, String fieldSelector) throws MangleException {
+        return request("GET", getPodsPath() + getSelectorQuery(labelSelector, fieldSelector));
+    }
+
+    public JsonNode readPod(String podName) throws MangleException {
+        return request("GET", getPodsPath() + "/" + podName);
+    }
+
+    public void deletePods(String labelSelector) throws MangleException {
+        request("DELETE", getPodsPath() + getSelectorQuery(labelSelector, null));
+    }
+
+    public void deletePod(String podName) throws MangleException {
+        request("DELETE", getPodsPath() + "/" + podName);
+    }
+
+    public JsonNode listNodes() throws MangleException {
+        return request("GET", "/api/v1/nodes");
+    }
+
+    /**
+     * Watches the pods matching the given selectors, starting from the given list of pods, until
+     * the condition holds for the current pods or until the timeout expires.
+     *
+     * @param podList
+     *            pod list the watch starts from, as returned by
+     *            {@link #listPods(String, String)}
+     * @param condition
+     *            condition on the current pods, keyed by their name
+     * @return true if the condition was met before the timeout
+     */
+    public boolean watchPods(String labelSelector, String fieldSelector, JsonNode podList, long timeoutSeconds,
+            Predicate<Map<String, JsonNode>> condition) throws MangleException {
+        Map<String, JsonNode> pods = getItemsByName(podList);
+        String resourceVersion = podList.path("metadata").path("resourceVersion").asText();
+        long deadline = System.currentTimeMillis() + timeoutSeconds * 1000;
+        while (!condition.test(pods)) {
+            long remainingSeconds = (deadline - System.currentTimeMillis()) / 1000;
+            if (remainingSeconds <= 0) {
+                return false;
+            }
+            String path = getPodsPath() + getSelectorQuery(labelSelector, fieldSelector) + "&watch=true"
+                    + "&resourceVersion=" + resourceVersion + "&timeoutSeconds=" + remainingSeconds;
+            resourceVersion = watch(path, resourceVersion, remainingSeconds, pods, condition);
+            if (null == resourceVersion) {
+                // the resource version is too old to watch from, start again from the current pods
+                JsonNode currentPods = listPods(labelSelector, fieldSelector);
+                pods = getItemsByName(currentPods);
+                resourceVersion = currentPods.path("metadata").path("resourceVersion").asText();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies the watch events to the given pods until the condition holds or the server ends the
+     * watch, returning the last resource version seen, or null if the watch could not start from
+     * the given resource version.
+     */
+    private String watch(String path, String resourceVersion, long timeoutSeconds, Map<String, JsonNode> pods,
+            Predicate<Map<String, JsonNode>> condition) throws MangleException {
+        HttpURLConnection connection = null;
+        try {
+            connection = openConnection("GET", path);
+            connection.setReadTimeout((int) (timeoutSeconds * 1000) + WATCH_READ_TIMEOUT_MARGIN);
+            if (connection.getResponseCode() >= HttpURLConnection.HTTP_BAD_REQUEST) {
+                throw new MangleException(ErrorCode.K8S_ERROR_FROM_SERVER, readBody(connection.getErrorStream()));
+            }
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while (null != (line = reader.readLine())) {
+                    JsonNode event = MAPPER.readTree(line);
+                    JsonNode pod = event.path("object");
+                    String type = event.path("type").asText();
+                    if ("ERROR".equals(type)) {
+                        return null;
+                    }
+                    resourceVersion = pod.path("metadata").path("resourceVersion").asText();
+                    if ("DELETED".equals(type)) {
+                        pods.remove(getName(pod));
+                    } else {
+                        pods.put(getName(pod), pod);
+                    }
+                    if (condition.test(pods)) {
+                        break;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new MangleException(ErrorCode.K8S_ERROR_FROM_SERVER, e.getMessage());
+        } finally {
+            // a watch stream is left unread when the condition is met, it can not be reused
+            if (null != connection) {
+                connection.disconnect();
+            }
+        }
+        return resourceVersion;
+    }
+
+    /**
+     * Sends a request to the API server, returning the parsed response or null when the resource
+     * does not exist.
+     */
+    private JsonNode request(String method, String path) throws MangleException {
+        try {
+            HttpURLConnection connection = openConnection(method, path);
+            int responseCode = connection.getResponseCode();
+            if (responseCode == HttpURLConnection.HTTP_NOT_FOUND) {
+                readBody(connection.getErrorStream());
+                return null;
+            }
+            if (responseCode >= HttpURLConnection.HTTP_BAD_REQUEST) {
+                String body = readBody(connection.getErrorStream());
+                throw new MangleException(ErrorCode.K8S_ERROR_FROM_SERVER,
+                        MAPPER.readTree(body).path("message").asText(body));
+            }
+            return MAPPER.readTree(readBody(connection.getInputStream()));
+        } catch (IOException e) {
+            throw new MangleException(ErrorCode.K8S_ERROR_FROM_SERVER, e.getMessage());
+        }
+    }
+
+    private HttpURLConnection openConnection(String method, String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(server + path).openConnection();
+        if (connection instanceof HttpsURLConnection) {
+            ((HttpsURLConnection) connection).setSSLSocketFactory(sslSocketFactory);
+            if (null != hostnameVerifier) {
+                ((HttpsURLConnection) connection).setHostnameVerifier(hostnameVerifier);
+            }
+        }
+        connection.setRequestMethod(method);
+        connection.setConnectTimeout(CONNECT_TIMEOUT);
+        connection.setReadTimeout(READ_TIMEOUT);
+        connection.setRequestProperty("Accept", "application/json");
+        if (null != authorization) {
+            connection.setRequestProperty("Authorization", authorization);
+        }
+        return connection;
+    }
+
+    /**
+     * Reads the whole response, which lets the JDK keep the connection alive for the next request.
+     */
+    private static String readBody(InputStream inputStream) throws IOException {
+        if (null == inputStream) {
+            return "";
+        }
+        StringBuilder body = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) >= 0) {
+                body.append(buffer, 0, read);
+            }
+        }
+        return body.toString();
+    }
+
+    private String getPodsPath() {
+        return "/api/v1/namespaces/" + namespace + "/pods";
+    }
+
+    private static String getSelectorQuery(String labelSelector, String fieldSelector) {
+        try {
+            StringBuilder query = new StringBuilder("?labelSelector=");
+            if (null != labelSelector) {
+                query.append(URLEncoder.encode(labelSelector, "UTF-8"));
+            }
+            if (null != fieldSelector) {
+                query.append("&fieldSelector=").append(URLEncoder.encode(fieldSelector, "UTF-8"));
+            }
+            return query.toString();
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static List<JsonNode> getItems(JsonNode list) {
+        List<JsonNode> items = new ArrayList<>();
+        if (null != list) {
+            list.path("items").forEach(items::add);
+        }
+        return items;
+    }
+
+    private static Map<String, JsonNode> getItemsByName(JsonNode list) {
+        Map<String, JsonNode> items = new LinkedHashMap<>();
+        for (JsonNode item : getItems(list)) {
+            items.put(getName(item), item);
+        }
+        return items;
+    }
+
+    public static String getName(JsonNode resource) {
+        return resource.path("metadata").path("name").asText();
+    }
+
+    /**
+     * Returns true when the resource has a Ready condition with the status True, and is not being
+     * deleted.
+     */
+    public static boolean isReady(JsonNode resource) {
+        if (resource.path("metadata").has("deletionTimestamp")) {
+            return false;
+        }
+        for (JsonNode condition : resource.path("status").path("conditions")) {
+            if ("Ready".equals(condition.path("type").asText()) && "True".equals(condition.path("status").asText())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> getNamedEntry(Map<String, Object> kubeConfig, String listName, String field,
+            String name) throws MangleException {
+        for (Map<String, Object> entry : (Collection<Map<String, Object>>) kubeConfig.get(listName)) {
+            if (entry.get("name").equals(name)) {
+                return (Map<String, Object>) entry.get(field);
+            }
+        }
+        throw new MangleException(ErrorCode.K8S_INVALID_CONFIG_FILE);
+    }
+
+    private static String getAuthorization(Map<String, Object> user) throws IOException {
+        if (user.containsKey("token")) {
+            return "Bearer " + user.get("token");
+        } else if (user.containsKey("tokenFile")) {
+            return "Bearer " + new String(Files.readAllBytes(Paths.get((String) user.get("tokenFile"))),
+                    StandardCharsets.UTF_8).trim();
+        } else if (user.containsKey("username")) {
+            String credentials = user.get("username") + ":" + user.get("password");
+            return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+        }
+        return null;
+    }
+
+    private static KeyManager[] getKeyManagers(Map<String, Object> user)
+            throws IOException, GeneralSecurityException {
+        byte[] certificate = getData(user, "client-certificate");
+        byte[] key = getData(user, "client-key");
+        if (null == certificate || null == key) {
+            return null;
+        }
+        Collection<? extends Certificate> certificates =
+                CertificateFactory.getInstance("X.509").generateCertificates(new ByteArrayInputStream(certificate));
+        KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+        keyStore.load(null, null);
+        keyStore.setKeyEntry("client", readPrivateKey(key), new char[0], certificates.toArray(new Certificate[0]));
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, new char[0]);
+        return keyManagerFactory.getKeyManagers();
+    }
+
+    private static TrustManager[] getTrustManagers(Map<String, Object> cluster, boolean insecure)
+            throws IOException, GeneralSecurityException {
+        if (insecure) {
+            return new TrustManager[] { CertificateHelper.getX509TrustManager() };
+        }
+        byte[] certificateAuthority = getData(cluster, "certificate-authority");
+        if (null == certificateAuthority) {
+            return null;
+        }
+        KeyStore trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+        trustStore.load(null, null);
+        int index = 0;
+        for (Certificate certificate : CertificateFactory.getInstance("X.509")
+                .generateCertificates(new ByteArrayInputStream(certificateAuthority))) {
+            trustStore.setCertificateEntry("ca-" + index++, certificate);
+        }
+        TrustManagerFactory trustManagerFactory =
+                TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(trustStore);
+        return trustManagerFactory.getTrustManagers();
+    }
+
+    /**
+     * Reads a kubeconfig field given either inline, base64 encoded in the "-data" variant of the
+     * field, or as a file path.
+     */
+    private static byte[] getData(Map<String, Object> entry, String field) throws IOException {
+        if (entry.containsKey(field + "-data")) {
+            return Base64.getDecoder().decode(((String) entry.get(field + "-data")).trim());
+        } else if (entry.containsKey(field)) {
+            return Files.readAllBytes(Paths.get((String) entry.get(field)));
+        }
+        return null;
+    }
+
+    private static PrivateKey readPrivateKey(byte[] key) throws IOException {
+        try (PEMParser parser = new PEMParser(new StringReader(new String(key, StandardCharsets.UTF_8)))) {
+            Object pem = parser.readObject();
+            JcaPEMKeyConverter converter = new JcaPEMKeyConverter();
+            if (pem instanceof PEMKeyPair) {
+                return converter.getKeyPair((PEMKeyPair) pem).getPrivate();
+            } else if (pem instanceof PrivateKeyInfo) {
+                return converter.getPrivateKey((PrivateKeyInfo) pem);
+            }
+            throw new IOException("Unsupported client key format");
+        }
+    }
+
+    private static String digest(byte[] content) throws MangleException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(content));
+        } catch (GeneralSecurityException e) {
+            throw new MangleException(e, ErrorCode.K8S_INVALID_CONFIG_FILE);
+        }
+    }
+
+    private static final class CachedClient {
+        private final KubernetesApiClient client;
+        private final long expiresAt;
+
+        private CachedClient(KubernetesApiClient client, long expiresAt) {
+            this.client = client;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -45,7 +45,9 @@ public class KubernetesCommandLineClient implements ICommandExecutor, EndpointCl
     private ServiceClient serviceClient;
     private NodeClient nodeClient;
     private String kubeConfigLocation = null;
+    private String kubeConfigFile = null;
     private String nameSpace = null;
+    private KubernetesApiClient apiClient;
 
     private KubernetesCommandLineClient() {
     }
@@ -89,6 +91,7 @@ public class KubernetesCommandLineClient implements ICommandExecutor, EndpointCl
     public KubernetesCommandLineClient setKubeconfig(String kubeConfigYaml) {
         if (kubeConfigYaml != null) {
             KubernetesCommandLineClient.kubeClient.kubectl += " --kubeconfig " + kubeConfigYaml;
+            KubernetesCommandLineClient.kubeClient.kubeConfigFile = kubeConfigYaml;
             setClients(kubeClient);
         }
         return kubeClient;
@@ -108,15 +111,38 @@ public class KubernetesCommandLineClient implements ICommandExecutor, EndpointCl
             kubeClient = new KubernetesCommandLineClient();
             kubeClient.kubectl = "kubectl --kubeconfig " + kubeConfigFileLocation;
             kubeClient.kubeConfigLocation = kubeConfigFileLocation;
+            kubeClient.kubeConfigFile = kubeConfigFileLocation;
             setClients(kubeClient);
         }
         return kubeClient;
     }
 
     private static void setClients(KubernetesCommandLineClient client) {
-        client.podClient = new PODClient(client.kubectl);
+        client.apiClient = createApiClient(client);
+        client.podClient = new PODClient(client.kubectl, client.apiClient);
         client.serviceClient = new ServiceClient(client.kubectl);
-        client.nodeClient = new NodeClient(client.kubectl);
+        client.nodeClient = new NodeClient(client.kubectl, client.apiClient);
+    }
+
+    /**
+     * Creates the client talking to the API server directly for the clusters given through a
+     * kubeconfig file, the operations fall back to kubectl when the kubeconfig is not supported by
+     * it.
+     */
+    private static KubernetesApiClient createApiClient(KubernetesCommandLineClient client) {
+        if (null == client.kubeConfigFile) {
+            return null;
+        }
+        try {
+            return KubernetesApiClient.getClient(client.kubeConfigFile, client.nameSpace);
+        } catch (MangleException e) {
+            log.warn("Kubernetes API client not available, using kubectl: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public KubernetesApiClient getApiClient() {
+        return apiClient;
     }
 
     public PODClient getPODClient() {
@@ -156,6 +182,12 @@ public class KubernetesCommandLineClient implements ICommandExecutor, EndpointCl
 
     @Override
     public boolean testConnection() throws MangleException {
+        if (null != apiClient) {
+            if (null == apiClient.readNamespace()) {
+                throw new MangleException(ErrorCode.K8S_NAMESPACE_NOT_FOUND, apiClient.getNamespace());
+            }
+            return true;
+        }
         String getNamespaceCommand = KubernetesTemplates.GET + KubernetesTemplates.NAMESPACE;
         CommandExecutionResult output = CommandUtils.runCommand(this.kubectl + getNamespaceCommand + getNameSpace());
         return validateK8SCommandOutput(output.getCommandOutput());
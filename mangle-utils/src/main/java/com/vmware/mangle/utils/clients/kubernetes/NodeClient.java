@@ -17,14 +17,19 @@ import static com.vmware.mangle.utils.clients.kubernetes.KubernetesTemplates.GET
 import static com.vmware.mangle.utils.clients.kubernetes.KubernetesTemplates.GET_NODE_EXTERNAL_IP_MAP;
 import static com.vmware.mangle.utils.clients.kubernetes.KubernetesTemplates.GET_NODE_PODCIDR;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.extern.log4j.Log4j2;
 
 import com.vmware.mangle.utils.CommandUtils;
+import com.vmware.mangle.utils.exceptions.MangleException;
 
 /**
  * @author bkaranam Class with all the helper methods related to kubernetes nodes
@@ -32,14 +37,23 @@ import com.vmware.mangle.utils.CommandUtils;
 @Log4j2
 public class NodeClient {
     private String kubectl;
+    private KubernetesApiClient apiClient;
 
-    protected NodeClient(String kubectl) {
+    /**
+     * @param apiClient
+     *            client used instead of kubectl for listing the nodes, may be null
+     */
+    protected NodeClient(String kubectl, KubernetesApiClient apiClient) {
         this.kubectl = kubectl;
+        this.apiClient = apiClient;
     }
 
     @SuppressWarnings("deprecation")
     public List<String> getNodes() {
         log.info("Getting all node names as list");
+        if (null != apiClient) {
+            return getNodeNames(node -> true);
+        }
         return Arrays.asList(CommandUtils.runCommand(kubectl + GET_NODES_JSONPATH + GET_METADATA_NAME)
                 .getCommandOutput().split("\\s+"));
     }
@@ -72,8 +86,20 @@ public class NodeClient {
      */
     public List<String> checkAvailabilityNode() {
         log.info("Get the Nodes which have the 'Ready' status as True");
+        if (null != apiClient) {
+            return getNodeNames(KubernetesApiClient::isReady);
+        }
         return Arrays
                 .asList(CommandUtils.runCommand(kubectl + CHECK_AVAILABILITY_NODE).getCommandOutput().split("\\s+"));
     }
 
+    private List<String> getNodeNames(Predicate<JsonNode> filter) {
+        try {
+            return KubernetesApiClient.getItems(apiClient.listNodes()).stream().filter(filter)
+                    .map(KubernetesApiClient::getName).collect(Collectors.toList());
+        } catch (MangleException e) {
+            log.error("Listing the nodes failed: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
 }
@@ -21,21 +21,27 @@ import static com.vmware.mangle.utils.clients.kubernetes.KubernetesTemplates.GET
 import static com.vmware.mangle.utils.clients.kubernetes.KubernetesTemplates.RESTART_PODS_WITH_LABELS;
 import static com.vmware.mangle.utils.clients.kubernetes.KubernetesTemplates.RESTART_POD_WITH_NAME;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang.StringUtils;
 
 import com.vmware.mangle.cassandra.model.tasks.commands.CommandExecutionResult;
 import com.vmware.mangle.utils.CommandUtils;
 import com.vmware.mangle.utils.CommonUtils;
+import com.vmware.mangle.utils.exceptions.MangleException;
 
 /**
  * @author bkaranam
@@ -45,15 +51,27 @@ import com.vmware.mangle.utils.CommonUtils;
 @Log4j2
 public class PODClient {
     private String kubectl;
+    private KubernetesApiClient apiClient;
     private static final String POD_DELETED_SUCCESS_MESSAGE = "deleted";
     private static final String NOT_FOUND = "not found";
+    private static final String POD_NAME_FIELD_SELECTOR = "metadata.name=";
+    private static final long POD_READY_TIMEOUT_SECONDS = 60;
+    private static final long POD_RESTART_TIMEOUT_SECONDS = 120;
 
-    protected PODClient(String kubectl) {
+    /**
+     * @param apiClient
+     *            client used instead of kubectl for listing and restarting the pods, may be null
+     */
+    protected PODClient(String kubectl, KubernetesApiClient apiClient) {
         this.kubectl = kubectl;
+        this.apiClient = apiClient;
     }
 
     public List<String> getPods() {
         log.info("Getting all pod names as list");
+        if (null != apiClient) {
+            return getPodValues(null, KubernetesApiClient::getName);
+        }
         return Arrays.asList(CommandUtils.runCommand(kubectl + GET_PODS_JSONPATH + GET_METADATA_NAME).getCommandOutput()
                 .split("\\s+"));
     }
@@ -72,6 +90,9 @@ public class PODClient {
 
     public List<String> getPodsWithLabels(String labels) {
         log.info("Getting all pod names labeled as:" + labels);
+        if (null != apiClient) {
+            return getReadyPodsWithLabels(labels);
+        }
         String output = "";
         for (int i = 0; i < 6; i++) {
             output = CommandUtils.runCommand(kubectl + String.format(GET_ALLPOD_USING_LABELS, labels))
@@ -94,6 +115,9 @@ public class PODClient {
      */
     public List<String> getPodIpsWithLabels(String labels) {
         log.info("Getting all pod ips labeled as:" + labels);
+        if (null != apiClient) {
+            return getPodValues(labels, pod -> pod.path("status").path("podIP").asText());
+        }
         String output = CommandUtils.runCommand(kubectl + String.format(GET_ALLPOD_IPS_USING_LABELS, labels))
                 .getCommandOutput();
         return StringUtils.isBlank(output) ? Arrays.asList() : Arrays.asList(output.trim().split("\\s+"));
@@ -107,6 +131,9 @@ public class PODClient {
      */
     public List<String> getPodNodeNamesWithLabels(String labels) {
         log.info("Getting all pod Node Names labeled as:" + labels);
+        if (null != apiClient) {
+            return getPodValues(labels, pod -> pod.path("spec").path("nodeName").asText());
+        }
         String output = CommandUtils.runCommand(kubectl + String.format(GET_ALLPOD_NODES_USING_LABELS, labels))
                 .getCommandOutput();
         return StringUtils.isBlank(output) ? Arrays.asList() : Arrays.asList(output.trim().split("\\s+"));
@@ -119,6 +146,9 @@ public class PODClient {
      */
     public Map<String, String> getPodandNodeMap() {
         log.info("Creating map of Pod and Node of kubernetes cluster");
+        if (null != apiClient) {
+            return getRunningPodNodeMap();
+        }
         String[] commandOutput = CommandUtils.runCommand(kubectl + GET_PODNODE_MAP).getCommandOutput().split("\\s+");
         Map<String, String> nodeMap = new HashMap<>();
         for (String mapString : commandOutput) {
@@ -174,6 +204,9 @@ public class PODClient {
      */
     public boolean restartPods(String label) {
         log.info("Restarting all the pods with label: " + label);
+        if (null != apiClient) {
+            return restartPodsWithLabels(label);
+        }
         List<String> podList = getPodsWithLabels(label);
         if (null == podList || podList.isEmpty()) {
             return false;
@@ -200,6 +233,9 @@ public class PODClient {
      */
     public boolean restartPod(String podName) {
         log.info("Restarting the pod : " + podName);
+        if (null != apiClient) {
+            return restartPodWithName(podName);
+        }
         String output = getPod(podName);
         if (null == output || output.contains(NOT_FOUND)) {
             return false;
@@ -240,5 +276,96 @@ public class PODClient {
         log.info("Memory Limit for container " + container + " is " + memoryLimitCommandOutput);
         return memoryLimitCommandOutput.getCommandOutput();
     }
-}
 
+    private List<String> getPodValues(String labels, Function<JsonNode, String> valueMapper) {
+        try {
+            return KubernetesApiClient.getItems(apiClient.listPods(labels, null)).stream().map(valueMapper)
+                    .filter(StringUtils::isNotBlank).collect(Collectors.toList());
+        } catch (MangleException e) {
+            log.error("Listing the pods failed: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Lists the ready pods with the given labels, watching the pods for up to a minute when none
+     * of them is ready yet.
+     */
+    private List<String> getReadyPodsWithLabels(String labels) {
+        try {
+            JsonNode podList = apiClient.listPods(labels, null);
+            AtomicReference<List<String>> readyPods =
+                    new AtomicReference<>(getReadyPodNames(KubernetesApiClient.getItems(podList)));
+            if (readyPods.get().isEmpty()) {
+                apiClient.watchPods(labels, null, podList, POD_READY_TIMEOUT_SECONDS, pods -> {
+                    readyPods.set(getReadyPodNames(pods.values()));
+                    return !readyPods.get().isEmpty();
+                });
+            }
+            log.debug("Pod names retreived:" + readyPods.get());
+            return readyPods.get();
+        } catch (MangleException e) {
+            log.error("Listing the pods failed: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private Map<String, String> getRunningPodNodeMap() {
+        Map<String, String> nodeMap = new HashMap<>();
+        try {
+            for (JsonNode pod : KubernetesApiClient.getItems(apiClient.listPods(null, null))) {
+                if ("Running".equals(pod.path("status").path("phase").asText())) {
+                    nodeMap.put(KubernetesApiClient.getName(pod), pod.path("spec").path("nodeName").asText());
+                }
+            }
+        } catch (MangleException e) {
+            log.error("Listing the pods failed: " + e.getMessage());
+        }
+        return nodeMap;
+    }
+
+    /**
+     * Deletes the pods with the given labels and watches them until the same number of new pods
+     * are ready.
+     */
+    private boolean restartPodsWithLabels(String label) {
+        try {
+            JsonNode podList = apiClient.listPods(label, null);
+            List<String> podNames = getReadyPodNames(KubernetesApiClient.getItems(podList));
+            if (podNames.isEmpty()) {
+                return false;
+            }
+            apiClient.deletePods(label);
+            return apiClient.watchPods(label, null, podList, POD_RESTART_TIMEOUT_SECONDS, pods -> {
+                List<String> currentPods = getReadyPodNames(pods.values());
+                return podNames.size() == currentPods.size() && !podNames.equals(currentPods);
+            });
+        } catch (MangleException e) {
+            log.error("Restarting the pods failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Deletes the pod and watches it until it is gone.
+     */
+    private boolean restartPodWithName(String podName) {
+        try {
+            JsonNode podList = apiClient.listPods(null, POD_NAME_FIELD_SELECTOR + podName);
+            if (KubernetesApiClient.getItems(podList).isEmpty()) {
+                return false;
+            }
+            apiClient.deletePod(podName);
+            return apiClient.watchPods(null, POD_NAME_FIELD_SELECTOR + podName, podList,
+                    POD_RESTART_TIMEOUT_SECONDS, Map::isEmpty);
+        } catch (MangleException e) {
+            log.error("Restarting the pod failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static List<String> getReadyPodNames(Collection<JsonNode> pods) {
+        return pods.stream().filter(KubernetesApiClient::isReady).map(KubernetesApiClient::getName).sorted()
+                .collect(Collectors.toList());
+    }
+}
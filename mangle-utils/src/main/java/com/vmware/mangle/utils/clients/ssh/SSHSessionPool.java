@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.utils.clients.ssh;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.jcraft.jsch.Channel;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Keeps one connected SSH session per host and user, and multiplexes the channels opened against
+ * that host over it.
+ *
+ * A session is leased for the lifetime of one or more channels. The number of channels open at a
+ * time on a session is bounded, as the SSH servers limit it (MaxSessions defaults to 10 for
+ * OpenSSH). A session which was not used for a while is validated with a keep-alive message before
+ * being leased again, and is reconnected when the validation fails. Sessions without any lease are
+ * disconnected once they have been idle for longer than the idle timeout. Pools other than the
+ * shared instance are to be closed, which stops their eviction.
+ *
+ * @author mangle
+ */
+@Log4j2
+public class SSHSessionPool implements AutoCloseable {
+    public static final int DEFAULT_MAX_CHANNELS_PER_SESSION = 8;
+    public static final long DEFAULT_IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+    public static final long DEFAULT_VALIDATION_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+
+    private static final long MIN_EVICTION_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+    private static final ScheduledExecutorService EVICTION_SERVICE =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ssh-session-pool-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private static final SSHSessionPool INSTANCE = new SSHSessionPool();
+
+    private final Map<String, PooledSession> sessions = new ConcurrentHashMap<>();
+    private final int maxChannelsPerSession;
+    private final long idleTimeout;
+    private final long validationInterval;
+    private final ScheduledFuture<?> evictionTask;
+
+    public SSHSessionPool() {
+        this(DEFAULT_MAX_CHANNELS_PER_SESSION, DEFAULT_IDLE_TIMEOUT, DEFAULT_VALIDATION_INTERVAL);
+    }
+
+    public SSHSessionPool(int maxChannelsPerSession, long idleTimeout, long validationInterval) {
+        this.maxChannelsPerSession = maxChannelsPerSession;
+        this.idleTimeout = idleTimeout;
+        this.validationInterval = validationInterval;
+        long evictionInterval = Math.max(idleTimeout, MIN_EVICTION_INTERVAL);
+        this.evictionTask = EVICTION_SERVICE.scheduleWithFixedDelay(this::evictIdleSessions, evictionInterval,
+                evictionInterval, TimeUnit.MILLISECONDS);
+    }
+
+    public static SSHSessionPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Leases the session of the given key, connecting a new one through the given factory when
+     * there is no healthy session for the key. Blocks while all the channels of the session are in
+     * use.
+     */
+    public Lease lease(String key, SessionFactory sessionFactory) throws JSchException {
+        while (true) {
+            PooledSession pooledSession = sessions.computeIfAbsent(key, k -> new PooledSession(maxChannelsPerSession));
+            try {
+                pooledSession.channels.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new JSchException("Interrupted while waiting for a ssh session to " + key);
+            }
+            try {
+                Session session = pooledSession.connect(sessionFactory, validationInterval);
+                if (null != session) {
+                    return new Lease(pooledSession, session, sessionFactory);
+                }
+            } catch (JSchException | RuntimeException e) {
+                pooledSession.channels.release();
+                throw e;
+            }
+            // the session got evicted while waiting for it, retry with a new one
+            pooledSession.channels.release();
+        }
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Disconnects the sessions which have no lease and were not used for longer than the idle
+     * timeout.
+     */
+    public void evictIdleSessions() {
+        long idleSince = System.currentTimeMillis() - idleTimeout;
+        for (Map.Entry<String, PooledSession> entry : sessions.entrySet()) {
+            if (entry.getValue().closeIfIdle(idleSince)) {
+                sessions.remove(entry.getKey(), entry.getValue());
+                log.debug("Evicted idle ssh session to {}", entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Disconnects all the sessions of the pool.
+     */
+    public void clear() {
+        for (Map.Entry<String, PooledSession> entry : sessions.entrySet()) {
+            if (entry.getValue().closeIfIdle(Long.MAX_VALUE)) {
+                sessions.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Stops the eviction of the idle sessions and disconnects the sessions which have no lease.
+     */
+    @Override
+    public void close() {
+        evictionTask.cancel(false);
+        clear();
+    }
+
+    /**
+     * Creates a new, not yet connected, session.
+     */
+    @FunctionalInterface
+    public interface SessionFactory {
+        Session create() throws JSchException;
+    }
+
+    /**
+     * A session leased from the pool, to be closed once the channels opened through it are
+     * disconnected.
+     */
+    public static final class Lease implements AutoCloseable {
+        private final PooledSession pooledSession;
+        private final SessionFactory sessionFactory;
+        private Session session;
+        private boolean closed;
+
+        private Lease(PooledSession pooledSession, Session session, SessionFactory sessionFactory) {
+            this.pooledSession = pooledSession;
+            this.session = session;
+            this.sessionFactory = sessionFactory;
+        }
+
+        public Session getSession() {
+            return session;
+        }
+
+        /**
+         * Opens a channel of the given type, reconnecting the session once if it went down since
+         * it was leased.
+         */
+        public Channel openChannel(String type) throws JSchException {
+            try {
+                return session.openChannel(type);
+            } catch (JSchException e) {
+                if (session.isConnected()) {
+                    throw e;
+                }
+                log.debug("Ssh session to {} is down, reconnecting", session.getHost());
+                session = pooledSession.reconnect(session, sessionFactory);
+                return session.openChannel(type);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                pooledSession.release();
+            }
+        }
+    }
+
+    private static final class PooledSession {
+        private final Semaphore channels;
+        private Session session;
+        private int leases;
+        private long lastUsed;
+        private long lastValidated;
+        private boolean evicted;
+
+        private PooledSession(int maxChannels) {
+            this.channels = new Semaphore(maxChannels, true);
+        }
+
+        private synchronized Session connect(SessionFactory sessionFactory, long validationInterval)
+                throws JSchException {
+            if (evicted) {
+                return null;
+            }
+            long now = System.currentTimeMillis();
+            if (null != session && session.isConnected() && now - lastValidated > validationInterval) {
+                try {
+                    session.sendKeepAliveMsg();
+                    lastValidated = now;
+                } catch (Exception e) {
+                    log.debug("Ssh session to {} failed the health check: {}", session.getHost(), e.getMessage());
+                    session.disconnect();
+                }
+            }
+            if (null == session || !session.isConnected()) {
+                session = newSession(sessionFactory);
+            }
+            leases++;
+            return session;
+        }
+
+        private synchronized Session reconnect(Session brokenSession, SessionFactory sessionFactory)
+                throws JSchException {
+            if (session == brokenSession || null == session || !session.isConnected()) {
+                brokenSession.disconnect();
+                session = newSession(sessionFactory);
+            }
+            return session;
+        }
+
+        private Session newSession(SessionFactory sessionFactory) throws JSchException {
+            Session newSession = sessionFactory.create();
+            newSession.connect();
+            lastValidated = System.currentTimeMillis();
+            return newSession;
+        }
+
+        private synchronized void release() {
+            leases--;
+            lastUsed = System.currentTimeMillis();
+            channels.release();
+        }
+
+        private synchronized boolean closeIfIdle(long idleSince) {
+            if (leases > 0 || lastUsed > idleSince) {
+                return false;
+            }
+            evicted = true;
+            if (null != session) {
+                session.disconnect();
+                session = null;
+            }
+            return true;
+        }
+    }
+}
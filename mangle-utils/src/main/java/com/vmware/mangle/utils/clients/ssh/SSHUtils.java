@@ -11,10 +11,20 @@
 
 package com.vmware.mangle.utils.clients.ssh;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import com.jcraft.jsch.Channel;
 import com.jcraft.jsch.ChannelExec;
@@ -43,6 +53,16 @@ public class SSHUtils extends RemoteBase implements ICommandExecutor, EndpointCl
     public static final int DEFAULT_PORT = 22;
     public static final int EXIT_STATUS_CODE = 0;
     public static final String FORMAT_LINE_MSG = "--------------------------------------------";
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final long CHANNEL_CLOSE_POLL_INTERVAL = 10;
+    private static final ScheduledExecutorService CHANNEL_TIMEOUT_SERVICE =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ssh-channel-timeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private SSHSessionPool sessionPool = SSHSessionPool.getInstance();
 
     public SSHUtils(String host, String userName, String password, int port) {
         super(host, userName, password, port);
@@ -64,6 +84,10 @@ public class SSHUtils extends RemoteBase implements ICommandExecutor, EndpointCl
         super(host, userName, password, port, privateKey, timeout);
     }
 
+    public void setSessionPool(SSHSessionPool sessionPool) {
+        this.sessionPool = sessionPool;
+    }
+
     public boolean login() {
         try {
             Session session = getSession();
@@ -84,25 +108,26 @@ public class SSHUtils extends RemoteBase implements ICommandExecutor, EndpointCl
     }
 
     public boolean putFile(String sourceFilePath, String workDir) throws MangleException {
-        Session session = null;
         Channel channel = null;
         ChannelSftp channelSftp = null;
         log.info("preparing the host information for sftp.");
 
-        try {
-            session = this.getSession();
-            session.connect();
+        try (SSHSessionPool.Lease lease = leaseSession()) {
             log.debug("Host connected.");
-            channel = session.openChannel("sftp");
-            channel.connect();
-            log.debug("sftp channel opened and connected.");
-            channelSftp = (ChannelSftp) channel;
-            if (workDir != null) {
-                channelSftp.cd(workDir);
-            }
-            File f = new File(sourceFilePath);
-            try (FileInputStream fileInputStream = new FileInputStream(f)) {
-                channelSftp.put(fileInputStream, f.getName());
+            try {
+                channel = lease.openChannel("sftp");
+                channel.connect();
+                log.debug("sftp channel opened and connected.");
+                channelSftp = (ChannelSftp) channel;
+                if (workDir != null) {
+                    channelSftp.cd(workDir);
+                }
+                File f = new File(sourceFilePath);
+                try (FileInputStream fileInputStream = new FileInputStream(f)) {
+                    channelSftp.put(fileInputStream, f.getName());
+                }
+            } finally {
+                cleanupSession(null, channelSftp, channel);
             }
         } catch (SftpException se) {
             log.error("Exception found while changing the directory", se.getMessage());
@@ -116,34 +141,31 @@ public class SSHUtils extends RemoteBase implements ICommandExecutor, EndpointCl
         } catch (Exception e) {
             log.error("Exception found while tranfer the response.", e);
             throw new MangleException(e.getMessage(), ErrorCode.FILE_TRANSFER_ERROR, sourceFilePath, workDir);
-        } finally {
-            cleanupSession(session, channelSftp, channel);
         }
 
         return true;
     }
 
     public boolean getFile(String sourceFileName, String destinationFileName, String workDir) {
-        Session session = null;
         Channel channel = null;
         ChannelSftp channelSftp = null;
 
-        try {
-            session = this.getSession();
-            session.connect();
-            channel = session.openChannel("sftp");
-            channel.connect();
-            channelSftp = (ChannelSftp) channel;
-            if (workDir != null) {
-                channelSftp.cd(workDir);
-            }
+        try (SSHSessionPool.Lease lease = leaseSession()) {
+            try {
+                channel = lease.openChannel("sftp");
+                channel.connect();
+                channelSftp = (ChannelSftp) channel;
+                if (workDir != null) {
+                    channelSftp.cd(workDir);
+                }
 
-            File newFile = new File(destinationFileName);
-            FileUtils.copyInputStreamToFile(channelSftp.get(sourceFileName), newFile);
+                File newFile = new File(destinationFileName);
+                FileUtils.copyInputStreamToFile(channelSftp.get(sourceFileName), newFile);
+            } finally {
+                cleanupSession(null, channelSftp, channel);
+            }
         } catch (Exception arg14) {
             log.error("Exception found while tranfer the response.", arg14);
-        } finally {
-            cleanupSession(session, channelSftp, channel);
         }
 
         return true;
@@ -152,24 +174,24 @@ public class SSHUtils extends RemoteBase implements ICommandExecutor, EndpointCl
     // channelTimeout in Seconds
     public CommandExecutionResult runCommandReturningResult(String command, int channelTimeout) {
         CommandExecutionResult commandExecutionResult = new CommandExecutionResult();
-        try {
+        try (SSHSessionPool.Lease lease = leaseSession()) {
             log.info("Running Command ...");
-            Session session = getSession();
-            session.connect();
-            Channel channel = session.openChannel("exec");
-            ((ChannelExec) channel).setCommand(command);
-            ((ChannelExec) channel).setErrStream(System.err);
-            InputStream in = channel.getInputStream();
-            InputStream ext = channel.getExtInputStream();
-            channel.connect();
-            log.debug("SSH Connected Successfully");
-            commandExecutionResult.setCommandOutput(getCommandExecutionOutput(channel, in, channelTimeout)
-                    + getCommandExecutionOutput(channel, ext, channelTimeout));
-            commandExecutionResult.setExitCode(channel.getExitStatus());
+            Channel channel = lease.openChannel("exec");
+            try {
+                ByteArrayOutputStream errorOutput = new ByteArrayOutputStream();
+                ((ChannelExec) channel).setCommand(command);
+                ((ChannelExec) channel).setErrStream(errorOutput, true);
+                InputStream in = channel.getInputStream();
+                channel.connect();
+                log.debug("SSH Connected Successfully");
+                String output = getCommandExecutionOutput(channel, in, channelTimeout);
+                commandExecutionResult.setCommandOutput(output + errorOutput.toString());
+                commandExecutionResult.setExitCode(channel.getExitStatus());
+            } finally {
+                channel.disconnect();
+            }
             log.debug("Command-output: " + commandExecutionResult.getCommandOutput());
             log.debug("exit-status: " + commandExecutionResult.getExitCode());
-            channel.disconnect();
-            session.disconnect();
         } catch (Exception e) {
             log.error(e);
             commandExecutionResult.setCommandOutput(e.getMessage());
@@ -179,34 +201,65 @@ public class SSHUtils extends RemoteBase implements ICommandExecutor, EndpointCl
         return commandExecutionResult;
     }
 
+    /**
+     * Reads the output of the channel until the remote command closes it, or until the channel
+     * timeout disconnects it. The error stream of the channel is collected separately by JSch, so
+     * that both streams are drained without polling.
+     */
     private String getCommandExecutionOutput(Channel channel, InputStream in, int channelTimeout) {
-        byte[] tmp = new byte[NumberConstants.MEGA_VALUE];
-        StringBuilder output = new StringBuilder();
-        long end = System.currentTimeMillis() + (channelTimeout) * (NumberConstants.THOUSAND);
+        ScheduledFuture<?> timeoutTask = channelTimeout > 0
+                ? CHANNEL_TIMEOUT_SERVICE.schedule(channel::disconnect, channelTimeout, TimeUnit.SECONDS)
+                : null;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] tmp = new byte[READ_BUFFER_SIZE];
         try {
-            while (true) {
-                int i;
-                while (in.available() > NumberConstants.ZERO) {
-                    i = in.read(tmp, NumberConstants.ZERO, NumberConstants.MEGA_VALUE);
-                    if (i < NumberConstants.ZERO) {
-                        break;
-                    }
-                    output.append(new String(tmp, NumberConstants.ZERO, i));
-
-                }
-                if ((channel.isClosed()) || (channelTimeout > 0 && System.currentTimeMillis() >= end)) {
-                    break;
-                }
-
-                Thread.sleep(NumberConstants.THOUSAND);
+            int i;
+            while ((i = in.read(tmp, NumberConstants.ZERO, READ_BUFFER_SIZE)) >= NumberConstants.ZERO) {
+                output.write(tmp, NumberConstants.ZERO, i);
+            }
+            // the exit status is sent after the end of the output
+            while (!channel.isClosed()) {
+                Thread.sleep(CHANNEL_CLOSE_POLL_INTERVAL);
             }
-        } catch (InterruptedException | IOException e) {
+        } catch (IOException e) {
+            log.debug("Channel output closed: {}", e.getMessage());
+        } catch (InterruptedException e) {
             log.error(e);
             Thread.currentThread().interrupt();
+        } finally {
+            if (null != timeoutTask) {
+                timeoutTask.cancel(false);
+            }
         }
         return output.toString();
     }
 
+    private SSHSessionPool.Lease leaseSession() throws JSchException {
+        return sessionPool.lease(getSessionKey(), this::getSession);
+    }
+
+    private String getSessionKey() throws JSchException {
+        return getUserName() + "@" + getHost() + ":" + getPort() + "/" + digestSecrets(getPassword(), getPrivateKey());
+    }
+
+    /**
+     * Digests the secrets with their lengths, so that sessions are only shared by the same
+     * credentials without keeping the secrets themselves in the session keys.
+     */
+    private static String digestSecrets(String... secrets) throws JSchException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String secret : secrets) {
+                byte[] bytes = null == secret ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+                digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(null == secret ? -1 : bytes.length).array());
+                digest.update(bytes);
+            }
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new JSchException("Failed to digest the ssh credentials", e);
+        }
+    }
+
     private void cleanupSession(Session session, ChannelSftp channelSftp, Channel channel) {
         if (channelSftp != null) {
             channelSftp.exit();
@@ -220,9 +273,8 @@ public class SSHUtils extends RemoteBase implements ICommandExecutor, EndpointCl
 
         if (session != null) {
             session.disconnect();
+            log.info("Host Session disconnected.");
         }
-
-        log.info("Host Session disconnected.");
     }
 
     @Override
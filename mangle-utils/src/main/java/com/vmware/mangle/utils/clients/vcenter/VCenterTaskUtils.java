@@ -27,20 +27,34 @@ import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
 @UtilityClass
 public class VCenterTaskUtils {
 
+    /**
+     * Waits for the vCenter adapter task to finish. Each query is held by the adapter until the
+     * task has finished or the wait has elapsed, an adapter answering right away while the task is
+     * still running is polled at most once per poll interval.
+     */
     public static ResponseEntity<VCenterOperationTaskQueryResponse> getTaskStatus(VCenterAdapterClient clientAdapter,
             String taskId) throws MangleException {
         ResponseEntity<VCenterOperationTaskQueryResponse> responeEntity = null;
-        do {
+        String url = String.format(VCenterConstants.AWAIT_TASK_STATUS, taskId,
+                VCenterConstants.TASK_STATUS_WAIT_IN_SECONDS);
+        while (true) {
+            long queryStart = System.currentTimeMillis();
+            responeEntity = (ResponseEntity<VCenterOperationTaskQueryResponse>) clientAdapter.get(url,
+                    VCenterOperationTaskQueryResponse.class);
+            if (!responeEntity.getBody().getTaskStatus().equals(VCenterConstants.TASK_STATUS_TRIGGERED)) {
+                break;
+            }
+            long remainingInterval = VCenterConstants.TASK_STATUS_POLL_INTERVAL_IN_MILLISECONDS
+                    - (System.currentTimeMillis() - queryStart);
             try {
-                responeEntity = (ResponseEntity<VCenterOperationTaskQueryResponse>) clientAdapter.get(
-                        String.format(VCenterConstants.TASK_STATUS, taskId), VCenterOperationTaskQueryResponse.class);
-                Thread.sleep(5000);
+                if (remainingInterval > 0) {
+                    Thread.sleep(remainingInterval);
+                }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 throw new MangleException(e.getMessage(), ErrorCode.GENERIC_ERROR);
             }
-
-        } while (responeEntity.getBody().getTaskStatus().equals(VCenterConstants.TASK_STATUS_TRIGGERED));
+        }
 
         return responeEntity;
     }
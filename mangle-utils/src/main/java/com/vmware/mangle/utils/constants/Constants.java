@@ -84,6 +84,7 @@ public class Constants {
 
     public static final String TASK_SIZE = "taskSize";
     public static final String TASK_LIST = "taskList";
+    public static final String NEXT_CURSOR = "nextCursor";
     public static final String VM_NAME_ARG = "--vmName";
     public static final String HOST_NAME_ARG = "--hostName";
     public static final String VM_DISK_ARG = "--vmDisk";
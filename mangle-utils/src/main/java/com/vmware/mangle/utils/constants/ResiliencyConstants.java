@@ -62,6 +62,8 @@ public class ResiliencyConstants {
     public static final double INVALID_SCORE = -1;
     public static final int DEFAULT_METRIC_FLUSH_INTERVAL_IN_SECOND = 600;
     public static final int QUERY_RETRY_COUNT = 2;
+    public static final long QUERY_RETRY_INITIAL_BACKOFF_IN_MILLISECONDS = 1000;
+    public static final int QUERY_THREAD_POOL_SIZE = 8;
 
     public static final String IS = " is: ";
 
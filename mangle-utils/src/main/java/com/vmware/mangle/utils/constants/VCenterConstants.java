@@ -51,6 +51,9 @@ public class VCenterConstants {
     public static final String CONNECT_DISK = VM_DISK + "/%s/" + CONNECT_CMD;
     public static final String CONNECT_DISK_WITH_ID = VM_DISK_WITH_ID + "/%s/" + CONNECT_CMD;
     public static final String TASK_STATUS = VC_ADAPTER_CONTEXT_PATH + "/api/v1/task/%s";
+    public static final String AWAIT_TASK_STATUS = TASK_STATUS + "?waitInSeconds=%d";
+    public static final int TASK_STATUS_WAIT_IN_SECONDS = 30;
+    public static final int TASK_STATUS_POLL_INTERVAL_IN_MILLISECONDS = 5000;
 
     public static final String TASK_STATUS_COMPLETED = "Completed";
     public static final String TASK_STATUS_FAILED = "Failed";
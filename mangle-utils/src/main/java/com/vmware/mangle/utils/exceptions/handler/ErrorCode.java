@@ -167,6 +167,8 @@ public enum ErrorCode {
     SCHEDULING_FAULT_NOT_SUPPORTED_WITH_RESOURCENAME("FI0141"),
     HOSTS_IDENTICAL_FOR_NETWORK_PARTITION_FAULT("FI0142"),
     UNSUPPORTED_K8S_CLUSTER_NAME("FI0143"),
+    TASK_QUEUE_FULL("FI0145"),
+    INVALID_PAGE_CURSOR("FI0146"),
 
     //RemoteMachine endpoint error codes
     RM_CONNECTION_REFUSED("FIRM01"),
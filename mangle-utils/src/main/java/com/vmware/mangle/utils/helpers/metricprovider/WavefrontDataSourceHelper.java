@@ -17,6 +17,7 @@ import java.util.Calendar;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.ImmutableMap;
@@ -51,24 +52,37 @@ import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
 @Log4j2
 
 public class WavefrontDataSourceHelper implements IMetricProviderHelper {
-    @Setter
     private WavefrontMetricProviderHelper metricProviderHelper;
+    /**
+     * Creates the helper of a metric query. The helper keeps the URL of the request being sent, so
+     * every query gets its own helper as the queries of the resiliency score run in parallel.
+     */
+    @Setter
+    private Supplier<WavefrontMetricProviderHelper> metricQueryHelperFactory;
     private WavefrontDirectIngestionClient.Builder wavefrontDirectIngestionClient;
     private WavefrontSender wavefrontSender;
 
     public WavefrontDataSourceHelper(MetricProviderSpec monitoringToolProperties) {
         trimWavefrontInstanceName(monitoringToolProperties);
-        metricProviderHelper = new WavefrontMetricProviderHelper(
-                monitoringToolProperties.getWaveFrontConnectionProperties().getWavefrontInstance(),
-                monitoringToolProperties.getWaveFrontConnectionProperties().getWavefrontAPIToken());
-        wavefrontDirectIngestionClient = new WavefrontDirectIngestionClient.Builder(
-                monitoringToolProperties.getWaveFrontConnectionProperties().getWavefrontInstance(),
-                monitoringToolProperties.getWaveFrontConnectionProperties().getWavefrontAPIToken());
+        String wavefrontInstance = monitoringToolProperties.getWaveFrontConnectionProperties().getWavefrontInstance();
+        String wavefrontAPIToken = monitoringToolProperties.getWaveFrontConnectionProperties().getWavefrontAPIToken();
+        metricProviderHelper = new WavefrontMetricProviderHelper(wavefrontInstance, wavefrontAPIToken);
+        metricQueryHelperFactory = () -> new WavefrontMetricProviderHelper(wavefrontInstance, wavefrontAPIToken);
+        wavefrontDirectIngestionClient =
+                new WavefrontDirectIngestionClient.Builder(wavefrontInstance, wavefrontAPIToken);
         wavefrontDirectIngestionClient
                 .flushIntervalSeconds(ResiliencyConstants.DEFAULT_METRIC_FLUSH_INTERVAL_IN_SECOND);
         wavefrontSender = wavefrontDirectIngestionClient.build();
     }
 
+    /**
+     * Sets the helper used for the events and the metric queries
+     */
+    public void setMetricProviderHelper(WavefrontMetricProviderHelper metricProviderHelper) {
+        this.metricProviderHelper = metricProviderHelper;
+        this.metricQueryHelperFactory = () -> metricProviderHelper;
+    }
+
     private void trimWavefrontInstanceName(MetricProviderSpec monitoringToolProperties) {
         log.debug("Removing the trailing / in the wavefront instance name ");
         String url = monitoringToolProperties.getWaveFrontConnectionProperties().getWavefrontInstance();
@@ -149,8 +163,8 @@ public class WavefrontDataSourceHelper implements IMetricProviderHelper {
             String granulirity) {
         log.info(" Running the query: " + query + " between start time: " + startTimeInEpocMillis + " and end time: "
                 + endTimeInEpochMillis);
-        WavefrontMetricQueryResponse queryResponse =
-                metricProviderHelper.queryMetrics(query, startTimeInEpocMillis, endTimeInEpochMillis, granulirity);
+        WavefrontMetricQueryResponse queryResponse = metricQueryHelperFactory.get().queryMetrics(query,
+                startTimeInEpocMillis, endTimeInEpochMillis, granulirity);
         if (null == queryResponse) {
             log.error(" Query didn't return any thing. Please check the query. ");
             return null;
@@ -47,4 +47,5 @@ public class TaskExecutionMessages {
             "Execution is failed, could not persist reports and logs failed to send email!";
     public static final String TASK_EXECUTION_START_MESSAGE = "Starting Task with Name: %s";
     public static final String TASK_EXECUTION_FAILED_MESSAGE = "Task Execution Failed. Reason: ";
+    public static final String TASK_CANCELLED_WHILE_QUEUED = "Task was cancelled before it was started";
 }
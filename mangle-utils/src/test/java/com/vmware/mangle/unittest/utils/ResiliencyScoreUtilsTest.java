@@ -15,6 +15,7 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyMap;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -24,6 +25,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
@@ -139,6 +144,7 @@ public class ResiliencyScoreUtilsTest {
     @Test(priority = 7, description = "Validate resiliency score calculation when TimeSeries data having empty time series data")
     public void emptyDataInTimeSeriesData() {
         rScoreSpy.setMetricProvider(metricHelperSpy);
+        rScoreSpy.setRetryBackoffInMilliSeconds(1);
 
         List<TimeseriesData> timeseriesData = new ArrayList<>();
         TimeseriesData data = ResiliencyScoreMockData.getTimeSeriesData();
@@ -152,6 +158,58 @@ public class ResiliencyScoreUtilsTest {
         ResiliencyScoreVO rScore = rScoreSpy.calculateResiliencyScore();
         Assert.assertTrue(rScore.getResiliencyScore() == ResiliencyConstants.INVALID_SCORE,
                 "Resiliency score calculation failed");
+        verify(metricHelperSpy, times(2 * (ResiliencyConstants.QUERY_RETRY_COUNT + 1)))
+                .getTimeSeriesData(eq(allQueries.get(0).getQueryCondition()), anyLong(), anyLong(), anyString());
+    }
+
+    @Test(priority = 10, description = "Validate the time series data is retrieved once for events of the same window")
+    public void retrieveTimeSeriesDataOnceForSameWindow() {
+        rScoreSpy.setMetricProvider(metricHelperSpy);
+        List<WavefrontEvent> events = getFaultEvents();
+        WavefrontEvent concurrentEvent = ResiliencyScoreMockData.getWavefrontEvent();
+        concurrentEvent.setStart(events.get(0).getStart());
+        concurrentEvent.setEnd(events.get(0).getEnd());
+        events.add(concurrentEvent);
+
+        when(metricHelperSpy.getEvents(anyMap(), anyString(), anyString(), anyLong(), anyLong())).thenReturn(events);
+        when(metricHelperSpy.getTimeSeriesData(anyString(), anyLong(), anyLong(), anyString()))
+                .thenReturn(getTimeSeriesData());
+        ResiliencyScoreVO rScore = rScoreSpy.calculateResiliencyScore();
+        Assert.assertTrue((rScore.getResiliencyScore() > 0.0 && rScore.getResiliencyScore() <= 1.0),
+                "Resiliency score calculation failed");
+        Assert.assertEquals(rScore.getServiceResiliencyScore().getFaultInjectionEventResiliencyScore().size(), 2);
+        verify(metricHelperSpy, times(2)).getTimeSeriesData(eq(allQueries.get(0).getQueryCondition()), anyLong(),
+                anyLong(), anyString());
+    }
+
+    @Test(priority = 11, description = "Validate the queries of the calculations run on the shared query executor")
+    public void calculateRScoreOnSharedQueryExecutor() {
+        ExecutorService pool = Executors.newFixedThreadPool(ResiliencyConstants.QUERY_THREAD_POOL_SIZE);
+        AtomicInteger queries = new AtomicInteger();
+        Executor queryExecutor = command -> {
+            queries.incrementAndGet();
+            pool.execute(command);
+        };
+        when(metricHelperSpy.getEvents(anyMap(), anyString(), anyString(), anyLong(), anyLong()))
+                .thenReturn(getFaultEvents());
+        when(metricHelperSpy.getTimeSeriesData(anyString(), anyLong(), anyLong(), anyString()))
+                .thenReturn(getTimeSeriesData());
+        try {
+            for (int calculation = 1; calculation <= 2; calculation++) {
+                ResiliencyScoreUtils resiliencyScoreUtils =
+                        new ResiliencyScoreUtils(properties, service, allQueries, startTime, endTime);
+                resiliencyScoreUtils.setMetricProvider(metricHelperSpy);
+                resiliencyScoreUtils.setQueryExecutor(queryExecutor);
+
+                ResiliencyScoreVO rScore = resiliencyScoreUtils.calculateResiliencyScore();
+
+                Assert.assertTrue(rScore.getResiliencyScore() > 0.0 && rScore.getResiliencyScore() <= 1.0);
+                Assert.assertEquals(queries.get(), calculation * 2 * allQueries.size());
+                Assert.assertFalse(pool.isShutdown());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
     }
 
     @Test(priority = 8, description = "Validate resiliency score calculation with all valid data - Service tags empty ")
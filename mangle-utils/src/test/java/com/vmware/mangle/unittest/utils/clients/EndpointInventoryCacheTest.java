@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.unittest.utils.clients;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.vmware.mangle.utils.clients.endpoint.EndpointInventoryCache;
+import com.vmware.mangle.utils.exceptions.MangleException;
+import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
+
+/**
+ * Unit Test Case for EndpointInventoryCache.
+ *
+ * @author mangle
+ */
+public class EndpointInventoryCacheTest {
+
+    private EndpointInventoryCache inventoryCache;
+    private Map<String, String> tags;
+    private AtomicInteger loads;
+
+    @BeforeMethod
+    public void setUp() {
+        inventoryCache = new EndpointInventoryCache(60000);
+        tags = new HashMap<>();
+        tags.put("Env", "MockTest");
+        tags.put("OS", "Ubuntu");
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void testGetResourcesFromCache() throws MangleException {
+        Map<String, String> reorderedTags = new HashMap<>(tags);
+
+        Assert.assertEquals(inventoryCache.getResources("aws:account:region", tags, this::load),
+                Arrays.asList("i-1", "i-2"));
+        Assert.assertEquals(inventoryCache.getResources("aws:account:region", reorderedTags, this::load),
+                Arrays.asList("i-1", "i-2"));
+        Assert.assertEquals(loads.get(), 1);
+
+        inventoryCache.getResources("aws:account:other-region", tags, this::load);
+        Assert.assertEquals(loads.get(), 2);
+        Assert.assertEquals(inventoryCache.size(), 2);
+    }
+
+    @Test
+    public void testGetResourcesWithoutEndpoint() throws MangleException {
+        inventoryCache.getResources(null, tags, this::load);
+        inventoryCache.getResources(null, tags, this::load);
+
+        Assert.assertEquals(loads.get(), 2);
+        Assert.assertEquals(inventoryCache.size(), 0);
+    }
+
+    @Test
+    public void testGetResourcesAfterExpiry() throws MangleException {
+        AtomicLong now = new AtomicLong(1000);
+        inventoryCache = new EndpointInventoryCache(30000, now::get);
+
+        inventoryCache.getResources("aws:account:region", tags, this::load);
+        now.addAndGet(29999);
+        inventoryCache.getResources("aws:account:region", tags, this::load);
+        Assert.assertEquals(loads.get(), 1);
+
+        now.incrementAndGet();
+        inventoryCache.getResources("aws:account:region", tags, this::load);
+        Assert.assertEquals(loads.get(), 2);
+    }
+
+    @Test
+    public void testGetResourcesAfterEviction() throws MangleException {
+        inventoryCache.getResources("aws:account:region", tags, this::load);
+        inventoryCache.evict("aws:account:region");
+        inventoryCache.getResources("aws:account:region", tags, this::load);
+
+        Assert.assertEquals(loads.get(), 2);
+    }
+
+    @Test
+    public void testGetResourcesFailureNotCached() throws MangleException {
+        try {
+            inventoryCache.getResources("aws:account:region", tags, () -> {
+                throw new MangleException(ErrorCode.AWS_NO_INSTANCES_FOUND, "Env:MockTest");
+            });
+            Assert.fail("Expected MangleException when the loading fails");
+        } catch (MangleException e) {
+            Assert.assertEquals(e.getErrorCode(), ErrorCode.AWS_NO_INSTANCES_FOUND);
+        }
+        Assert.assertEquals(inventoryCache.size(), 0);
+        Assert.assertEquals(inventoryCache.getResources("aws:account:region", tags, this::load).size(), 2);
+    }
+
+    @Test
+    public void testConcurrentSelectionsShareLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<String>> first = executor.submit(() -> inventoryCache.getResources("azure:subscription",
+                    tags, () -> {
+                        loading.countDown();
+                        awaitRelease(release);
+                        return load();
+                    }));
+            Assert.assertTrue(loading.await(10, TimeUnit.SECONDS));
+            Future<List<String>> second =
+                    executor.submit(() -> inventoryCache.getResources("azure:subscription", tags, this::load));
+            release.countDown();
+
+            Assert.assertEquals(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+            Assert.assertEquals(loads.get(), 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentSelectionsReleasedOnError() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<String>> first = executor.submit(() -> inventoryCache.getResources("azure:subscription",
+                    tags, () -> {
+                        loading.countDown();
+                        awaitRelease(release);
+                        throw new AssertionError("inventory unavailable");
+                    }));
+            Assert.assertTrue(loading.await(10, TimeUnit.SECONDS));
+            Future<List<String>> second = executor.submit(() -> inventoryCache.getResources("azure:subscription",
+                    tags, () -> {
+                        throw new AssertionError("inventory unavailable");
+                    }));
+            release.countDown();
+
+            assertLoadError(first);
+            assertLoadError(second);
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(inventoryCache.size(), 0);
+        Assert.assertEquals(inventoryCache.getResources("azure:subscription", tags, this::load).size(), 2);
+    }
+
+    private void assertLoadError(Future<List<String>> selection) throws Exception {
+        try {
+            selection.get(10, TimeUnit.SECONDS);
+            Assert.fail("Expected the loading error to reach every waiting selection");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof AssertionError);
+        }
+    }
+
+    private void awaitRelease(CountDownLatch release) {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<String> load() {
+        loads.incrementAndGet();
+        return Collections.unmodifiableList(Arrays.asList("i-1", "i-2"));
+    }
+}
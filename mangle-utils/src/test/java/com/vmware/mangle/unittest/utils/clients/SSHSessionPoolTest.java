@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.unittest.utils.clients;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.jcraft.jsch.ChannelExec;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.vmware.mangle.utils.clients.ssh.SSHSessionPool;
+
+/**
+ * Unit Test Case for SSHSessionPool.
+ *
+ * @author mangle
+ */
+public class SSHSessionPoolTest {
+
+    private SSHSessionPool sessionPool;
+    private List<Session> sessions;
+
+    @BeforeMethod
+    public void setUp() {
+        sessionPool = new SSHSessionPool(2, 60000, 60000);
+        sessions = new ArrayList<>();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        sessionPool.close();
+    }
+
+    @Test
+    public void testLeaseReusesConnectedSession() throws JSchException {
+        try (SSHSessionPool.Lease first = sessionPool.lease("root@host:22", this::createSession);
+                SSHSessionPool.Lease second = sessionPool.lease("root@host:22", this::createSession)) {
+            Assert.assertSame(first.getSession(), second.getSession());
+        }
+        try (SSHSessionPool.Lease lease = sessionPool.lease("root@host:22", this::createSession)) {
+            Assert.assertSame(lease.getSession(), sessions.get(0));
+        }
+        Assert.assertEquals(sessions.size(), 1);
+        verify(sessions.get(0), times(1)).connect();
+    }
+
+    @Test
+    public void testLeaseKeepsSessionsPerKey() throws JSchException {
+        try (SSHSessionPool.Lease first = sessionPool.lease("root@host1:22", this::createSession);
+                SSHSessionPool.Lease second = sessionPool.lease("root@host2:22", this::createSession)) {
+            Assert.assertNotSame(first.getSession(), second.getSession());
+        }
+        Assert.assertEquals(sessionPool.size(), 2);
+    }
+
+    @Test
+    public void testLeaseReconnectsDisconnectedSession() throws JSchException {
+        try (SSHSessionPool.Lease lease = sessionPool.lease("root@host:22", this::createSession)) {
+            when(lease.getSession().isConnected()).thenReturn(false);
+        }
+        try (SSHSessionPool.Lease lease = sessionPool.lease("root@host:22", this::createSession)) {
+            Assert.assertSame(lease.getSession(), sessions.get(1));
+        }
+    }
+
+    @Test
+    public void testOpenChannelReconnectsSessionWhichWentDown() throws JSchException {
+        try (SSHSessionPool.Lease lease = sessionPool.lease("root@host:22", this::createSession)) {
+            Session session = lease.getSession();
+            when(session.isConnected()).thenReturn(false);
+            doThrow(new JSchException("session is down")).when(session).openChannel("exec");
+
+            Assert.assertNotNull(lease.openChannel("exec"));
+            Assert.assertSame(lease.getSession(), sessions.get(1));
+            verify(session).disconnect();
+        }
+    }
+
+    @Test
+    public void testEvictIdleSessions() throws JSchException {
+        sessionPool.close();
+        sessionPool = new SSHSessionPool(2, 0, 60000);
+        SSHSessionPool.Lease lease = sessionPool.lease("root@host:22", this::createSession);
+        sessionPool.evictIdleSessions();
+        Assert.assertEquals(sessionPool.size(), 1);
+
+        lease.close();
+        sessionPool.evictIdleSessions();
+        Assert.assertEquals(sessionPool.size(), 0);
+        verify(sessions.get(0)).disconnect();
+    }
+
+    @Test
+    public void testCloseDisconnectsIdleSessions() throws JSchException {
+        SSHSessionPool.Lease idleLease = sessionPool.lease("root@host1:22", this::createSession);
+        SSHSessionPool.Lease lease = sessionPool.lease("root@host2:22", this::createSession);
+        idleLease.close();
+
+        sessionPool.close();
+
+        Assert.assertEquals(sessionPool.size(), 1, "The leased session should be kept until its lease is closed");
+        verify(sessions.get(0)).disconnect();
+        verify(sessions.get(1), times(0)).disconnect();
+        lease.close();
+    }
+
+    private Session createSession() throws JSchException {
+        Session session = mock(Session.class);
+        when(session.isConnected()).thenReturn(true);
+        when(session.openChannel("exec")).thenReturn(mock(ChannelExec.class));
+        sessions.add(session);
+        return session;
+    }
+}
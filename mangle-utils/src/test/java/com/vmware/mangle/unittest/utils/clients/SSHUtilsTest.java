@@ -46,6 +46,7 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import com.vmware.mangle.cassandra.model.tasks.commands.CommandExecutionResult;
+import com.vmware.mangle.utils.clients.ssh.SSHSessionPool;
 import com.vmware.mangle.utils.clients.ssh.SSHUtils;
 import com.vmware.mangle.utils.constants.ErrorConstants;
 import com.vmware.mangle.utils.exceptions.MangleException;
@@ -61,6 +62,7 @@ import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
 public class SSHUtilsTest extends PowerMockTestCase {
 
     private SSHUtils sshUtils;
+    private SSHSessionPool sessionPool;
     @Mock
     private JSch jSch;
     @Mock
@@ -82,13 +84,16 @@ public class SSHUtilsTest extends PowerMockTestCase {
         MockitoAnnotations.initMocks(this);
         PowerMockito.mockStatic(FileUtils.class);
         this.sshUtils = new SSHUtils(host, userName, "vmwaee", port, 1000);
+        this.sessionPool = new SSHSessionPool();
+        this.sshUtils.setSessionPool(sessionPool);
     }
 
     /**
      * @throws java.lang.Exception
      */
     @AfterClass
-    public static void tearDownAfterClass() throws Exception {
+    public void tearDownAfterClass() throws Exception {
+        sessionPool.close();
     }
 
     /**
@@ -96,6 +101,7 @@ public class SSHUtilsTest extends PowerMockTestCase {
      */
     @AfterMethod
     public void tearDown() throws Exception {
+        sessionPool.clear();
         validateMockitoUsage();
     }
 
@@ -172,6 +178,7 @@ public class SSHUtilsTest extends PowerMockTestCase {
         PowerMockito.doNothing().when(FileUtils.class);
         FileUtils.copyInputStreamToFile(any(InputStream.class), any(File.class));
         Assert.assertTrue(sshUtils.getFile("src/test/resources/mock_command.txt", "/mock_command.txt", "/tmp"));
+        sessionPool.clear();
         verify(session, times(1)).openChannel(anyString());
         verify(channelSftp, times(1)).connect();
         verify(channelSftp, times(1)).disconnect();
@@ -315,6 +322,7 @@ public class SSHUtilsTest extends PowerMockTestCase {
             exceptionCalled = true;
         }
         Assert.assertTrue(exceptionCalled);
+        sessionPool.clear();
         verify(session, times(1)).openChannel(anyString());
         verify(channelSftp, times(1)).connect();
         verify(channelSftp, times(1)).disconnect();
@@ -366,6 +374,7 @@ public class SSHUtilsTest extends PowerMockTestCase {
     }
 
     private void verificationAfterPutFile() throws Exception {
+        sessionPool.clear();
         verify(session, times(1)).openChannel(anyString());
         verify(channelSftp, times(1)).connect();
         verify(channelSftp, times(1)).disconnect();
@@ -85,6 +85,7 @@ import org.testng.annotations.Test;
 import com.vmware.mangle.model.aws.AwsRDSInstance;
 import com.vmware.mangle.utils.clients.aws.AWSCommonUtils;
 import com.vmware.mangle.utils.clients.aws.CustomAwsClient;
+import com.vmware.mangle.utils.clients.endpoint.EndpointInventoryCache;
 import com.vmware.mangle.utils.exceptions.MangleException;
 import com.vmware.mangle.utils.exceptions.MangleRuntimeException;
 import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
@@ -198,6 +199,42 @@ public class AwsCommonUtilsTest {
         }
     }
 
+    /**
+     * Test method for {@link#AWSCommonUtils#getAwsInstances }.
+     *
+     * @throws MangleException
+     */
+    @Test
+    public void testGetAwsInstancesFromAllPages() throws MangleException {
+        Instance secondInstance =
+                new Instance().withInstanceId("Dummy2").withState(new InstanceState().withName("running"));
+        DescribeInstancesResult firstPage =
+                new DescribeInstancesResult().withReservations(new Reservation().withInstances(instance))
+                        .withNextToken("page2");
+        DescribeInstancesResult secondPage =
+                new DescribeInstancesResult().withReservations(new Reservation().withInstances(secondInstance));
+        when(ec2Client.describeInstances(any(DescribeInstancesRequest.class))).thenReturn(firstPage, secondPage);
+
+        Assert.assertEquals(AWSCommonUtils.getAwsInstances(customAwsClient, awsTags, false),
+                Arrays.asList("Dummy", "Dummy2"));
+        verify(ec2Client, times(2)).describeInstances(any(DescribeInstancesRequest.class));
+    }
+
+    /**
+     * Test method for {@link#AWSCommonUtils#getAwsInstances }.
+     *
+     * @throws MangleException
+     */
+    @Test
+    public void testGetAwsInstancesFromCache() throws MangleException {
+        when(customAwsClient.getInventoryScope()).thenReturn("aws:testGetAwsInstancesFromCache");
+
+        Assert.assertEquals(AWSCommonUtils.getAwsInstances(customAwsClient, awsTags, false).get(0), "Dummy");
+        Assert.assertEquals(AWSCommonUtils.getAwsInstances(customAwsClient, awsTags, true).get(0), "Dummy");
+        verify(ec2Client, times(1)).describeInstances(any(DescribeInstancesRequest.class));
+        EndpointInventoryCache.getInstance().evict("aws:testGetAwsInstancesFromCache");
+    }
+
     /**
      * Test method for {@link#AWSCommonUtils#findSecurityGroup }.
      *
@@ -309,6 +309,8 @@ public class CustomDockerClientTest extends PowerMockTestCase {
         when(dockerClient.inspectExecCmd(anyString())).thenReturn(inspectExecCmd);
 
         CommandExecutionResult actualResult = customDockerClient.execCommandInContainerByName(containerName, "cp test");
+        // clears the interrupt status restored by the client, so that it does not leak into the next tests
+        Assert.assertTrue(Thread.interrupted(), "The interrupt status should be restored");
         Assert.assertEquals(actualResult.getCommandOutput(), null);
         verify(dockerClient, times(1)).execCreateCmd(anyString());
         verify(dockerClient, times(1)).execStartCmd(anyString());
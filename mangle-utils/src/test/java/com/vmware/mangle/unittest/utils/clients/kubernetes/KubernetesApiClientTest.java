@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.unittest.utils.clients.kubernetes;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.vmware.mangle.utils.clients.kubernetes.KubernetesApiClient;
+import com.vmware.mangle.utils.exceptions.MangleException;
+import com.vmware.mangle.utils.exceptions.handler.ErrorCode;
+
+/**
+ * Unit Test cases for {@link KubernetesApiClient}.
+ *
+ * @author mangle
+ */
+public class KubernetesApiClientTest {
+    private static final String TOKEN = "dummyToken";
+    private static final String POD_LIST = "{\"metadata\":{\"resourceVersion\":\"10\"},\"items\":["
+            + "{\"metadata\":{\"name\":\"pod-1\"},"
+            + "\"status\":{\"conditions\":[{\"type\":\"Ready\",\"status\":\"True\"}]}},"
+            + "{\"metadata\":{\"name\":\"pod-2\"},"
+            + "\"status\":{\"conditions\":[{\"type\":\"Ready\",\"status\":\"False\"}]}}]}";
+
+    private HttpServer server;
+    private Map<String, String> requests = new ConcurrentHashMap<>();
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.put(exchange.getRequestURI().toString(), exchange.getRequestHeaders().getFirst("Authorization"));
+            boolean podList = exchange.getRequestURI().getPath().equals("/api/v1/namespaces/mangle/pods");
+            byte[] body = (podList ? POD_LIST : "{\"message\":\"not found\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(podList ? 200 : 404, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterClass
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testListPodsWithKubeConfig() throws IOException, MangleException {
+        KubernetesApiClient client = KubernetesApiClient.getClient(writeKubeConfig("token: " + TOKEN), "mangle");
+
+        List<JsonNode> pods = KubernetesApiClient.getItems(client.listPods("app=mangle", null));
+
+        Assert.assertEquals(pods.size(), 2);
+        Assert.assertEquals(KubernetesApiClient.getName(pods.get(0)), "pod-1");
+        Assert.assertTrue(KubernetesApiClient.isReady(pods.get(0)));
+        Assert.assertFalse(KubernetesApiClient.isReady(pods.get(1)));
+        Assert.assertEquals(requests.get("/api/v1/namespaces/mangle/pods?labelSelector=app%3Dmangle"),
+                "Bearer " + TOKEN);
+    }
+
+    @Test
+    public void testReadMissingNamespace() throws IOException, MangleException {
+        KubernetesApiClient client = KubernetesApiClient.getClient(writeKubeConfig("token: " + TOKEN), null);
+
+        Assert.assertEquals(client.getNamespace(), "context-namespace");
+        Assert.assertNull(client.readNamespace());
+    }
+
+    @Test
+    public void testWatchPodsWhenConditionHolds() throws IOException, MangleException {
+        KubernetesApiClient client = KubernetesApiClient.getClient(writeKubeConfig("token: " + TOKEN), "mangle");
+        JsonNode podList = new ObjectMapper().readTree(POD_LIST);
+
+        Assert.assertTrue(client.watchPods(null, null, podList, 1, pods -> pods.containsKey("pod-2")));
+    }
+
+    @Test
+    public void testGetClientWithExecPlugin() throws IOException {
+        try {
+            KubernetesApiClient.getClient(writeKubeConfig("exec:\n      command: aws"), null);
+            Assert.fail("Expected the exec plugin to be rejected");
+        } catch (MangleException e) {
+            Assert.assertEquals(e.getErrorCode(), ErrorCode.K8S_INVALID_CONFIG_FILE);
+        }
+    }
+
+    @Test
+    public void testGetClientIsCachedAndBounded() throws IOException, MangleException {
+        String kubeConfig = writeKubeConfig("token: " + TOKEN);
+        KubernetesApiClient.clearCachedClients();
+
+        KubernetesApiClient client = KubernetesApiClient.getClient(kubeConfig, "mangle");
+        Assert.assertSame(KubernetesApiClient.getClient(kubeConfig, "mangle"), client);
+        Assert.assertNotSame(KubernetesApiClient.getClient(kubeConfig, "other"), client);
+        for (int i = 0; i < KubernetesApiClient.MAX_CACHED_CLIENTS; i++) {
+            KubernetesApiClient.getClient(kubeConfig, "namespace-" + i);
+        }
+
+        Assert.assertEquals(KubernetesApiClient.getCachedClientCount(), KubernetesApiClient.MAX_CACHED_CLIENTS);
+        Assert.assertNotSame(KubernetesApiClient.getClient(kubeConfig, "mangle"), client,
+                "The least recently used client should have been evicted");
+    }
+
+    @Test
+    public void testIsReadyWhenDeleting() throws IOException {
+        JsonNode pod = new ObjectMapper().readTree("{\"metadata\":{\"name\":\"pod-1\",\"deletionTimestamp\":\"now\"},"
+                + "\"status\":{\"conditions\":[{\"type\":\"Ready\",\"status\":\"True\"}]}}");
+
+        Assert.assertFalse(KubernetesApiClient.isReady(pod));
+    }
+
+    private String writeKubeConfig(String user) throws IOException {
+        File kubeConfig = File.createTempFile("kubeconfig", ".yaml");
+        kubeConfig.deleteOnExit();
+        String content = "apiVersion: v1\n" + "kind: Config\n" + "current-context: test\n" + "clusters:\n"
+                + "- name: test-cluster\n" + "  cluster:\n" + "    server: http://127.0.0.1:"
+                + server.getAddress().getPort() + "\n" + "    insecure-skip-tls-verify: true\n" + "contexts:\n"
+                + "- name: test\n" + "  context:\n" + "    cluster: test-cluster\n" + "    user: test-user\n"
+                + "    namespace: context-namespace\n" + "users:\n" + "- name: test-user\n" + "  user:\n" + "    "
+                + user + "\n";
+        Files.write(kubeConfig.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return kubeConfig.getAbsolutePath();
+    }
+}
@@ -20,6 +20,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.mockito.Mockito;
 import org.springframework.util.CollectionUtils;
@@ -149,6 +151,25 @@ public class WavefrontDataSourceHelperTest {
                 "Failed to retrieve time series data when QueryMetric API returned failure.");
     }
 
+    @Test(priority = 8, description = "Validate every metric query is sent with its own helper")
+    public void getTimeSeriesDataWithHelperPerQuery() {
+        WavefrontDataSourceHelper dataSourceHelper = new WavefrontDataSourceHelper(properties.getMetricProviderSpec());
+        Set<WavefrontMetricProviderHelper> queryHelpers = ConcurrentHashMap.newKeySet();
+        dataSourceHelper.setMetricQueryHelperFactory(() -> {
+            WavefrontMetricProviderHelper queryHelper = Mockito.mock(WavefrontMetricProviderHelper.class);
+            queryHelpers.add(queryHelper);
+            return queryHelper;
+        });
+
+        dataSourceHelper.getTimeSeriesData(MockDataConstants.MANGLE, startTime, endTime, "m");
+        dataSourceHelper.getTimeSeriesData(MockDataConstants.MANGLE, startTime, endTime, "m");
+
+        Assert.assertEquals(queryHelpers.size(), 2);
+        for (WavefrontMetricProviderHelper queryHelper : queryHelpers) {
+            Mockito.verify(queryHelper).queryMetrics(MockDataConstants.MANGLE, startTime, endTime, "m");
+        }
+    }
+
     @Test(priority = 8, description = "Validate Send metric when invalid metric name is found")
     public void sendMetricForInvalidMetricName() {
         Metric metric = ResiliencyScoreMockData.getMetric();
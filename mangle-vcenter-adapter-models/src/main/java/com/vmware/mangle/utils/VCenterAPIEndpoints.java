@@ -20,6 +20,7 @@ import org.springframework.util.StringUtils;
 public class VCenterAPIEndpoints {
     public static final String REST_VC = "/rest/vcenter";
     public static final String REST_SESSION = "/rest/com/vmware/cis/session";
+    public static final String REST_SESSION_GET = REST_SESSION + "?~action=get";
     public static final String REST_LIBRARY = "/rest/com/vmware/content/library";
     public static final String REST_LIBRARY_ITEM = REST_LIBRARY + "/item";
     public static final String REST_LIBRARY_ITEM_SESSION = REST_LIBRARY_ITEM + "/update-session";
@@ -51,6 +52,7 @@ public class VCenterAPIEndpoints {
     private static final String FILTER_CLUSTER = "filter.clusters";
     private static final String FILTER_HOST = "filter.hosts";
     private static final String FILTER_RESOURCE_POOL = "filter.resource_pools";
+    private static final String FILTER_NAMES = "filter.names";
     private static final String SIGN_EQUALS = "=";
 
     private VCenterAPIEndpoints() {
@@ -75,4 +77,8 @@ public class VCenterAPIEndpoints {
     public static String addHostFilter(String folderName) {
         return StringUtils.hasText(folderName) ? FILTER_HOST + SIGN_EQUALS + folderName : "";
     }
+
+    public static String addNamesFilter(String name) {
+        return StringUtils.hasText(name) ? FILTER_NAMES + SIGN_EQUALS + name : "";
+    }
 }
@@ -13,6 +13,7 @@ package com.vmware.mangle.adapter;
 
 import static com.vmware.mangle.utils.VCenterAPIEndpoints.REST_HEALTH_CHECK;
 import static com.vmware.mangle.utils.VCenterAPIEndpoints.REST_SESSION;
+import static com.vmware.mangle.utils.VCenterAPIEndpoints.REST_SESSION_GET;
 
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.codec.binary.Base64;
@@ -58,6 +59,22 @@ public class VCenterClient extends RestTemplateWrapper {
         setDefaultHeaders(vcUsername, vcPassword);
     }
 
+    /**
+     * Instantiates VcenterClient object on an existing session, without authenticating again
+     *
+     * @param sessionId:
+     *            vmware-api-session-id of the existing session
+     */
+    public VCenterClient(String vcserverurl, String sessionId) {
+        super();
+        setBaseUrl(String.format(baseURL, vcserverurl));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(VC_AUTH_HEADER, PROJECT_MANGLE);
+        headers.set(VC_SESSION_ID, sessionId);
+        setHeaders(headers);
+    }
+
     /**
      * Authenticates on the vCenter for the given vcUsername and vcPassword
      *
@@ -126,6 +143,23 @@ public class VCenterClient extends RestTemplateWrapper {
         }
     }
 
+    /**
+     * @return: vmware-api-session-id the client is authenticated with
+     */
+    public String getSessionId() {
+        return getHeaders() == null ? null : getHeaders().getFirst(VC_SESSION_ID);
+    }
+
+    /**
+     * checks if the session of the client is still valid on the vCenter
+     *
+     * @return: true if the session is active; else false
+     */
+    public boolean isSessionActive() {
+        ResponseEntity<?> response = post(REST_SESSION_GET, null, Object.class);
+        return response != null && response.getStatusCode() == HttpStatus.OK;
+    }
+
     public void terminateConnection() {
         @SuppressWarnings("rawtypes")
         ResponseEntity response = delete(REST_SESSION, Object.class);
@@ -12,6 +12,8 @@
 package com.vmware.mangle.controller;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import io.swagger.annotations.Api;
 import lombok.extern.log4j.Log4j2;
@@ -21,7 +23,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import com.vmware.mangle.model.resource.VCenterOperationTask;
 import com.vmware.mangle.service.VCenterOperationsTaskStore;
@@ -35,6 +39,7 @@ import com.vmware.mangle.utils.exceptions.MangleException;
 @Api(tags = "Task Details", description = "Retrieve status of the task using the Task ID")
 @Log4j2
 public class VMOperationsTaskQueryController {
+    public static final long MAX_WAIT_IN_SECONDS = 60;
 
     private VCenterOperationsTaskStore vCenterOperationsTaskStore;
 
@@ -61,6 +66,36 @@ public class VMOperationsTaskQueryController {
         }
     }
 
+    /**
+     * serves as the endpoint for the query /v1/api/task/{taskid}?waitInSeconds={wait}, holding
+     * the request until the task has finished or the wait has elapsed, whichever comes first
+     *
+     * @param taskid: refers to the UUID generated for the VC fault injection task
+     * @param waitInSeconds: maximum time to wait for the task to finish, capped at
+     *            MAX_WAIT_IN_SECONDS
+     * @return task details for the given task
+     */
+    @GetMapping(value = "/{taskid}", params = "waitInSeconds", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public DeferredResult<ResponseEntity> awaitTaskDetails(@PathVariable String taskid,
+            @RequestParam long waitInSeconds) {
+        log.debug("Waiting up to {} seconds for the task {} to finish", waitInSeconds, taskid);
+        long wait = Math.min(Math.max(waitInSeconds, 0), MAX_WAIT_IN_SECONDS);
+        DeferredResult<ResponseEntity> result = new DeferredResult<>(TimeUnit.SECONDS.toMillis(wait) + 1);
+        if (wait == 0) {
+            result.setResult(queryTaskDetails(taskid));
+            return result;
+        }
+        Consumer<VCenterOperationTask> listener = task -> result.setResult(new ResponseEntity(task, HttpStatus.OK));
+        result.onTimeout(() -> result.setResult(queryTaskDetails(taskid)));
+        result.onCompletion(() -> vCenterOperationsTaskStore.removeCompletionListener(taskid, listener));
+        try {
+            vCenterOperationsTaskStore.addCompletionListener(taskid, listener);
+        } catch (MangleException e) {
+            result.setResult(new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST));
+        }
+        return result;
+    }
+
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     public ResponseEntity<Map<String, VCenterOperationTask>> queryAllTasks() {
         Map<String, VCenterOperationTask> vCenterOperationTask = null;
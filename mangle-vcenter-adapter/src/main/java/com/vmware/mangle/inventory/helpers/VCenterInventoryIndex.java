@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2016-2019 VMware, Inc. All Rights Reserved.
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with separate copyright notices
+ * and license terms. Your use of these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ */
+
+package com.vmware.mangle.inventory.helpers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import com.vmware.mangle.adapter.VCenterClient;
+import com.vmware.mangle.model.enums.VCenterResources;
+import com.vmware.mangle.utils.exceptions.MangleException;
+
+/**
+ * @author chetanc
+ *
+ *         Index of the names of the vCenter inventory objects (VM, host, cluster, data center,
+ *         folder and resource pool) to their IDs, per vCenter and per lookup scope. The index is
+ *         filled incrementally, a name being resolved on the vCenter only the first time it is
+ *         looked up or once its entry has expired.
+ */
+@Log4j2
+@Component
+public class VCenterInventoryIndex {
+    public static final long DEFAULT_TIME_TO_LIVE = TimeUnit.MINUTES.toMillis(10);
+    private static final int MAX_SIZE = 10000;
+    private static final String SEPARATOR = "|";
+
+    private final Map<String, IndexEntry> entries = new ConcurrentHashMap<>();
+    private final long timeToLive;
+
+    public VCenterInventoryIndex() {
+        this(DEFAULT_TIME_TO_LIVE);
+    }
+
+    public VCenterInventoryIndex(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Returns the ID of the named object, resolving it through the given resolver when it is not
+     * indexed
+     *
+     * @param scope:
+     *            the names of the parent objects the lookup is restricted to
+     */
+    public String getId(VCenterClient client, VCenterResources resource, String scope, String name,
+            IdResolver resolver) throws MangleException {
+        String key = getKey(client, resource, scope, name);
+        IndexEntry entry = entries.get(key);
+        if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+            return entry.id;
+        }
+        String id = resolver.resolve();
+        if (entries.size() >= MAX_SIZE) {
+            evictExpired();
+        }
+        entries.put(key, new IndexEntry(id, System.currentTimeMillis() + timeToLive));
+        log.debug("Indexed {} {} as {}", resource, name, id);
+        return id;
+    }
+
+    /**
+     * Removes the entries of the given object ID, so that its name is resolved again on the next
+     * lookup
+     */
+    public void evict(VCenterClient client, VCenterResources resource, String id) {
+        String prefix = client.getBaseUrl() + SEPARATOR + resource.name() + SEPARATOR;
+        entries.entrySet().removeIf(entry -> entry.getKey().startsWith(prefix) && entry.getValue().id.equals(id));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        if (entries.size() >= MAX_SIZE) {
+            entries.clear();
+        }
+    }
+
+    private static String getKey(VCenterClient client, VCenterResources resource, String scope, String name) {
+        return client.getBaseUrl() + SEPARATOR + resource.name() + SEPARATOR + scope + SEPARATOR + name;
+    }
+
+    /**
+     * Resolves the ID of an object on the vCenter
+     */
+    @FunctionalInterface
+    public interface IdResolver {
+        String resolve() throws MangleException;
+    }
+
+    private static final class IndexEntry {
+        private final String id;
+        private final long expiresAt;
+
+        private IndexEntry(String id, long expiresAt) {
+            this.id = id;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -48,14 +48,23 @@ public class VMInventoryHelper {
     private HostInventoryHelper hostInventoryHelper;
     private ResourcePoolInventoryHelper rsPoolInventoryHelper;
     private DCInventoryHelper dcInventoryHelper;
+    private VCenterInventoryIndex inventoryIndex;
 
-    @Autowired
     public VMInventoryHelper(ClusterInventoryHelper clusterInventoryHelper, HostInventoryHelper hostInventoryHelper,
             ResourcePoolInventoryHelper rsPoolInventoryHelper, DCInventoryHelper dcInventoryHelper) {
+        this(clusterInventoryHelper, hostInventoryHelper, rsPoolInventoryHelper, dcInventoryHelper,
+                new VCenterInventoryIndex());
+    }
+
+    @Autowired
+    public VMInventoryHelper(ClusterInventoryHelper clusterInventoryHelper, HostInventoryHelper hostInventoryHelper,
+            ResourcePoolInventoryHelper rsPoolInventoryHelper, DCInventoryHelper dcInventoryHelper,
+            VCenterInventoryIndex inventoryIndex) {
         this.clusterInventoryHelper = clusterInventoryHelper;
         this.hostInventoryHelper = hostInventoryHelper;
         this.rsPoolInventoryHelper = rsPoolInventoryHelper;
         this.dcInventoryHelper = dcInventoryHelper;
+        this.inventoryIndex = inventoryIndex;
     }
 
     /**
@@ -80,24 +89,32 @@ public class VMInventoryHelper {
 
     public List<VM> getAllVM(VCenterClient client, String host, String clusterName, String dcName, String folderName,
             String resourcePoolName) throws MangleException {
+        return getVMs(client, null, host, clusterName, dcName, folderName, resourcePoolName);
+    }
+
+    private List<VM> getVMs(VCenterClient client, String vmName, String host, String clusterName, String dcName,
+            String folderName, String resourcePoolName) throws MangleException {
         String url = REST_VC_VM;
         boolean isQueryAdded = false;
 
         String queryParam = "";
         if (StringUtils.hasText(host) && !host.equals("null")) {
-            String hostId = hostInventoryHelper.getHostId(client, host, "", "", "");
+            String hostId = inventoryIndex.getId(client, VCenterResources.HOST, "", host,
+                    () -> hostInventoryHelper.getHostId(client, host, "", "", ""));
             queryParam = VCenterAPIEndpoints.addHostFilter(hostId);
             isQueryAdded = true;
         }
 
         if (StringUtils.hasText(dcName) && !dcName.equals("null")) {
-            String dcId = dcInventoryHelper.getDataCenterId(client, dcName);
+            String dcId = inventoryIndex.getId(client, VCenterResources.DATA_CENTER, "", dcName,
+                    () -> dcInventoryHelper.getDataCenterId(client, dcName));
             queryParam = VCenterAPIEndpoints.addDCFilter(dcId);
             isQueryAdded = true;
         }
 
         if (StringUtils.hasText(clusterName) && !clusterName.equals("null")) {
-            String clusterId = clusterInventoryHelper.getClusterId(client, clusterName, dcName);
+            String clusterId = inventoryIndex.getId(client, VCenterResources.CLUSTER, dcName, clusterName,
+                    () -> clusterInventoryHelper.getClusterId(client, clusterName, dcName));
             if (isQueryAdded) {
                 queryParam += URL_PARAM_SEPARATOR + VCenterAPIEndpoints.addClusterFilter(clusterId);
             } else {
@@ -107,7 +124,9 @@ public class VMInventoryHelper {
         }
 
         if (StringUtils.hasText(folderName) && !folderName.equals("null")) {
-            String folderId = FolderInventoryHelper.getFolderId(client, folderName, FolderType.VIRTUAL_MACHINE.name());
+            String folderId = inventoryIndex.getId(client, VCenterResources.FOLDER,
+                    FolderType.VIRTUAL_MACHINE.name(), folderName, () -> FolderInventoryHelper.getFolderId(client,
+                            folderName, FolderType.VIRTUAL_MACHINE.name()));
             if (isQueryAdded) {
                 queryParam += URL_PARAM_SEPARATOR + VCenterAPIEndpoints.addFolderFilter(folderId);
             } else {
@@ -117,7 +136,9 @@ public class VMInventoryHelper {
         }
 
         if (StringUtils.hasText(resourcePoolName) && !resourcePoolName.equals("null")) {
-            String folderId = rsPoolInventoryHelper.getResourcePoolId(client, clusterName, dcName, resourcePoolName);
+            String folderId = inventoryIndex.getId(client, VCenterResources.RESOURCE_POOL,
+                    dcName + "/" + clusterName, resourcePoolName,
+                    () -> rsPoolInventoryHelper.getResourcePoolId(client, clusterName, dcName, resourcePoolName));
             if (isQueryAdded) {
                 queryParam += URL_PARAM_SEPARATOR + VCenterAPIEndpoints.addResourcePoolFilter(folderId);
             } else {
@@ -126,6 +147,14 @@ public class VMInventoryHelper {
             isQueryAdded = true;
         }
 
+        if (StringUtils.hasText(vmName)) {
+            if (isQueryAdded) {
+                queryParam += URL_PARAM_SEPARATOR + VCenterAPIEndpoints.addNamesFilter(vmName);
+            } else {
+                queryParam = VCenterAPIEndpoints.addNamesFilter(vmName);
+            }
+            isQueryAdded = true;
+        }
 
         if (isQueryAdded) {
             url += URL_QUERY_SEPARATOR + queryParam;
@@ -151,17 +180,26 @@ public class VMInventoryHelper {
      * @return: VM ID for the given VM name
      */
     public String getVMID(VCenterClient client, String vmname, String dcName) throws MangleException {
-        for (VM vm : getAllVMs(client, dcName)) {
-            if (vm.getName().equals(vmname)) {
-                return vm.getVm();
+        return inventoryIndex.getId(client, VCenterResources.VM, "", vmname, () -> {
+            ResponseEntity<ResourceList> responseEntity = (ResponseEntity<ResourceList>) client.get(
+                    REST_VC_VM + URL_QUERY_SEPARATOR + VCenterAPIEndpoints.addNamesFilter(vmname), ResourceList.class);
+            if (responseEntity == null) {
+                throw new MangleException(
+                        String.format(ErrorConstants.VCENTER_OBJECT_COULD_NOT_FETCH, VCenterResources.VM));
             }
-        }
-        throw new MangleException(String.format(ErrorConstants.RESOURCE_NOT_FOUND, VCenterResources.VM, vmname));
+            for (VM vm : InventoryHelperUtil.convertLinkedHashMapToObjectList(responseEntity.getBody().getValue(),
+                    VM.class)) {
+                if (vm.getName().equals(vmname)) {
+                    return vm.getVm();
+                }
+            }
+            throw new MangleException(String.format(ErrorConstants.RESOURCE_NOT_FOUND, VCenterResources.VM, vmname));
+        });
     }
 
     public VM getVMByName(VCenterClient client, String vmName, String host, String clusterName, String dcName,
             String folderName, String resourcePoolName) throws MangleException {
-        List<VM> vms = getAllVM(client, host, clusterName, dcName, folderName, resourcePoolName).stream()
+        List<VM> vms = getVMs(client, vmName, host, clusterName, dcName, folderName, resourcePoolName).stream()
                 .filter(hostObject -> hostObject.getName().equals(vmName)).collect(Collectors.toList());
         if (CollectionUtils.isEmpty(vms)) {
             throw new MangleException(String.format(ErrorConstants.RESOURCE_NOT_FOUND, VCenterResources.VM, vmName));
@@ -173,10 +211,24 @@ public class VMInventoryHelper {
         return vms.get(0);
     }
 
+    /**
+     * Resolves the VM ID for the given VM name, from the inventory index when the VM was already
+     * looked up in the same scope
+     */
     public String getVMId(VCenterClient client, String vmName, String host, String clusterName, String dcName,
             String folderName, String resourcePoolName) throws MangleException {
-        VM vm = getVMByName(client, vmName, host, clusterName, dcName, folderName, resourcePoolName);
-        return vm.getVm();
+        String scope = String.join("/", String.valueOf(host), String.valueOf(clusterName), String.valueOf(dcName),
+                String.valueOf(folderName), String.valueOf(resourcePoolName));
+        return inventoryIndex.getId(client, VCenterResources.VM, scope, vmName,
+                () -> getVMByName(client, vmName, host, clusterName, dcName, folderName, resourcePoolName).getVm());
+    }
+
+    /**
+     * Removes the given VM from the inventory index, so that its name is resolved again on the
+     * next lookup
+     */
+    public void evictVM(VCenterClient client, String vmId) {
+        inventoryIndex.evict(client, VCenterResources.VM, vmId);
     }
 
     public List<VMNic> getEthernetConnectedToVM(VCenterClient client, String vmId) throws MangleException {
@@ -152,7 +152,6 @@ public class HostOperationsService {
             log.error("Host disconnection couldn't be verified on HOST {}, timed out waiting for host "
                     + "disconnect status", hostId);
         }
-        client.terminateConnection();
     }
 
     public void handleHostConnection(VCenterClient client, String hostId, String taskId) throws MangleException {
@@ -185,7 +184,6 @@ public class HostOperationsService {
             vCenterOperationsTaskStore.updateTaskStatus(taskId, VCenterOperationsTaskStatus.TIME_OUT.toString(), null);
             log.info("Host {} connect verification failed, timed out waiting for connect status", hostId);
         }
-        client.terminateConnection();
     }
 
 
@@ -11,7 +11,13 @@
 
 package com.vmware.mangle.service;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+
 import lombok.extern.log4j.Log4j2;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.stereotype.Component;
 
 import com.vmware.mangle.adapter.VCenterClient;
@@ -27,17 +33,43 @@ import com.vmware.mangle.utils.exceptions.MangleException;
 @Component
 @Log4j2
 public class VCenterClientInstantiationService {
+    public static final long SESSION_VALIDATION_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private final Map<String, VCenterSession> connectionStore = new ConcurrentHashMap<>();
 
     /**
      * Returns the VcenterClient if exists in the VCenterConnectionStore, if it doesn't exist, calls
      * for the creation of new instance of the VCenterClient. This also checks if the connection
      * holds active session token, if not creates new instance of client and replaces the old one
+     *
+     * The session of a vCenter and user is shared by all the clients returned for them, each
+     * client carrying its own request state. A session which was not used for longer than the
+     * validation interval is checked on the vCenter before being reused.
      */
     public VCenterClient getVCenterClient(VCenterSpec vCenterSpec) throws MangleException {
-        VCenterClient client = createNewVCenterBean(vCenterSpec);
-        log.debug(String.format("Establing a new session on vCenter %s, for the user %s", vCenterSpec.getVcServerUrl(),
-                vCenterSpec.getVcUsername()));
-        return client;
+        VCenterSession session = connectionStore.computeIfAbsent(
+                vCenterSpec.getVcServerUrl() + "@" + vCenterSpec.getVcUsername(),
+                key -> new VCenterSession(vCenterSpec.getVcServerUrl()));
+        synchronized (session) {
+            String passwordDigest = DigestUtils.sha256Hex(String.valueOf(vCenterSpec.getVcPassword()));
+            long now = System.currentTimeMillis();
+            if (session.sessionId != null && passwordDigest.equals(session.passwordDigest)) {
+                VCenterClient client = new VCenterClient(vCenterSpec.getVcServerUrl(), session.sessionId);
+                if (now - session.lastUsed < SESSION_VALIDATION_INTERVAL || client.isSessionActive()) {
+                    session.lastUsed = now;
+                    return client;
+                }
+                log.debug("Session on vCenter {} for the user {} has expired", vCenterSpec.getVcServerUrl(),
+                        vCenterSpec.getVcUsername());
+            }
+            VCenterClient client = createNewVCenterBean(vCenterSpec);
+            log.debug(String.format("Establing a new session on vCenter %s, for the user %s",
+                    vCenterSpec.getVcServerUrl(), vCenterSpec.getVcUsername()));
+            session.sessionId = client.getSessionId();
+            session.passwordDigest = passwordDigest;
+            session.lastUsed = now;
+            return client;
+        }
     }
 
     /**
@@ -51,4 +83,31 @@ public class VCenterClientInstantiationService {
         return VCenterClient;
     }
 
+    /**
+     * Terminates the sessions held in the connection store
+     */
+    @PreDestroy
+    public void terminateSessions() {
+        for (VCenterSession session : connectionStore.values()) {
+            if (session.sessionId != null) {
+                try {
+                    new VCenterClient(session.vcServerUrl, session.sessionId).terminateConnection();
+                } catch (RuntimeException e) {
+                    log.debug("Terminating the session on {} failed: {}", session.vcServerUrl, e.getMessage());
+                }
+            }
+        }
+        connectionStore.clear();
+    }
+
+    private static final class VCenterSession {
+        private final String vcServerUrl;
+        private String sessionId;
+        private String passwordDigest;
+        private long lastUsed;
+
+        private VCenterSession(String vcServerUrl) {
+            this.vcServerUrl = vcServerUrl;
+        }
+    }
 }
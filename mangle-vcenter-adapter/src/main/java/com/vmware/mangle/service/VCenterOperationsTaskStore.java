@@ -11,28 +11,67 @@
 
 package com.vmware.mangle.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.vmware.mangle.model.VCenterVMObject;
 import com.vmware.mangle.model.resource.VCenterOperationTask;
 import com.vmware.mangle.utils.exceptions.MangleException;
+import com.vmware.mangle.utils.status.VCenterOperationsTaskStatus;
 
 /**
  * @author Chethan C(chetanc)
  *
  *         local store that holds the task object against the task id that is
  *         generated for each VC operation triggered
+ *
+ *         The store is safe for the concurrent use of the async operation handlers
+ *         and of the task queries. A finished task is kept for the configured time
+ *         to live, and the oldest finished tasks are evicted once the store holds
+ *         the configured maximum number of tasks. Tasks still running are never
+ *         evicted.
  */
+@Log4j2
 @Service
 public class VCenterOperationsTaskStore {
+    public static final long DEFAULT_TASK_TIME_TO_LIVE_IN_MINUTES = 60;
+    public static final int DEFAULT_MAX_TASKS = 10000;
+    private static final long EVICTION_INTERVAL = TimeUnit.MINUTES.toMillis(1);
 
-    private Map<String, VCenterOperationTask> lMap = new HashMap<>();
+    private final Map<String, VCenterOperationTask> lMap = new ConcurrentHashMap<>();
+    private final Map<String, Long> finishedTasks = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<VCenterOperationTask>>> completionListeners = new HashMap<>();
+    private final long taskTimeToLive;
+    private final int maxTasks;
+    private volatile long lastEviction = System.currentTimeMillis();
     private String TASK_NOT_FOUND = "Task not found";
 
+    public VCenterOperationsTaskStore() {
+        this(DEFAULT_TASK_TIME_TO_LIVE_IN_MINUTES, DEFAULT_MAX_TASKS);
+    }
+
+    @Autowired
+    public VCenterOperationsTaskStore(
+            @Value("${mangle.vcenter.adapter.task.ttl-in-minutes:" + DEFAULT_TASK_TIME_TO_LIVE_IN_MINUTES
+                    + "}") long taskTimeToLiveInMinutes,
+            @Value("${mangle.vcenter.adapter.task.max-tasks:" + DEFAULT_MAX_TASKS + "}") int maxTasks) {
+        this.taskTimeToLive = TimeUnit.MINUTES.toMillis(taskTimeToLiveInMinutes);
+        this.maxTasks = maxTasks;
+    }
+
     /**
      * Add new task object to the store
      *
@@ -45,17 +84,19 @@ public class VCenterOperationsTaskStore {
      *                           present in the store
      */
     public VCenterOperationTask addTask(String taskId, String taskStatus) throws MangleException {
-        if (!lMap.containsKey(taskId)) {
-            VCenterOperationTask task = new VCenterOperationTask(taskId, taskStatus);
-            lMap.put(taskId, task);
-            return task;
-        } else {
+        evictTasks();
+        VCenterOperationTask task = new VCenterOperationTask(taskId, taskStatus);
+        if (lMap.putIfAbsent(taskId, task) != null) {
             throw new MangleException("Task already exists");
         }
+        if (isFinished(taskStatus)) {
+            finishedTasks.put(taskId, System.currentTimeMillis());
+        }
+        return task;
     }
 
     public Map<String, VCenterOperationTask> getAllTasks() {
-        return lMap;
+        return Collections.unmodifiableMap(lMap);
     }
 
     /**
@@ -66,11 +107,11 @@ public class VCenterOperationsTaskStore {
      * @throws MangleException : if task not found
      */
     public VCenterOperationTask getTask(String taskId) throws MangleException {
-        if (lMap.containsKey(taskId)) {
-            return lMap.get(taskId);
-        } else {
+        VCenterOperationTask task = lMap.get(taskId);
+        if (task == null) {
             throw new MangleException(TASK_NOT_FOUND);
         }
+        return task;
     }
 
     /**
@@ -81,11 +122,7 @@ public class VCenterOperationsTaskStore {
      * @throws MangleException : if task object not found for the given taskId
      */
     public String getTaskStatus(String taskId) throws MangleException {
-        if (lMap.containsKey(taskId)) {
-            return lMap.get(taskId).getTaskStatus();
-        } else {
-            throw new MangleException(TASK_NOT_FOUND);
-        }
+        return getTask(taskId).getTaskStatus();
     }
 
     /**
@@ -100,15 +137,23 @@ public class VCenterOperationsTaskStore {
      */
     public String updateTaskStatus(String taskId, String newTaskStatus, String message,
             VCenterVMObject VCenterVMObject) throws MangleException {
-        if (lMap.containsKey(taskId)) {
-            VCenterOperationTask task = lMap.get(taskId);
+        VCenterOperationTask task = getTask(taskId);
+        synchronized (task) {
             task.setTaskStatus(newTaskStatus);
             task.setResponseMessage(message);
             task.setVCenterVMObject(VCenterVMObject);
-            return newTaskStatus;
-        } else {
-            throw new MangleException(TASK_NOT_FOUND);
         }
+        if (isFinished(newTaskStatus)) {
+            finishedTasks.put(taskId, System.currentTimeMillis());
+            List<Consumer<VCenterOperationTask>> listeners;
+            synchronized (completionListeners) {
+                listeners = completionListeners.remove(taskId);
+            }
+            if (listeners != null) {
+                listeners.forEach(listener -> listener.accept(task));
+            }
+        }
+        return newTaskStatus;
     }
 
     /**
@@ -124,6 +169,45 @@ public class VCenterOperationsTaskStore {
         return updateTaskStatus(taskId, newTaskStatus, message, null);
     }
 
+    /**
+     * registers the listener to be called once the task identified by taskId has
+     * finished, the listener is called right away if the task has already finished
+     *
+     * @param taskId
+     * @param listener
+     * @throws MangleException : if task object is not found for the given task ID
+     */
+    public void addCompletionListener(String taskId, Consumer<VCenterOperationTask> listener) throws MangleException {
+        VCenterOperationTask task = getTask(taskId);
+        synchronized (completionListeners) {
+            if (!isFinished(task.getTaskStatus())) {
+                completionListeners.computeIfAbsent(taskId, key -> new ArrayList<>()).add(listener);
+                return;
+            }
+        }
+        listener.accept(task);
+    }
+
+    public void removeCompletionListener(String taskId, Consumer<VCenterOperationTask> listener) {
+        synchronized (completionListeners) {
+            List<Consumer<VCenterOperationTask>> listeners = completionListeners.get(taskId);
+            if (listeners != null && listeners.remove(listener) && listeners.isEmpty()) {
+                completionListeners.remove(taskId);
+            }
+        }
+    }
+
+    /**
+     * checks if the given task status is the final status of a task
+     *
+     * @param taskStatus
+     * @return: true if the task has finished; else false
+     */
+    public static boolean isFinished(String taskStatus) {
+        return !VCenterOperationsTaskStatus.TRIGGERED.toString().equals(taskStatus)
+                && !VCenterOperationsTaskStatus.INPROGRESS.toString().equals(taskStatus);
+    }
+
     /**
      * generates an unique alpha-numeric UUID
      *
@@ -136,4 +220,33 @@ public class VCenterOperationsTaskStore {
         } while (lMap.containsKey(taskId));
         return taskId;
     }
+
+    /**
+     * evicts the finished tasks whose time to live has elapsed, at most once per
+     * eviction interval, and the oldest finished tasks when the store is full
+     */
+    private void evictTasks() {
+        long now = System.currentTimeMillis();
+        if (now - lastEviction >= EVICTION_INTERVAL) {
+            lastEviction = now;
+            finishedTasks.entrySet().removeIf(entry -> {
+                boolean expired = now - entry.getValue() >= taskTimeToLive;
+                if (expired) {
+                    lMap.remove(entry.getKey());
+                }
+                return expired;
+            });
+        }
+        if (lMap.size() >= maxTasks) {
+            List<Map.Entry<String, Long>> oldestTasks = new ArrayList<>(finishedTasks.entrySet());
+            oldestTasks.sort(Comparator.comparing(Map.Entry::getValue));
+            int tasksToEvict = lMap.size() - maxTasks + 1;
+            for (int i = 0; i < tasksToEvict && i < oldestTasks.size(); i++) {
+                String taskId = oldestTasks.get(i).getKey();
+                finishedTasks.remove(taskId);
+                lMap.remove(taskId);
+            }
+            log.debug("Task store is full, evicted {} finished tasks", Math.min(tasksToEvict, oldestTasks.size()));
+        }
+    }
 }
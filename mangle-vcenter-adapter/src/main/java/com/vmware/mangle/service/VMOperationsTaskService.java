@@ -440,6 +440,7 @@ public class VMOperationsTaskService {
             log.info("Triggered power off VM for {} on VC", vmId);
         } catch (MangleException e) {
             log.error("Power off VM {} failed with the error: {}", vmId, e.getMessage());
+            vmInventoryHelper.evictVM(client, vmId);
             vCenterOperationsTaskStore.updateTaskStatus(taskId, VCenterOperationsTaskStatus.FAILED.toString(),
                     e.getMessage(), null);
             return;
@@ -462,7 +463,6 @@ public class VMOperationsTaskService {
             vCenterOperationsTaskStore.updateTaskStatus(taskId, VCenterOperationsTaskStatus.TIME_OUT.toString(), null);
             log.info("VM power off couldn't be verified on VM {}, timed out waiting for VM power status", vmId);
         }
-        client.terminateConnection();
     }
 
     private void handlePowerOnVM(VCenterClient client, String taskId, String vmId) throws MangleException {
@@ -472,6 +472,7 @@ public class VMOperationsTaskService {
             log.info("Triggered power on operation on VM {}", vmId);
         } catch (MangleException e) {
             log.error("Power on VM {} failed with the error: {}", vmId, e.getMessage());
+            vmInventoryHelper.evictVM(client, vmId);
             vCenterOperationsTaskStore.updateTaskStatus(taskId, VCenterOperationsTaskStatus.FAILED.toString(),
                     e.getMessage(), null);
             return;
@@ -495,7 +496,6 @@ public class VMOperationsTaskService {
             vCenterOperationsTaskStore.updateTaskStatus(taskId, VCenterOperationsTaskStatus.TIME_OUT.toString(), null);
             log.info("VM power on couldn't be verified on VM {}, timed out waiting for VM power status", vmId);
         }
-        client.terminateConnection();
     }
 
 
@@ -506,6 +506,7 @@ public class VMOperationsTaskService {
             log.info("Triggered vm reset for VM {}", vmId);
         } catch (MangleException e) {
             log.error("Reset VM {} failed with the error: {}", vmId, e.getMessage());
+            vmInventoryHelper.evictVM(client, vmId);
             vCenterOperationsTaskStore.updateTaskStatus(taskId, VCenterOperationsTaskStatus.FAILED.toString(),
                     e.getMessage(), null);
             return;
@@ -529,7 +530,6 @@ public class VMOperationsTaskService {
             vCenterOperationsTaskStore.updateTaskStatus(taskId, VCenterOperationsTaskStatus.TIME_OUT.toString(), null);
             log.info("VM power on couldn't be verified on VM {}, timed out waiting for VM power status", vmId);
         }
-        client.terminateConnection();
     }
 
 
@@ -540,6 +540,7 @@ public class VMOperationsTaskService {
             vmOperations.suspendVM(client, vmId);
         } catch (MangleException e) {
             log.error("Suspend VM {} failed with the error: {}", vmId, e.getMessage());
+            vmInventoryHelper.evictVM(client, vmId);
             vCenterOperationsTaskStore.updateTaskStatus(taskId, VCenterOperationsTaskStatus.FAILED.toString(),
                     e.getMessage(), null);
             return;
@@ -565,7 +566,6 @@ public class VMOperationsTaskService {
             log.info("VM suspend operation couldn't be verified on VM {}, timed out waiting for VM suspend status",
                     vmId);
         }
-        client.terminateConnection();
     }
 
 
@@ -602,7 +602,6 @@ public class VMOperationsTaskService {
                     vmDisk);
             log.info("VM delete disk operation couldn't be verified on VM {}, timed out waiting for disk status", vmId);
         }
-        client.terminateConnection();
     }
 
 
@@ -672,7 +671,6 @@ public class VMOperationsTaskService {
             log.info("VM disconnect nic operation couldn't be verified on VM {}, timed out waiting for the "
                     + "nic status", vmId);
         }
-        client.terminateConnection();
     }
 
 
@@ -707,6 +705,5 @@ public class VMOperationsTaskService {
             log.info("VM connect nic operation couldn't be verified on VM {}, timed out waiting for the nic status",
                     vmId);
         }
-        client.terminateConnection();
     }
 }
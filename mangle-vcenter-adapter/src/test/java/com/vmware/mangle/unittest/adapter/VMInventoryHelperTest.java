@@ -13,8 +13,12 @@ package com.vmware.mangle.unittest.adapter;
 
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
+
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
@@ -31,6 +35,9 @@ import com.vmware.mangle.inventory.helpers.ResourcePoolInventoryHelper;
 import com.vmware.mangle.inventory.helpers.VMInventoryHelper;
 import com.vmware.mangle.mockdata.InventoryHelperMockData;
 import com.vmware.mangle.model.ResourceList;
+import com.vmware.mangle.model.VM;
+import com.vmware.mangle.utils.VCenterAPIEndpoints;
+import com.vmware.mangle.utils.constants.Constants;
 
 /**
  * @author chetanc
@@ -69,4 +76,22 @@ public class VMInventoryHelperTest {
         Assert.assertEquals(vm_id, VM_ID);
     }
 
+    @Test
+    public void testGetVMIdFromIndex() throws Exception {
+        ResourceList<VM> vms = new ResourceList<>();
+        vms.setValue(Collections.singletonList(new VM(16384, VM_ID, VM_NAME, "POWERED_ON", 4)));
+        String url = VCenterAPIEndpoints.REST_VC_VM + "?filter.names=" + VM_NAME;
+        when(vCenterClient.getBaseUrl()).thenReturn("https://vcenter/rest");
+        when(vCenterClient.get(anyString(), eq(Constants.VM_RESOURCE_LIST)))
+                .thenReturn(new ResponseEntity(vms, HttpStatus.OK));
+
+        Assert.assertEquals(vmInventoryHelper.getVMId(vCenterClient, VM_NAME, null, null, null, null, null), VM_ID);
+        Assert.assertEquals(vmInventoryHelper.getVMId(vCenterClient, VM_NAME, null, null, null, null, null), VM_ID);
+        verify(vCenterClient, times(1)).get(eq(url), eq(Constants.VM_RESOURCE_LIST));
+
+        vmInventoryHelper.evictVM(vCenterClient, VM_ID);
+        Assert.assertEquals(vmInventoryHelper.getVMId(vCenterClient, VM_NAME, null, null, null, null, null), VM_ID);
+        verify(vCenterClient, times(2)).get(eq(url), eq(Constants.VM_RESOURCE_LIST));
+    }
+
 }
@@ -22,6 +22,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -32,10 +33,12 @@ import com.vmware.mangle.controller.VMOperationsTaskQueryController;
 import com.vmware.mangle.inventory.helpers.VMInventoryHelper;
 import com.vmware.mangle.mockdata.VCenterSpecMockData;
 import com.vmware.mangle.model.VCenterSpec;
+import com.vmware.mangle.model.resource.VCenterOperationTask;
 import com.vmware.mangle.service.VCenterClientInstantiationService;
 import com.vmware.mangle.service.VCenterOperationsTaskStore;
 import com.vmware.mangle.service.VMOperationsTaskService;
 import com.vmware.mangle.utils.exceptions.MangleException;
+import com.vmware.mangle.utils.status.VCenterOperationsTaskStatus;
 
 /**
  * @author Chethan C(chetanc)
@@ -104,4 +107,28 @@ public class VMOperationsTaskQueryControllerTest {
         ResponseEntity responseEntity = vmOperationsTaskQueryController.queryTaskDetails(taskId);
     }
 
+    @Test
+    public void testAwaitTaskDetails() throws MangleException {
+        VCenterOperationsTaskStore taskStore = new VCenterOperationsTaskStore();
+        vmOperationsTaskQueryController = new VMOperationsTaskQueryController(taskStore);
+        taskStore.addTask(taskId, VCenterOperationsTaskStatus.TRIGGERED.toString());
+
+        DeferredResult<ResponseEntity> result = vmOperationsTaskQueryController.awaitTaskDetails(taskId, 30);
+        Assert.assertFalse(result.hasResult());
+
+        taskStore.updateTaskStatus(taskId, VCenterOperationsTaskStatus.COMPLETED.toString(), "");
+        ResponseEntity responseEntity = (ResponseEntity) result.getResult();
+        Assert.assertEquals(responseEntity.getStatusCode(), HttpStatus.OK);
+        Assert.assertEquals(((VCenterOperationTask) responseEntity.getBody()).getTaskStatus(),
+                VCenterOperationsTaskStatus.COMPLETED.toString());
+    }
+
+    @Test
+    public void testAwaitUnknownTaskDetails() {
+        vmOperationsTaskQueryController = new VMOperationsTaskQueryController(new VCenterOperationsTaskStore());
+
+        DeferredResult<ResponseEntity> result = vmOperationsTaskQueryController.awaitTaskDetails(taskId, 30);
+
+        Assert.assertEquals(((ResponseEntity) result.getResult()).getStatusCode(), HttpStatus.BAD_REQUEST);
+    }
 }
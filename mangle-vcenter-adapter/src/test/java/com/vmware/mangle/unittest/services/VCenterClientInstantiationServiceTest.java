@@ -11,6 +11,8 @@
 
 package com.vmware.mangle.unittest.services;
 
+import static org.mockito.Mockito.times;
+
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
 import org.powermock.api.mockito.PowerMockito;
@@ -63,4 +65,20 @@ public class VCenterClientInstantiationServiceTest extends PowerMockTestCase {
         PowerMockito.doThrow(new NullPointerException("")).when(FVCSpy).testConnection();
         Assert.assertEquals(VCenterClientInstantiationService.getVCenterClient(vCenterSpec), FVCSpy);
     }
+
+    @Test
+    public void testGetVCenterClientReusesSession() throws Exception {
+        VCenterSpec vCenterSpec = VCenterSpecMockData.getVCenterSpec();
+        vCenterSpec.setVcUsername("sessionUser");
+        PowerMockito.whenNew(VCenterClient.class).withAnyArguments().thenReturn(FVCSpy);
+        PowerMockito.doReturn("session-1").when(FVCSpy).getSessionId();
+
+        VCenterClientInstantiationService.getVCenterClient(vCenterSpec);
+        VCenterClientInstantiationService.getVCenterClient(vCenterSpec);
+
+        PowerMockito.verifyNew(VCenterClient.class, times(1)).withArguments(vCenterSpec.getVcServerUrl(),
+                vCenterSpec.getVcUsername(), vCenterSpec.getVcPassword());
+        PowerMockito.verifyNew(VCenterClient.class, times(1)).withArguments(vCenterSpec.getVcServerUrl(),
+                "session-1");
+    }
 }
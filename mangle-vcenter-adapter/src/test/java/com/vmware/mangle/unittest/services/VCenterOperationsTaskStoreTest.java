@@ -12,6 +12,7 @@
 package com.vmware.mangle.unittest.services;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
@@ -83,4 +84,32 @@ public class VCenterOperationsTaskStoreTest {
         vCenterOperationsTaskStore.updateTaskStatus(taskId, VCenterOperationsTaskStatus.COMPLETED.toString(), "", null);
     }
 
+    @Test
+    public void testEvictOldestFinishedTaskWhenFull() throws MangleException {
+        vCenterOperationsTaskStore = new VCenterOperationsTaskStore(60, 2);
+        vCenterOperationsTaskStore.addTask("running", VCenterOperationsTaskStatus.TRIGGERED.toString());
+        vCenterOperationsTaskStore.addTask("finished", VCenterOperationsTaskStatus.COMPLETED.toString());
+        vCenterOperationsTaskStore.addTask("new", VCenterOperationsTaskStatus.TRIGGERED.toString());
+
+        Assert.assertEquals(vCenterOperationsTaskStore.getAllTasks().size(), 2);
+        Assert.assertTrue(vCenterOperationsTaskStore.getAllTasks().containsKey("running"));
+        Assert.assertFalse(vCenterOperationsTaskStore.getAllTasks().containsKey("finished"));
+    }
+
+    @Test
+    public void testCompletionListener() throws MangleException {
+        String taskId = UUID.randomUUID().toString();
+        AtomicReference<VCenterOperationTask> finishedTask = new AtomicReference<>();
+        vCenterOperationsTaskStore.addTask(taskId, VCenterOperationsTaskStatus.TRIGGERED.toString());
+        vCenterOperationsTaskStore.addCompletionListener(taskId, finishedTask::set);
+
+        vCenterOperationsTaskStore.updateTaskStatus(taskId, VCenterOperationsTaskStatus.INPROGRESS.toString(), "");
+        Assert.assertNull(finishedTask.get());
+        vCenterOperationsTaskStore.updateTaskStatus(taskId, VCenterOperationsTaskStatus.FAILED.toString(), "");
+        Assert.assertEquals(finishedTask.get().getTaskStatus(), VCenterOperationsTaskStatus.FAILED.toString());
+
+        finishedTask.set(null);
+        vCenterOperationsTaskStore.addCompletionListener(taskId, finishedTask::set);
+        Assert.assertNotNull(finishedTask.get());
+    }
 }